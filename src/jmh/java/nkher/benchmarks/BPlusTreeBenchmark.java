@@ -0,0 +1,154 @@
+package nkher.benchmarks;
+
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import nkher.datastructures.trees.ArrayRedBlackTree;
+import nkher.datastructures.trees.BPlusTree;
+import nkher.datastructures.trees.BinarySearchTree;
+
+/***
+ * Compares point and range lookups of the {@link BPlusTree} at several orders with the binary trees of the library
+ * and with java.util.TreeMap. The B+ tree is bulk loaded, the binary trees get the keys in random order so that the
+ * unbalanced BinarySearchTree stays about 2.99 log2(n) high. AVLTree and RedBlackTree have no lookup by key, the
+ * ArrayRedBlackTree stands in for a balanced binary tree. A range lookup counts the keys of a range of RANGE keys.
+ * Only the tree under test is built, still 100M keys need a heap of about 24 GB.
+ * Run with : gradle jmh -PjmhInclude=BPlusTreeBenchmark -PjmhJvmArgs=-Xmx24g
+ *
+ * @author nameshkher
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BPlusTreeBenchmark {
+
+	private static final int RANGE = 100;
+	private static final int PROBES = 1 << 20;
+
+	@Param({"1000000", "10000000", "100000000"})
+	public int size;
+
+	@Param({"BPlusTree-32", "BPlusTree-64", "BPlusTree-128", "ArrayRedBlackTree", "BinarySearchTree", "TreeMap"})
+	public String tree;
+
+	/***
+	 * The lookups of one of the trees under test.
+	 */
+	private interface OrderedIndex {
+		Object get(Integer key);
+		int countRange(Integer from, Integer to);
+	}
+
+	private OrderedIndex index;
+	private Integer[] keys; // sorted
+	private int[] probes; // random indexes into keys
+	private int next;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(49);
+		keys = new Integer[size];
+		for (int i=0; i<size; i++) {
+			keys[i] = i * 2;
+		}
+		probes = new int[PROBES];
+		for (int i=0; i<PROBES; i++) {
+			probes[i] = random.nextInt(size - RANGE);
+		}
+		if (tree.startsWith("BPlusTree")) {
+			BPlusTree<Integer, Integer> bPlusTree = BPlusTree.bulkLoad(Integer.parseInt(tree.substring(10)), keys, keys);
+			index = new OrderedIndex() {
+				public Object get(Integer key) {
+					return bPlusTree.get(key);
+				}
+				public int countRange(Integer from, Integer to) {
+					return bPlusTree.rangeSearch(from, to).size();
+				}
+			};
+			return;
+		}
+		int[] order = shuffledIndexes(random);
+		if (tree.equals("ArrayRedBlackTree")) {
+			ArrayRedBlackTree<Integer, Integer> arrayTree = new ArrayRedBlackTree<>(size);
+			for (int i : order) {
+				arrayTree.insert(keys[i], keys[i]);
+			}
+			index = new OrderedIndex() {
+				public Object get(Integer key) {
+					return arrayTree.get(key);
+				}
+				public int countRange(Integer from, Integer to) {
+					return arrayTree.rangeSearch(from, to).size();
+				}
+			};
+		}
+		else if (tree.equals("BinarySearchTree")) {
+			BinarySearchTree<Integer, Integer> bst = new BinarySearchTree<>();
+			for (int i : order) {
+				bst.insert(keys[i], keys[i]);
+			}
+			index = new OrderedIndex() {
+				public Object get(Integer key) {
+					return bst.search(key);
+				}
+				public int countRange(Integer from, Integer to) {
+					return bst.rangeSearch(from, to).size();
+				}
+			};
+		}
+		else {
+			TreeMap<Integer, Integer> treeMap = new TreeMap<>();
+			for (int i : order) {
+				treeMap.put(keys[i], keys[i]);
+			}
+			index = new OrderedIndex() {
+				public Object get(Integer key) {
+					return treeMap.get(key);
+				}
+				public int countRange(Integer from, Integer to) {
+					return treeMap.subMap(from, true, to, true).size();
+				}
+			};
+		}
+	}
+
+	private int[] shuffledIndexes(Random random) {
+		int[] order = new int[size];
+		for (int i=0; i<size; i++) {
+			order[i] = i;
+		}
+		for (int i=size-1; i>0; i--) {
+			int j = random.nextInt(i + 1), swap = order[i];
+			order[i] = order[j];
+			order[j] = swap;
+		}
+		return order;
+	}
+
+	private int nextProbe() {
+		next = (next + 1) & (PROBES - 1);
+		return probes[next];
+	}
+
+	@Benchmark
+	public Object pointLookup() {
+		return index.get(keys[nextProbe()]);
+	}
+
+	@Benchmark
+	public int rangeLookup() {
+		int from = nextProbe();
+		return index.countRange(keys[from], keys[from + RANGE - 1]);
+	}
+}
@@ -0,0 +1,76 @@
+package nkher.benchmarks;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import nkher.datastructures.queues.DequeChunkedArray;
+import nkher.datastructures.queues.DequeList;
+
+/***
+ * Compares the deques at a steady size : every benchmark adds an element at one end and removes one at the other,
+ * so the deque keeps its size and the only allocations are the ones made by the deque itself. Add -prof gc to see
+ * the allocation rate per operation.
+ * Run with : gradle jmh -PjmhInclude=DequeBenchmark
+ *
+ * @author nameshkher
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DequeBenchmark {
+
+	private static final Integer ELEMENT = 42;
+
+	@Param({"16", "10000"})
+	public int size;
+
+	private DequeList<Integer> dequeList;
+	private DequeChunkedArray<Integer> chunkedArray;
+	private ArrayDeque<Integer> arrayDeque;
+
+	@Setup
+	public void setup() {
+		dequeList = new DequeList<>();
+		chunkedArray = new DequeChunkedArray<>();
+		arrayDeque = new ArrayDeque<>();
+		for (int i=0; i<size; i++) {
+			dequeList.enqueue(ELEMENT);
+			chunkedArray.enqueue(ELEMENT);
+			arrayDeque.addLast(ELEMENT);
+		}
+	}
+
+	@Benchmark
+	public Integer dequeList_enqueueDequeue() {
+		dequeList.enqueue(ELEMENT);
+		return dequeList.dequeue();
+	}
+
+	@Benchmark
+	public Integer chunkedArray_enqueueDequeue() {
+		chunkedArray.enqueue(ELEMENT);
+		return chunkedArray.dequeue();
+	}
+
+	@Benchmark
+	public Integer chunkedArray_enqueueAtHeadDequeueAtTail() {
+		chunkedArray.enqueueAtHead(ELEMENT);
+		return chunkedArray.deqeueAtTail();
+	}
+
+	@Benchmark
+	public Integer arrayDeque_enqueueDequeue() {
+		arrayDeque.addLast(ELEMENT);
+		return arrayDeque.pollFirst();
+	}
+}
@@ -0,0 +1,103 @@
+package nkher.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import nkher.datastructures.trees.DiskBPlusTree;
+import nkher.datastructures.trees.DiskBPlusTree.Codec;
+
+/***
+ * Measures point lookups, range scans through a cursor and committed inserts of the {@link DiskBPlusTree} with a
+ * buffer pool that holds a small part of the tree and one that holds all of it. A miss in the pool decodes the page
+ * from the memory mapped file, which the operating system keeps cached, so the gap between the two is the cost of
+ * decoding, not of the disk.
+ * Run with : gradle jmh -PjmhInclude=DiskBPlusTreeBenchmark
+ *
+ * @author nameshkher
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DiskBPlusTreeBenchmark {
+
+	private static final int RANGE = 100;
+	private static final int PROBES = 1 << 16;
+
+	@Param({"1000000"})
+	public int size;
+
+	@Param({"64", "16384"})
+	public int cachedPages;
+
+	private Path path;
+	private DiskBPlusTree<Integer, Integer> tree;
+	private int[] probes;
+	private int next;
+
+	@Setup
+	public void setup() throws IOException {
+		path = Files.createTempFile("DiskBPlusTreeBenchmark", ".db");
+		Files.delete(path);
+		tree = DiskBPlusTree.open(path, Codec.INTEGER, Codec.INTEGER, DiskBPlusTree.DEFAULT_PAGE_SIZE, cachedPages);
+		for (int i=0; i<size; i++) {
+			tree.insert(i * 2, i);
+		}
+		tree.commit();
+		Random random = new Random(50);
+		probes = new int[PROBES];
+		for (int i=0; i<PROBES; i++) {
+			probes[i] = random.nextInt(size - RANGE) * 2;
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		tree.close();
+		Files.deleteIfExists(path);
+	}
+
+	private int nextProbe() {
+		next = (next + 1) & (PROBES - 1);
+		return probes[next];
+	}
+
+	@Benchmark
+	public Integer pointLookup() {
+		return tree.get(nextProbe());
+	}
+
+	@Benchmark
+	public int rangeScan() {
+		int from = nextProbe(), sum = 0;
+		DiskBPlusTree<Integer, Integer>.Cursor cursor = tree.range(from, from + 2 * RANGE);
+		while (cursor.hasNext()) {
+			cursor.next();
+			sum += cursor.value();
+		}
+		return sum;
+	}
+
+	/***
+	 * Overwrites a value and commits, which copies the path to the leaf and forces it to the disk.
+	 */
+	@Benchmark
+	public void insertAndCommit() {
+		int key = nextProbe();
+		tree.insert(key, key);
+		tree.commit();
+	}
+}
@@ -0,0 +1,72 @@
+package nkher.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import nkher.algorithms.hash.FNV;
+import nkher.algorithms.hash.Murmur3;
+import nkher.algorithms.hash.WyHash;
+import nkher.algorithms.hash.XXHash64;
+
+/***
+ * Compares the throughput of the hash functions of {@link nkher.algorithms.hash} for different key sizes.
+ * Run with : gradle jmh -PjmhInclude=HashBenchmark
+ *
+ * @author nameshkher
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HashBenchmark {
+
+	@Param({"8", "64", "256", "1024", "4096"})
+	public int keySize;
+
+	private byte[] key;
+
+	@Setup
+	public void setup() {
+		key = new byte[keySize];
+		new Random(42).nextBytes(key);
+	}
+
+	@Benchmark
+	public int fnv_32() {
+		return FNV.hash_32(key);
+	}
+
+	@Benchmark
+	public long fnv_64() {
+		return FNV.hash_64(key);
+	}
+
+	@Benchmark
+	public int murmur3_32() {
+		return Murmur3.hash_32(key, 0);
+	}
+
+	@Benchmark
+	public long murmur3_64() {
+		return Murmur3.hash_64(key, 0);
+	}
+
+	@Benchmark
+	public long xxHash64() {
+		return XXHash64.hash_64(key, 0);
+	}
+
+	@Benchmark
+	public long wyHash() {
+		return WyHash.hash_64(key, 0);
+	}
+}
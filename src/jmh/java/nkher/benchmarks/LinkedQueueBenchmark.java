@@ -0,0 +1,70 @@
+package nkher.benchmarks;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import nkher.datastructures.queues.ConcurrentLinkedDequeList;
+
+/***
+ * Measures the offer and poll throughput of {@link ConcurrentLinkedDequeList} against the JDK
+ * {@link ConcurrentLinkedQueue}, with producer and consumer threads running side by side in a group. Both queues
+ * are unbounded, so the producers may run ahead of the consumers. Add -prof gc to compare the allocation rates.
+ * Run with : gradle jmh -PjmhInclude=LinkedQueueBenchmark
+ *
+ * @author nameshkher
+ *
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LinkedQueueBenchmark {
+
+	private static final Integer ELEMENT = 42;
+
+	private ConcurrentLinkedDequeList<Integer> linkedDequeList;
+	private ConcurrentLinkedQueue<Integer> linkedQueue;
+
+	@Setup
+	public void setup() {
+		linkedDequeList = new ConcurrentLinkedDequeList<>();
+		linkedQueue = new ConcurrentLinkedQueue<>();
+	}
+
+	@Benchmark
+	@Group("linkedDequeList")
+	@GroupThreads(2)
+	public boolean linkedDequeList_offer() {
+		return linkedDequeList.offer(ELEMENT);
+	}
+
+	@Benchmark
+	@Group("linkedDequeList")
+	@GroupThreads(2)
+	public Integer linkedDequeList_poll() {
+		return linkedDequeList.poll();
+	}
+
+	@Benchmark
+	@Group("linkedQueue")
+	@GroupThreads(2)
+	public boolean linkedQueue_offer() {
+		return linkedQueue.offer(ELEMENT);
+	}
+
+	@Benchmark
+	@Group("linkedQueue")
+	@GroupThreads(2)
+	public Integer linkedQueue_poll() {
+		return linkedQueue.poll();
+	}
+}
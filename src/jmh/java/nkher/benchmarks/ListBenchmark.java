@@ -0,0 +1,128 @@
+package nkher.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import nkher.datastructures.lists.DynamicArray;
+import nkher.datastructures.lists.TieredVector;
+import nkher.datastructures.trees.HashedArrayTree;
+
+/***
+ * Compares the array backed lists for appending, random reads and inserting and removing in the middle.
+ * The middle benchmarks insert an element and remove it again, so that the list keeps its size.
+ * Run with : gradle jmh -PjmhInclude=ListBenchmark
+ *
+ * @author nameshkher
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ListBenchmark {
+
+	@Param({"1000", "100000", "1000000"})
+	public int size;
+
+	private DynamicArray<Integer> dynamicArray;
+	private HashedArrayTree<Integer> hashedArrayTree;
+	private TieredVector<Integer> tieredVector;
+	private int[] indexes;
+	private int next;
+
+	@Setup
+	public void setup() {
+		dynamicArray = new DynamicArray<>();
+		hashedArrayTree = new HashedArrayTree<>();
+		tieredVector = new TieredVector<>();
+		for (int i=0; i<size; i++) {
+			dynamicArray.insert(i);
+			hashedArrayTree.add(i);
+			tieredVector.insert(i);
+		}
+		Random random = new Random(42);
+		indexes = new int[1024];
+		for (int i=0; i<indexes.length; i++) {
+			indexes[i] = random.nextInt(size);
+		}
+	}
+
+	private int nextIndex() {
+		next = (next + 1) & (indexes.length - 1);
+		return indexes[next];
+	}
+
+	@Benchmark
+	public DynamicArray<Integer> dynamicArray_append() {
+		DynamicArray<Integer> list = new DynamicArray<>();
+		for (int i=0; i<size; i++) {
+			list.insert(i);
+		}
+		return list;
+	}
+
+	@Benchmark
+	public HashedArrayTree<Integer> hashedArrayTree_append() {
+		HashedArrayTree<Integer> list = new HashedArrayTree<>();
+		for (int i=0; i<size; i++) {
+			list.add(i);
+		}
+		return list;
+	}
+
+	@Benchmark
+	public TieredVector<Integer> tieredVector_append() {
+		TieredVector<Integer> list = new TieredVector<>();
+		for (int i=0; i<size; i++) {
+			list.insert(i);
+		}
+		return list;
+	}
+
+	@Benchmark
+	public Integer dynamicArray_get() {
+		return dynamicArray.getAt(nextIndex());
+	}
+
+	@Benchmark
+	public Integer hashedArrayTree_get() {
+		return hashedArrayTree.get(nextIndex());
+	}
+
+	@Benchmark
+	public Integer tieredVector_get() {
+		return tieredVector.getAt(nextIndex());
+	}
+
+	@Benchmark
+	public int dynamicArray_insertRemoveMiddle() {
+		int index = nextIndex();
+		dynamicArray.addAt(index, -1);
+		dynamicArray.removeAt(index);
+		return dynamicArray.size();
+	}
+
+	@Benchmark
+	public int hashedArrayTree_insertRemoveMiddle() {
+		int index = nextIndex();
+		hashedArrayTree.add(index, -1);
+		hashedArrayTree.remove(index);
+		return hashedArrayTree.size();
+	}
+
+	@Benchmark
+	public int tieredVector_insertRemoveMiddle() {
+		int index = nextIndex();
+		tieredVector.addAt(index, -1);
+		tieredVector.removeAt(index);
+		return tieredVector.size();
+	}
+}
@@ -0,0 +1,112 @@
+package nkher.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import nkher.datastructures.lists.DoublyLinkedList;
+import nkher.datastructures.lists.SinglyLinkedList;
+import nkher.datastructures.trees.BinarySearchTree;
+import nkher.datastructures.trees.Treap;
+
+/***
+ * Measures the allocation rate of the linked structures with node pooling off (maxPooledNodes 0, the before) and on
+ * (the after). Every benchmark inserts and removes one element, so the structures keep their size and a pooled
+ * structure should not allocate at all. Compare gc.alloc.rate.norm, the bytes allocated per operation.
+ * Run with : gradle jmh -PjmhInclude=NodePoolBenchmark -PjmhProfilers=gc
+ *
+ * @author nameshkher
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NodePoolBenchmark {
+
+	private static final int SIZE = 1024;
+
+	@Param({"0", "64"})
+	public int maxPooledNodes;
+
+	private SinglyLinkedList<Integer> singlyLinkedList;
+	private DoublyLinkedList<Integer> doublyLinkedList;
+	private BinarySearchTree<Integer, Integer> binarySearchTree;
+	private Treap<Integer, Integer> treap;
+	private Integer[] keys;
+	private int next;
+
+	@Setup
+	public void setup() {
+		singlyLinkedList = new SinglyLinkedList<>();
+		doublyLinkedList = new DoublyLinkedList<>();
+		binarySearchTree = new BinarySearchTree<>();
+		treap = new Treap<>();
+		if (maxPooledNodes > 0) {
+			singlyLinkedList.enableNodePooling(maxPooledNodes);
+			doublyLinkedList.enableNodePooling(maxPooledNodes);
+			binarySearchTree.enableNodePooling(maxPooledNodes);
+			treap.enableNodePooling(maxPooledNodes);
+		}
+		keys = new Integer[SIZE];
+		for (int i=0; i<SIZE; i++) {
+			keys[i] = i * 2; // even keys stay in the trees, odd keys come and go
+			singlyLinkedList.insert(keys[i]);
+			doublyLinkedList.insert(keys[i]);
+		}
+		insertBalanced(0, SIZE - 1);
+	}
+
+	/***
+	 * Inserts the middle key first, so that the unbalanced binary search tree gets a logarithmic height.
+	 */
+	private void insertBalanced(int from, int to) {
+		if (from > to) {
+			return;
+		}
+		int middle = (from + to) >>> 1;
+		binarySearchTree.insert(keys[middle], keys[middle]);
+		treap.insert(keys[middle], keys[middle]);
+		insertBalanced(from, middle - 1);
+		insertBalanced(middle + 1, to);
+	}
+
+	private Integer nextKey() {
+		next = (next + 1) & (SIZE - 1);
+		return keys[next] + 1;
+	}
+
+	@Benchmark
+	public int singlyLinkedList_insertAtHeadRemoveAt() {
+		singlyLinkedList.insertAtHead(keys[0]);
+		singlyLinkedList.removeAt(0);
+		return singlyLinkedList.size();
+	}
+
+	@Benchmark
+	public int doublyLinkedList_insertAtHeadRemoveAt() {
+		doublyLinkedList.insertAtHead(keys[0]);
+		doublyLinkedList.removeAt(0);
+		return doublyLinkedList.size();
+	}
+
+	@Benchmark
+	public boolean binarySearchTree_insertRemove() {
+		Integer key = nextKey();
+		binarySearchTree.insert(key, key);
+		return binarySearchTree.remove(key);
+	}
+
+	@Benchmark
+	public boolean treap_insertRemove() {
+		Integer key = nextKey();
+		treap.insert(key, key);
+		return treap.remove(key);
+	}
+}
@@ -0,0 +1,108 @@
+package nkher.benchmarks;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import nkher.datastructures.queues.MpmcRingBuffer;
+import nkher.datastructures.queues.MpscRingBuffer;
+import nkher.datastructures.queues.SpscRingBuffer;
+
+/***
+ * Measures the offer and poll throughput of the ring buffers of {@link nkher.datastructures.queues} against the
+ * lock based {@link ArrayBlockingQueue}, with producer and consumer threads running side by side in a group.
+ * A failed offer or poll counts as an operation too, so compare the groups in the same shape only.
+ * Run with : gradle jmh -PjmhInclude=RingBufferBenchmark
+ *
+ * @author nameshkher
+ *
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RingBufferBenchmark {
+
+	private static final Integer ELEMENT = 42;
+
+	@Param({"1024"})
+	public int capacity;
+
+	private SpscRingBuffer<Integer> spsc;
+	private MpscRingBuffer<Integer> mpsc;
+	private MpmcRingBuffer<Integer> mpmc;
+	private ArrayBlockingQueue<Integer> blockingQueue;
+
+	@Setup
+	public void setup() {
+		spsc = new SpscRingBuffer<>(capacity);
+		mpsc = new MpscRingBuffer<>(capacity);
+		mpmc = new MpmcRingBuffer<>(capacity);
+		blockingQueue = new ArrayBlockingQueue<>(capacity);
+	}
+
+	@Benchmark
+	@Group("spsc")
+	@GroupThreads(1)
+	public boolean spsc_offer() {
+		return spsc.offer(ELEMENT);
+	}
+
+	@Benchmark
+	@Group("spsc")
+	@GroupThreads(1)
+	public Integer spsc_poll() {
+		return spsc.poll();
+	}
+
+	@Benchmark
+	@Group("mpsc")
+	@GroupThreads(3)
+	public boolean mpsc_offer() {
+		return mpsc.offer(ELEMENT);
+	}
+
+	@Benchmark
+	@Group("mpsc")
+	@GroupThreads(1)
+	public Integer mpsc_poll() {
+		return mpsc.poll();
+	}
+
+	@Benchmark
+	@Group("mpmc")
+	@GroupThreads(2)
+	public boolean mpmc_offer() {
+		return mpmc.offer(ELEMENT);
+	}
+
+	@Benchmark
+	@Group("mpmc")
+	@GroupThreads(2)
+	public Integer mpmc_poll() {
+		return mpmc.poll();
+	}
+
+	@Benchmark
+	@Group("blockingQueue")
+	@GroupThreads(2)
+	public boolean blockingQueue_offer() {
+		return blockingQueue.offer(ELEMENT);
+	}
+
+	@Benchmark
+	@Group("blockingQueue")
+	@GroupThreads(2)
+	public Integer blockingQueue_poll() {
+		return blockingQueue.poll();
+	}
+}
@@ -0,0 +1,101 @@
+package nkher.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import nkher.datastructures.lists.ConcurrentSkipListMap;
+import nkher.datastructures.lists.SkipListMap;
+
+/***
+ * Compares the throughput of the lock free {@link ConcurrentSkipListMap} with a {@link SkipListMap} guarded by a
+ * single lock and with the skip list map of the JDK, for 4 threads sharing one map. Every operation is a get with
+ * the given percentage, and otherwise an insert or a remove of a random key, so that the map keeps its size.
+ * Run with : gradle jmh -PjmhInclude=SkipListBenchmark
+ *
+ * @author nameshkher
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class SkipListBenchmark {
+
+	@Param({"100000"})
+	public int keyRange;
+
+	@Param({"50", "90"})
+	public int readPercent;
+
+	private ConcurrentSkipListMap<Integer, Integer> lockFree;
+	private SkipListMap<Integer, Integer> locked;
+	private java.util.concurrent.ConcurrentSkipListMap<Integer, Integer> jdk;
+
+	@Setup
+	public void setup() {
+		lockFree = new ConcurrentSkipListMap<>();
+		locked = new SkipListMap<>();
+		jdk = new java.util.concurrent.ConcurrentSkipListMap<>();
+		for (int i=0; i<keyRange; i=i+2) {
+			lockFree.insert(i, i);
+			locked.insert(i, i);
+			jdk.put(i, i);
+		}
+	}
+
+	@Benchmark
+	public Object lockFreeSkipList() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Integer key = random.nextInt(keyRange);
+		int op = random.nextInt(100);
+		if (op < readPercent) {
+			return lockFree.get(key);
+		}
+		if ((op & 1) == 0) {
+			lockFree.insert(key, key);
+			return key;
+		}
+		return lockFree.remove(key);
+	}
+
+	@Benchmark
+	public Object lockedSkipList() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Integer key = random.nextInt(keyRange);
+		int op = random.nextInt(100);
+		synchronized (locked) {
+			if (op < readPercent) {
+				return locked.get(key);
+			}
+			if ((op & 1) == 0) {
+				locked.insert(key, key);
+				return key;
+			}
+			return locked.remove(key);
+		}
+	}
+
+	@Benchmark
+	public Object jdkSkipList() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Integer key = random.nextInt(keyRange);
+		int op = random.nextInt(100);
+		if (op < readPercent) {
+			return jdk.get(key);
+		}
+		if ((op & 1) == 0) {
+			return jdk.put(key, key);
+		}
+		return jdk.remove(key);
+	}
+}
@@ -0,0 +1,109 @@
+package nkher.benchmarks;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import nkher.datastructures.stacks.EliminationBackoffStack;
+import nkher.datastructures.stacks.StackLinked;
+import nkher.datastructures.stacks.TreiberStack;
+
+/***
+ * Measures push and pop throughput of the concurrent stacks under heavy contention, with pushing and popping
+ * threads running side by side in a group. The baselines are a StackLinked behind a lock and the JDK
+ * {@link ConcurrentLinkedDeque} used as a stack. Run with -tg to vary the number of threads per side, the
+ * elimination stack should pull ahead as it grows.
+ * Run with : gradle jmh -PjmhInclude=StackBenchmark
+ *
+ * @author nameshkher
+ *
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StackBenchmark {
+
+	private static final Integer ELEMENT = 42;
+
+	private TreiberStack<Integer> treiberStack;
+	private EliminationBackoffStack<Integer> eliminationStack;
+	private StackLinked<Integer> lockedStack;
+	private ConcurrentLinkedDeque<Integer> linkedDeque;
+
+	@Setup
+	public void setup() {
+		treiberStack = new TreiberStack<>();
+		eliminationStack = new EliminationBackoffStack<>();
+		lockedStack = new StackLinked<>();
+		linkedDeque = new ConcurrentLinkedDeque<>();
+	}
+
+	@Benchmark
+	@Group("treiber")
+	@GroupThreads(4)
+	public void treiber_push() {
+		treiberStack.push(ELEMENT);
+	}
+
+	@Benchmark
+	@Group("treiber")
+	@GroupThreads(4)
+	public Integer treiber_pop() {
+		return treiberStack.poll();
+	}
+
+	@Benchmark
+	@Group("elimination")
+	@GroupThreads(4)
+	public void elimination_push() {
+		eliminationStack.push(ELEMENT);
+	}
+
+	@Benchmark
+	@Group("elimination")
+	@GroupThreads(4)
+	public Integer elimination_pop() {
+		return eliminationStack.poll();
+	}
+
+	@Benchmark
+	@Group("locked")
+	@GroupThreads(4)
+	public void locked_push() {
+		synchronized (lockedStack) {
+			lockedStack.push(ELEMENT);
+		}
+	}
+
+	@Benchmark
+	@Group("locked")
+	@GroupThreads(4)
+	public Integer locked_pop() {
+		synchronized (lockedStack) {
+			return lockedStack.isEmpty() ? null : lockedStack.pop();
+		}
+	}
+
+	@Benchmark
+	@Group("linkedDeque")
+	@GroupThreads(4)
+	public void linkedDeque_push() {
+		linkedDeque.push(ELEMENT);
+	}
+
+	@Benchmark
+	@Group("linkedDeque")
+	@GroupThreads(4)
+	public Integer linkedDeque_pop() {
+		return linkedDeque.pollFirst();
+	}
+}
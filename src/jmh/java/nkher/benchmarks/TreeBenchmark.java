@@ -0,0 +1,106 @@
+package nkher.benchmarks;
+
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import nkher.datastructures.trees.ArrayRedBlackTree;
+import nkher.datastructures.trees.RedBlackTree;
+
+/***
+ * Compares the struct of arrays ArrayRedBlackTree with java.util.TreeMap on lookups and on inserting and removing a
+ * key, which keeps the sizes steady, and with the linked RedBlackTree on a full in order walk, the only operation
+ * both red black trees support. The gc profiler shows the bytes allocated per operation, the array tree reuses its
+ * slots and should allocate nothing on insert and remove.
+ * Run with : gradle jmh -PjmhInclude=TreeBenchmark -PjmhProfilers=gc
+ *
+ * @author nameshkher
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TreeBenchmark {
+
+	@Param({"1024", "65536"})
+	public int size;
+
+	private ArrayRedBlackTree<Integer, Integer> arrayTree;
+	private RedBlackTree<Integer, Integer> linkedTree;
+	private TreeMap<Integer, Integer> treeMap;
+	private Integer[] keys;
+	private int next;
+
+	@Setup
+	public void setup() {
+		arrayTree = new ArrayRedBlackTree<>(size + 1);
+		linkedTree = new RedBlackTree<>();
+		treeMap = new TreeMap<>();
+		Random random = new Random(48);
+		keys = new Integer[size];
+		for (int i=0; i<size; i++) {
+			keys[i] = random.nextInt() & ~1; // even keys stay in the trees, odd keys come and go
+			arrayTree.insert(keys[i], keys[i]);
+			treeMap.put(keys[i], keys[i]);
+			linkedTree.insert(keys[i], keys[i]);
+		}
+	}
+
+	private Integer nextKey() {
+		next = (next + 1) & (size - 1);
+		return keys[next];
+	}
+
+	@Benchmark
+	public Integer arrayTree_get() {
+		return arrayTree.get(nextKey());
+	}
+
+	@Benchmark
+	public Integer treeMap_get() {
+		return treeMap.get(nextKey());
+	}
+
+	@Benchmark
+	public Integer arrayTree_ceilingKey() {
+		return arrayTree.ceilingKey(nextKey() + 1);
+	}
+
+	@Benchmark
+	public Integer treeMap_ceilingKey() {
+		return treeMap.ceilingKey(nextKey() + 1);
+	}
+
+	@Benchmark
+	public boolean arrayTree_insertRemove() {
+		Integer key = nextKey() + 1;
+		arrayTree.insert(key, key);
+		return arrayTree.remove(key);
+	}
+
+	@Benchmark
+	public Integer treeMap_insertRemove() {
+		Integer key = nextKey() + 1;
+		treeMap.put(key, key);
+		return treeMap.remove(key);
+	}
+
+	@Benchmark
+	public int arrayTree_inorderkeys() {
+		return arrayTree.inorderkeys().size();
+	}
+
+	@Benchmark
+	public int linkedTree_inorderkeys() {
+		return linkedTree.inorderkeys().size();
+	}
+}
@@ -0,0 +1,130 @@
+package nkher.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import nkher.main.WorkStealingExecutor;
+
+/***
+ * Measures how a divide and conquer sum scales with the number of workers of {@link WorkStealingExecutor}, next to
+ * the JDK {@link ForkJoinPool} with the same parallelism. Run it with parallelism up to the number of cores of the
+ * machine, the ideal is a throughput growing linearly with it.
+ * Run with : gradle jmh -PjmhInclude=WorkStealingBenchmark
+ *
+ * @author nameshkher
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WorkStealingBenchmark {
+
+	private static final int THRESHOLD = 10_000;
+
+	@Param({"1", "2", "4", "8"})
+	public int parallelism;
+
+	private long[] numbers;
+	private WorkStealingExecutor executor;
+	private ForkJoinPool forkJoinPool;
+
+	static class SumTask extends WorkStealingExecutor.Task<Long> {
+		final long[] numbers;
+		final int from, to;
+
+		SumTask(long[] numbers, int from, int to) {
+			this.numbers = numbers;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Long compute() {
+			if (to - from <= THRESHOLD) {
+				return sum(numbers, from, to);
+			}
+			int middle = (from + to) >>> 1;
+			SumTask left = new SumTask(numbers, from, middle);
+			left.fork();
+			long right = new SumTask(numbers, middle, to).compute();
+			return right + left.join();
+		}
+	}
+
+	static class RecursiveSum extends RecursiveTask<Long> {
+		private static final long serialVersionUID = -6904385011462157207L;
+
+		final long[] numbers;
+		final int from, to;
+
+		RecursiveSum(long[] numbers, int from, int to) {
+			this.numbers = numbers;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Long compute() {
+			if (to - from <= THRESHOLD) {
+				return sum(numbers, from, to);
+			}
+			int middle = (from + to) >>> 1;
+			RecursiveSum left = new RecursiveSum(numbers, from, middle);
+			left.fork();
+			long right = new RecursiveSum(numbers, middle, to).compute();
+			return right + left.join();
+		}
+	}
+
+	static long sum(long[] numbers, int from, int to) {
+		long sum = 0;
+		for (int i=from; i<to; i++) {
+			sum += numbers[i] * numbers[i] % 7; // some work per element, so that memory bandwidth is not all
+		}
+		return sum;
+	}
+
+	@Setup
+	public void setup() {
+		numbers = new long[4_000_000];
+		Random random = new Random(44);
+		for (int i=0; i<numbers.length; i++) {
+			numbers[i] = random.nextInt(1000);
+		}
+		executor = new WorkStealingExecutor(parallelism);
+		forkJoinPool = new ForkJoinPool(parallelism);
+	}
+
+	@TearDown
+	public void tearDown() {
+		executor.close();
+		forkJoinPool.shutdown();
+	}
+
+	@Benchmark
+	public long workStealingExecutor() {
+		return executor.invoke(new SumTask(numbers, 0, numbers.length));
+	}
+
+	@Benchmark
+	public long forkJoinPool() {
+		return forkJoinPool.invoke(new RecursiveSum(numbers, 0, numbers.length));
+	}
+
+	@Benchmark
+	public long sequential() {
+		return sum(numbers, 0, numbers.length);
+	}
+}
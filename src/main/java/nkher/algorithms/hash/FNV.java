@@ -31,6 +31,29 @@ public class FNV extends HashMethod implements Function<byte[], Integer>{
 		return hash_32(data);
 	}
 	
+	/***
+	 * FNV has no seed of its own, the seed is mixed into the offset basis.
+	 */
+	@Override
+	public long hash64(byte[] data, int offset, int length, long seed) {
+		long hash = FNVOFFSET_64BIT ^ seed;
+		for (int i=offset; i<offset+length; i++) {
+			hash *= FNVPRIME_64BIT;
+			hash ^= data[i];
+		}
+		return hash;
+	}
+	
+	@Override
+	public int hash32(byte[] data, int offset, int length, long seed) {
+		int hash = FNVOFFSET_32BIT ^ (int) seed;
+		for (int i=offset; i<offset+length; i++) {
+			hash *= FNVPRIME_32BIT;
+			hash ^= data[i];
+		}
+		return hash;
+	}
+	
 	public static int hash_32(byte[] bytes) {
 		int hash = FNVOFFSET_32BIT;
 		for (int i=0; i<bytes.length; i++) {
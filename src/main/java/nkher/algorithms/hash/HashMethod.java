@@ -1,15 +1,114 @@
 package nkher.algorithms.hash;
 
+import java.nio.charset.StandardCharsets;
+
+/***
+ * The hashing strategy used by the hash based data structures of this library, such as the
+ * {@link nkher.datastructures.bloomfilter.BloomFilter}, {@link nkher.datastructures.map.HashMapLP} and
+ * {@link nkher.datastructures.map.HashMapSC}. Passing a different HashMethod to these structures lets the
+ * client pick the hash that works best for its keys without changing the structures. </br>
+ *
+ * An implementation only has to provide the seeded 64 bit hash of a byte range. The 32 bit, 128 bit and
+ * primitive / char sequence variants have default implementations built on top of it, which the
+ * implementations override with their native (and allocation free) versions where they have one. </br>
+ *
+ * Implementations are stateless and can be shared between threads. They can be looked up by name
+ * through {@link HashMethods}.
+ *
+ * @author nameshkher
+ *
+ */
 public abstract class HashMethod {
-	
+
+	/** Used to derive the seed of the second half of the default 128 bit hash */
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
 	protected String hashFunctionName;
-	
-	
+
+
 	public String getHashFunctionName() {
 		return hashFunctionName;
 	}
-	
+
 	public void setHashFunctionName(String name) {
 		this.hashFunctionName = name;
 	}
+
+	/***
+	 * Returns the 64 bit hash of a range of a byte array.
+	 *
+	 * @param data source array
+	 * @param offset index of the first byte to be hashed
+	 * @param length number of bytes to be hashed
+	 * @param seed seed of the hash. Hashes with only 32 bits of seed use the lower 32 bits.
+	 * @return 64 bit hash value
+	 */
+	public abstract long hash64(byte[] data, int offset, int length, long seed);
+
+	public long hash64(byte[] data, long seed) {
+		return hash64(data, 0, data.length, seed);
+	}
+
+	/***
+	 * Returns the 64 bit hash of the 8 little endian bytes of the value.
+	 */
+	public long hash64(long value, long seed) {
+		byte[] bytes = new byte[Long.BYTES];
+		for (int i=0; i<Long.BYTES; i++) {
+			bytes[i] = (byte) (value >>> (i << 3));
+		}
+		return hash64(bytes, 0, Long.BYTES, seed);
+	}
+
+	/***
+	 * Returns the 64 bit hash of the chars of the sequence, taking two little endian bytes per char.
+	 */
+	public long hash64(CharSequence chars, long seed) {
+		byte[] bytes = chars.toString().getBytes(StandardCharsets.UTF_16LE);
+		return hash64(bytes, 0, bytes.length, seed);
+	}
+
+	/***
+	 * Returns the 32 bit hash of a range of a byte array. By default the two halves of the 64 bit hash are folded.
+	 */
+	public int hash32(byte[] data, int offset, int length, long seed) {
+		long hash = hash64(data, offset, length, seed);
+		return (int) (hash ^ (hash >>> 32));
+	}
+
+	public int hash32(byte[] data, long seed) {
+		return hash32(data, 0, data.length, seed);
+	}
+
+	/***
+	 * Computes the 128 bit hash of a range of a byte array. By default the two halves are two 64 bit hashes
+	 * with different seeds.
+	 *
+	 * @param result a {@code long[2]} which receives the hash, lower 64 bits first
+	 */
+	public void hash128(byte[] data, int offset, int length, long seed, long[] result) {
+		result[0] = hash64(data, offset, length, seed);
+		result[1] = hash64(data, offset, length, seed ^ GOLDEN_GAMMA);
+	}
+
+	/***
+	 * Hashes an arbitrary key. Char sequences, byte arrays and integral numbers are hashed by value, every
+	 * other object is hashed through its {@code hashCode()}. This is what the hash maps use for their keys.
+	 *
+	 * @param key the key to be hashed, must not be null
+	 * @param seed seed of the hash
+	 * @return 64 bit hash value
+	 */
+	public long hashObject(Object key, long seed) {
+		if (key instanceof CharSequence) {
+			return hash64((CharSequence) key, seed);
+		}
+		if (key instanceof byte[]) {
+			return hash64((byte[]) key, seed);
+		}
+		if (key instanceof Long || key instanceof Integer || key instanceof Short || key instanceof Byte) {
+			return hash64(((Number) key).longValue(), seed);
+		}
+		return hash64(key.hashCode(), seed);
+	}
 }
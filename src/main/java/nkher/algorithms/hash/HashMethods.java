@@ -0,0 +1,68 @@
+package nkher.algorithms.hash;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/***
+ * A registry of the available {@link HashMethod} strategies, keyed by their hash function name. The hash
+ * methods of this package are registered up front and clients can register their own, so that the hash used
+ * by a data structure can be picked from configuration.
+ *
+ * @author nameshkher
+ *
+ */
+public final class HashMethods {
+
+	private static final ConcurrentMap<String, HashMethod> REGISTRY = new ConcurrentHashMap<>();
+
+	static {
+		register(new FNV());
+		register(new Murmur3());
+		register(new XXHash64());
+		register(new WyHash());
+	}
+
+	// To make the class uninstantiable
+	private HashMethods() {
+		throw new AssertionError();
+	}
+
+	/***
+	 * Registers a hash method under its hash function name, replacing any method registered under that name.
+	 *
+	 * @param hashMethod the hash method to be registered
+	 */
+	public static void register(HashMethod hashMethod) {
+		if (null == hashMethod || null == hashMethod.getHashFunctionName()) {
+			throw new IllegalArgumentException("Cannot register a hash method without a name.");
+		}
+		REGISTRY.put(hashMethod.getHashFunctionName(), hashMethod);
+	}
+
+	/***
+	 * Returns the hash method registered under the name, for example "murmur3" or "xxhash64".
+	 *
+	 * @param name the hash function name
+	 * @return the registered {@link HashMethod}
+	 * @throws IllegalArgumentException if no hash method is registered under the name
+	 */
+	public static HashMethod forName(String name) {
+		HashMethod hashMethod = REGISTRY.get(name);
+		if (null == hashMethod) {
+			throw new IllegalArgumentException("Unknown hash method : " + name + ", available : " + names());
+		}
+		return hashMethod;
+	}
+
+	/***
+	 * Returns the names of all the registered hash methods.
+	 *
+	 * @return sorted set of names
+	 */
+	public static Set<String> names() {
+		return Collections.unmodifiableSet(new TreeSet<>(REGISTRY.keySet()));
+	}
+}
@@ -0,0 +1,96 @@
+package nkher.algorithms.hash;
+
+/***
+ * A streaming hash function. The data to be hashed is fed in chunks through the put methods and the hash
+ * is the same as hashing all the chunks concatenated in one go. This lets us hash large records without
+ * first copying them into a single array. Multi byte values are fed as little endian bytes, so
+ * {@code putInt(1)} is the same as {@code putBytes(new byte[] {1, 0, 0, 0})}. </br>
+ *
+ * Reading the hash does not change the state, so more data can be put afterwards. A hasher is not thread safe.
+ *
+ * @author nameshkher
+ *
+ */
+public interface Hasher {
+
+	/***
+	 * Adds a single byte to the data being hashed.
+	 *
+	 * @param b the byte to be added
+	 * @return this hasher
+	 */
+	Hasher putByte(byte b);
+
+	/***
+	 * Adds a range of a byte array to the data being hashed.
+	 *
+	 * @param bytes source array
+	 * @param offset index of the first byte to be added
+	 * @param length number of bytes to be added
+	 * @return this hasher
+	 */
+	Hasher putBytes(byte[] bytes, int offset, int length);
+
+	/***
+	 * Adds all the bytes of the array to the data being hashed.
+	 *
+	 * @param bytes the bytes to be added
+	 * @return this hasher
+	 */
+	default Hasher putBytes(byte[] bytes) {
+		return putBytes(bytes, 0, bytes.length);
+	}
+
+	/***
+	 * Adds the 4 bytes of the int, in little endian order.
+	 *
+	 * @param value the int to be added
+	 * @return this hasher
+	 */
+	default Hasher putInt(int value) {
+		for (int i=0; i<Integer.BYTES; i++) {
+			putByte((byte) (value >>> (i << 3)));
+		}
+		return this;
+	}
+
+	/***
+	 * Adds the 8 bytes of the long, in little endian order.
+	 *
+	 * @param value the long to be added
+	 * @return this hasher
+	 */
+	default Hasher putLong(long value) {
+		for (int i=0; i<Long.BYTES; i++) {
+			putByte((byte) (value >>> (i << 3)));
+		}
+		return this;
+	}
+
+	/***
+	 * Adds the chars of the sequence, two little endian bytes per char. No charset encoding is done.
+	 *
+	 * @param chars the chars to be added
+	 * @return this hasher
+	 */
+	default Hasher putChars(CharSequence chars) {
+		for (int i=0; i<chars.length(); i++) {
+			char c = chars.charAt(i);
+			putByte((byte) c);
+			putByte((byte) (c >>> 8));
+		}
+		return this;
+	}
+
+	/***
+	 * Returns the 64 bit hash of all the data put so far.
+	 *
+	 * @return 64 bit hash value
+	 */
+	long hash_64();
+
+	/***
+	 * Discards all the data put so far so that the hasher can be reused with the same seed.
+	 */
+	void reset();
+}
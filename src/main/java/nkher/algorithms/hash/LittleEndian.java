@@ -0,0 +1,66 @@
+package nkher.algorithms.hash;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/***
+ * Helper methods for reading little endian values out of byte arrays and byte buffers, heap or direct.
+ * All the hash functions in this package consume their input as little endian words, so that the hash of
+ * a given sequence of bytes is the same on every platform. </br>
+ *
+ * Java 8 has no {@code VarHandle} byte array views, so a word of a byte array is assembled from its bytes with
+ * shifts after a single bounds check. That is eight byte loads per long, and four per int, instead of one
+ * unaligned load, in exchange for plain portable Java. Off heap memory is read through a direct buffer.
+ *
+ * @author nameshkher
+ *
+ */
+final class LittleEndian {
+
+	// To make the class uninstantiable
+	private LittleEndian() {
+		throw new AssertionError();
+	}
+
+	/***
+	 * Reads the 8 bytes starting at the index as one little endian long, with eight byte loads and shifts. The
+	 * bounds are checked once here so that an out of range index fails with the index of the word.
+	 */
+	static long getLong(byte[] data, int index) {
+		if (index < 0 || index > data.length - Long.BYTES) {
+			throw new ArrayIndexOutOfBoundsException(index);
+		}
+		return (data[index] & 0xFFL)
+				| (data[index + 1] & 0xFFL) << 8
+				| (data[index + 2] & 0xFFL) << 16
+				| (data[index + 3] & 0xFFL) << 24
+				| (data[index + 4] & 0xFFL) << 32
+				| (data[index + 5] & 0xFFL) << 40
+				| (data[index + 6] & 0xFFL) << 48
+				| (data[index + 7] & 0xFFL) << 56;
+	}
+
+	static int getInt(byte[] data, int index) {
+		if (index < 0 || index > data.length - Integer.BYTES) {
+			throw new ArrayIndexOutOfBoundsException(index);
+		}
+		return (data[index] & 0xFF)
+				| (data[index + 1] & 0xFF) << 8
+				| (data[index + 2] & 0xFF) << 16
+				| (data[index + 3] & 0xFF) << 24;
+	}
+
+	/***
+	 * Reads a little endian long at an absolute index of the buffer, whatever the order of the buffer is.
+	 * The position of the buffer is not changed.
+	 */
+	static long getLong(ByteBuffer buffer, int index) {
+		long value = buffer.getLong(index);
+		return (buffer.order() == ByteOrder.LITTLE_ENDIAN) ? value : Long.reverseBytes(value);
+	}
+
+	static int getInt(ByteBuffer buffer, int index) {
+		int value = buffer.getInt(index);
+		return (buffer.order() == ByteOrder.LITTLE_ENDIAN) ? value : Integer.reverseBytes(value);
+	}
+}
@@ -1,87 +1,457 @@
 package nkher.algorithms.hash;
 
+import java.nio.ByteBuffer;
 import java.util.function.BiFunction;
 
 /***
- * References : 
+ * MurmurHash3 in its 32 bit (x86_32) and 128 bit (x64_128) flavours. The 64 bit hash is the first half of the
+ * 128 bit hash. All the variants read the input as little endian words and give the same values as the reference
+ * C++ implementation. </br>
+ *
+ * Apart from byte arrays there are overloads for {@code int}, {@code long}, {@link CharSequence} (two little
+ * endian bytes per char) and {@link ByteBuffer} which do not copy or allocate. Off heap memory is hashed through
+ * a direct {@link ByteBuffer}, ideally in little endian order so that every word is a single read. The 128 bit
+ * variants write their result into a caller supplied {@code long[2]}. Use {@link #newHasher(int)} for hashing
+ * data that arrives in chunks.
+ *
+ * References :
  * 	1. https://en.wikipedia.org/wiki/MurmurHash
  *  2. https://github.com/Baqend/Orestes-Bloomfilter/blob/master/src/main/java/orestes/bloomfilter/HashProvider.java
- * 
+ *  3. https://github.com/aappleby/smhasher/blob/master/src/MurmurHash3.cpp
+ *
  * @author nameshkher
  *
  */
 public class Murmur3 extends HashMethod implements BiFunction<byte[], Integer, Integer> {
-	
+
 	private static final int c1 = 0xcc9e2d51;
 	private static final int c2 = 0x1b873593;
 	private static final int r1 = 15;
 	private static final int r2 = 13;
 	private static final int m = 5;
 	private static final int n = 0xe6546b64;
-		
+
+	/** Constants of the x64_128 variant */
+	private static final long C1_128 = 0x87c37b91114253d5L;
+	private static final long C2_128 = 0x4cf5ad432745937fL;
+
 	public Murmur3() {
 		setHashFunctionName("murmur3");
 	}
-	
+
 	@Override
 	public Integer apply(byte[] data, Integer seed) {
 		return hash_32(data, seed);
 	}
-	
+
+	/***************************************************************
+	 * HASH METHOD STRATEGY (the seed is truncated to 32 bits)
+	 ***************************************************************/
+
+	@Override
+	public long hash64(byte[] data, int offset, int length, long seed) {
+		return hash_x64_128(data, offset, length, (int) seed, null);
+	}
+
+	@Override
+	public long hash64(long value, long seed) {
+		return hash_x64_128(value, (int) seed, null);
+	}
+
+	@Override
+	public long hash64(CharSequence chars, long seed) {
+		return hash_x64_128(chars, (int) seed, null);
+	}
+
+	@Override
+	public int hash32(byte[] data, int offset, int length, long seed) {
+		return hash_32(data, offset, length, (int) seed);
+	}
+
+	@Override
+	public void hash128(byte[] data, int offset, int length, long seed, long[] result) {
+		hash_x64_128(data, offset, length, (int) seed, result);
+	}
+
+	/***************************************************************
+	 * 32 BIT HASH (x86_32)
+	 ***************************************************************/
+
 	public static int hash_32(byte[] data, int seed) {
-		return hash_32(data, data.length, seed);
+		return hash_32(data, 0, data.length, seed);
 	}
-	
-	private static int hash_32(byte[] data, int len, int seed) {
-		
+
+	@SuppressWarnings("fallthrough")
+	public static int hash_32(byte[] data, int offset, int len, int seed) {
+
 		int hash = seed;
-		
-		int fourByteProcessingEnd = len/4;
-						
+
+		int fourByteProcessingEnd = offset + (len & ~3);
+
 		// start processing 4 byte chunks of data
-		int i = 0;
-		for (i=0; i<fourByteProcessingEnd; i++) {
-			int k = data[(i*4) + 0] & 0xFF; 
-			k |= data[(i*4) + 1] & 0xFF << 8;
-			k |= data[(i*4) + 2] & 0xFF << 16;
-			k |= data[(i*4) + 3] & 0xFF << 24;			
-			
+		int i;
+		for (i=offset; i<fourByteProcessingEnd; i+=4) {
+			int k = LittleEndian.getInt(data, i);
+
 			// Mix the key and the hash
 			k = mixKey(k);
 			hash = mixHash(hash, k);
 		}
-		
-		// process remaining bytes of data
-		i = 4 * fourByteProcessingEnd + 1; // next byte from where processing should start
-		while (i < len) {
-			int remainingBytes = data[i] & 0xFF;
-			remainingBytes = mixKey(remainingBytes);
-			hash = hash ^ remainingBytes;
-			i++;
+
+		// process the remaining 1 to 3 bytes of data
+		int remainingBytes = 0;
+		switch (len & 3) {
+			case 3: remainingBytes ^= (data[i + 2] & 0xFF) << 16;
+				// fall through
+			case 2: remainingBytes ^= (data[i + 1] & 0xFF) << 8;
+				// fall through
+			case 1: remainingBytes ^= (data[i] & 0xFF);
+				hash = hash ^ mixKey(remainingBytes);
 		}
-		
+
 		// last part
 		hash = hash ^ len;
-		
-		hash = hash ^ (hash >> 16);
+
+		hash = hash ^ (hash >>> 16);
 		hash = hash * 0x85ebca6b;
-		hash = hash ^ (hash >> 13);
+		hash = hash ^ (hash >>> 13);
 		hash = hash * 0xc2b2ae35;
-		hash = hash ^ (hash >> 16);
+		hash = hash ^ (hash >>> 16);
 		return hash;
 	}
-	
+
 	private static int mixKey(int k) {
 		k = k * c1;
 		k = Integer.rotateLeft(k, r1);
 		k = k * c2;
 		return k;
 	}
-	
+
 	private static int mixHash(int h, int k) {
 		h = h ^ k;
 		h = Integer.rotateLeft(h, r2);
 		h = h * m + n;
 		return h;
 	}
+
+	/***************************************************************
+	 * 64 BIT HASH (first half of x64_128)
+	 ***************************************************************/
+
+	public static long hash_64(byte[] data, int seed) {
+		return hash_x64_128(data, 0, data.length, seed, null);
+	}
+
+	public static long hash_64(byte[] data, int offset, int length, int seed) {
+		return hash_x64_128(data, offset, length, seed, null);
+	}
+
+	public static long hash_64(long value, int seed) {
+		return hash_x64_128(value, seed, null);
+	}
+
+	public static long hash_64(int value, int seed) {
+		return hash_x64_128(value, seed, null);
+	}
+
+	public static long hash_64(CharSequence chars, int seed) {
+		return hash_x64_128(chars, seed, null);
+	}
+
+	public static long hash_64(ByteBuffer buffer, int seed) {
+		return hash_x64_128(buffer, seed, null);
+	}
+
+	/***************************************************************
+	 * 128 BIT HASH (x64_128)
+	 ***************************************************************/
+
+	/***
+	 * Returns the 128 bit hash of the data as two longs, the lower 64 bits first.
+	 *
+	 * @param data bytes to be hashed
+	 * @param seed seed of the hash
+	 * @return a new {@code long[2]} holding the hash
+	 */
+	public static long[] hash_x64_128(byte[] data, int seed) {
+		long[] result = new long[2];
+		hash_x64_128(data, 0, data.length, seed, result);
+		return result;
+	}
+
+	/***
+	 * Computes the 128 bit hash of a range of a byte array.
+	 *
+	 * @param data source array
+	 * @param offset index of the first byte to be hashed
+	 * @param length number of bytes to be hashed
+	 * @param seed seed of the hash
+	 * @param result a {@code long[2]} which receives the hash, lower 64 bits first. May be null.
+	 * @return the lower 64 bits of the hash
+	 */
+	public static long hash_x64_128(byte[] data, int offset, int length, int seed, long[] result) {
+		long h1 = seed & 0xFFFFFFFFL;
+		long h2 = h1;
+		int blocksEnd = offset + (length & ~15);
+		int i;
+		for (i=offset; i<blocksEnd; i+=16) {
+			h1 ^= mixK1(LittleEndian.getLong(data, i));
+			h1 = Long.rotateLeft(h1, 27) + h2;
+			h1 = h1 * 5 + 0x52dce729;
+			h2 ^= mixK2(LittleEndian.getLong(data, i + 8));
+			h2 = Long.rotateLeft(h2, 31) + h1;
+			h2 = h2 * 5 + 0x38495ab5;
+		}
+
+		int tail = length & 15;
+		long k1 = 0, k2 = 0;
+		for (int j=0; j<tail; j++) {
+			long b = data[i + j] & 0xFFL;
+			if (j < 8) k1 |= b << (j << 3);
+			else k2 |= b << ((j - 8) << 3);
+		}
+		if (tail > 8) h2 ^= mixK2(k2);
+		if (tail > 0) h1 ^= mixK1(k1);
+		return finish(h1, h2, length, result);
+	}
+
+	/***
+	 * Computes the 128 bit hash of the 8 little endian bytes of the long.
+	 */
+	public static long hash_x64_128(long value, int seed, long[] result) {
+		long h1 = seed & 0xFFFFFFFFL;
+		long h2 = h1;
+		h1 ^= mixK1(value);
+		return finish(h1, h2, Long.BYTES, result);
+	}
+
+	/***
+	 * Computes the 128 bit hash of the 4 little endian bytes of the int.
+	 */
+	public static long hash_x64_128(int value, int seed, long[] result) {
+		long h1 = seed & 0xFFFFFFFFL;
+		long h2 = h1;
+		h1 ^= mixK1(value & 0xFFFFFFFFL);
+		return finish(h1, h2, Integer.BYTES, result);
+	}
+
+	/***
+	 * Computes the 128 bit hash of the chars of the sequence, taking two little endian bytes per char.
+	 */
+	public static long hash_x64_128(CharSequence chars, int seed, long[] result) {
+		long h1 = seed & 0xFFFFFFFFL;
+		long h2 = h1;
+		int len = chars.length();
+		int blocksEnd = len & ~7; // 8 chars make a 16 byte block
+		int i;
+		for (i=0; i<blocksEnd; i+=8) {
+			long k1 = chars.charAt(i) | (long) chars.charAt(i + 1) << 16
+					| (long) chars.charAt(i + 2) << 32 | (long) chars.charAt(i + 3) << 48;
+			long k2 = chars.charAt(i + 4) | (long) chars.charAt(i + 5) << 16
+					| (long) chars.charAt(i + 6) << 32 | (long) chars.charAt(i + 7) << 48;
+			h1 ^= mixK1(k1);
+			h1 = Long.rotateLeft(h1, 27) + h2;
+			h1 = h1 * 5 + 0x52dce729;
+			h2 ^= mixK2(k2);
+			h2 = Long.rotateLeft(h2, 31) + h1;
+			h2 = h2 * 5 + 0x38495ab5;
+		}
+
+		int tail = len - blocksEnd;
+		long k1 = 0, k2 = 0;
+		for (int j=0; j<tail; j++) {
+			long c = chars.charAt(i + j);
+			if (j < 4) k1 |= c << (j << 4);
+			else k2 |= c << ((j - 4) << 4);
+		}
+		if (tail > 4) h2 ^= mixK2(k2);
+		if (tail > 0) h1 ^= mixK1(k1);
+		return finish(h1, h2, 2L * len, result);
+	}
+
+	/***
+	 * Computes the 128 bit hash of the bytes between the position and the limit of the buffer. The position
+	 * of the buffer is not changed and the byte order of the buffer does not change the hash. This is also the
+	 * way to hash off heap memory, through a direct buffer.
+	 */
+	public static long hash_x64_128(ByteBuffer buffer, int seed, long[] result) {
+		long h1 = seed & 0xFFFFFFFFL;
+		long h2 = h1;
+		int offset = buffer.position();
+		int length = buffer.remaining();
+		int blocksEnd = offset + (length & ~15);
+		int i;
+		for (i=offset; i<blocksEnd; i+=16) {
+			h1 ^= mixK1(LittleEndian.getLong(buffer, i));
+			h1 = Long.rotateLeft(h1, 27) + h2;
+			h1 = h1 * 5 + 0x52dce729;
+			h2 ^= mixK2(LittleEndian.getLong(buffer, i + 8));
+			h2 = Long.rotateLeft(h2, 31) + h1;
+			h2 = h2 * 5 + 0x38495ab5;
+		}
+
+		int tail = length & 15;
+		long k1 = 0, k2 = 0;
+		for (int j=0; j<tail; j++) {
+			long b = buffer.get(i + j) & 0xFFL;
+			if (j < 8) k1 |= b << (j << 3);
+			else k2 |= b << ((j - 8) << 3);
+		}
+		if (tail > 8) h2 ^= mixK2(k2);
+		if (tail > 0) h1 ^= mixK1(k1);
+		return finish(h1, h2, length, result);
+	}
+
+	private static long mixK1(long k1) {
+		k1 *= C1_128;
+		k1 = Long.rotateLeft(k1, 31);
+		return k1 * C2_128;
+	}
+
+	private static long mixK2(long k2) {
+		k2 *= C2_128;
+		k2 = Long.rotateLeft(k2, 33);
+		return k2 * C1_128;
+	}
+
+	private static long fmix64(long k) {
+		k ^= k >>> 33;
+		k *= 0xff51afd7ed558ccdL;
+		k ^= k >>> 33;
+		k *= 0xc4ceb9fe1a85ec53L;
+		k ^= k >>> 33;
+		return k;
+	}
+
+	/***
+	 * Final avalanche of the two halves. Writes both halves into result when it is not null
+	 * and returns the lower half.
+	 */
+	private static long finish(long h1, long h2, long length, long[] result) {
+		h1 ^= length;
+		h2 ^= length;
+		h1 += h2;
+		h2 += h1;
+		h1 = fmix64(h1);
+		h2 = fmix64(h2);
+		h1 += h2;
+		h2 += h1;
+		if (result != null) {
+			result[0] = h1;
+			result[1] = h2;
+		}
+		return h1;
+	}
+
+	/***************************************************************
+	 * STREAMING HASH
+	 ***************************************************************/
+
+	/***
+	 * Returns a streaming x64_128 hasher. Hashing chunks with it gives the same value as
+	 * {@link #hash_x64_128(byte[], int, int, int, long[])} on the concatenated chunks.
+	 *
+	 * @param seed seed of the hash
+	 * @return a new {@link Murmur3Hasher}
+	 */
+	public static Murmur3Hasher newHasher(int seed) {
+		return new Murmur3Hasher(seed);
+	}
+
+	/***
+	 * Streaming version of the x64_128 hash. It keeps the two halves of the state and a 16 byte
+	 * buffer for a partially filled block.
+	 */
+	public static final class Murmur3Hasher implements Hasher {
+
+		private final int seed;
+		private final byte[] buffer = new byte[16];
+		private int buffered;
+		private long h1, h2;
+		private long length;
+
+		private Murmur3Hasher(int seed) {
+			this.seed = seed;
+			reset();
+		}
+
+		@Override
+		public Murmur3Hasher putByte(byte b) {
+			buffer[buffered++] = b;
+			length++;
+			if (buffered == 16) {
+				processBlock(LittleEndian.getLong(buffer, 0), LittleEndian.getLong(buffer, 8));
+				buffered = 0;
+			}
+			return this;
+		}
+
+		@Override
+		public Murmur3Hasher putBytes(byte[] bytes, int offset, int len) {
+			if (offset < 0 || len < 0 || offset + len > bytes.length) {
+				throw new ArrayIndexOutOfBoundsException("offset : " + offset + ", length : " + len);
+			}
+			length += len;
+			int end = offset + len;
+			if (buffered > 0) {
+				int fill = Math.min(16 - buffered, len);
+				System.arraycopy(bytes, offset, buffer, buffered, fill);
+				buffered += fill;
+				offset += fill;
+				if (buffered < 16) {
+					return this;
+				}
+				processBlock(LittleEndian.getLong(buffer, 0), LittleEndian.getLong(buffer, 8));
+				buffered = 0;
+			}
+			// whole blocks are mixed straight from the caller's array
+			for (; offset + 16 <= end; offset += 16) {
+				processBlock(LittleEndian.getLong(bytes, offset), LittleEndian.getLong(bytes, offset + 8));
+			}
+			buffered = end - offset;
+			System.arraycopy(bytes, offset, buffer, 0, buffered);
+			return this;
+		}
+
+		private void processBlock(long k1, long k2) {
+			h1 ^= mixK1(k1);
+			h1 = Long.rotateLeft(h1, 27) + h2;
+			h1 = h1 * 5 + 0x52dce729;
+			h2 ^= mixK2(k2);
+			h2 = Long.rotateLeft(h2, 31) + h1;
+			h2 = h2 * 5 + 0x38495ab5;
+		}
+
+		@Override
+		public long hash_64() {
+			return hash_x64_128(null);
+		}
+
+		/***
+		 * Computes the 128 bit hash of the data put so far.
+		 *
+		 * @param result a {@code long[2]} which receives the hash, lower 64 bits first. May be null.
+		 * @return the lower 64 bits of the hash
+		 */
+		public long hash_x64_128(long[] result) {
+			long k1 = 0, k2 = 0;
+			for (int j=0; j<buffered; j++) {
+				long b = buffer[j] & 0xFFL;
+				if (j < 8) k1 |= b << (j << 3);
+				else k2 |= b << ((j - 8) << 3);
+			}
+			long hash1 = h1, hash2 = h2;
+			if (buffered > 8) hash2 ^= mixK2(k2);
+			if (buffered > 0) hash1 ^= mixK1(k1);
+			return finish(hash1, hash2, length, result);
+		}
+
+		@Override
+		public void reset() {
+			h1 = seed & 0xFFFFFFFFL;
+			h2 = h1;
+			buffered = 0;
+			length = 0;
+		}
+	}
 }
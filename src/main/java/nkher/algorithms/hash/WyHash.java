@@ -0,0 +1,137 @@
+package nkher.algorithms.hash;
+
+import java.util.function.Function;
+
+/***
+ * wyhash (version final4), a very fast non cryptographic 64 bit hash. Each step reads two little endian longs
+ * and mixes them with one 64 x 64 -> 128 bit multiplication, folding the high and low halves of the product.
+ * It is the fastest hash of this package for short and medium sized keys.
+ *
+ * Reference :
+ * 1. https://github.com/wangyi-fudan/wyhash
+ *
+ * @author nameshkher
+ *
+ */
+public class WyHash extends HashMethod implements Function<byte[], Long> {
+
+	private static final long SECRET_0 = 0x2d358dccaa6c78a5L;
+	private static final long SECRET_1 = 0x8bb84b93962eacc9L;
+	private static final long SECRET_2 = 0x4b33a62ed433d4a3L;
+	private static final long SECRET_3 = 0x4d5a2da51de1aa47L;
+
+	public WyHash() {
+		setHashFunctionName("wyhash");
+	}
+
+	/***
+	 * Hashes the data with a seed of 0.
+	 */
+	@Override
+	public Long apply(byte[] data) {
+		return hash_64(data);
+	}
+
+	@Override
+	public long hash64(byte[] data, int offset, int length, long seed) {
+		return hash_64(data, offset, length, seed);
+	}
+
+	@Override
+	public long hash64(long value, long seed) {
+		return hash_64(value, seed);
+	}
+
+	public static long hash_64(byte[] data) {
+		return hash_64(data, 0, data.length, 0);
+	}
+
+	public static long hash_64(byte[] data, long seed) {
+		return hash_64(data, 0, data.length, seed);
+	}
+
+	public static long hash_64(byte[] data, int offset, int length, long seed) {
+		seed ^= mix(seed ^ SECRET_0, SECRET_1);
+		long a, b;
+		if (length <= 16) {
+			if (length >= 4) {
+				int shift = (length >>> 3) << 2; // 0 for 4 to 7 bytes, 4 for 8 to 16 bytes
+				a = (read4(data, offset) << 32) | read4(data, offset + shift);
+				b = (read4(data, offset + length - 4) << 32) | read4(data, offset + length - 4 - shift);
+			}
+			else if (length > 0) {
+				a = ((data[offset] & 0xFFL) << 16) | ((data[offset + (length >>> 1)] & 0xFFL) << 8) | (data[offset + length - 1] & 0xFFL);
+				b = 0;
+			}
+			else {
+				a = b = 0;
+			}
+		}
+		else {
+			int i = length;
+			int p = offset;
+			if (i > 48) {
+				long see1 = seed, see2 = seed;
+				do {
+					seed = mix(LittleEndian.getLong(data, p) ^ SECRET_1, LittleEndian.getLong(data, p + 8) ^ seed);
+					see1 = mix(LittleEndian.getLong(data, p + 16) ^ SECRET_2, LittleEndian.getLong(data, p + 24) ^ see1);
+					see2 = mix(LittleEndian.getLong(data, p + 32) ^ SECRET_3, LittleEndian.getLong(data, p + 40) ^ see2);
+					p += 48;
+					i -= 48;
+				} while (i > 48);
+				seed ^= see1 ^ see2;
+			}
+			while (i > 16) {
+				seed = mix(LittleEndian.getLong(data, p) ^ SECRET_1, LittleEndian.getLong(data, p + 8) ^ seed);
+				i -= 16;
+				p += 16;
+			}
+			a = LittleEndian.getLong(data, p + i - 16);
+			b = LittleEndian.getLong(data, p + i - 8);
+		}
+		a ^= SECRET_1;
+		b ^= seed;
+		long low = a * b;
+		long high = multiplyHigh(a, b);
+		return mix(low ^ SECRET_0 ^ length, high ^ SECRET_1);
+	}
+
+	/***
+	 * Hashes the 8 little endian bytes of the long without allocating an array.
+	 */
+	public static long hash_64(long value, long seed) {
+		seed ^= mix(seed ^ SECRET_0, SECRET_1);
+		// same as the 8 byte case above : a holds the two halves in order and b holds them swapped
+		long a = (value << 32 | value >>> 32) ^ SECRET_1;
+		long b = value ^ seed;
+		long low = a * b;
+		long high = multiplyHigh(a, b);
+		return mix(low ^ SECRET_0 ^ Long.BYTES, high ^ SECRET_1);
+	}
+
+	private static long read4(byte[] data, int index) {
+		return LittleEndian.getInt(data, index) & 0xFFFFFFFFL;
+	}
+
+	/***
+	 * Multiplies the two longs as unsigned 128 bit values and folds the product by xoring its halves.
+	 */
+	private static long mix(long a, long b) {
+		return (a * b) ^ multiplyHigh(a, b);
+	}
+
+	/***
+	 * Returns the high 64 bits of the unsigned 128 bit product. (Math.multiplyHigh is only there from Java 9
+	 * and is signed.)
+	 */
+	private static long multiplyHigh(long a, long b) {
+		long aLow = a & 0xFFFFFFFFL, aHigh = a >>> 32;
+		long bLow = b & 0xFFFFFFFFL, bHigh = b >>> 32;
+		long lowLow = aLow * bLow;
+		long highLow = aHigh * bLow;
+		long lowHigh = aLow * bHigh;
+		long highHigh = aHigh * bHigh;
+		long cross = (lowLow >>> 32) + (highLow & 0xFFFFFFFFL) + lowHigh;
+		return highHigh + (highLow >>> 32) + (cross >>> 32);
+	}
+}
@@ -0,0 +1,131 @@
+package nkher.algorithms.hash;
+
+import java.util.function.Function;
+
+/***
+ * xxHash64, a fast non cryptographic 64 bit hash. The input is consumed 32 bytes at a time in four independent
+ * lanes, every lane reading one little endian long, which makes it several times faster than {@link FNV} on keys
+ * longer than a few dozen bytes.
+ *
+ * Reference :
+ * 1. https://github.com/Cyan4973/xxHash/blob/dev/doc/xxhash_spec.md
+ *
+ * @author nameshkher
+ *
+ */
+public class XXHash64 extends HashMethod implements Function<byte[], Long> {
+
+	private static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+	private static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+	private static final long PRIME64_3 = 0x165667B19E3779F9L;
+	private static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+	private static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+
+	public XXHash64() {
+		setHashFunctionName("xxhash64");
+	}
+
+	/***
+	 * Hashes the data with a seed of 0.
+	 */
+	@Override
+	public Long apply(byte[] data) {
+		return hash_64(data);
+	}
+
+	@Override
+	public long hash64(byte[] data, int offset, int length, long seed) {
+		return hash_64(data, offset, length, seed);
+	}
+
+	@Override
+	public long hash64(long value, long seed) {
+		return hash_64(value, seed);
+	}
+
+	public static long hash_64(byte[] data) {
+		return hash_64(data, 0, data.length, 0);
+	}
+
+	public static long hash_64(byte[] data, long seed) {
+		return hash_64(data, 0, data.length, seed);
+	}
+
+	public static long hash_64(byte[] data, int offset, int length, long seed) {
+		int end = offset + length;
+		int i = offset;
+		long hash;
+
+		if (length >= 32) {
+			long v1 = seed + PRIME64_1 + PRIME64_2;
+			long v2 = seed + PRIME64_2;
+			long v3 = seed;
+			long v4 = seed - PRIME64_1;
+			int limit = end - 32;
+			do {
+				v1 = round(v1, LittleEndian.getLong(data, i));
+				v2 = round(v2, LittleEndian.getLong(data, i + 8));
+				v3 = round(v3, LittleEndian.getLong(data, i + 16));
+				v4 = round(v4, LittleEndian.getLong(data, i + 24));
+				i += 32;
+			} while (i <= limit);
+
+			hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+			hash = mergeRound(hash, v1);
+			hash = mergeRound(hash, v2);
+			hash = mergeRound(hash, v3);
+			hash = mergeRound(hash, v4);
+		}
+		else {
+			hash = seed + PRIME64_5;
+		}
+
+		hash += length;
+
+		// process the remaining 0 to 31 bytes
+		for (; i + 8 <= end; i += 8) {
+			hash ^= round(0, LittleEndian.getLong(data, i));
+			hash = Long.rotateLeft(hash, 27) * PRIME64_1 + PRIME64_4;
+		}
+		if (i + 4 <= end) {
+			hash ^= (LittleEndian.getInt(data, i) & 0xFFFFFFFFL) * PRIME64_1;
+			hash = Long.rotateLeft(hash, 23) * PRIME64_2 + PRIME64_3;
+			i += 4;
+		}
+		for (; i < end; i++) {
+			hash ^= (data[i] & 0xFFL) * PRIME64_5;
+			hash = Long.rotateLeft(hash, 11) * PRIME64_1;
+		}
+		return avalanche(hash);
+	}
+
+	/***
+	 * Hashes the 8 little endian bytes of the long without allocating an array.
+	 */
+	public static long hash_64(long value, long seed) {
+		long hash = seed + PRIME64_5 + Long.BYTES;
+		hash ^= round(0, value);
+		hash = Long.rotateLeft(hash, 27) * PRIME64_1 + PRIME64_4;
+		return avalanche(hash);
+	}
+
+	private static long round(long acc, long input) {
+		acc += input * PRIME64_2;
+		acc = Long.rotateLeft(acc, 31);
+		return acc * PRIME64_1;
+	}
+
+	private static long mergeRound(long acc, long val) {
+		acc ^= round(0, val);
+		return acc * PRIME64_1 + PRIME64_4;
+	}
+
+	private static long avalanche(long hash) {
+		hash ^= hash >>> 33;
+		hash *= PRIME64_2;
+		hash ^= hash >>> 29;
+		hash *= PRIME64_3;
+		hash ^= hash >>> 32;
+		return hash;
+	}
+}
@@ -1,6 +1,9 @@
 package nkher.algorithms.sorting;
 
+import nkher.datastructures.lists.DoubleDynamicArray;
 import nkher.datastructures.lists.DynamicArray;
+import nkher.datastructures.lists.IntDynamicArray;
+import nkher.datastructures.lists.LongDynamicArray;
 import nkher.utils.ArrayUtility;
 
 /****
@@ -38,6 +41,60 @@ public class BubbleSort extends Sorting {
 		}
 	}
 	
+	/***
+	 * Sorts the IntDynamicArray in place using the bubble sort algorithm, without boxing the elements.
+	 * 
+	 * @param dArray
+	 * @param sortOrder
+	 */
+	public static void sort(IntDynamicArray dArray, int sortOrder) {
+		if (null == dArray) return;
+		int n = dArray.size(), i=0, j=0;
+		for (i=0; i<n; i++) {
+			for (j=0; j<n-i-1; j++) {
+				if (outOfOrder(dArray.getAt(j), dArray.getAt(j+1), sortOrder)) {
+					dArray.swap(j, j+1);
+				}
+			}
+		}
+	}
+	
+	/***
+	 * Sorts the LongDynamicArray in place using the bubble sort algorithm, without boxing the elements.
+	 * 
+	 * @param dArray
+	 * @param sortOrder
+	 */
+	public static void sort(LongDynamicArray dArray, int sortOrder) {
+		if (null == dArray) return;
+		int n = dArray.size(), i=0, j=0;
+		for (i=0; i<n; i++) {
+			for (j=0; j<n-i-1; j++) {
+				if (outOfOrder(dArray.getAt(j), dArray.getAt(j+1), sortOrder)) {
+					dArray.swap(j, j+1);
+				}
+			}
+		}
+	}
+	
+	/***
+	 * Sorts the DoubleDynamicArray in place using the bubble sort algorithm, without boxing the elements.
+	 * 
+	 * @param dArray
+	 * @param sortOrder
+	 */
+	public static void sort(DoubleDynamicArray dArray, int sortOrder) {
+		if (null == dArray) return;
+		int n = dArray.size(), i=0, j=0;
+		for (i=0; i<n; i++) {
+			for (j=0; j<n-i-1; j++) {
+				if (outOfOrder(dArray.getAt(j), dArray.getAt(j+1), sortOrder)) {
+					dArray.swap(j, j+1);
+				}
+			}
+		}
+	}
+	
 	/***
 	 * Sorts the Integer[] array using the bubble sort algorithm.
 	 * 
@@ -136,10 +193,8 @@ public class BubbleSort extends Sorting {
 	 * @param sortOrder
 	 */
 	public static void sort(int[] iarray, int sortOrder) {
-		DynamicArray<Integer> dArray = new DynamicArray<Integer>();
-		ArrayUtility.getDArray(iarray, dArray);
-		sort(dArray, sortOrder);
-		ArrayUtility.fillArray(dArray, iarray);
+		if (null == iarray) return;
+		sort(IntDynamicArray.wrap(iarray), sortOrder);
 	}
 	
 	/***
@@ -189,10 +244,19 @@ public class BubbleSort extends Sorting {
 	 * @param sortOrder
 	 */
 	public static void sort(long[] larray, int sortOrder) {
-		DynamicArray<Long> dArray = new DynamicArray<Long>();	
-		ArrayUtility.getDArray(larray, dArray);
-		sort(dArray, sortOrder);
-		ArrayUtility.fillArray(dArray, larray);
+		if (null == larray) return;
+		sort(LongDynamicArray.wrap(larray), sortOrder);
+	}
+	
+	/***
+	 * Sorts the double[] array using the bubble sort algorithm.
+	 * 
+	 * @param darray
+	 * @param sortOrder
+	 */
+	public static void sort(double[] darray, int sortOrder) {
+		if (null == darray) return;
+		sort(DoubleDynamicArray.wrap(darray), sortOrder);
 	}
 	
 	/***
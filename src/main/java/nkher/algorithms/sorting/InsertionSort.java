@@ -1,6 +1,9 @@
 package nkher.algorithms.sorting;
 
+import nkher.datastructures.lists.DoubleDynamicArray;
 import nkher.datastructures.lists.DynamicArray;
+import nkher.datastructures.lists.IntDynamicArray;
+import nkher.datastructures.lists.LongDynamicArray;
 import nkher.utils.ArrayUtility;
 
 /****
@@ -49,6 +52,69 @@ public class InsertionSort extends Sorting {
 		}
 	}
 	
+	/***
+	 * Sorts the IntDynamicArray in place using the insertion sort algorithm, without boxing the elements.
+	 * The elements greater than the key are shifted instead of swapped.
+	 * 
+	 * @param dArray
+	 * @param sortOrder
+	 */
+	public static void sort(IntDynamicArray dArray, int sortOrder) {
+		if (null == dArray) return;
+		int n = dArray.size(), i=0, j=0;
+		for (i=1; i<n; i++) {
+			int key = dArray.getAt(i);
+			j = i - 1;
+			while (j >= 0 && outOfOrder(dArray.getAt(j), key, sortOrder)) {
+				dArray.replaceAt(j+1, dArray.getAt(j));
+				j--;
+			}
+			dArray.replaceAt(j+1, key);
+		}
+	}
+	
+	/***
+	 * Sorts the LongDynamicArray in place using the insertion sort algorithm, without boxing the elements.
+	 * The elements greater than the key are shifted instead of swapped.
+	 * 
+	 * @param dArray
+	 * @param sortOrder
+	 */
+	public static void sort(LongDynamicArray dArray, int sortOrder) {
+		if (null == dArray) return;
+		int n = dArray.size(), i=0, j=0;
+		for (i=1; i<n; i++) {
+			long key = dArray.getAt(i);
+			j = i - 1;
+			while (j >= 0 && outOfOrder(dArray.getAt(j), key, sortOrder)) {
+				dArray.replaceAt(j+1, dArray.getAt(j));
+				j--;
+			}
+			dArray.replaceAt(j+1, key);
+		}
+	}
+	
+	/***
+	 * Sorts the DoubleDynamicArray in place using the insertion sort algorithm, without boxing the elements.
+	 * The elements greater than the key are shifted instead of swapped.
+	 * 
+	 * @param dArray
+	 * @param sortOrder
+	 */
+	public static void sort(DoubleDynamicArray dArray, int sortOrder) {
+		if (null == dArray) return;
+		int n = dArray.size(), i=0, j=0;
+		for (i=1; i<n; i++) {
+			double key = dArray.getAt(i);
+			j = i - 1;
+			while (j >= 0 && outOfOrder(dArray.getAt(j), key, sortOrder)) {
+				dArray.replaceAt(j+1, dArray.getAt(j));
+				j--;
+			}
+			dArray.replaceAt(j+1, key);
+		}
+	}
+	
 	/***
 	 * Sorts the Integer[] array using the insertion sort algorithm.
 	 * 
@@ -147,10 +213,8 @@ public class InsertionSort extends Sorting {
 	 * @param sortOrder
 	 */
 	public static void sort(int[] iarray, int sortOrder) {
-		DynamicArray<Integer> dArray = new DynamicArray<Integer>();
-		ArrayUtility.getDArray(iarray, dArray);
-		sort(dArray, sortOrder);
-		ArrayUtility.fillArray(dArray, iarray);
+		if (null == iarray) return;
+		sort(IntDynamicArray.wrap(iarray), sortOrder);
 	}
 	
 	/***
@@ -200,10 +264,19 @@ public class InsertionSort extends Sorting {
 	 * @param sortOrder
 	 */
 	public static void sort(long[] larray, int sortOrder) {
-		DynamicArray<Long> dArray = new DynamicArray<Long>();	
-		ArrayUtility.getDArray(larray, dArray);
-		sort(dArray, sortOrder);
-		ArrayUtility.fillArray(dArray, larray);
+		if (null == larray) return;
+		sort(LongDynamicArray.wrap(larray), sortOrder);
+	}
+	
+	/***
+	 * Sorts the double[] array using the insertion sort algorithm.
+	 * 
+	 * @param darray
+	 * @param sortOrder
+	 */
+	public static void sort(double[] darray, int sortOrder) {
+		if (null == darray) return;
+		sort(DoubleDynamicArray.wrap(darray), sortOrder);
 	}
 	
 	/***
@@ -1,6 +1,9 @@
 package nkher.algorithms.sorting;
 
+import nkher.datastructures.lists.DoubleDynamicArray;
 import nkher.datastructures.lists.DynamicArray;
+import nkher.datastructures.lists.IntDynamicArray;
+import nkher.datastructures.lists.LongDynamicArray;
 import nkher.utils.ArrayUtility;
 
 /****
@@ -85,6 +88,102 @@ public class MergeSort extends Sorting {
 		}
 	}
 	
+	/***
+	 * Sorts the IntDynamicArray in place using the merge sort algorithm, without boxing the elements.
+	 * A single auxiliary array is allocated for all the merges.
+	 * 
+	 * @param dArray
+	 * @param sortOrder
+	 */
+	public static void sort(IntDynamicArray dArray, int sortOrder) {
+		if (null == dArray || dArray.size() < 2) return;
+		int[] aux = new int[dArray.size()];
+		mergesort(dArray, aux, 0, dArray.size()-1, sortOrder);
+	}
+	
+	private static void mergesort(IntDynamicArray dArray, int[] aux, int low, int high, int sortOrder) {
+		if (high <= low) return;
+		int mid = (low + high) >>> 1;
+		mergesort(dArray, aux, low, mid, sortOrder);
+		mergesort(dArray, aux, mid+1, high, sortOrder);
+		
+		/** Merge the left and right sub arrays through the auxiliary array */
+		for (int k=low; k<=high; k++) {
+			aux[k] = dArray.getAt(k);
+		}
+		int i = low, j = mid+1;
+		for (int k=low; k<=high; k++) {
+			if (i > mid) dArray.replaceAt(k, aux[j++]);
+			else if (j > high) dArray.replaceAt(k, aux[i++]);
+			else if (outOfOrder(aux[i], aux[j], sortOrder)) dArray.replaceAt(k, aux[j++]);
+			else dArray.replaceAt(k, aux[i++]);
+		}
+	}
+	
+	/***
+	 * Sorts the LongDynamicArray in place using the merge sort algorithm, without boxing the elements.
+	 * A single auxiliary array is allocated for all the merges.
+	 * 
+	 * @param dArray
+	 * @param sortOrder
+	 */
+	public static void sort(LongDynamicArray dArray, int sortOrder) {
+		if (null == dArray || dArray.size() < 2) return;
+		long[] aux = new long[dArray.size()];
+		mergesort(dArray, aux, 0, dArray.size()-1, sortOrder);
+	}
+	
+	private static void mergesort(LongDynamicArray dArray, long[] aux, int low, int high, int sortOrder) {
+		if (high <= low) return;
+		int mid = (low + high) >>> 1;
+		mergesort(dArray, aux, low, mid, sortOrder);
+		mergesort(dArray, aux, mid+1, high, sortOrder);
+		
+		/** Merge the left and right sub arrays through the auxiliary array */
+		for (int k=low; k<=high; k++) {
+			aux[k] = dArray.getAt(k);
+		}
+		int i = low, j = mid+1;
+		for (int k=low; k<=high; k++) {
+			if (i > mid) dArray.replaceAt(k, aux[j++]);
+			else if (j > high) dArray.replaceAt(k, aux[i++]);
+			else if (outOfOrder(aux[i], aux[j], sortOrder)) dArray.replaceAt(k, aux[j++]);
+			else dArray.replaceAt(k, aux[i++]);
+		}
+	}
+	
+	/***
+	 * Sorts the DoubleDynamicArray in place using the merge sort algorithm, without boxing the elements.
+	 * A single auxiliary array is allocated for all the merges.
+	 * 
+	 * @param dArray
+	 * @param sortOrder
+	 */
+	public static void sort(DoubleDynamicArray dArray, int sortOrder) {
+		if (null == dArray || dArray.size() < 2) return;
+		double[] aux = new double[dArray.size()];
+		mergesort(dArray, aux, 0, dArray.size()-1, sortOrder);
+	}
+	
+	private static void mergesort(DoubleDynamicArray dArray, double[] aux, int low, int high, int sortOrder) {
+		if (high <= low) return;
+		int mid = (low + high) >>> 1;
+		mergesort(dArray, aux, low, mid, sortOrder);
+		mergesort(dArray, aux, mid+1, high, sortOrder);
+		
+		/** Merge the left and right sub arrays through the auxiliary array */
+		for (int k=low; k<=high; k++) {
+			aux[k] = dArray.getAt(k);
+		}
+		int i = low, j = mid+1;
+		for (int k=low; k<=high; k++) {
+			if (i > mid) dArray.replaceAt(k, aux[j++]);
+			else if (j > high) dArray.replaceAt(k, aux[i++]);
+			else if (outOfOrder(aux[i], aux[j], sortOrder)) dArray.replaceAt(k, aux[j++]);
+			else dArray.replaceAt(k, aux[i++]);
+		}
+	}
+	
 	/***
 	 * Sorts the Integer[] array using the bubble sort algorithm.
 	 * 
@@ -183,10 +282,8 @@ public class MergeSort extends Sorting {
 	 * @param sortOrder
 	 */
 	public static void sort(int[] iarray, int sortOrder) {
-		DynamicArray<Integer> dArray = new DynamicArray<Integer>();
-		ArrayUtility.getDArray(iarray, dArray);
-		sort(dArray, sortOrder);
-		ArrayUtility.fillArray(dArray, iarray);
+		if (null == iarray) return;
+		sort(IntDynamicArray.wrap(iarray), sortOrder);
 	}
 	
 	/***
@@ -236,10 +333,19 @@ public class MergeSort extends Sorting {
 	 * @param sortOrder
 	 */
 	public static void sort(long[] larray, int sortOrder) {
-		DynamicArray<Long> dArray = new DynamicArray<Long>();
-		ArrayUtility.getDArray(larray, dArray);
-		sort(dArray, sortOrder);
-		ArrayUtility.fillArray(dArray, larray);
+		if (null == larray) return;
+		sort(LongDynamicArray.wrap(larray), sortOrder);
+	}
+	
+	/***
+	 * Sorts the double[] array using the merge sort algorithm.
+	 * 
+	 * @param darray
+	 * @param sortOrder
+	 */
+	public static void sort(double[] darray, int sortOrder) {
+		if (null == darray) return;
+		sort(DoubleDynamicArray.wrap(darray), sortOrder);
 	}
 	
 	/***
@@ -1,6 +1,9 @@
 package nkher.algorithms.sorting;
 
+import nkher.datastructures.lists.DoubleDynamicArray;
 import nkher.datastructures.lists.DynamicArray;
+import nkher.datastructures.lists.IntDynamicArray;
+import nkher.datastructures.lists.LongDynamicArray;
 import nkher.utils.ArrayUtility;
 
 /****
@@ -84,6 +87,99 @@ public class QuickSort extends Sorting {
 		return pIndex;
 	}
 	
+	/***
+	 * Sorts the IntDynamicArray in place using the quick sort algorithm, without boxing the elements.
+	 * 
+	 * @param dArray
+	 * @param sortOrder
+	 */
+	public static void sort(IntDynamicArray dArray, int sortOrder) {
+		if (null == dArray || dArray.size() == 0) return;
+		quicksort(dArray, sortOrder, 0, dArray.size()-1);
+	}
+	
+	private static void quicksort(IntDynamicArray dArray, int sortOrder, int low, int high) {
+		if (high > low) {
+			int partitionInd = pIndex(dArray, sortOrder, low, high);
+			quicksort(dArray, sortOrder, low, partitionInd - 1);
+			quicksort(dArray, sortOrder, partitionInd+1, high);
+		}
+	}
+	
+	private static int pIndex(IntDynamicArray dArray, int sortOrder, int left, int right) {
+		int pIndex = left;
+		int pivot = dArray.getAt(right);
+		for (int i=left; i<right; i++) {
+			if (outOfOrder(pivot, dArray.getAt(i), sortOrder)) { // curr has to be placed before the pivot
+				dArray.swap(i, pIndex++);
+			}
+		}
+		dArray.swap(pIndex, right);
+		return pIndex;
+	}
+	
+	/***
+	 * Sorts the LongDynamicArray in place using the quick sort algorithm, without boxing the elements.
+	 * 
+	 * @param dArray
+	 * @param sortOrder
+	 */
+	public static void sort(LongDynamicArray dArray, int sortOrder) {
+		if (null == dArray || dArray.size() == 0) return;
+		quicksort(dArray, sortOrder, 0, dArray.size()-1);
+	}
+	
+	private static void quicksort(LongDynamicArray dArray, int sortOrder, int low, int high) {
+		if (high > low) {
+			int partitionInd = pIndex(dArray, sortOrder, low, high);
+			quicksort(dArray, sortOrder, low, partitionInd - 1);
+			quicksort(dArray, sortOrder, partitionInd+1, high);
+		}
+	}
+	
+	private static int pIndex(LongDynamicArray dArray, int sortOrder, int left, int right) {
+		int pIndex = left;
+		long pivot = dArray.getAt(right);
+		for (int i=left; i<right; i++) {
+			if (outOfOrder(pivot, dArray.getAt(i), sortOrder)) { // curr has to be placed before the pivot
+				dArray.swap(i, pIndex++);
+			}
+		}
+		dArray.swap(pIndex, right);
+		return pIndex;
+	}
+	
+	/***
+	 * Sorts the DoubleDynamicArray in place using the quick sort algorithm, without boxing the elements.
+	 * 
+	 * @param dArray
+	 * @param sortOrder
+	 */
+	public static void sort(DoubleDynamicArray dArray, int sortOrder) {
+		if (null == dArray || dArray.size() == 0) return;
+		quicksort(dArray, sortOrder, 0, dArray.size()-1);
+	}
+	
+	private static void quicksort(DoubleDynamicArray dArray, int sortOrder, int low, int high) {
+		if (high > low) {
+			int partitionInd = pIndex(dArray, sortOrder, low, high);
+			quicksort(dArray, sortOrder, low, partitionInd - 1);
+			quicksort(dArray, sortOrder, partitionInd+1, high);
+		}
+	}
+	
+	private static int pIndex(DoubleDynamicArray dArray, int sortOrder, int left, int right) {
+		int pIndex = left;
+		double pivot = dArray.getAt(right);
+		for (int i=left; i<right; i++) {
+			if (outOfOrder(pivot, dArray.getAt(i), sortOrder)) { // curr has to be placed before the pivot
+				dArray.swap(i, pIndex++);
+			}
+		}
+		dArray.swap(pIndex, right);
+		return pIndex;
+	}
+	
 	/***
 	 * Sorts the Integer[] array using the quick sort algorithm.
 	 * 
@@ -182,10 +278,8 @@ public class QuickSort extends Sorting {
 	 * @param sortOrder
 	 */
 	public static void sort(int[] iarray, int sortOrder) {
-		DynamicArray<Integer> dArray = new DynamicArray<Integer>();
-		ArrayUtility.getDArray(iarray, dArray);
-		sort(dArray, sortOrder);
-		ArrayUtility.fillArray(dArray, iarray);
+		if (null == iarray) return;
+		sort(IntDynamicArray.wrap(iarray), sortOrder);
 	}
 	
 	/***
@@ -235,10 +329,19 @@ public class QuickSort extends Sorting {
 	 * @param sortOrder
 	 */
 	public static void sort(long[] larray, int sortOrder) {
-		DynamicArray<Long> dArray = new DynamicArray<Long>();
-		ArrayUtility.getDArray(larray, dArray);
-		sort(dArray, sortOrder);
-		ArrayUtility.fillArray(dArray, larray);
+		if (null == larray) return;
+		sort(LongDynamicArray.wrap(larray), sortOrder);
+	}
+	
+	/***
+	 * Sorts the double[] array using the quick sort algorithm.
+	 * 
+	 * @param darray
+	 * @param sortOrder
+	 */
+	public static void sort(double[] darray, int sortOrder) {
+		if (null == darray) return;
+		sort(DoubleDynamicArray.wrap(darray), sortOrder);
 	}
 	
 	/***
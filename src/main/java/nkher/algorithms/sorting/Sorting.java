@@ -19,4 +19,22 @@ public abstract class Sorting {
 		dArray.replaceAt(index1, dArray.getAt(index2));
 		dArray.replaceAt(index2, temp);
 	}
+	
+	/***
+	 * Returns true if the element a has to be placed after the element b in the given sort order.
+	 */
+	protected static boolean outOfOrder(int a, int b, int sortOrder) {
+		int cmp = Integer.compare(a, b);
+		return (sortOrder == ORDER_ASC) ? cmp > 0 : cmp < 0;
+	}
+	
+	protected static boolean outOfOrder(long a, long b, int sortOrder) {
+		int cmp = Long.compare(a, b);
+		return (sortOrder == ORDER_ASC) ? cmp > 0 : cmp < 0;
+	}
+	
+	protected static boolean outOfOrder(double a, double b, int sortOrder) {
+		int cmp = Double.compare(a, b);
+		return (sortOrder == ORDER_ASC) ? cmp > 0 : cmp < 0;
+	}
 }
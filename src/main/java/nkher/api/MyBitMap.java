@@ -0,0 +1,81 @@
+package nkher.api;
+
+/***
+ * This interface represents a set of bits addressed by an {@code int} index. It is implemented by the dense
+ * {@link nkher.datastructures.lists.BitMap} and the compressed {@link nkher.datastructures.lists.RoaringBitMap}
+ * so that clients like the {@link nkher.datastructures.bloomfilter.BloomFilter} can work with either of them.
+ * The {@code long} methods address the bits of a {@link nkher.datastructures.lists.LongBitMap} past 2^31.
+ */
+public interface MyBitMap extends Cloneable {
+
+	/***
+	 * Sets the bit at the given index to 1.
+	 *
+	 * @param bit index of the bit to be set
+	 */
+	void set(int bit);
+
+	/***
+	 * Clears the bit at the given index to 0.
+	 *
+	 * @param bit index of the bit to be cleared
+	 */
+	void unset(int bit);
+
+	/***
+	 * Returns the value of the bit at the given index.
+	 *
+	 * @param bit index of the bit to be read
+	 * @return 1 if the bit is set else 0
+	 */
+	int get(int bit);
+
+	/***
+	 * Sets the bit at a {@code long} index to 1. Bit maps addressed by an {@code int} accept the indexes that fit
+	 * in an {@code int}, {@link nkher.datastructures.lists.RoaringBitMap} accepts the unsigned 32 bit indexes up to
+	 * 2^32 - 1 and {@link nkher.datastructures.lists.LongBitMap} accepts any index below its bit count.
+	 *
+	 * @param bit index of the bit to be set
+	 */
+	default void set(long bit) {
+		set(Math.toIntExact(bit));
+	}
+
+	/***
+	 * Clears the bit at a {@code long} index to 0.
+	 *
+	 * @param bit index of the bit to be cleared
+	 */
+	default void unset(long bit) {
+		unset(Math.toIntExact(bit));
+	}
+
+	/***
+	 * Returns the value of the bit at a {@code long} index.
+	 *
+	 * @param bit index of the bit to be read
+	 * @return 1 if the bit is set else 0
+	 */
+	default int get(long bit) {
+		return get(Math.toIntExact(bit));
+	}
+
+	/***
+	 * Returns the number of bits that are set in the bit map.
+	 *
+	 * @return number of set bits
+	 */
+	int getNumberOfElements();
+
+	/***
+	 * Clears all the bits of the bit map.
+	 */
+	void clear();
+
+	/***
+	 * Returns a deep copy of the bit map.
+	 *
+	 * @return a newly cloned copy of the bit map
+	 */
+	MyBitMap clone();
+}
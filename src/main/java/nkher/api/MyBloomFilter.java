@@ -4,7 +4,6 @@ import java.io.Serializable;
 import java.util.List;
 
 import nkher.datastructures.lists.DynamicArray;
-import nkher.datastructures.lists.BitMap;
 
 public interface MyBloomFilter<E> extends Serializable, Cloneable, MyCollection<E> {
 		
@@ -41,11 +40,12 @@ public interface MyBloomFilter<E> extends Serializable, Cloneable, MyCollection<
 	/***
 	 * A method to return the capacity of the BloomFilter. This returns a size that is calculated once the
 	 * number of expected elements and desired false probability are passed in by the client. When none of these
-	 * parameters are passed the BloomFilter uses default values. </br>
+	 * parameters are passed the BloomFilter uses default values. The capacity is a number of bits and can be more
+	 * than 2^31. </br>
 	 * 
 	 * @return Capacity of the bloomfilter.
 	 */
-	int capacity();
+	long capacity();
 	
 	/***
 	 * A method to return the size of the BloomFilter. This returns the number of elements that are actually
@@ -78,11 +78,11 @@ public interface MyBloomFilter<E> extends Serializable, Cloneable, MyCollection<
 	int numberOfExpectedElements();
 
 	/***
-	 * A method to return the underlying BitMap data structure that stores the actual data.
+	 * A method to return the underlying bit map data structure that stores the actual data.
 	 *
-	 * @return Returns the underlying {@link BitMap} data structure of the Bloomfilter.
+	 * @return Returns the underlying {@link MyBitMap} data structure of the Bloomfilter.
 	 */
-	BitMap getUnerlyingBloomDS();
+	MyBitMap getUnerlyingBloomDS();
 
 	/***
 	 * Adds the content of {@link DynamicArray} into the {@link nkher.datastructures.bloomfilter.BloomFilter}
@@ -3,12 +3,12 @@ package nkher.datastructures.bloomfilter;
 import java.util.ArrayList;
 import java.util.List;
 
-import nkher.algorithms.hash.FNV;
-import nkher.algorithms.hash.HashGenerator;
 import nkher.algorithms.hash.HashMethod;
 import nkher.algorithms.hash.Murmur3;
 import nkher.datastructures.lists.DynamicArray;
 import nkher.datastructures.lists.BitMap;
+import nkher.datastructures.lists.LongBitMap;
+import nkher.api.MyBitMap;
 import nkher.api.MyBloomFilter;
 
 
@@ -26,50 +26,82 @@ public class BloomFilter<E> implements MyBloomFilter<E> {
 	/** SERIAL ID GENERATED */
 	private static final long serialVersionUID = 2328139686555028763L;
 	
+	private static final int DEFAULT_EXPECTED_ELEMENTS = 1000;
+	private static final double DEFAULT_FALSE_POSITIVE_PROBABILITY = 0.01;
+	
 	private int numberOfExpectedElements;
 	private double expectedFalsePositiveProbability;
-	private int capacity;
+	private long capacity; // number of bits, can be more than 2^31
 	private int size;
 	private int numberOfHashFunctions;
-	private BitMap bloomDS;
-	private HashMethod[] hashMethods;
+	private MyBitMap bloomDS;
+	private HashMethod hashMethod;
 	
 	public BloomFilter() {
-		initHashMethods(); // initializing hash methods
-		numberOfHashFunctions = hashMethods.length;
-		// still to decide on default expected elements and false positive probability
-		bloomDS = new BitMap(); //  initializing the underlying bitmap		
+		this(DEFAULT_EXPECTED_ELEMENTS, DEFAULT_FALSE_POSITIVE_PROBABILITY);
 	}
 	
 	public BloomFilter(int expectedElements, double falsePositiveProbability) {
-		initHashMethods();
+		this(expectedElements, falsePositiveProbability, new Murmur3(), null);
+	}
+	
+	/***
+	 * Constructor that lets the client pick the {@link HashMethod} used for deriving the bit positions.
+	 * 
+	 * @param expectedElements number of elements expected to be added
+	 * @param falsePositiveProbability desired false positive probability
+	 * @param hashMethod the hash strategy, for example one looked up from {@link nkher.algorithms.hash.HashMethods}
+	 */
+	public BloomFilter(int expectedElements, double falsePositiveProbability, HashMethod hashMethod) {
+		this(expectedElements, falsePositiveProbability, hashMethod, null);
+	}
+	
+	/***
+	 * Constructor that lets the client pass the bit map that stores the data, for example a
+	 * {@link nkher.datastructures.lists.RoaringBitMap} when the filter is expected to stay sparse.
+	 * 
+	 * @param expectedElements number of elements expected to be added
+	 * @param falsePositiveProbability desired false positive probability
+	 * @param bitMap an empty bit map that can address at least the computed capacity
+	 */
+	public BloomFilter(int expectedElements, double falsePositiveProbability, MyBitMap bitMap) {
+		this(expectedElements, falsePositiveProbability, new Murmur3(), bitMap);
+	}
+	
+	/***
+	 * Constructor that lets the client pick both the hash strategy and the bit map.
+	 * 
+	 * @param expectedElements number of elements expected to be added
+	 * @param falsePositiveProbability desired false positive probability
+	 * @param hashMethod the hash strategy
+	 * @param bitMap an empty bit map that can address at least the computed capacity, or null for the default one
+	 */
+	public BloomFilter(int expectedElements, double falsePositiveProbability, HashMethod hashMethod, MyBitMap bitMap) {
+		if (null == hashMethod) {
+			throw new IllegalArgumentException("Hash method cannot be null.");
+		}
+		this.hashMethod = hashMethod;
 		expectedFalsePositiveProbability = falsePositiveProbability;
 		numberOfExpectedElements = expectedElements;
-		numberOfHashFunctions = hashMethods.length;
 		capacity = optimialSize(expectedElements, falsePositiveProbability);
-		bloomDS = new BitMap(capacity);
+		numberOfHashFunctions = optimalNumberOfHashFunctions(expectedElements, capacity);
+		bloomDS = (null == bitMap) ? newBitMap(capacity) : bitMap;
 	}
 	
 	public BloomFilter(BloomFilter<E> other) {
-		this(other.numberOfExpectedElements, other.expectedFalsePositiveProbability);
-		bloomDS = other.bloomDS.clone();
+		this(other.numberOfExpectedElements, other.expectedFalsePositiveProbability, other.hashMethod, other.bloomDS.clone());
+		size = other.size;
 	}
 	
-	/***
-	 * A utility function to initialize our hash methods. 
-	 * We use two methods for this BloomFilter. 1. FNV and 2. Murmur3. </br>
-	 */
-	private void initHashMethods() {
-		hashMethods = new HashMethod[2];
-		hashMethods[0] = new Murmur3();
-		hashMethods[1] = new FNV();
+	public HashMethod getHashMethod() {
+		return hashMethod;
 	}
 
 	@Override
 	public boolean addBytes(byte[] bytes) {
 		boolean inserted = false;
-		int[] hashes = hashes(bytes);
-		for (int index : hashes) {
+		long[] hashes = hashes(bytes);
+		for (long index : hashes) {
 			if (bloomDS.get(index) == 0) {
 				inserted = true;
 				bloomDS.set(index);
@@ -109,8 +141,8 @@ public class BloomFilter<E> implements MyBloomFilter<E> {
 
 	@Override
 	public boolean contains(byte[] data) {
-		int[] hashes = hashes(data);
-		for (int index : hashes) {
+		long[] hashes = hashes(data);
+		for (long index : hashes) {
 			if (bloomDS.get(index) == 0) {
 				return false;
 			}
@@ -142,7 +174,7 @@ public class BloomFilter<E> implements MyBloomFilter<E> {
 	}
 
 	@Override
-	public int capacity() {
+	public long capacity() {
 		return this.capacity;
 	}
 	
@@ -165,22 +197,50 @@ public class BloomFilter<E> implements MyBloomFilter<E> {
 		return numberOfExpectedElements;
 	}
 	
-	private int optimialSize(int n, double p) {
-		return (int) Math.ceil(-1 * (n * Math.log(p)) / Math.pow(Math.log(2), 2));
+	/***
+	 * Creates a bit map that can hold the passed number of bits. A {@link BitMap} is sized in longs and holds at
+	 * most Integer.MAX_VALUE >> 6 of them, so we fall back to the segmented {@link LongBitMap} when the words
+	 * do not fit in a {@link BitMap}.
+	 */
+	static MyBitMap newBitMap(long bits) {
+		long words = ((bits - 1) >>> 6) + 1;
+		if (words > Integer.MAX_VALUE >> 6) {
+			return new LongBitMap(bits);
+		}
+		return new BitMap((int) words);
+	}
+	
+	/***
+	 * The number of bits for n elements at a false positive probability p : m = -n * ln(p) / ln(2)^2.
+	 */
+	static long optimialSize(int n, double p) {
+		return (long) Math.ceil(-1 * (n * Math.log(p)) / Math.pow(Math.log(2), 2));
+	}
+	
+	/***
+	 * The number of hash functions that minimizes the false positive probability : k = (m / n) * ln(2).
+	 */
+	private int optimalNumberOfHashFunctions(int n, long m) {
+		return Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
 	}
 
 	@Override
-	public BitMap getUnerlyingBloomDS() {
+	public MyBitMap getUnerlyingBloomDS() {
 		return this.bloomDS;
 	}
 	
-	private int[] hashes(byte[] data) {
-		int[] hashes = new int[2];
-		
-		/*** Calculating two hashes FNV and Murmur3 **/
-		hashes[0] = HashGenerator.rejectionSampleFNV(FNV::hash_32, data, this.capacity);
-		hashes[1] = HashGenerator.rejectionSampleMurmur(Murmur3::hash_32, data, this.capacity);
-		//System.out.println(Arrays.toString(hashes));
+	/***
+	 * Derives the bit positions of the data from one 128 bit hash, using the two halves as in
+	 * h1 + i * h2 for the i-th hash function (Kirsch and Mitzenmacher, "Less Hashing, Same Performance").
+	 */
+	private long[] hashes(byte[] data) {
+		long[] hash = new long[2];
+		hashMethod.hash128(data, 0, data.length, 0, hash);
+		long[] hashes = new long[numberOfHashFunctions];
+		for (int i=0; i<numberOfHashFunctions; i++) {
+			long combined = hash[0] + i * hash[1];
+			hashes[i] = (combined & Long.MAX_VALUE) % capacity;
+		}
 		return hashes;
 	}
 
@@ -1,10 +1,12 @@
 package nkher.datastructures.lists;
 
+import nkher.api.MyBitMap;
 import nkher.exception.DataStructureEmptyException;
 
-public class BitMap implements Cloneable {
+public class BitMap implements MyBitMap {
 	
 	private static final int DEFAULT_SIZE = 100;
+	private static final int MAX_SIZE = Integer.MAX_VALUE >> 6; // largest size whose bit count fits in an int
 	
 	private long data[]; // 64 bit data
 	private int bitCount; // the total number of bits
@@ -20,7 +22,16 @@ public class BitMap implements Cloneable {
 		this(DEFAULT_SIZE);
 	}
 	
+	/***
+	 * Creates a bit map backed by the given number of longs. The bit count is (size * 64) and must fit in an
+	 * {@code int}, use {@link LongBitMap} for bigger bit maps.
+	 * 
+	 * @param size number of longs in the bit map
+	 */
 	public BitMap(int size) {
+		if (size < 0 || size > MAX_SIZE) {
+			throw new IllegalArgumentException("Invalid size " + size + ", a BitMap holds at most " + MAX_SIZE + " longs. Use LongBitMap instead.");
+		}
 		this.size = size;
 		data = new long[size];
 		clearDataArray();
@@ -31,12 +42,7 @@ public class BitMap implements Cloneable {
 		size = bMap.size;
 		bitCount = bMap.bitCount;
 		numberOfElements = bMap.numberOfElements;
-		data = new long[size];
-		int i=0;
-		for (long field : data) {
-			bMap.data[i] = data[i];
-			i++;
-		}
+		data = bMap.data.clone();
 	}
 	
 	private void clearDataArray() {
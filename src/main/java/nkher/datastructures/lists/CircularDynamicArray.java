@@ -0,0 +1,351 @@
+package nkher.datastructures.lists;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import nkher.api.MyList;
+import nkher.exception.DataStructureEmptyException;
+
+/***
+ * A dynamic array that keeps its elements in a circular buffer starting at a head offset, like
+ * {@code java.util.ArrayDeque} but with indexed access. Inserting or removing at either end only moves the head or
+ * the tail, hence {@link #insertAtHead(Object)} and {@link #removeFirst()} are amortized O(1) where
+ * {@link DynamicArray} shifts the whole array. {@link #getAt(int)} and {@link #replaceAt(int, Object)} stay O(1),
+ * and inserting or removing in the middle shifts the shorter side of the array. </br>
+ *
+ * The capacity is always a power of two so that wrapping an index around the buffer is a mask instead of a
+ * remainder. The data structure is not thread safe. Synchronization has to be handled by the programmer.
+ *
+ * @author nameshkher
+ *
+ * @param <T>
+ */
+public class CircularDynamicArray<T> implements MyList<T>, Iterable<T> {
+
+	private static final int DEFAULT_CAPACITY = 16;
+	private static final int MAX_CAPACITY = 1 << 30;
+
+	private Object[] data;
+	private int head; // index of the first element in the buffer
+	private int size;
+	private int modCount; // number of structural modifications, for failing fast in the iterator
+
+	/***
+	 * Creates an empty array with the default capacity of 16.
+	 */
+	public CircularDynamicArray() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/***
+	 * Creates an empty array which can hold the given number of elements before growing. The capacity is rounded
+	 * up to a power of two.
+	 *
+	 * @param capacity the initial capacity
+	 */
+	public CircularDynamicArray(int capacity) {
+		if (capacity < 0 || capacity > MAX_CAPACITY) {
+			throw new IllegalArgumentException("Invalid capacity : " + capacity);
+		}
+		data = new Object[roundUpToPowerOfTwo(Math.max(capacity, 1))];
+	}
+
+	/***
+	 * Constructor that initializes the array with the elements of an existing DynamicArray.
+	 */
+	public CircularDynamicArray(DynamicArray<T> dArray) {
+		this(dArray.size());
+		for (T element : dArray) {
+			insert(element);
+		}
+	}
+
+	private static int roundUpToPowerOfTwo(int n) {
+		return (n == 1) ? 1 : Integer.highestOneBit(n - 1) << 1;
+	}
+
+	/***
+	 * Maps the logical index to its position in the buffer.
+	 */
+	private int physical(int index) {
+		return (head + index) & (data.length - 1);
+	}
+
+	public int capacity() {
+		return data.length;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/***
+	 * Inserts a new element at the tail of the array.
+	 */
+	@Override
+	public void insert(T element) {
+		if (size == data.length) {
+			grow();
+		}
+		data[physical(size)] = element;
+		size++;
+		modCount++;
+	}
+
+	/***
+	 * Inserts a new element at the head of the array by moving the head offset back by one.
+	 */
+	@Override
+	public void insertAtHead(T element) {
+		if (size == data.length) {
+			grow();
+		}
+		head = (head - 1) & (data.length - 1);
+		data[head] = element;
+		size++;
+		modCount++;
+	}
+
+	/***
+	 * Inserts the element at the index, shifting the elements of the shorter side by one.
+	 *
+	 * @param index position of the new element, between 0 and size
+	 * @param element the element to be inserted
+	 */
+	public void addAt(int index, T element) {
+		if (index < 0 || index > size) {
+			throw new ArrayIndexOutOfBoundsException(index);
+		}
+		if (index == 0) {
+			insertAtHead(element);
+			return;
+		}
+		if (size == data.length) {
+			grow();
+		}
+		if (index < size / 2) { // move the front part one to the left
+			head = (head - 1) & (data.length - 1);
+			for (int i=0; i<index; i++) {
+				data[physical(i)] = data[physical(i + 1)];
+			}
+		}
+		else { // move the back part one to the right
+			for (int i=size; i>index; i--) {
+				data[physical(i)] = data[physical(i - 1)];
+			}
+		}
+		data[physical(index)] = element;
+		size++;
+		modCount++;
+	}
+
+	/***
+	 * Doubles the capacity, unwrapping the elements so that the head is at 0 again.
+	 */
+	private void grow() {
+		if (data.length == MAX_CAPACITY) {
+			throw new IllegalStateException("Array too large, cannot grow beyond " + MAX_CAPACITY + " elements.");
+		}
+		Object[] grown = new Object[data.length << 1];
+		int firstPart = Math.min(size, data.length - head);
+		System.arraycopy(data, head, grown, 0, firstPart);
+		System.arraycopy(data, 0, grown, firstPart, size - firstPart);
+		data = grown;
+		head = 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	public T getAt(int index) {
+		checkIndex(index);
+		return (T) data[physical(index)];
+	}
+
+	public void replaceAt(int index, T element) {
+		checkIndex(index);
+		data[physical(index)] = element;
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new ArrayIndexOutOfBoundsException(index);
+		}
+	}
+
+	public T getFirst() {
+		if (isEmpty()) {
+			throw new DataStructureEmptyException("Array is empty.");
+		}
+		return getAt(0);
+	}
+
+	public T getLast() {
+		if (isEmpty()) {
+			throw new DataStructureEmptyException("Array is empty.");
+		}
+		return getAt(size - 1);
+	}
+
+	/***
+	 * Removes and returns the element at the head of the array by moving the head offset forward by one.
+	 */
+	@SuppressWarnings("unchecked")
+	public T removeFirst() {
+		if (isEmpty()) {
+			throw new DataStructureEmptyException("Cannot remove from an empty array.");
+		}
+		T element = (T) data[head];
+		data[head] = null;
+		head = (head + 1) & (data.length - 1);
+		size--;
+		modCount++;
+		return element;
+	}
+
+	/***
+	 * Removes and returns the element at the tail of the array.
+	 */
+	@SuppressWarnings("unchecked")
+	public T removeLast() {
+		if (isEmpty()) {
+			throw new DataStructureEmptyException("Cannot remove from an empty array.");
+		}
+		int tail = physical(size - 1);
+		T element = (T) data[tail];
+		data[tail] = null;
+		size--;
+		modCount++;
+		return element;
+	}
+
+	/***
+	 * Deletes the element at the specified index, shifting the elements of the shorter side by one.
+	 */
+	@Override
+	public void removeAt(int index) {
+		checkIndex(index);
+		if (index < size / 2) { // move the front part one to the right
+			for (int i=index; i>0; i--) {
+				data[physical(i)] = data[physical(i - 1)];
+			}
+			data[head] = null;
+			head = (head + 1) & (data.length - 1);
+		}
+		else { // move the back part one to the left
+			for (int i=index; i<size-1; i++) {
+				data[physical(i)] = data[physical(i + 1)];
+			}
+			data[physical(size - 1)] = null;
+		}
+		size--;
+		modCount++;
+	}
+
+	/***
+	 * Deletes the first occurrence of the specified element from the array.
+	 * Returns true if deletion was successful and false if no element was deleted.
+	 */
+	@Override
+	public boolean remove(T element) {
+		int index = search(element);
+		if (index == -1) {
+			return false;
+		}
+		removeAt(index);
+		return true;
+	}
+
+	/***
+	 * Returns the index of the first occurrence of the element from the array, -1 if it is not found.
+	 */
+	public int search(T element) {
+		for (int i=0; i<size; i++) {
+			Object current = data[physical(i)];
+			if (null == element ? null == current : element.equals(current)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public boolean contains(T element) {
+		return search(element) != -1;
+	}
+
+	@Override
+	public boolean add(T element) {
+		insert(element);
+		return true;
+	}
+
+	/***
+	 * Removes all the elements, keeping the capacity.
+	 */
+	@Override
+	public void clear() {
+		Arrays.fill(data, null);
+		head = 0;
+		size = 0;
+		modCount++;
+	}
+
+	/***
+	 * Returns the elements in order from the head, copied with at most two array copies.
+	 */
+	@Override
+	public Object[] toArray() {
+		Object[] array = new Object[size];
+		int firstPart = Math.min(size, data.length - head);
+		System.arraycopy(data, head, array, 0, firstPart);
+		System.arraycopy(data, 0, array, firstPart, size - firstPart);
+		return array;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new CircularIterator();
+	}
+
+	private class CircularIterator implements Iterator<T> {
+
+		int currentPointer = 0;
+		int expectedModCount = modCount;
+
+		public boolean hasNext() {
+			return currentPointer < size;
+		}
+
+		@SuppressWarnings("unchecked")
+		public T next() {
+			if (expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return (T) data[physical(currentPointer++)];
+		}
+	}
+
+	public String toString() {
+		if (isEmpty()) {
+			return "[ ]";
+		}
+		StringBuilder sb = new StringBuilder();
+		sb.append("[");
+		for (int i=0; i<size; i++) {
+			if (i > 0) sb.append(", ");
+			sb.append(data[physical(i)]);
+		}
+		sb.append("]");
+		return sb.toString();
+	}
+}
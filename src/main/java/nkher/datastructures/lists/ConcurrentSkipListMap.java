@@ -0,0 +1,409 @@
+package nkher.datastructures.lists;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+
+import nkher.api.MyTree;
+import nkher.exception.DataStructureEmptyException;
+
+/***
+ * A lock free ordered map backed by a skip list, following the lock free skip list of Herlihy and Shavit
+ * ("The Art of Multiprocessor Programming", chapter 14), itself based on the design of Fraser. Every link carries
+ * a mark bit, and a node is removed logically by marking its links from the top level down to the bottom level.
+ * Whoever marks the bottom link has removed the key. Searches that run into a marked node unlink it with a
+ * compare and set, so removals are finished by any thread passing by, and inserts link a node level by level
+ * from the bottom up. </br>
+ *
+ * The lookups {@link #get(Comparable)}, {@link #containsKey(Comparable)}, the floor and ceiling searches and the
+ * iterator never write, they only skip over marked nodes. The iterator and {@link #rangeSearch(Comparable,
+ * Comparable)} are weakly consistent : they never throw a ConcurrentModificationException and reflect the map at
+ * some point during the traversal. {@link #size()} is exact when no update is running. Null keys and values are
+ * not allowed, so that a null from {@link #get(Comparable)} always means the key is missing. </br>
+ *
+ * See {@link SkipListMap} for the single threaded variant.
+ *
+ * @author nameshkher
+ *
+ * @param <K>
+ * @param <V>
+ */
+public class ConcurrentSkipListMap<K extends Comparable<K>, V> implements MyTree<K, V>, Iterable<K> {
+
+	private static final int MAX_LEVEL = SkipListMap.MAX_LEVEL;
+
+	private final Node<K, V> head = new Node<>(null, null, MAX_LEVEL);
+	private final Node<K, V> tail = new Node<>(null, null, MAX_LEVEL);
+	private final AtomicInteger size = new AtomicInteger();
+
+	/***
+	 * Represents a node of the skip list. The value is volatile so that replacing it is visible to the readers.
+	 */
+	private static final class Node<K, V> {
+		final K key;
+		volatile V value;
+		final AtomicMarkableReference<Node<K, V>>[] next;
+
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		Node(K key, V value, int levels) {
+			this.key = key;
+			this.value = value;
+			this.next = new AtomicMarkableReference[levels];
+			for (int i=0; i<levels; i++) {
+				next[i] = new AtomicMarkableReference<>(null, false);
+			}
+		}
+
+		int topLevel() {
+			return next.length - 1;
+		}
+	}
+
+	public ConcurrentSkipListMap() {
+		for (int i=0; i<MAX_LEVEL; i++) {
+			head.next[i].set(tail, false);
+		}
+	}
+
+	private int randomLevel() {
+		return 1 + Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt() | (1 << (MAX_LEVEL - 1)));
+	}
+
+	/***
+	 * Compares the key of the node with the passed key, the tail being greater than every key.
+	 */
+	private int compare(Node<K, V> node, K key) {
+		return (node == tail) ? 1 : node.key.compareTo(key);
+	}
+
+	/***
+	 * Fills preds with the last node whose key is smaller than the passed key and succs with the node after it, on
+	 * every level. Marked nodes met on the way are unlinked, and the search starts over when an unlink fails.
+	 * Returns true if the bottom level successor holds the key.
+	 */
+	private boolean find(K key, Node<K, V>[] preds, Node<K, V>[] succs) {
+		boolean[] marked = {false};
+		retry:
+		while (true) {
+			Node<K, V> pred = head, curr = null, succ;
+			for (int level=MAX_LEVEL-1; level>=0; level--) {
+				curr = pred.next[level].getReference();
+				while (true) {
+					succ = curr.next[level].get(marked);
+					while (marked[0]) { // curr is being removed, help unlinking it
+						if (!pred.next[level].compareAndSet(curr, succ, false, false)) {
+							continue retry;
+						}
+						curr = succ;
+						succ = curr.next[level].get(marked);
+					}
+					if (compare(curr, key) < 0) {
+						pred = curr;
+						curr = succ;
+					}
+					else {
+						break;
+					}
+				}
+				preds[level] = pred;
+				succs[level] = curr;
+			}
+			return compare(curr, key) == 0;
+		}
+	}
+
+	/***
+	 * Returns the first unmarked node on the bottom level whose key is greater than or equal to the passed key,
+	 * or the tail, without modifying the list. The last unmarked node before it is stored in pred[0] if pred is
+	 * not null.
+	 */
+	private Node<K, V> ceilingNode(K key, Node<K, V>[] pred) {
+		checkKey(key);
+		boolean[] marked = {false};
+		Node<K, V> before = head, curr = null, succ;
+		for (int level=MAX_LEVEL-1; level>=0; level--) {
+			curr = before.next[level].getReference();
+			while (true) {
+				succ = curr.next[level].get(marked);
+				while (marked[0]) {
+					curr = succ;
+					succ = curr.next[level].get(marked);
+				}
+				if (compare(curr, key) < 0) {
+					before = curr;
+					curr = succ;
+				}
+				else {
+					break;
+				}
+			}
+		}
+		if (pred != null) {
+			pred[0] = before;
+		}
+		return curr;
+	}
+
+	/***
+	 * Returns the first unmarked node after the passed node on the bottom level, or the tail.
+	 */
+	private Node<K, V> nextNode(Node<K, V> node) {
+		boolean[] marked = {false};
+		Node<K, V> curr = node.next[0].getReference();
+		while (curr != tail) {
+			Node<K, V> succ = curr.next[0].get(marked);
+			if (!marked[0]) {
+				return curr;
+			}
+			curr = succ;
+		}
+		return tail;
+	}
+
+	private void checkKey(K key) {
+		if (null == key) {
+			throw new IllegalArgumentException("Key cannot be null.");
+		}
+	}
+
+	/***
+	 * Inserts the key with its value, replacing the value if the key is already in the map.
+	 */
+	@Override
+	public void insert(K key, V value) {
+		put(key, value);
+	}
+
+	/***
+	 * Inserts the key with its value, replacing the value if the key is already in the map.
+	 *
+	 * @return true if the key was added and false if its value was replaced
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public boolean put(K key, V value) {
+		checkKey(key);
+		if (null == value) {
+			throw new IllegalArgumentException("Value cannot be null.");
+		}
+		int topLevel = randomLevel() - 1;
+		Node<K, V>[] preds = new Node[MAX_LEVEL];
+		Node<K, V>[] succs = new Node[MAX_LEVEL];
+		while (true) {
+			if (find(key, preds, succs)) {
+				Node<K, V> found = succs[0];
+				if (!found.next[0].isMarked()) {
+					found.value = value;
+					return false;
+				}
+				continue; // the key is being removed, search again so that the node gets unlinked
+			}
+			Node<K, V> newNode = new Node<>(key, value, topLevel + 1);
+			for (int level=0; level<=topLevel; level++) {
+				newNode.next[level].set(succs[level], false);
+			}
+			/** The node is in the map once it is linked on the bottom level */
+			if (!preds[0].next[0].compareAndSet(succs[0], newNode, false, false)) {
+				continue;
+			}
+			size.incrementAndGet();
+			linkUpperLevels(newNode, preds, succs);
+			return true;
+		}
+	}
+
+	/***
+	 * Links a node that is already on the bottom level on its upper levels. Linking stops early if the node is
+	 * removed in the meantime.
+	 */
+	private void linkUpperLevels(Node<K, V> newNode, Node<K, V>[] preds, Node<K, V>[] succs) {
+		for (int level=1; level<=newNode.topLevel(); level++) {
+			while (true) {
+				Node<K, V> pred = preds[level], succ = succs[level];
+				Node<K, V> currentNext = newNode.next[level].getReference();
+				if (currentNext != succ && !newNode.next[level].compareAndSet(currentNext, succ, false, false)) {
+					return; // the link is marked, the node is being removed
+				}
+				if (pred.next[level].compareAndSet(succ, newNode, false, false)) {
+					break;
+				}
+				find(newNode.key, preds, succs);
+				if (succs[0] != newNode) {
+					return; // the node was removed
+				}
+			}
+		}
+	}
+
+	/***
+	 * Removes the key from the map. The links of the node are marked from the top level down, and the thread
+	 * marking the bottom link is the one that removed the key.
+	 */
+	@Override
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public boolean remove(K key) {
+		checkKey(key);
+		Node<K, V>[] preds = new Node[MAX_LEVEL];
+		Node<K, V>[] succs = new Node[MAX_LEVEL];
+		if (!find(key, preds, succs)) {
+			return false;
+		}
+		Node<K, V> node = succs[0];
+		boolean[] marked = {false};
+		for (int level=node.topLevel(); level>=1; level--) {
+			Node<K, V> succ = node.next[level].get(marked);
+			while (!marked[0]) {
+				node.next[level].compareAndSet(succ, succ, false, true);
+				succ = node.next[level].get(marked);
+			}
+		}
+		Node<K, V> succ = node.next[0].get(marked);
+		while (true) {
+			boolean iMarkedIt = node.next[0].compareAndSet(succ, succ, false, true);
+			succ = node.next[0].get(marked);
+			if (iMarkedIt) {
+				size.decrementAndGet();
+				find(key, preds, succs); // unlink the node
+				return true;
+			}
+			else if (marked[0]) {
+				return false; // another thread removed it first
+			}
+		}
+	}
+
+	/***
+	 * Returns the value of the key, or null if the key is not in the map.
+	 */
+	public V get(K key) {
+		Node<K, V> node = ceilingNode(key, null);
+		return (compare(node, key) == 0) ? node.value : null;
+	}
+
+	public boolean containsKey(K key) {
+		return compare(ceilingNode(key, null), key) == 0;
+	}
+
+	@Override
+	public int size() {
+		return size.get();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return nextNode(head) == tail;
+	}
+
+	/***
+	 * A skip list has no root, this returns the smallest key, which is where every search starts from.
+	 */
+	@Override
+	public K rootkey() {
+		return firstKey();
+	}
+
+	public K firstKey() {
+		Node<K, V> node = nextNode(head);
+		if (node == tail) {
+			throw new DataStructureEmptyException("Skip list map is empty.");
+		}
+		return node.key;
+	}
+
+	/***
+	 * Returns the largest key smaller than or equal to the passed key, or null if there is none.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public K floorKey(K key) {
+		Node<K, V>[] pred = new Node[1];
+		Node<K, V> node = ceilingNode(key, pred);
+		if (compare(node, key) == 0) {
+			return node.key;
+		}
+		return pred[0].key; // null for the head
+	}
+
+	/***
+	 * Returns the smallest key greater than or equal to the passed key, or null if there is none.
+	 */
+	public K ceilingKey(K key) {
+		Node<K, V> node = ceilingNode(key, null);
+		return (node == tail) ? null : node.key;
+	}
+
+	/***
+	 * Returns the largest key strictly smaller than the passed key, or null if there is none.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public K lowerKey(K key) {
+		Node<K, V>[] pred = new Node[1];
+		ceilingNode(key, pred);
+		return pred[0].key;
+	}
+
+	/***
+	 * Returns the smallest key strictly greater than the passed key, or null if there is none.
+	 */
+	public K higherKey(K key) {
+		Node<K, V> node = ceilingNode(key, null);
+		if (compare(node, key) == 0) {
+			node = nextNode(node);
+		}
+		return (node == tail) ? null : node.key;
+	}
+
+	/***
+	 * Returns the keys between from and to, both inclusive, in increasing order. The result is weakly consistent.
+	 *
+	 * @param from - smallest key of the range
+	 * @param to - largest key of the range
+	 * @return - array of {@code DynamicArray<K>} type
+	 */
+	public DynamicArray<K> rangeSearch(K from, K to) {
+		if (from.compareTo(to) > 0) {
+			throw new IllegalArgumentException("Invalid range : " + from + " > " + to);
+		}
+		DynamicArray<K> dArray = new DynamicArray<>();
+		for (Node<K, V> node = ceilingNode(from, null); compare(node, to) <= 0; node = nextNode(node)) {
+			dArray.insert(node.key);
+		}
+		return dArray;
+	}
+
+	/***
+	 * Returns a weakly consistent iterator over the keys in increasing order.
+	 */
+	@Override
+	public Iterator<K> iterator() {
+		return new ConcurrentSkipListIterator();
+	}
+
+	private class ConcurrentSkipListIterator implements Iterator<K> {
+
+		Node<K, V> node = nextNode(head);
+
+		public boolean hasNext() {
+			return node != tail;
+		}
+
+		public K next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			K key = node.key;
+			node = nextNode(node);
+			return key;
+		}
+	}
+
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("[");
+		for (Node<K, V> node = nextNode(head); node != tail; node = nextNode(node)) {
+			if (sb.length() > 1) sb.append(", ");
+			sb.append(node.key + "->" + node.value);
+		}
+		return (sb.length() == 1) ? "[ ]" : sb.append("]").toString();
+	}
+}
@@ -4,6 +4,7 @@ import nkher.exception.DataStructureEmptyException;
 import nkher.exception.DataStructureSmallerException;
 import nkher.exception.InvalidIndexException;
 import nkher.api.MyList;
+import nkher.utils.NodePool;
 
 /***
  * This class demonstrates the doubly linked list implementation.
@@ -18,10 +19,50 @@ public class DoublyLinkedList<T> implements MyList<T> {
 	private int size;
 	private DoublyNode<T> head;
 	private DoublyNode<T> tail;
+	private NodePool<DoublyNode<T>> nodePool; // null unless node pooling is enabled
 	
 	public DoublyLinkedList() {
 		this.size = 0;
 	}
+	
+	/***
+	 * Makes the list reuse the nodes of removed elements, keeping up to maxPooledNodes free nodes. Nodes returned
+	 * by this list must not be used once their element has been removed. See {@link NodePool}.
+	 * 
+	 * @param maxPooledNodes - maximum number of free nodes kept for reuse
+	 */
+	public void enableNodePooling(int maxPooledNodes) {
+		nodePool = new NodePool<DoublyNode<T>>(maxPooledNodes, DoublyNode::new);
+	}
+	
+	/***
+	 * Returns the node pool of the list, or null if node pooling is not enabled.
+	 */
+	public NodePool<DoublyNode<T>> nodePool() {
+		return nodePool;
+	}
+	
+	private DoublyNode<T> newNode(T element, DoublyNode<T> next, DoublyNode<T> prev) {
+		if (null == nodePool) {
+			return new DoublyNode<T>(element, next, prev);
+		}
+		DoublyNode<T> node = nodePool.acquire();
+		node.data = element;
+		node.next = next;
+		node.prev = prev;
+		return node;
+	}
+	
+	/***
+	 * Gives a node that was unlinked from the list back to the pool, if pooling is enabled.
+	 */
+	private void recycle(DoublyNode<T> node) {
+		if (null != nodePool) {
+			node.data = null;
+			node.next = node.prev = null;
+			nodePool.release(node);
+		}
+	}
 
 	/***
 	 * Represents the node of a doubly linked list. It contains a data element,
@@ -96,10 +137,10 @@ public class DoublyLinkedList<T> implements MyList<T> {
 	public void insert(T element) {
 		size++;
 		if (head == null) {
-			head = tail = new DoublyNode<T>(element, null, null);
+			head = tail = newNode(element, null, null);
 			return;
 		}
-		DoublyNode<T> new_node = new DoublyNode<T>(element);
+		DoublyNode<T> new_node = newNode(element, null, null);
 		tail.next = new_node;
 		new_node.prev = tail;
 		tail = new_node;
@@ -127,10 +168,10 @@ public class DoublyLinkedList<T> implements MyList<T> {
 	public void insertAtHead(T element) {
 		size++;
 		if (head == null) {
-			head = tail = new DoublyNode<T>(element);
+			head = tail = newNode(element, null, null);
 			return;
 		}
-		DoublyNode<T> new_node = new DoublyNode<T>(element, head, null);
+		DoublyNode<T> new_node = newNode(element, head, null);
 		head.prev = new_node;
 		head = new_node;
 	}
@@ -161,6 +202,7 @@ public class DoublyLinkedList<T> implements MyList<T> {
 					prev.next = itr.next;
 					itr.next.prev = prev;
 				}
+				recycle(itr);
 				break;
 			}
 			if (itr == tail && itr.data.equals(element)) { // data is the last element
@@ -203,6 +245,7 @@ public class DoublyLinkedList<T> implements MyList<T> {
 			if (next != null) {
 				next.prev = null;
 				head.next = null;
+				recycle(head);
 				head = next;
 			}
 		}
@@ -218,6 +261,7 @@ public class DoublyLinkedList<T> implements MyList<T> {
 				prev.next = null;
 				itr.prev = null;
 				tail = prev; // update the tail
+				recycle(itr);
 				return;
 			}
 			// if it is not the last node
@@ -225,6 +269,7 @@ public class DoublyLinkedList<T> implements MyList<T> {
 			next.prev = prev;
 			itr.prev = null;
 			itr.next = null;
+			recycle(itr);
 		}
 		if (size == 1) tail = head;
 	}
@@ -253,6 +298,14 @@ public class DoublyLinkedList<T> implements MyList<T> {
 	 */
 	public void clear() {
 		if (isEmpty()) return;
+		if (null != nodePool) { // only as many nodes as the pool keeps are worth visiting
+			DoublyNode<T> itr = head;
+			while (itr != null && !nodePool.isFull()) {
+				DoublyNode<T> next = (itr == tail) ? null : itr.next;
+				recycle(itr);
+				itr = next;
+			}
+		}
 		head = null;
 		tail = null;
 		size = 0;
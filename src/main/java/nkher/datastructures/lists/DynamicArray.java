@@ -2,9 +2,18 @@ package nkher.datastructures.lists;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
+import java.util.Spliterator;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import nkher.exception.DataStructureEmptyException;
 import nkher.api.MyList;
@@ -13,6 +22,12 @@ import nkher.utils.ArrayUtility;
 /***
  * This class is an implementation of the array class and provides a useful set of API for insertion, deletion, searching of elements and much more. 
  * The implementation is done using an array. The data structure is not thread safe. Synchronization has to be handled by the programmer.
+ * </br>
+ * 
+ * The array grows by the growth factor (2 by default) when it is full, and shrinks back to (size * growth factor) only once
+ * the size drops below the shrink threshold (a quarter of the capacity by default). The gap between the two keeps alternating
+ * inserts and removes at the boundary from resizing the array over and over. Bulk operations move the elements with a single
+ * {@code System.arraycopy}.
  * 
  * @author nameshkher
  *
@@ -20,16 +35,17 @@ import nkher.utils.ArrayUtility;
  */
 public class DynamicArray<T> implements MyList<T>, Iterable<T> {
 	
-	private static int DEFAULT_CAPACITY = 10;
-	private static int SCALE_FACTOR = 2;
-	private static int REDUCE_FACTOR = 2;
-	private static int MIN = 0;
-	// private static int MAX_SIZE = Integer.MAX_VALUE - 10;
+	private static final int DEFAULT_CAPACITY = 10;
+	private static final double DEFAULT_GROWTH_FACTOR = 2.0;
+	private static final double DEFAULT_SHRINK_THRESHOLD = 0.25;
+	private static final int MIN = 0;
+	private static final int MAX_SIZE = Integer.MAX_VALUE - 8; // some VMs reserve header words in an array
 	
 	private int size = 0;
-	private int capacity;
-	private int writeIndex = 0;
 	private Object[] data;
+	private int modCount = 0; // number of structural modifications, for failing fast while iterating
+	private final double growthFactor;
+	private final double shrinkThreshold;
 	private Random r; // initialized only when needed - lazy initialization
 	
 	
@@ -46,16 +62,39 @@ public class DynamicArray<T> implements MyList<T>, Iterable<T> {
 	 * @param capacity Creates a Dynamic array of the given capacity
 	 */
 	public DynamicArray(int capacity) {
-		this.capacity = capacity;
+		this(capacity, DEFAULT_GROWTH_FACTOR, DEFAULT_SHRINK_THRESHOLD);
+	}
+	
+	/***
+	 * Constructor that creates an empty array with its own growth policy.
+	 * 
+	 * @param capacity initial capacity
+	 * @param growthFactor factor by which the capacity grows when the array is full, greater than 1
+	 * @param shrinkThreshold fraction of the capacity under which the array shrinks, must be less than (1 / growthFactor)
+	 */
+	public DynamicArray(int capacity, double growthFactor, double shrinkThreshold) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Capacity cannot be negative : " + capacity);
+		}
+		if (!(growthFactor > 1)) {
+			throw new IllegalArgumentException("Growth factor must be greater than 1 : " + growthFactor);
+		}
+		if (shrinkThreshold < 0 || shrinkThreshold >= 1 / growthFactor) {
+			throw new IllegalArgumentException("Shrink threshold must be in [0, 1 / growth factor) : " + shrinkThreshold);
+		}
+		this.growthFactor = growthFactor;
+		this.shrinkThreshold = shrinkThreshold;
 		this.data = new Object[capacity];
 	}
 	
 	/***
-	 * Constructor that initializes the array with an existing array.
+	 * Constructor that initializes the array with an existing array. The array is used as is, without copying it.
 	 * 
 	 * @param data
 	 */
 	public DynamicArray(T[] data) {
+		this.growthFactor = DEFAULT_GROWTH_FACTOR;
+		this.shrinkThreshold = DEFAULT_SHRINK_THRESHOLD;
 		this.data = data;
 		this.size = data.length;
 	}
@@ -65,10 +104,9 @@ public class DynamicArray<T> implements MyList<T>, Iterable<T> {
 	 * @param dArray
 	 */
 	public DynamicArray(DynamicArray<T> dArray) {
-		this(DEFAULT_CAPACITY);
-		for (T element : dArray) {
-			insert(element);
-		}
+		this(Math.max(dArray.size, DEFAULT_CAPACITY), dArray.growthFactor, dArray.shrinkThreshold);
+		System.arraycopy(dArray.data, 0, data, 0, dArray.size);
+		size = dArray.size;
 	}
 	
 	/***
@@ -77,9 +115,9 @@ public class DynamicArray<T> implements MyList<T>, Iterable<T> {
 	 * @param list Creates a Dynamic Array from the given list
 	 */
 	public DynamicArray(List<T> list) {
-		this(DEFAULT_CAPACITY);
+		this(Math.max(list.size(), DEFAULT_CAPACITY));
 		for (T element : list) {
-			insert(element);
+			data[size++] = element;
 		}
 	}
 	
@@ -90,7 +128,7 @@ public class DynamicArray<T> implements MyList<T>, Iterable<T> {
 	 * @return
 	 */
 	public int capacity() {
-		return this.capacity;
+		return data.length;
 	}
 	
 	/***
@@ -100,10 +138,92 @@ public class DynamicArray<T> implements MyList<T>, Iterable<T> {
 	 */
 	public void insert(T element) {
 		if (isFull()) { 
-			resize(size * SCALE_FACTOR);
+			ensureCapacity(size + 1);
+		}
+		data[size++] = element;
+		modCount++;
+	}
+	
+	/***
+	 * Appends all the elements of the array at the tail, growing the array at most once.
+	 * 
+	 * @param array elements to be appended
+	 */
+	public void addAll(T[] array) {
+		insertAll(size, array);
+	}
+	
+	/***
+	 * Inserts all the elements of the array at the index, shifting the elements from the index onwards to the right.
+	 * The existing elements are shifted with a single copy and the new ones copied in with another one.
+	 * 
+	 * @param index position of the first inserted element, between 0 and size
+	 * @param array elements to be inserted
+	 */
+	public void insertAll(int index, T[] array) {
+		if (index < 0 || index > size) {
+			throw new ArrayIndexOutOfBoundsException(index);
+		}
+		int length = array.length;
+		if (length == 0) return;
+		ensureCapacity(size + length);
+		System.arraycopy(data, index, data, index + length, size - index);
+		System.arraycopy(array, 0, data, index, length);
+		size += length;
+		modCount++;
+	}
+	
+	/***
+	 * Removes the elements from fromIndex (inclusive) to toIndex (exclusive), shifting the following elements
+	 * to the left with a single copy.
+	 * 
+	 * @param fromIndex index of the first element to be removed
+	 * @param toIndex index after the last element to be removed
+	 */
+	public void removeRange(int fromIndex, int toIndex) {
+		if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+			throw new ArrayIndexOutOfBoundsException("Invalid range, fromIndex : " + fromIndex + ", toIndex : " + toIndex);
+		}
+		int removed = toIndex - fromIndex;
+		if (removed == 0) return;
+		System.arraycopy(data, toIndex, data, fromIndex, size - toIndex);
+		Arrays.fill(data, size - removed, size, null); // let go of the references
+		size -= removed;
+		modCount++;
+		shrinkIfSparse();
+	}
+	
+	/***
+	 * Grows the array, if needed, so that it can hold at least the passed number of elements without resizing.
+	 * 
+	 * @param minCapacity the desired minimum capacity
+	 */
+	public void ensureCapacity(int minCapacity) {
+		if (minCapacity < 0 || minCapacity > MAX_SIZE) {
+			throw new OutOfMemoryError("Required array size too large : " + minCapacity);
+		}
+		if (minCapacity <= data.length) return;
+		long grown = Math.max((long) (data.length * growthFactor), DEFAULT_CAPACITY);
+		resize((int) Math.max(minCapacity, Math.min(grown, MAX_SIZE)));
+	}
+	
+	/***
+	 * Shrinks the capacity of the array to its size.
+	 */
+	public void trimToSize() {
+		if (data.length > size) {
+			resize(size);
+		}
+	}
+	
+	/***
+	 * Shrinks the array once the size drops below the shrink threshold. The new capacity leaves room for the size
+	 * to grow by the growth factor, so the array neither grows nor shrinks again right away.
+	 */
+	private void shrinkIfSparse() {
+		if (data.length > DEFAULT_CAPACITY && size < data.length * shrinkThreshold) {
+			resize(Math.max(DEFAULT_CAPACITY, (int) (size * growthFactor)));
 		}
-		data[writeIndex++] = element;
-		size++;
 	}
 	
 	/***
@@ -129,11 +249,6 @@ public class DynamicArray<T> implements MyList<T>, Iterable<T> {
 		}
 		if (found) {
 			removeAt(ind);
-			writeIndex--;
-			size--;
-			if (data.length > DEFAULT_CAPACITY && data.length > (size * 2) && (data.length/REDUCE_FACTOR > size)) { // resizing appropriately
-				resize(data.length/REDUCE_FACTOR);
-			}
 			return true;
 		}
 		return false;
@@ -152,11 +267,9 @@ public class DynamicArray<T> implements MyList<T>, Iterable<T> {
 		}
 		int copyLength = size - index - 1;
 		System.arraycopy(data, index+1, data, index, copyLength);
-		writeIndex--;
-		size--;
-		if (data.length > DEFAULT_CAPACITY && data.length > (size * 2) && (data.length/REDUCE_FACTOR > size)) { // resizing appropriately
-			resize(data.length/REDUCE_FACTOR);
-		}
+		data[--size] = null; // let go of the reference
+		modCount++;
+		shrinkIfSparse();
 	}
 	
 	/***
@@ -168,29 +281,24 @@ public class DynamicArray<T> implements MyList<T>, Iterable<T> {
 		removeAt(size-1);
 	}
 	
+	/***
+	 * Inserts the element at the head of the array, shifting all the elements by one. Use a
+	 * {@link CircularDynamicArray} when elements are frequently inserted or removed at the head.
+	 * 
+	 * @param element
+	 */
 	public void insertAtHead(T element) {
 		if (isFull()) {
-			resize(size * SCALE_FACTOR);
+			ensureCapacity(size + 1);
 		}
-		size++;
-		if (isFull()) {
-			resize(size * SCALE_FACTOR);
-		}
-		System.arraycopy(data, 0, data, 1, size-1); // shift the elements by 1
+		System.arraycopy(data, 0, data, 1, size); // shift the elements by 1
 		data[0] = element;
-		writeIndex++;
+		size++;
+		modCount++;
 	}
 	
 	private void resize(int new_cap) {
-		Object new_data[] = new Object[new_cap];
-		
-		for (int i=0; i<size; i++) {
-			new_data[i] = data[i];
-		}
-		
-		/* Re assign the variables */
-		capacity = new_cap;
-		data = new_data;
+		data = Arrays.copyOf(data, new_cap);
 	}
 	
 	/***
@@ -230,10 +338,11 @@ public class DynamicArray<T> implements MyList<T>, Iterable<T> {
 		if (isEmpty() || index > size-1) {
 			throw new ArrayIndexOutOfBoundsException(index);
 		}
-		if (isFull()) { resize(size * SCALE_FACTOR); }
+		if (isFull()) { ensureCapacity(size + 1); }
 		System.arraycopy(data, index, data, index+1, (size-index));
 		data[index] = element;
 		size++;
+		modCount++;
 	}
 	
 	/***
@@ -311,10 +420,7 @@ public class DynamicArray<T> implements MyList<T>, Iterable<T> {
 			array = new Object[0];
 			return array;
 		}
-		array = new Object[size];
-		for (int i=0; i<size; i++) {
-			array[i] = data[i];
-		}
+		array = Arrays.copyOf(data, size, Object[].class);
 		return array;
 	}
 	
@@ -332,14 +438,12 @@ public class DynamicArray<T> implements MyList<T>, Iterable<T> {
 	
 	/***
 	 * Removes all elements from the array by setting each element to null
-	 * and sets the capacity to the default capacity and size to zero.
+	 * and sets the size to zero, keeping the capacity. Use {@link #clear()} to also release the memory.
 	 */
 	public void removeAllElements() {
-		for (int i=0; i<size; i++) {
-			data[i] = null;
-		}
-		this.capacity = DEFAULT_CAPACITY;
+		Arrays.fill(data, 0, size, null);
 		this.size = 0;
+		modCount++;
 	}
 	
 	/***
@@ -351,11 +455,7 @@ public class DynamicArray<T> implements MyList<T>, Iterable<T> {
 	public void fill(T[] array) {
 		if (null == array) return;
 		clear(); // clear the dynamic array
-		for (int i=0; i<array.length; i++) {
-			data[i] = array[i];
-			size++;
-		}
-		writeIndex = size; // adjusting the writeIndex
+		addAll(array);
 	}
 	
 	@SuppressWarnings("unchecked")
@@ -377,13 +477,9 @@ public class DynamicArray<T> implements MyList<T>, Iterable<T> {
 	 */
 	public void clear() {
 		if (size == 0) return;
-		for (int i=0; i<size; i++) {
-			data[i] = null;
-		}
 		this.size = 0;
-		this.capacity = DEFAULT_CAPACITY;
-		this.writeIndex = 0;
 		data = new Object[DEFAULT_CAPACITY];
+		modCount++;
 	}
  	
 	/***
@@ -393,7 +489,7 @@ public class DynamicArray<T> implements MyList<T>, Iterable<T> {
 	 * @return
 	 */
 	private boolean isFull() {
-		return this.size == this.capacity;
+		return this.size == data.length;
 	}
 	
 	/***
@@ -447,6 +543,7 @@ public class DynamicArray<T> implements MyList<T>, Iterable<T> {
 	private class DIterator implements Iterator<T> {
 
 		int currentPointer = 0;
+		int expectedModCount = modCount;
 				
 		public boolean hasNext() {
 			return (currentPointer != size);
@@ -454,6 +551,9 @@ public class DynamicArray<T> implements MyList<T>, Iterable<T> {
 
 		@SuppressWarnings("unchecked")
 		public T next() {
+			if (expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
 			if (!hasNext()) {
 				return null; 
 			}
@@ -462,6 +562,171 @@ public class DynamicArray<T> implements MyList<T>, Iterable<T> {
 		}
 	}
 	
+	/***
+	 * Returns a spliterator over the elements which is ORDERED, SIZED and SUBSIZED and splits in halves, so that
+	 * parallel streams split the work evenly without copying the array. It binds to the array on its first use
+	 * and fails fast if the array is structurally modified while traversing.
+	 */
+	@Override
+	public Spliterator<T> spliterator() {
+		return new DSpliterator(0, -1, 0);
+	}
+	
+	private class DSpliterator implements Spliterator<T> {
+		
+		private int index; // current index, advanced on traversal
+		private int fence; // index after the last element, -1 until first used
+		private int expectedModCount; // set when the fence is set
+		
+		DSpliterator(int origin, int fence, int expectedModCount) {
+			this.index = origin;
+			this.fence = fence;
+			this.expectedModCount = expectedModCount;
+		}
+		
+		/** Binds the spliterator to the size of the array on first use */
+		private int getFence() {
+			if (fence < 0) {
+				expectedModCount = modCount;
+				fence = size;
+			}
+			return fence;
+		}
+		
+		@Override
+		public Spliterator<T> trySplit() {
+			int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
+			if (lo >= mid) {
+				return null;
+			}
+			index = mid;
+			return new DSpliterator(lo, mid, expectedModCount);
+		}
+		
+		@SuppressWarnings("unchecked")
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			int hi = getFence();
+			if (index >= hi) {
+				return false;
+			}
+			T element = (T) data[index++];
+			action.accept(element);
+			if (expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			return true;
+		}
+		
+		@SuppressWarnings("unchecked")
+		@Override
+		public void forEachRemaining(Consumer<? super T> action) {
+			int hi = getFence();
+			Object[] array = data;
+			for (int i=index; i<hi; i++) {
+				action.accept((T) array[i]);
+			}
+			index = hi;
+			if (expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+		
+		@Override
+		public long estimateSize() {
+			return getFence() - index;
+		}
+		
+		@Override
+		public int characteristics() {
+			return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+		}
+	}
+	
+	/***
+	 * Returns a sequential stream over the elements of the array.
+	 */
+	public Stream<T> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+	
+	/***
+	 * Returns a parallel stream over the elements of the array, which splits the array across the common fork join pool.
+	 */
+	public Stream<T> parallelStream() {
+		return StreamSupport.stream(spliterator(), true);
+	}
+	
+	/***
+	 * Performs the action on every element in parallel. The action is applied in no particular order and has to be
+	 * safe to call from several threads.
+	 * 
+	 * @param action the action to be performed on each element
+	 */
+	public void parallelForEach(Consumer<? super T> action) {
+		parallelStream().forEach(action);
+	}
+	
+	/***
+	 * Applies the function to every element in parallel and returns the results in a new array, in the same order.
+	 * The results are written straight into the backing array of the new DynamicArray.
+	 * 
+	 * @param mapper the function to be applied to each element
+	 * @return a new DynamicArray holding the results
+	 */
+	@SuppressWarnings("unchecked")
+	public <R> DynamicArray<R> parallelMap(Function<? super T, ? extends R> mapper) {
+		int expectedModCount = modCount, n = size;
+		Object[] source = data, result = new Object[n];
+		IntStream.range(0, n).parallel().forEach(i -> result[i] = mapper.apply((T) source[i]));
+		if (expectedModCount != modCount) {
+			throw new ConcurrentModificationException();
+		}
+		return new DynamicArray<R>((R[]) result);
+	}
+	
+	/***
+	 * Reduces the elements in parallel using an associative accumulator.
+	 * 
+	 * @param identity the identity value of the accumulator
+	 * @param accumulator an associative function combining two values
+	 * @return the result of the reduction
+	 */
+	public T parallelReduce(T identity, BinaryOperator<T> accumulator) {
+		return parallelStream().reduce(identity, accumulator);
+	}
+	
+	/***
+	 * Sorts the array in place with the comparator.
+	 * 
+	 * @param comparator the comparator deciding the order of the elements
+	 */
+	@SuppressWarnings("unchecked")
+	public void sort(Comparator<? super T> comparator) {
+		int expectedModCount = modCount;
+		Arrays.sort((T[]) data, 0, size, comparator);
+		if (expectedModCount != modCount) {
+			throw new ConcurrentModificationException();
+		}
+		modCount++;
+	}
+	
+	/***
+	 * Sorts the array in place with the comparator, using a parallel merge sort that splits the array across the
+	 * common fork join pool. Falls back to a sequential sort for small arrays.
+	 * 
+	 * @param comparator the comparator deciding the order of the elements
+	 */
+	@SuppressWarnings("unchecked")
+	public void parallelSort(Comparator<? super T> comparator) {
+		int expectedModCount = modCount;
+		Arrays.parallelSort((T[]) data, 0, size, comparator);
+		if (expectedModCount != modCount) {
+			throw new ConcurrentModificationException();
+		}
+		modCount++;
+	}
+	
 	/***
 	 * Function to clone this DynamicArray and returned the cloned
 	 * copy of the new DynamicArray.
@@ -534,10 +799,11 @@ public class DynamicArray<T> implements MyList<T>, Iterable<T> {
 	 * Shrink the array with appropriate conditions.
 	 */
 	public void uniqueArray() {
-		size = ArrayUtility.unique(data);
-		if (data.length > DEFAULT_CAPACITY && data.length > (size * 2) && (data.length/REDUCE_FACTOR > size)) { // resizing appropriately
-			resize(data.length/REDUCE_FACTOR);
-		}
+		int unique = ArrayUtility.unique(data);
+		Arrays.fill(data, unique, size, null);
+		size = unique;
+		modCount++;
+		shrinkIfSparse();
 	}
 
 	/***
@@ -553,7 +819,7 @@ public class DynamicArray<T> implements MyList<T>, Iterable<T> {
 	@Override
 	public boolean contains(T elem) {
 		if (!isEmpty()) {
-			for (int i=0; i<data.length; i++) {
+			for (int i=0; i<size; i++) {
 				if (data[i].equals(elem)) {
 					return true;
 				}
@@ -0,0 +1,154 @@
+package nkher.datastructures.lists;
+
+import java.util.Arrays;
+
+import nkher.api.MyBitMap;
+import nkher.exception.InvalidIndexException;
+
+/***
+ * A bit map whose bits are addressed by a {@code long} index, for bit maps that need more than the 2^31 bits
+ * which {@link BitMap} can address. The words are kept in segments of 2^20 longs (8 MB each) so that no single
+ * array has to be allocated for the whole bit map and the number of bits is only bound by the heap. </br>
+ *
+ * The bit map has the same set / unset / get / clear contract as {@link BitMap}, and the {@code int} methods of
+ * {@link MyBitMap} are simply forwarded to their {@code long} versions. Unlike {@link BitMap} the number of
+ * elements is only updated when a bit actually changes. The data structure is not thread safe.
+ *
+ * @author nameshkher
+ *
+ */
+public class LongBitMap implements MyBitMap {
+
+	private static final int SEGMENT_SHIFT = 20;
+	private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT; // number of longs in a segment
+	private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+	private static final int ADDRESS_BITS_PER_WORD = 6;
+
+	private final long[][] segments;
+	private final long bitCount; // the total number of bits
+	private long numberOfElements;
+
+	/***
+	 * Creates a bit map which can hold the given number of bits.
+	 *
+	 * @param bitCount number of bits, must be positive
+	 */
+	public LongBitMap(long bitCount) {
+		if (bitCount <= 0) {
+			throw new IllegalArgumentException("Bit count must be positive : " + bitCount);
+		}
+		this.bitCount = bitCount;
+		long words = ((bitCount - 1) >>> ADDRESS_BITS_PER_WORD) + 1;
+		int numberOfSegments = (int) (((words - 1) >>> SEGMENT_SHIFT) + 1);
+		segments = new long[numberOfSegments][];
+		for (int i=0; i<numberOfSegments-1; i++) {
+			segments[i] = new long[SEGMENT_SIZE];
+		}
+		segments[numberOfSegments-1] = new long[(int) (((words - 1) & SEGMENT_MASK) + 1)];
+	}
+
+	/***
+	 * Constructor that creates a deep copy of an existing bit map.
+	 *
+	 * @param bMap the bit map to be copied
+	 */
+	public LongBitMap(LongBitMap bMap) {
+		bitCount = bMap.bitCount;
+		numberOfElements = bMap.numberOfElements;
+		segments = new long[bMap.segments.length][];
+		for (int i=0; i<segments.length; i++) {
+			segments[i] = bMap.segments[i].clone();
+		}
+	}
+
+	@Override
+	public void set(long bit) {
+		long[] segment = segment(bit);
+		int ind = wordIndex(bit);
+		long mask = 1L << bit;
+		if ((segment[ind] & mask) == 0) {
+			segment[ind] |= mask;
+			numberOfElements++;
+		}
+	}
+
+	@Override
+	public void unset(long bit) {
+		long[] segment = segment(bit);
+		int ind = wordIndex(bit);
+		long mask = 1L << bit;
+		if ((segment[ind] & mask) != 0) {
+			segment[ind] &= ~mask; // for clearing off the bit we take complement of the mask
+			numberOfElements--;
+		}
+	}
+
+	@Override
+	public int get(long bit) {
+		return ((segment(bit)[wordIndex(bit)] & (1L << bit)) == 0) ? 0 : 1;
+	}
+
+	@Override
+	public void set(int bit) {
+		set((long) bit);
+	}
+
+	@Override
+	public void unset(int bit) {
+		unset((long) bit);
+	}
+
+	@Override
+	public int get(int bit) {
+		return get((long) bit);
+	}
+
+	/***
+	 * Returns the segment holding the word of the bit. The shift by 6 + 20 picks the segment and the lower
+	 * 20 bits of the word number pick the word within it.
+	 */
+	private long[] segment(long bit) {
+		if (bit < 0 || bit >= bitCount) {
+			throw new InvalidIndexException("Bit " + bit + " is out of range, bit count : " + bitCount);
+		}
+		return segments[(int) (bit >>> (ADDRESS_BITS_PER_WORD + SEGMENT_SHIFT))];
+	}
+
+	private static int wordIndex(long bit) {
+		return (int) (bit >>> ADDRESS_BITS_PER_WORD) & SEGMENT_MASK;
+	}
+
+	public long getBitCount() {
+		return bitCount;
+	}
+
+	/***
+	 * Returns the number of set bits as a {@code long}.
+	 *
+	 * @return number of set bits
+	 */
+	public long cardinality() {
+		return numberOfElements;
+	}
+
+	/***
+	 * Returns the number of set bits, capped at {@link Integer#MAX_VALUE}. Use {@link #cardinality()} for the exact count.
+	 */
+	@Override
+	public int getNumberOfElements() {
+		return (int) Math.min(numberOfElements, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public void clear() {
+		for (long[] segment : segments) {
+			Arrays.fill(segment, 0L);
+		}
+		numberOfElements = 0;
+	}
+
+	@Override
+	public LongBitMap clone() {
+		return new LongBitMap(this);
+	}
+}
@@ -0,0 +1,306 @@
+package nkher.datastructures.lists;
+
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import nkher.exception.DataStructureEmptyException;
+
+/***
+ * A {@link DynamicArray} of primitive {@code long} values. The values are kept in a {@code long[]} rather than an
+ * {@code Object[]}, hence nothing is boxed on insertion, access or sorting and the elements take 8 bytes each
+ * instead of a reference plus a {@link Long}. The API mirrors the one of {@link DynamicArray}. </br>
+ *
+ * An existing array can be wrapped without copying through {@link #wrap(long[])}, and {@link #asBuffer()} gives a
+ * view of the elements that shares the backing array. The data structure is not thread safe.
+ *
+ * @author nameshkher
+ *
+ */
+public class LongDynamicArray implements Iterable<Long> {
+
+	private static final int DEFAULT_CAPACITY = 10;
+	private static final int SCALE_FACTOR = 2;
+
+	private int size;
+	private long[] data;
+	private Random r; // initialized only when needed - lazy initialization
+
+	/***
+	 * Creates an empty array with default capacity as 10.
+	 */
+	public LongDynamicArray() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public LongDynamicArray(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Capacity cannot be negative : " + capacity);
+		}
+		data = new long[capacity];
+	}
+
+	/***
+	 * Constructor that creates a copy of an existing array.
+	 */
+	public LongDynamicArray(LongDynamicArray dArray) {
+		data = Arrays.copyOf(dArray.data, Math.max(dArray.size, DEFAULT_CAPACITY));
+		size = dArray.size;
+	}
+
+	private LongDynamicArray(long[] data, int size) {
+		this.data = data;
+		this.size = size;
+	}
+
+	/***
+	 * Creates a dynamic array that uses the passed array as its storage, without copying it. Changes made
+	 * through the dynamic array are visible in the array until the dynamic array has to grow.
+	 *
+	 * @param array the backing array, all its elements become elements of the dynamic array
+	 * @return a dynamic array backed by the passed array
+	 */
+	public static LongDynamicArray wrap(long[] array) {
+		return new LongDynamicArray(array, array.length);
+	}
+
+	public int capacity() {
+		return data.length;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/***
+	 * Inserts a new element at the tail of the array.
+	 */
+	public void insert(long element) {
+		if (size == data.length) {
+			grow(size + 1);
+		}
+		data[size++] = element;
+	}
+
+	public void insertAtHead(long element) {
+		if (size == data.length) {
+			grow(size + 1);
+		}
+		System.arraycopy(data, 0, data, 1, size);
+		data[0] = element;
+		size++;
+	}
+
+	/***
+	 * Appends all the elements of the array with a single copy.
+	 */
+	public void addAll(long[] array) {
+		addAll(array, 0, array.length);
+	}
+
+	public void addAll(long[] array, int offset, int length) {
+		if (offset < 0 || length < 0 || offset > array.length - length) {
+			throw new ArrayIndexOutOfBoundsException("Invalid range, offset : " + offset + ", length : " + length);
+		}
+		if (size + length > data.length) {
+			grow(size + length);
+		}
+		System.arraycopy(array, offset, data, size, length);
+		size += length;
+	}
+
+	/***
+	 * Grows the backing array to at least the minimum capacity, doubling it when that is bigger.
+	 */
+	private void grow(int minCapacity) {
+		if (minCapacity < 0) {
+			throw new OutOfMemoryError("Required array size too large");
+		}
+		int newCapacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max((long) data.length * SCALE_FACTOR, DEFAULT_CAPACITY));
+		data = Arrays.copyOf(data, Math.max(newCapacity, minCapacity));
+	}
+
+	public long getAt(int index) {
+		checkIndex(index);
+		return data[index];
+	}
+
+	public void replaceAt(int index, long element) {
+		checkIndex(index);
+		data[index] = element;
+	}
+
+	/***
+	 * Deletes the element at the specified index and returns it.
+	 */
+	public long removeAt(int index) {
+		checkIndex(index);
+		long removed = data[index];
+		System.arraycopy(data, index+1, data, index, size - index - 1);
+		size--;
+		return removed;
+	}
+
+	/***
+	 * Deletes the element from the tail of the array and returns it.
+	 */
+	public long remove() {
+		if (isEmpty()) {
+			throw new DataStructureEmptyException("Cannot remove from an empty array.");
+		}
+		return data[--size];
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new ArrayIndexOutOfBoundsException(index);
+		}
+	}
+
+	public long getFirst() {
+		return getAt(0);
+	}
+
+	public long getLast() {
+		return getAt(size-1);
+	}
+
+	/***
+	 * Returns the index of the first occurrence of the element, -1 if it is not found.
+	 */
+	public int search(long element) {
+		for (int i=0; i<size; i++) {
+			if (Long.compare(data[i], element) == 0) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public boolean contains(long element) {
+		return search(element) != -1;
+	}
+
+	/***
+	 * Reverses the array in place.
+	 */
+	public void reverse() {
+		int start = 0, end = size-1;
+		while (start < end) {
+			swap(start++, end--);
+		}
+	}
+
+	/***
+	 * Shuffles the array in place.
+	 */
+	public void shuffle() {
+		if (null == r) {
+			r = new Random();
+		}
+		for (int i=size-1; i>0; i--) {
+			swap(i, r.nextInt(i + 1));
+		}
+	}
+
+	/***
+	 * Sorts the elements in ascending order.
+	 */
+	public void sort() {
+		Arrays.sort(data, 0, size);
+	}
+
+	/***
+	 * Swaps the elements at the two indices. The indices are not checked against the size.
+	 */
+	public void swap(int index1, int index2) {
+		long temp = data[index1];
+		data[index1] = data[index2];
+		data[index2] = temp;
+	}
+
+	/***
+	 * Returns a copy of the elements.
+	 */
+	public long[] toArray() {
+		return Arrays.copyOf(data, size);
+	}
+
+	/***
+	 * Returns a buffer over the elements that shares the backing array, so nothing is copied. The buffer
+	 * reflects changes of the existing elements but is not valid anymore once the array grows.
+	 */
+	public LongBuffer asBuffer() {
+		return LongBuffer.wrap(data, 0, size).slice();
+	}
+
+	/***
+	 * Removes all the elements, keeping the capacity.
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	public PrimitiveIterator.OfLong iterator() {
+		return new PrimitiveIterator.OfLong() {
+
+			int currentPointer = 0;
+
+			public boolean hasNext() {
+				return currentPointer < size;
+			}
+
+			public long nextLong() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return data[currentPointer++];
+			}
+		};
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof LongDynamicArray)) return false;
+		LongDynamicArray other = (LongDynamicArray) o;
+		if (size != other.size) return false;
+		for (int i=0; i<size; i++) {
+			if (Long.compare(data[i], other.data[i]) != 0) return false;
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 1;
+		for (int i=0; i<size; i++) {
+			hash = 31 * hash + Long.hashCode(data[i]);
+		}
+		return hash;
+	}
+
+	public String toString() {
+		if (isEmpty()) {
+			return "[ ]";
+		}
+		StringBuilder sb = new StringBuilder();
+		sb.append("[");
+		for (int i=0; i<size; i++) {
+			if (i > 0) sb.append(", ");
+			sb.append(data[i]);
+		}
+		sb.append("]");
+		return sb.toString();
+	}
+
+	public LongDynamicArray clone() {
+		return new LongDynamicArray(this);
+	}
+}
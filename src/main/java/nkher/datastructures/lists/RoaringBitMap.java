@@ -0,0 +1,1164 @@
+package nkher.datastructures.lists;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import nkher.api.MyBitMap;
+import nkher.exception.InvalidIndexException;
+
+/***
+ * A compressed bit map over the full 32 bit space, following the design of Roaring bitmaps. The bit index is
+ * treated as an unsigned {@code int}. The space is split into chunks of 2^16 bits keyed by the high 16 bits of
+ * the index and every non empty chunk is stored in the most compact of three containers - </br>
+ * 	1. An array container which keeps the sorted low 16 bits when the chunk has at most 4096 bits set. </br>
+ * 	2. A bitmap container of 1024 longs (8 KB) when the chunk is dense. </br>
+ * 	3. A run container which keeps [start, length] pairs. Run containers are only created by {@link #runOptimize()}
+ * 	   or when reading serialized data, and are turned back into an array or bitmap container when they are modified. </br>
+ *
+ * The serialized form follows the portable Roaring format (https://github.com/RoaringBitmap/RoaringFormatSpec)
+ * so that the data can be read by other Roaring implementations. The data structure is not thread safe.
+ *
+ * Reference :
+ * 1. https://arxiv.org/abs/1402.6407
+ * 2. https://arxiv.org/abs/1603.06549
+ *
+ * @author nameshkher
+ *
+ */
+public class RoaringBitMap implements MyBitMap, Iterable<Integer> {
+
+	private static final int ARRAY_MAX_SIZE = 4096; // largest cardinality kept in an array container
+	private static final int BITMAP_WORDS = 1024; // 2^16 bits / 64
+	private static final int DEFAULT_CAPACITY = 4;
+
+	private static final int SERIAL_COOKIE_NO_RUNCONTAINER = 12346;
+	private static final int SERIAL_COOKIE = 12347;
+	private static final int NO_OFFSET_THRESHOLD = 4;
+
+	private char[] keys; // sorted high 16 bits of the chunks
+	private Container[] containers;
+	private int size; // number of containers
+
+	/***
+	 * Creates an empty roaring bit map.
+	 */
+	public RoaringBitMap() {
+		keys = new char[DEFAULT_CAPACITY];
+		containers = new Container[DEFAULT_CAPACITY];
+	}
+
+	/***
+	 * Constructor that creates a deep copy of an existing roaring bit map.
+	 *
+	 * @param other the bit map to be copied
+	 */
+	public RoaringBitMap(RoaringBitMap other) {
+		keys = Arrays.copyOf(other.keys, Math.max(other.size, DEFAULT_CAPACITY));
+		containers = new Container[keys.length];
+		for (int i=0; i<other.size; i++) {
+			containers[i] = other.containers[i].copy();
+		}
+		size = other.size;
+	}
+
+	/***
+	 * Creates a roaring bit map with the passed bits set.
+	 *
+	 * @param bits bits to be set
+	 * @return a new {@link RoaringBitMap}
+	 */
+	public static RoaringBitMap bitmapOf(int... bits) {
+		RoaringBitMap bitmap = new RoaringBitMap();
+		for (int bit : bits) {
+			bitmap.set(bit);
+		}
+		return bitmap;
+	}
+
+	@Override
+	public void set(int bit) {
+		char high = highBits(bit);
+		int ind = keyIndex(high);
+		if (ind >= 0) {
+			containers[ind] = containers[ind].add(lowBits(bit));
+		}
+		else {
+			ArrayContainer container = new ArrayContainer();
+			container.add(lowBits(bit));
+			insertContainerAt(-ind - 1, high, container);
+		}
+	}
+
+	@Override
+	public void unset(int bit) {
+		int ind = keyIndex(highBits(bit));
+		if (ind < 0) {
+			return;
+		}
+		Container container = containers[ind].remove(lowBits(bit));
+		if (container.cardinality() == 0) {
+			removeContainerAt(ind);
+		}
+		else {
+			containers[ind] = container;
+		}
+	}
+
+	@Override
+	public int get(int bit) {
+		return contains(bit) ? 1 : 0;
+	}
+
+	/***
+	 * Sets the bit at an index between 0 and 2^32 - 1, the same bit as the {@code int} index with these unsigned
+	 * 32 bits.
+	 */
+	@Override
+	public void set(long bit) {
+		set(unsignedIndex(bit));
+	}
+
+	@Override
+	public void unset(long bit) {
+		unset(unsignedIndex(bit));
+	}
+
+	@Override
+	public int get(long bit) {
+		return get(unsignedIndex(bit));
+	}
+
+	private static int unsignedIndex(long bit) {
+		if (bit < 0 || bit > 0xFFFFFFFFL) {
+			throw new InvalidIndexException("Bit " + bit + " is out of the unsigned 32 bit range of a roaring bit map");
+		}
+		return (int) bit;
+	}
+
+	/***
+	 * Checks if the passed bit is set in the bit map.
+	 *
+	 * @param bit index of the bit, treated as an unsigned int
+	 * @return true if the bit is set else false
+	 */
+	public boolean contains(int bit) {
+		int ind = keyIndex(highBits(bit));
+		return ind >= 0 && containers[ind].contains(lowBits(bit));
+	}
+
+	/***
+	 * Returns the number of bits set in the bit map. Since the bit map covers 2^32 bits the count is a {@code long}.
+	 *
+	 * @return number of set bits
+	 */
+	public long cardinality() {
+		long cardinality = 0;
+		for (int i=0; i<size; i++) {
+			cardinality += containers[i].cardinality();
+		}
+		return cardinality;
+	}
+
+	/***
+	 * Returns the number of set bits, capped at {@link Integer#MAX_VALUE}. Use {@link #cardinality()} for the exact count.
+	 */
+	@Override
+	public int getNumberOfElements() {
+		return (int) Math.min(cardinality(), Integer.MAX_VALUE);
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public void clear() {
+		keys = new char[DEFAULT_CAPACITY];
+		containers = new Container[DEFAULT_CAPACITY];
+		size = 0;
+	}
+
+	@Override
+	public RoaringBitMap clone() {
+		return new RoaringBitMap(this);
+	}
+
+	/***************************************************************
+	 * SET OPERATIONS
+	 ***************************************************************/
+
+	/***
+	 * Returns a new bit map which is the intersection of the two passed bit maps.
+	 *
+	 * @param x1 first bit map
+	 * @param x2 second bit map
+	 * @return a new {@link RoaringBitMap} holding x1 AND x2
+	 */
+	public static RoaringBitMap and(RoaringBitMap x1, RoaringBitMap x2) {
+		RoaringBitMap result = new RoaringBitMap();
+		int i = 0, j = 0;
+		while (i < x1.size && j < x2.size) {
+			if (x1.keys[i] == x2.keys[j]) {
+				Container container = and(x1.containers[i], x2.containers[j]);
+				if (container.cardinality() > 0) {
+					result.appendContainer(x1.keys[i], container);
+				}
+				i++; j++;
+			}
+			else if (x1.keys[i] < x2.keys[j]) {
+				i++;
+			}
+			else {
+				j++;
+			}
+		}
+		return result;
+	}
+
+	/***
+	 * Returns a new bit map which is the union of the two passed bit maps.
+	 *
+	 * @param x1 first bit map
+	 * @param x2 second bit map
+	 * @return a new {@link RoaringBitMap} holding x1 OR x2
+	 */
+	public static RoaringBitMap or(RoaringBitMap x1, RoaringBitMap x2) {
+		RoaringBitMap result = new RoaringBitMap();
+		int i = 0, j = 0;
+		while (i < x1.size && j < x2.size) {
+			if (x1.keys[i] == x2.keys[j]) {
+				result.appendContainer(x1.keys[i], or(x1.containers[i], x2.containers[j]));
+				i++; j++;
+			}
+			else if (x1.keys[i] < x2.keys[j]) {
+				result.appendContainer(x1.keys[i], x1.containers[i].copy());
+				i++;
+			}
+			else {
+				result.appendContainer(x2.keys[j], x2.containers[j].copy());
+				j++;
+			}
+		}
+		for (; i < x1.size; i++) {
+			result.appendContainer(x1.keys[i], x1.containers[i].copy());
+		}
+		for (; j < x2.size; j++) {
+			result.appendContainer(x2.keys[j], x2.containers[j].copy());
+		}
+		return result;
+	}
+
+	/***
+	 * Returns a new bit map which holds the bits of x1 that are not set in x2.
+	 *
+	 * @param x1 first bit map
+	 * @param x2 second bit map
+	 * @return a new {@link RoaringBitMap} holding x1 AND NOT x2
+	 */
+	public static RoaringBitMap andNot(RoaringBitMap x1, RoaringBitMap x2) {
+		RoaringBitMap result = new RoaringBitMap();
+		int i = 0, j = 0;
+		while (i < x1.size) {
+			while (j < x2.size && x2.keys[j] < x1.keys[i]) {
+				j++;
+			}
+			Container container;
+			if (j < x2.size && x2.keys[j] == x1.keys[i]) {
+				container = andNot(x1.containers[i], x2.containers[j]);
+			}
+			else {
+				container = x1.containers[i].copy();
+			}
+			if (container.cardinality() > 0) {
+				result.appendContainer(x1.keys[i], container);
+			}
+			i++;
+		}
+		return result;
+	}
+
+	/***
+	 * Intersects this bit map with the passed one in place.
+	 *
+	 * @param other the bit map to intersect with
+	 */
+	public void and(RoaringBitMap other) {
+		replaceWith(and(this, other));
+	}
+
+	/***
+	 * Unions this bit map with the passed one in place.
+	 *
+	 * @param other the bit map to union with
+	 */
+	public void or(RoaringBitMap other) {
+		replaceWith(or(this, other));
+	}
+
+	/***
+	 * Clears all the bits of this bit map which are set in the passed one.
+	 *
+	 * @param other the bit map whose bits are to be cleared
+	 */
+	public void andNot(RoaringBitMap other) {
+		replaceWith(andNot(this, other));
+	}
+
+	private static Container and(Container c1, Container c2) {
+		if (c1 instanceof ArrayContainer) {
+			return ((ArrayContainer) c1).filter(c2, true);
+		}
+		if (c2 instanceof ArrayContainer) {
+			return ((ArrayContainer) c2).filter(c1, true);
+		}
+		BitmapContainer result = c1.toBitmapContainer();
+		long[] words = c2.toBitmapContainer().bitmap;
+		for (int i=0; i<BITMAP_WORDS; i++) {
+			result.bitmap[i] &= words[i];
+		}
+		return result.normalize();
+	}
+
+	private static Container or(Container c1, Container c2) {
+		if (c1 instanceof ArrayContainer && c2 instanceof ArrayContainer
+				&& c1.cardinality() + c2.cardinality() <= ARRAY_MAX_SIZE) {
+			return ((ArrayContainer) c1).merge((ArrayContainer) c2);
+		}
+		BitmapContainer result = c1.toBitmapContainer();
+		c2.orInto(result.bitmap);
+		return result.normalize();
+	}
+
+	private static Container andNot(Container c1, Container c2) {
+		if (c1 instanceof ArrayContainer) {
+			return ((ArrayContainer) c1).filter(c2, false);
+		}
+		BitmapContainer result = c1.toBitmapContainer();
+		c2.andNotFrom(result.bitmap);
+		return result.normalize();
+	}
+
+	/***************************************************************
+	 * ITERATION AND COMPRESSION
+	 ***************************************************************/
+
+	/***
+	 * Returns an iterator over the set bits in ascending unsigned order. Use the {@link PrimitiveIterator.OfInt#nextInt()}
+	 * method of the returned iterator to avoid boxing.
+	 */
+	@Override
+	public PrimitiveIterator.OfInt iterator() {
+		return new RoaringIterator();
+	}
+
+	/***
+	 * Converts every container into its most compact form, which turns chunks with long runs of set bits into
+	 * run containers. Returns true if at least one run container is present after the call.
+	 *
+	 * @return true if the bit map contains run containers
+	 */
+	public boolean runOptimize() {
+		boolean hasRun = false;
+		for (int i=0; i<size; i++) {
+			containers[i] = containers[i].runOptimize();
+			hasRun |= containers[i] instanceof RunContainer;
+		}
+		return hasRun;
+	}
+
+	/***************************************************************
+	 * SERIALIZATION
+	 ***************************************************************/
+
+	/***
+	 * Returns the number of bytes needed by {@link #serialize(ByteBuffer)}.
+	 *
+	 * @return serialized size in bytes
+	 */
+	public int serializedSizeInBytes() {
+		int bytes = headerSizeInBytes(hasRunContainer());
+		for (int i=0; i<size; i++) {
+			bytes += containers[i].serializedSizeInBytes();
+		}
+		return bytes;
+	}
+
+	/***
+	 * Writes the bit map into the buffer in the portable Roaring format (little endian) starting at the current
+	 * position of the buffer. The position of the buffer is advanced by {@link #serializedSizeInBytes()}.
+	 *
+	 * @param buffer the buffer to be written into
+	 */
+	public void serialize(ByteBuffer buffer) {
+		ByteBuffer out = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		boolean hasRun = hasRunContainer();
+		if (hasRun) {
+			out.putInt(SERIAL_COOKIE | ((size - 1) << 16));
+			byte[] runFlags = new byte[(size + 7) / 8];
+			for (int i=0; i<size; i++) {
+				if (containers[i] instanceof RunContainer) {
+					runFlags[i / 8] |= 1 << (i % 8);
+				}
+			}
+			out.put(runFlags);
+		}
+		else {
+			out.putInt(SERIAL_COOKIE_NO_RUNCONTAINER);
+			out.putInt(size);
+		}
+		for (int i=0; i<size; i++) {
+			out.putChar(keys[i]);
+			out.putChar((char) (containers[i].cardinality() - 1));
+		}
+		if (!hasRun || size >= NO_OFFSET_THRESHOLD) {
+			int offset = headerSizeInBytes(hasRun);
+			for (int i=0; i<size; i++) {
+				out.putInt(offset);
+				offset += containers[i].serializedSizeInBytes();
+			}
+		}
+		for (int i=0; i<size; i++) {
+			containers[i].writeTo(out);
+		}
+		buffer.position(out.position());
+	}
+
+	/***
+	 * Returns the bit map serialized in the portable Roaring format.
+	 *
+	 * @return serialized bytes
+	 */
+	public byte[] toByteArray() {
+		byte[] bytes = new byte[serializedSizeInBytes()];
+		serialize(ByteBuffer.wrap(bytes));
+		return bytes;
+	}
+
+	/***
+	 * Reads a bit map written in the portable Roaring format starting at the current position of the buffer.
+	 * The position of the buffer is advanced past the bit map.
+	 *
+	 * @param buffer the buffer to be read from
+	 * @return the deserialized {@link RoaringBitMap}
+	 * @throws IllegalArgumentException if the buffer does not contain a valid roaring bit map
+	 */
+	public static RoaringBitMap deserialize(ByteBuffer buffer) {
+		ByteBuffer in = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		try {
+			int cookie = in.getInt();
+			int count;
+			byte[] runFlags = null;
+			if ((cookie & 0xFFFF) == SERIAL_COOKIE) {
+				count = (cookie >>> 16) + 1;
+				runFlags = new byte[(count + 7) / 8];
+				in.get(runFlags);
+			}
+			else if (cookie == SERIAL_COOKIE_NO_RUNCONTAINER) {
+				count = in.getInt();
+			}
+			else {
+				throw new IllegalArgumentException("Not a roaring bit map, cookie : " + cookie);
+			}
+			if (count < 0 || count > (1 << 16)) {
+				throw new IllegalArgumentException("Invalid number of containers : " + count);
+			}
+			char[] keys = new char[count];
+			int[] cardinalities = new int[count];
+			for (int i=0; i<count; i++) {
+				keys[i] = in.getChar();
+				cardinalities[i] = in.getChar() + 1;
+			}
+			if (runFlags == null || count >= NO_OFFSET_THRESHOLD) {
+				in.position(in.position() + 4 * count); // offsets are not needed for a sequential read
+			}
+			RoaringBitMap bitmap = new RoaringBitMap();
+			for (int i=0; i<count; i++) {
+				Container container;
+				if (runFlags != null && (runFlags[i / 8] & (1 << (i % 8))) != 0) {
+					container = RunContainer.readFrom(in);
+				}
+				else if (cardinalities[i] <= ARRAY_MAX_SIZE) {
+					container = ArrayContainer.readFrom(in, cardinalities[i]);
+				}
+				else {
+					container = BitmapContainer.readFrom(in);
+				}
+				if (i > 0 && keys[i] <= keys[i-1]) {
+					throw new IllegalArgumentException("Container keys are not sorted");
+				}
+				bitmap.appendContainer(keys[i], container);
+			}
+			buffer.position(in.position());
+			return bitmap;
+		}
+		catch (BufferUnderflowException e) {
+			throw new IllegalArgumentException("Truncated roaring bit map", e);
+		}
+	}
+
+	/***
+	 * Reads a bit map from the bytes returned by {@link #toByteArray()}.
+	 *
+	 * @param bytes serialized bytes
+	 * @return the deserialized {@link RoaringBitMap}
+	 */
+	public static RoaringBitMap fromByteArray(byte[] bytes) {
+		return deserialize(ByteBuffer.wrap(bytes));
+	}
+
+	private boolean hasRunContainer() {
+		for (int i=0; i<size; i++) {
+			if (containers[i] instanceof RunContainer) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int headerSizeInBytes(boolean hasRun) {
+		if (hasRun) {
+			int bytes = 4 + (size + 7) / 8 + 4 * size;
+			return (size >= NO_OFFSET_THRESHOLD) ? bytes + 4 * size : bytes;
+		}
+		return 8 + 8 * size;
+	}
+
+	/***************************************************************
+	 * CONTAINER BOOK KEEPING
+	 ***************************************************************/
+
+	private static char highBits(int bit) {
+		return (char) (bit >>> 16);
+	}
+
+	private static char lowBits(int bit) {
+		return (char) bit;
+	}
+
+	private int keyIndex(char key) {
+		return Arrays.binarySearch(keys, 0, size, key);
+	}
+
+	private void ensureCapacity(int minCapacity) {
+		if (minCapacity > keys.length) {
+			int newCapacity = Math.max(minCapacity, keys.length * 2);
+			keys = Arrays.copyOf(keys, newCapacity);
+			containers = Arrays.copyOf(containers, newCapacity);
+		}
+	}
+
+	private void insertContainerAt(int index, char key, Container container) {
+		ensureCapacity(size + 1);
+		System.arraycopy(keys, index, keys, index+1, size-index);
+		System.arraycopy(containers, index, containers, index+1, size-index);
+		keys[index] = key;
+		containers[index] = container;
+		size++;
+	}
+
+	private void removeContainerAt(int index) {
+		System.arraycopy(keys, index+1, keys, index, size-index-1);
+		System.arraycopy(containers, index+1, containers, index, size-index-1);
+		containers[--size] = null;
+	}
+
+	private void appendContainer(char key, Container container) {
+		ensureCapacity(size + 1);
+		keys[size] = key;
+		containers[size++] = container;
+	}
+
+	private void replaceWith(RoaringBitMap other) {
+		keys = other.keys;
+		containers = other.containers;
+		size = other.size;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (!(obj instanceof RoaringBitMap)) return false;
+		RoaringBitMap other = (RoaringBitMap) obj;
+		if (size != other.size) return false;
+		for (int i=0; i<size; i++) {
+			if (keys[i] != other.keys[i] || !containers[i].sameValues(other.containers[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 0;
+		PrimitiveIterator.OfInt it = iterator();
+		while (it.hasNext()) {
+			hash = 31 * hash + it.nextInt();
+		}
+		return hash;
+	}
+
+	public String toString() {
+		if (isEmpty()) {
+			return "{ }";
+		}
+		StringBuilder sb = new StringBuilder("{");
+		PrimitiveIterator.OfInt it = iterator();
+		while (it.hasNext()) {
+			sb.append(Integer.toUnsignedString(it.nextInt()));
+			if (it.hasNext()) sb.append(", ");
+		}
+		return sb.append("}").toString();
+	}
+
+	private class RoaringIterator implements PrimitiveIterator.OfInt {
+
+		int containerIndex = 0;
+		ValueIterator current = (size > 0) ? containers[0].valueIterator() : null;
+
+		public boolean hasNext() {
+			while (current != null && !current.hasNext()) {
+				containerIndex++;
+				current = (containerIndex < size) ? containers[containerIndex].valueIterator() : null;
+			}
+			return current != null;
+		}
+
+		public int nextInt() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return (keys[containerIndex] << 16) | current.next();
+		}
+	}
+
+	/***************************************************************
+	 * CONTAINERS
+	 ***************************************************************/
+
+	/***
+	 * Iterator over the low 16 bits stored in a container, in ascending order.
+	 */
+	private interface ValueIterator {
+		boolean hasNext();
+		int next();
+	}
+
+	private static abstract class Container {
+
+		/** Adds the value and returns the container that now holds the chunk (which may be a new one) */
+		abstract Container add(char x);
+
+		/** Removes the value and returns the container that now holds the chunk (which may be a new one) */
+		abstract Container remove(char x);
+
+		abstract boolean contains(char x);
+
+		abstract int cardinality();
+
+		abstract ValueIterator valueIterator();
+
+		/** Returns a new bitmap container holding the same values */
+		abstract BitmapContainer toBitmapContainer();
+
+		/** Sets the values of this container in the passed bitmap words */
+		abstract void orInto(long[] words);
+
+		/** Clears the values of this container from the passed bitmap words */
+		abstract void andNotFrom(long[] words);
+
+		abstract int numberOfRuns();
+
+		abstract int serializedSizeInBytes();
+
+		abstract void writeTo(ByteBuffer out);
+
+		abstract Container copy();
+
+		/***
+		 * Returns the smallest of the array, bitmap and run representations of this container.
+		 */
+		Container runOptimize() {
+			int runs = numberOfRuns();
+			int card = cardinality();
+			int runBytes = RunContainer.sizeInBytes(runs);
+			int otherBytes = (card <= ARRAY_MAX_SIZE) ? ArrayContainer.sizeInBytes(card) : BitmapContainer.SIZE_IN_BYTES;
+			if (runBytes < otherBytes) {
+				return (this instanceof RunContainer) ? this : RunContainer.fromValues(valueIterator(), runs);
+			}
+			return (this instanceof RunContainer) ? ((RunContainer) this).toEfficientContainer() : this;
+		}
+
+		boolean sameValues(Container other) {
+			if (cardinality() != other.cardinality()) return false;
+			ValueIterator it1 = valueIterator(), it2 = other.valueIterator();
+			while (it1.hasNext()) {
+				if (it1.next() != it2.next()) return false;
+			}
+			return true;
+		}
+	}
+
+	/***
+	 * Sparse container that keeps the sorted values in a char array.
+	 */
+	private static final class ArrayContainer extends Container {
+
+		char[] content;
+		int cardinality;
+
+		ArrayContainer() {
+			this(new char[DEFAULT_CAPACITY], 0);
+		}
+
+		ArrayContainer(char[] content, int cardinality) {
+			this.content = content;
+			this.cardinality = cardinality;
+		}
+
+		static int sizeInBytes(int cardinality) {
+			return 2 * cardinality;
+		}
+
+		static ArrayContainer readFrom(ByteBuffer in, int cardinality) {
+			char[] content = new char[cardinality];
+			for (int i=0; i<cardinality; i++) {
+				content[i] = in.getChar();
+			}
+			return new ArrayContainer(content, cardinality);
+		}
+
+		Container add(char x) {
+			int loc = Arrays.binarySearch(content, 0, cardinality, x);
+			if (loc >= 0) {
+				return this;
+			}
+			if (cardinality >= ARRAY_MAX_SIZE) {
+				return toBitmapContainer().add(x);
+			}
+			loc = -loc - 1;
+			if (cardinality == content.length) {
+				content = Arrays.copyOf(content, Math.min(content.length * 2, ARRAY_MAX_SIZE));
+			}
+			System.arraycopy(content, loc, content, loc+1, cardinality-loc);
+			content[loc] = x;
+			cardinality++;
+			return this;
+		}
+
+		Container remove(char x) {
+			int loc = Arrays.binarySearch(content, 0, cardinality, x);
+			if (loc >= 0) {
+				System.arraycopy(content, loc+1, content, loc, cardinality-loc-1);
+				cardinality--;
+			}
+			return this;
+		}
+
+		boolean contains(char x) {
+			return Arrays.binarySearch(content, 0, cardinality, x) >= 0;
+		}
+
+		int cardinality() {
+			return cardinality;
+		}
+
+		/***
+		 * Keeps the values that are present (keep = true) or absent (keep = false) in the other container.
+		 */
+		ArrayContainer filter(Container other, boolean keep) {
+			char[] result = new char[cardinality];
+			int count = 0;
+			for (int i=0; i<cardinality; i++) {
+				if (other.contains(content[i]) == keep) {
+					result[count++] = content[i];
+				}
+			}
+			return new ArrayContainer(result, count);
+		}
+
+		ArrayContainer merge(ArrayContainer other) {
+			char[] result = new char[cardinality + other.cardinality];
+			int i = 0, j = 0, count = 0;
+			while (i < cardinality && j < other.cardinality) {
+				if (content[i] == other.content[j]) {
+					result[count++] = content[i++];
+					j++;
+				}
+				else if (content[i] < other.content[j]) {
+					result[count++] = content[i++];
+				}
+				else {
+					result[count++] = other.content[j++];
+				}
+			}
+			while (i < cardinality) result[count++] = content[i++];
+			while (j < other.cardinality) result[count++] = other.content[j++];
+			return new ArrayContainer(result, count);
+		}
+
+		ValueIterator valueIterator() {
+			return new ValueIterator() {
+				int pos = 0;
+				public boolean hasNext() { return pos < cardinality; }
+				public int next() { return content[pos++]; }
+			};
+		}
+
+		BitmapContainer toBitmapContainer() {
+			BitmapContainer bitmap = new BitmapContainer();
+			orInto(bitmap.bitmap);
+			bitmap.cardinality = cardinality;
+			return bitmap;
+		}
+
+		void orInto(long[] words) {
+			for (int i=0; i<cardinality; i++) {
+				words[content[i] >>> 6] |= 1L << content[i];
+			}
+		}
+
+		void andNotFrom(long[] words) {
+			for (int i=0; i<cardinality; i++) {
+				words[content[i] >>> 6] &= ~(1L << content[i]);
+			}
+		}
+
+		int numberOfRuns() {
+			if (cardinality == 0) return 0;
+			int runs = 1;
+			for (int i=1; i<cardinality; i++) {
+				if (content[i] != content[i-1] + 1) runs++;
+			}
+			return runs;
+		}
+
+		int serializedSizeInBytes() {
+			return sizeInBytes(cardinality);
+		}
+
+		void writeTo(ByteBuffer out) {
+			for (int i=0; i<cardinality; i++) {
+				out.putChar(content[i]);
+			}
+		}
+
+		ArrayContainer copy() {
+			return new ArrayContainer(Arrays.copyOf(content, Math.max(cardinality, 1)), cardinality);
+		}
+	}
+
+	/***
+	 * Dense container that keeps one bit per value in 1024 longs. It always holds more than ARRAY_MAX_SIZE values.
+	 */
+	private static final class BitmapContainer extends Container {
+
+		static final int SIZE_IN_BYTES = BITMAP_WORDS * 8;
+
+		final long[] bitmap;
+		int cardinality;
+
+		BitmapContainer() {
+			this(new long[BITMAP_WORDS], 0);
+		}
+
+		BitmapContainer(long[] bitmap, int cardinality) {
+			this.bitmap = bitmap;
+			this.cardinality = cardinality;
+		}
+
+		static BitmapContainer readFrom(ByteBuffer in) {
+			BitmapContainer container = new BitmapContainer();
+			for (int i=0; i<BITMAP_WORDS; i++) {
+				container.bitmap[i] = in.getLong();
+			}
+			container.computeCardinality();
+			return container;
+		}
+
+		Container add(char x) {
+			long mask = 1L << x;
+			if ((bitmap[x >>> 6] & mask) == 0) {
+				bitmap[x >>> 6] |= mask;
+				cardinality++;
+			}
+			return this;
+		}
+
+		Container remove(char x) {
+			long mask = 1L << x;
+			if ((bitmap[x >>> 6] & mask) != 0) {
+				bitmap[x >>> 6] &= ~mask;
+				cardinality--;
+				if (cardinality <= ARRAY_MAX_SIZE) {
+					return toArrayContainer();
+				}
+			}
+			return this;
+		}
+
+		boolean contains(char x) {
+			return (bitmap[x >>> 6] & (1L << x)) != 0;
+		}
+
+		int cardinality() {
+			return cardinality;
+		}
+
+		void computeCardinality() {
+			int count = 0;
+			for (long word : bitmap) {
+				count += Long.bitCount(word);
+			}
+			cardinality = count;
+		}
+
+		/***
+		 * Recomputes the cardinality after word level operations and turns the container into an array container
+		 * if it has become sparse.
+		 */
+		Container normalize() {
+			computeCardinality();
+			return (cardinality <= ARRAY_MAX_SIZE) ? toArrayContainer() : this;
+		}
+
+		ArrayContainer toArrayContainer() {
+			char[] content = new char[Math.max(cardinality, 1)];
+			int count = 0;
+			for (int i=0; i<BITMAP_WORDS; i++) {
+				long word = bitmap[i];
+				while (word != 0) {
+					content[count++] = (char) ((i << 6) + Long.numberOfTrailingZeros(word));
+					word &= word - 1;
+				}
+			}
+			return new ArrayContainer(content, count);
+		}
+
+		ValueIterator valueIterator() {
+			return new ValueIterator() {
+				int wordIndex = -1;
+				long word = 0;
+				public boolean hasNext() {
+					while (word == 0 && wordIndex < BITMAP_WORDS - 1) {
+						word = bitmap[++wordIndex];
+					}
+					return word != 0;
+				}
+				public int next() {
+					hasNext();
+					int value = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+					word &= word - 1;
+					return value;
+				}
+			};
+		}
+
+		BitmapContainer toBitmapContainer() {
+			return copy();
+		}
+
+		void orInto(long[] words) {
+			for (int i=0; i<BITMAP_WORDS; i++) {
+				words[i] |= bitmap[i];
+			}
+		}
+
+		void andNotFrom(long[] words) {
+			for (int i=0; i<BITMAP_WORDS; i++) {
+				words[i] &= ~bitmap[i];
+			}
+		}
+
+		int numberOfRuns() {
+			int runs = 0;
+			for (int i=0; i<BITMAP_WORDS; i++) {
+				long word = bitmap[i];
+				long next = (i < BITMAP_WORDS - 1) ? bitmap[i+1] : 0;
+				// a run ends at every set bit followed by a clear bit
+				runs += Long.bitCount(word & ~(word >>> 1) & Long.MAX_VALUE);
+				runs += (int) ((word >>> 63) & ~next & 1);
+			}
+			return runs;
+		}
+
+		int serializedSizeInBytes() {
+			return SIZE_IN_BYTES;
+		}
+
+		void writeTo(ByteBuffer out) {
+			for (long word : bitmap) {
+				out.putLong(word);
+			}
+		}
+
+		BitmapContainer copy() {
+			return new BitmapContainer(bitmap.clone(), cardinality);
+		}
+	}
+
+	/***
+	 * Container that keeps runs of consecutive values as (start, length - 1) pairs.
+	 */
+	private static final class RunContainer extends Container {
+
+		final char[] runs; // start and length - 1 of every run
+		final int numberOfRuns;
+
+		RunContainer(char[] runs, int numberOfRuns) {
+			this.runs = runs;
+			this.numberOfRuns = numberOfRuns;
+		}
+
+		static int sizeInBytes(int numberOfRuns) {
+			return 2 + 4 * numberOfRuns;
+		}
+
+		static RunContainer fromValues(ValueIterator it, int numberOfRuns) {
+			char[] runs = new char[2 * numberOfRuns];
+			int run = -1, previous = -2;
+			while (it.hasNext()) {
+				int value = it.next();
+				if (value != previous + 1) {
+					run++;
+					runs[2 * run] = (char) value;
+				}
+				runs[2 * run + 1] = (char) (value - runs[2 * run]);
+				previous = value;
+			}
+			return new RunContainer(runs, numberOfRuns);
+		}
+
+		static RunContainer readFrom(ByteBuffer in) {
+			int numberOfRuns = in.getChar();
+			char[] runs = new char[2 * numberOfRuns];
+			for (int i=0; i<runs.length; i++) {
+				runs[i] = in.getChar();
+			}
+			return new RunContainer(runs, numberOfRuns);
+		}
+
+		Container toEfficientContainer() {
+			int card = cardinality();
+			if (card <= ARRAY_MAX_SIZE) {
+				char[] content = new char[Math.max(card, 1)];
+				int count = 0;
+				for (int r=0; r<numberOfRuns; r++) {
+					int start = runs[2 * r], end = start + runs[2 * r + 1];
+					for (int v=start; v<=end; v++) {
+						content[count++] = (char) v;
+					}
+				}
+				return new ArrayContainer(content, count);
+			}
+			return toBitmapContainer();
+		}
+
+		Container add(char x) {
+			return contains(x) ? this : toEfficientContainer().add(x);
+		}
+
+		Container remove(char x) {
+			return contains(x) ? toEfficientContainer().remove(x) : this;
+		}
+
+		boolean contains(char x) {
+			// find the last run whose start is <= x
+			int low = 0, high = numberOfRuns - 1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				if (runs[2 * mid] <= x) {
+					low = mid + 1;
+				}
+				else {
+					high = mid - 1;
+				}
+			}
+			return high >= 0 && x - runs[2 * high] <= runs[2 * high + 1];
+		}
+
+		int cardinality() {
+			int card = 0;
+			for (int r=0; r<numberOfRuns; r++) {
+				card += runs[2 * r + 1] + 1;
+			}
+			return card;
+		}
+
+		ValueIterator valueIterator() {
+			return new ValueIterator() {
+				int run = 0;
+				int offset = 0;
+				public boolean hasNext() { return run < numberOfRuns; }
+				public int next() {
+					int value = runs[2 * run] + offset;
+					if (offset++ == runs[2 * run + 1]) {
+						run++;
+						offset = 0;
+					}
+					return value;
+				}
+			};
+		}
+
+		BitmapContainer toBitmapContainer() {
+			BitmapContainer bitmap = new BitmapContainer();
+			orInto(bitmap.bitmap);
+			bitmap.cardinality = cardinality();
+			return bitmap;
+		}
+
+		void orInto(long[] words) {
+			for (int r=0; r<numberOfRuns; r++) {
+				setRange(words, runs[2 * r], runs[2 * r] + runs[2 * r + 1], true);
+			}
+		}
+
+		void andNotFrom(long[] words) {
+			for (int r=0; r<numberOfRuns; r++) {
+				setRange(words, runs[2 * r], runs[2 * r] + runs[2 * r + 1], false);
+			}
+		}
+
+		/***
+		 * Sets or clears all the bits from start to end (both inclusive) one word at a time.
+		 */
+		private static void setRange(long[] words, int start, int end, boolean value) {
+			int firstWord = start >>> 6, lastWord = end >>> 6;
+			for (int w=firstWord; w<=lastWord; w++) {
+				long mask = -1L;
+				if (w == firstWord) mask &= -1L << start;
+				if (w == lastWord) mask &= -1L >>> (63 - (end & 63));
+				if (value) {
+					words[w] |= mask;
+				}
+				else {
+					words[w] &= ~mask;
+				}
+			}
+		}
+
+		int numberOfRuns() {
+			return numberOfRuns;
+		}
+
+		int serializedSizeInBytes() {
+			return sizeInBytes(numberOfRuns);
+		}
+
+		void writeTo(ByteBuffer out) {
+			out.putChar((char) numberOfRuns);
+			for (int i=0; i<2 * numberOfRuns; i++) {
+				out.putChar(runs[i]);
+			}
+		}
+
+		RunContainer copy() {
+			return new RunContainer(runs.clone(), numberOfRuns);
+		}
+	}
+}
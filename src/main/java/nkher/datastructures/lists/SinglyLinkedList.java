@@ -7,6 +7,7 @@ import nkher.exception.DataStructureEmptyException;
 import nkher.exception.DataStructureSmallerException;
 import nkher.exception.InvalidIndexException;
 import nkher.api.MyList;
+import nkher.utils.NodePool;
 
 /***
  * This class demonstrates the singly linked list implementation.
@@ -21,11 +22,50 @@ public class SinglyLinkedList<T> implements MyList<T>, Iterable<T> {
 	private int size;
 	private SinglyNode<T> head;
 	private SinglyNode<T> tail;
+	private NodePool<SinglyNode<T>> nodePool; // null unless node pooling is enabled
 	
 	public SinglyLinkedList() {
 		size = 0;
 	}
 	
+	/***
+	 * Makes the list reuse the nodes of removed elements, keeping up to maxPooledNodes free nodes. Nodes returned
+	 * by this list must not be used once their element has been removed. See {@link NodePool}.
+	 * 
+	 * @param maxPooledNodes - maximum number of free nodes kept for reuse
+	 */
+	public void enableNodePooling(int maxPooledNodes) {
+		nodePool = new NodePool<SinglyNode<T>>(maxPooledNodes, SinglyNode::new);
+	}
+	
+	/***
+	 * Returns the node pool of the list, or null if node pooling is not enabled.
+	 */
+	public NodePool<SinglyNode<T>> nodePool() {
+		return nodePool;
+	}
+	
+	private SinglyNode<T> newNode(T element, SinglyNode<T> next) {
+		if (null == nodePool) {
+			return new SinglyNode<T>(element, next);
+		}
+		SinglyNode<T> node = nodePool.acquire();
+		node.data = element;
+		node.next = next;
+		return node;
+	}
+	
+	/***
+	 * Gives a node that was unlinked from the list back to the pool, if pooling is enabled.
+	 */
+	private void recycle(SinglyNode<T> node) {
+		if (null != nodePool) {
+			node.data = null;
+			node.next = null;
+			nodePool.release(node);
+		}
+	}
+	
 	/***
 	 * Represents the node of a doubly linked list. It contains a data element,
 	 * and a pointer to the next node.
@@ -94,10 +134,10 @@ public class SinglyLinkedList<T> implements MyList<T>, Iterable<T> {
 	public void insert(T element) {
 		size++;
 		if (head == null) {
-			head = tail = new SinglyNode<T>(element);
+			head = tail = newNode(element, null);
 			return;
 		}
-		SinglyNode<T> new_node = new SinglyNode<T>(element);
+		SinglyNode<T> new_node = newNode(element, null);
 		tail.next = new_node;
 		tail = new_node;
 	}
@@ -123,10 +163,10 @@ public class SinglyLinkedList<T> implements MyList<T>, Iterable<T> {
 	public void insertAtHead(T element) {
 		size++;
 		if (head == null) {
-			head = tail = new SinglyNode<T>(element);
+			head = tail = newNode(element, null);
 			return;
 		}
-		SinglyNode<T> new_node = new SinglyNode<T>(element, head);
+		SinglyNode<T> new_node = newNode(element, head);
 		head = new_node;
 	}
 
@@ -154,6 +194,7 @@ public class SinglyLinkedList<T> implements MyList<T>, Iterable<T> {
 					prev.next = itr.next; //  change the pointers properly
 					itr.next = null;
 				}
+				recycle(itr);
 				break;
 			}
 			prev = itr;
@@ -164,6 +205,7 @@ public class SinglyLinkedList<T> implements MyList<T>, Iterable<T> {
 			tail.next = null;
 			found = true;
 			size--;
+			recycle(itr);
 		}
 		if (size == 1) tail = head;
 		if (found) {
@@ -191,7 +233,9 @@ public class SinglyLinkedList<T> implements MyList<T>, Iterable<T> {
 		}
 		size--;
 		if (index == 0) { // deletion is at the head
+			SinglyNode<T> removed = head;
 			head = head.next;
+			recycle(removed);
 		}
 		else {
 			SinglyNode<T> itr = head, prev = null;
@@ -206,6 +250,7 @@ public class SinglyLinkedList<T> implements MyList<T>, Iterable<T> {
 			if (itr == tail) { // update the tail
 				tail = prev;
 			}
+			recycle(itr);
 		}
 		if (size == 1) tail = head;
 	}
@@ -234,6 +279,14 @@ public class SinglyLinkedList<T> implements MyList<T>, Iterable<T> {
 	 */
 	public void clear() {
 		if (isEmpty()) return;
+		if (null != nodePool) { // only as many nodes as the pool keeps are worth visiting
+			SinglyNode<T> itr = head;
+			while (itr != null && !nodePool.isFull()) {
+				SinglyNode<T> next = (itr == tail) ? null : itr.next;
+				recycle(itr);
+				itr = next;
+			}
+		}
 		head = null;
 		tail = null;
 		size = 0;
@@ -0,0 +1,323 @@
+package nkher.datastructures.lists;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import nkher.api.MyTree;
+import nkher.exception.DataStructureEmptyException;
+
+/***
+ * An ordered map backed by a skip list (Pugh, "Skip Lists: A Probabilistic Alternative to Balanced Trees"). The
+ * entries are kept in a sorted linked list, and every node is also linked on a random number of express levels
+ * above it, each level holding about half of the nodes of the level below. A search starts on the highest level
+ * and drops a level whenever the next key is too large, hence insert, remove and search are O(log n) expected
+ * without any rebalancing. </br>
+ *
+ * Besides the {@link MyTree} operations the map supports floor, ceiling, lower and higher searches, range searches
+ * and iterating over the keys in order. The data structure is not thread safe, see
+ * {@link ConcurrentSkipListMap} for a lock free variant.
+ *
+ * @author nameshkher
+ *
+ * @param <K>
+ * @param <V>
+ */
+public class SkipListMap<K extends Comparable<K>, V> implements MyTree<K, V>, Iterable<K> {
+
+	static final int MAX_LEVEL = 32;
+
+	private final SkipNode<K, V> head = new SkipNode<>(null, null, MAX_LEVEL);
+	private final Random random;
+	private int level = 1; // number of levels in use
+	private int size;
+	private int modCount; // number of structural modifications, for failing fast in the iterator
+
+	/***
+	 * Represents a node of the skip list, linked on levels 0 to next.length - 1.
+	 */
+	private static final class SkipNode<K, V> {
+		final K key;
+		V value;
+		final SkipNode<K, V>[] next;
+
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		SkipNode(K key, V value, int levels) {
+			this.key = key;
+			this.value = value;
+			this.next = new SkipNode[levels];
+		}
+	}
+
+	public SkipListMap() {
+		this(new Random());
+	}
+
+	/***
+	 * Creates an empty map drawing the node levels from the passed random generator, for reproducible layouts.
+	 */
+	public SkipListMap(Random random) {
+		this.random = random;
+	}
+
+	/***
+	 * Draws the number of levels of a new node, each extra level with probability 1/2.
+	 */
+	private int randomLevel() {
+		return 1 + Integer.numberOfTrailingZeros(random.nextInt() | (1 << (MAX_LEVEL - 1)));
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/***
+	 * Returns the last node whose key is smaller than the passed key on every level, from the top level down.
+	 * The nodes are stored in update when it is not null.
+	 */
+	private SkipNode<K, V> lastBefore(K key, SkipNode<K, V>[] update) {
+		SkipNode<K, V> node = head;
+		for (int i=level-1; i>=0; i--) {
+			while (node.next[i] != null && node.next[i].key.compareTo(key) < 0) {
+				node = node.next[i];
+			}
+			if (update != null) {
+				update[i] = node;
+			}
+		}
+		return node;
+	}
+
+	/***
+	 * Inserts the key with its value, replacing the value if the key is already in the map.
+	 */
+	@Override
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public void insert(K key, V value) {
+		checkKey(key);
+		SkipNode<K, V>[] update = new SkipNode[MAX_LEVEL];
+		SkipNode<K, V> node = lastBefore(key, update).next[0];
+		if (node != null && node.key.compareTo(key) == 0) {
+			node.value = value;
+			return;
+		}
+		int levels = randomLevel();
+		for (int i=level; i<levels; i++) {
+			update[i] = head;
+		}
+		level = Math.max(level, levels);
+		SkipNode<K, V> newNode = new SkipNode<>(key, value, levels);
+		for (int i=0; i<levels; i++) {
+			newNode.next[i] = update[i].next[i];
+			update[i].next[i] = newNode;
+		}
+		size++;
+		modCount++;
+	}
+
+	@Override
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public boolean remove(K key) {
+		checkKey(key);
+		SkipNode<K, V>[] update = new SkipNode[MAX_LEVEL];
+		SkipNode<K, V> node = lastBefore(key, update).next[0];
+		if (node == null || node.key.compareTo(key) != 0) {
+			return false;
+		}
+		for (int i=0; i<node.next.length; i++) {
+			update[i].next[i] = node.next[i];
+		}
+		while (level > 1 && head.next[level - 1] == null) {
+			level--;
+		}
+		size--;
+		modCount++;
+		return true;
+	}
+
+	/***
+	 * Returns the value of the key, or null if the key is not in the map.
+	 */
+	public V get(K key) {
+		SkipNode<K, V> node = ceilingNode(key);
+		return (node != null && node.key.compareTo(key) == 0) ? node.value : null;
+	}
+
+	public boolean containsKey(K key) {
+		SkipNode<K, V> node = ceilingNode(key);
+		return node != null && node.key.compareTo(key) == 0;
+	}
+
+	private SkipNode<K, V> ceilingNode(K key) {
+		checkKey(key);
+		return lastBefore(key, null).next[0];
+	}
+
+	private void checkKey(K key) {
+		if (null == key) {
+			throw new IllegalArgumentException("Key cannot be null.");
+		}
+	}
+
+	/***
+	 * A skip list has no root, this returns the smallest key, which is where every search starts from.
+	 */
+	@Override
+	public K rootkey() {
+		return firstKey();
+	}
+
+	public K firstKey() {
+		if (isEmpty()) {
+			throw new DataStructureEmptyException("Skip list map is empty.");
+		}
+		return head.next[0].key;
+	}
+
+	/***
+	 * Returns the largest key, following the rightmost node on every level.
+	 */
+	public K lastKey() {
+		if (isEmpty()) {
+			throw new DataStructureEmptyException("Skip list map is empty.");
+		}
+		SkipNode<K, V> node = head;
+		for (int i=level-1; i>=0; i--) {
+			while (node.next[i] != null) {
+				node = node.next[i];
+			}
+		}
+		return node.key;
+	}
+
+	/***
+	 * Returns the largest key smaller than or equal to the passed key, or null if there is none.
+	 */
+	public K floorKey(K key) {
+		checkKey(key);
+		SkipNode<K, V> before = lastBefore(key, null);
+		SkipNode<K, V> node = before.next[0];
+		if (node != null && node.key.compareTo(key) == 0) {
+			return node.key;
+		}
+		return before.key; // null for the head
+	}
+
+	/***
+	 * Returns the smallest key greater than or equal to the passed key, or null if there is none.
+	 */
+	public K ceilingKey(K key) {
+		SkipNode<K, V> node = ceilingNode(key);
+		return (node == null) ? null : node.key;
+	}
+
+	/***
+	 * Returns the largest key strictly smaller than the passed key, or null if there is none.
+	 */
+	public K lowerKey(K key) {
+		checkKey(key);
+		return lastBefore(key, null).key;
+	}
+
+	/***
+	 * Returns the smallest key strictly greater than the passed key, or null if there is none.
+	 */
+	public K higherKey(K key) {
+		SkipNode<K, V> node = ceilingNode(key);
+		if (node != null && node.key.compareTo(key) == 0) {
+			node = node.next[0];
+		}
+		return (node == null) ? null : node.key;
+	}
+
+	/***
+	 * Returns the keys between from and to, both inclusive, in increasing order.
+	 *
+	 * @param from - smallest key of the range
+	 * @param to - largest key of the range
+	 * @return - array of {@code DynamicArray<K>} type
+	 */
+	public DynamicArray<K> rangeSearch(K from, K to) {
+		if (from.compareTo(to) > 0) {
+			throw new IllegalArgumentException("Invalid range : " + from + " > " + to);
+		}
+		DynamicArray<K> dArray = new DynamicArray<>();
+		for (SkipNode<K, V> node = ceilingNode(from); node != null && node.key.compareTo(to) <= 0; node = node.next[0]) {
+			dArray.insert(node.key);
+		}
+		return dArray;
+	}
+
+	/***
+	 * Returns all the keys in increasing order.
+	 *
+	 * @return - array of {@code DynamicArray<K>} type
+	 */
+	public DynamicArray<K> keys() {
+		DynamicArray<K> dArray = new DynamicArray<>(Math.max(size, 1));
+		for (SkipNode<K, V> node = head.next[0]; node != null; node = node.next[0]) {
+			dArray.insert(node.key);
+		}
+		return dArray;
+	}
+
+	public void clear() {
+		for (int i=0; i<MAX_LEVEL; i++) {
+			head.next[i] = null;
+		}
+		level = 1;
+		size = 0;
+		modCount++;
+	}
+
+	/***
+	 * Returns an iterator over the keys in increasing order.
+	 */
+	@Override
+	public Iterator<K> iterator() {
+		return new SkipListIterator();
+	}
+
+	private class SkipListIterator implements Iterator<K> {
+
+		SkipNode<K, V> node = head.next[0];
+		int expectedModCount = modCount;
+
+		public boolean hasNext() {
+			return node != null;
+		}
+
+		public K next() {
+			if (expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			K key = node.key;
+			node = node.next[0];
+			return key;
+		}
+	}
+
+	public String toString() {
+		if (isEmpty()) {
+			return "[ ]";
+		}
+		StringBuilder sb = new StringBuilder();
+		sb.append("[");
+		for (SkipNode<K, V> node = head.next[0]; node != null; node = node.next[0]) {
+			if (node != head.next[0]) sb.append(", ");
+			sb.append(node.key + "->" + node.value);
+		}
+		sb.append("]");
+		return sb.toString();
+	}
+}
@@ -0,0 +1,380 @@
+package nkher.datastructures.lists;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import nkher.api.MyList;
+import nkher.exception.DataStructureEmptyException;
+
+/***
+ * A tiered vector (Goodrich and Kloss, "Tiered Vectors: Efficient Dynamic Arrays for Rank-Based Sequences").
+ * The elements are kept in tiers, circular arrays of L elements with their own head offset, where L is a power of
+ * two close to sqrt(n). Every tier but the last one is full, so the element at index i is at offset i mod L of
+ * tier i / L and {@link #getAt(int)} is O(1). </br>
+ *
+ * Inserting at an index shifts the elements of a single tier and pushes the element falling off its end into the
+ * head of the next tier. Every following tier takes the element at its head and gives up its last one, which only
+ * moves its head offset, hence {@link #addAt(int, Object)} and {@link #removeAt(int)} are O(sqrt n) where
+ * {@link DynamicArray} moves O(n) elements. </br>
+ *
+ * There are at most L tiers. When they are all full, L doubles and every pair of tiers is merged into a new tier,
+ * and when the vector is only an eighth full L is halved, keeping L close to sqrt(n). Tiers are only allocated
+ * when they are reached. The data structure is not thread safe. Synchronization has to be handled by the
+ * programmer.
+ *
+ * @author nameshkher
+ *
+ * @param <T>
+ */
+public class TieredVector<T> implements MyList<T>, Iterable<T> {
+
+	private static final int MIN_SHIFT = 2; // the smallest vector has 4 tiers of 4 elements
+	private static final int MAX_SHIFT = 15;
+
+	private Object[][] tiers; // the length of the tier array is always the tier size
+	private int[] heads; // offset of the first element of every tier
+	private int shift; // log2 of the tier size
+	private int mask; // tier size - 1
+	private int size;
+	private int modCount; // number of structural modifications, for failing fast in the iterator
+
+	public TieredVector() {
+		init(MIN_SHIFT);
+	}
+
+	private void init(int shift) {
+		this.shift = shift;
+		this.mask = (1 << shift) - 1;
+		this.tiers = new Object[1 << shift][];
+		this.heads = new int[1 << shift];
+		this.size = 0;
+	}
+
+	/***
+	 * Returns the number of elements the vector can hold before the tiers have to grow, the square of the tier size.
+	 */
+	public int capacity() {
+		return tiers.length << shift;
+	}
+
+	/***
+	 * Returns the size of every tier.
+	 */
+	public int tierSize() {
+		return mask + 1;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/***
+	 * Maps the offset within a tier to its position in the circular tier array.
+	 */
+	private int physical(int tier, int offset) {
+		return (heads[tier] + offset) & mask;
+	}
+
+	@SuppressWarnings("unchecked")
+	public T getAt(int index) {
+		checkIndex(index);
+		int tier = index >>> shift;
+		return (T) tiers[tier][physical(tier, index & mask)];
+	}
+
+	public void replaceAt(int index, T element) {
+		checkIndex(index);
+		int tier = index >>> shift;
+		tiers[tier][physical(tier, index & mask)] = element;
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new ArrayIndexOutOfBoundsException(index);
+		}
+	}
+
+	public T getFirst() {
+		if (isEmpty()) {
+			throw new DataStructureEmptyException("Vector is empty.");
+		}
+		return getAt(0);
+	}
+
+	public T getLast() {
+		if (isEmpty()) {
+			throw new DataStructureEmptyException("Vector is empty.");
+		}
+		return getAt(size - 1);
+	}
+
+	/***
+	 * Inserts a new element at the tail of the vector.
+	 */
+	@Override
+	public void insert(T element) {
+		ensureSlotForNext();
+		int tier = size >>> shift;
+		tiers[tier][physical(tier, size & mask)] = element;
+		size++;
+		modCount++;
+	}
+
+	/***
+	 * Inserts a new element at the head of the vector, in O(sqrt n).
+	 */
+	@Override
+	public void insertAtHead(T element) {
+		addAt(0, element);
+	}
+
+	@Override
+	public boolean add(T element) {
+		insert(element);
+		return true;
+	}
+
+	/***
+	 * Makes sure that the slot at index size exists, growing the tiers and allocating the tier as needed.
+	 */
+	private void ensureSlotForNext() {
+		if (size == capacity()) {
+			resize(shift + 1);
+		}
+		int tier = size >>> shift;
+		if (tiers[tier] == null) {
+			tiers[tier] = new Object[mask + 1];
+			heads[tier] = 0;
+		}
+	}
+
+	/***
+	 * Inserts the element at the index. Only the tier holding the index shifts its elements, the following tiers
+	 * pass their last element on to the next tier by moving their head offset.
+	 *
+	 * @param index position of the new element, between 0 and size
+	 * @param element the element to be inserted
+	 */
+	public void addAt(int index, T element) {
+		if (index < 0 || index > size) {
+			throw new ArrayIndexOutOfBoundsException(index);
+		}
+		if (index == size) {
+			insert(element);
+			return;
+		}
+		ensureSlotForNext();
+		int tier = index >>> shift, lastTier = size >>> shift;
+
+		/** Move the last elements along the full tiers after the one we insert into, starting from the last tier */
+		for (int t=lastTier; t>tier; t--) {
+			heads[t] = (heads[t] - 1) & mask;
+			tiers[t][heads[t]] = tiers[t-1][physical(t-1, mask)];
+		}
+
+		Object[] data = tiers[tier];
+		int offset = index & mask;
+		if (tier == lastTier && offset < (size & mask) / 2) { // move the front part of the last tier one to the left
+			heads[tier] = (heads[tier] - 1) & mask;
+			for (int i=0; i<offset; i++) {
+				data[physical(tier, i)] = data[physical(tier, i + 1)];
+			}
+		}
+		else { // move the back part one to the right, the last element of a full tier is already in the next tier
+			int end = (tier == lastTier) ? (size & mask) : mask;
+			for (int i=end; i>offset; i--) {
+				data[physical(tier, i)] = data[physical(tier, i - 1)];
+			}
+		}
+		data[physical(tier, offset)] = element;
+		size++;
+		modCount++;
+	}
+
+	/***
+	 * Deletes the element at the specified index. The tier holding the index shifts its elements and every
+	 * following tier passes its first element on to the previous tier by moving its head offset.
+	 */
+	@Override
+	public void removeAt(int index) {
+		checkIndex(index);
+		int tier = index >>> shift, lastTier = (size - 1) >>> shift;
+		int lastCount = size - (lastTier << shift);
+		Object[] data = tiers[tier];
+		int offset = index & mask;
+
+		if (tier == lastTier && offset < lastCount / 2) { // move the front part of the last tier one to the right
+			for (int i=offset; i>0; i--) {
+				data[physical(tier, i)] = data[physical(tier, i - 1)];
+			}
+			data[heads[tier]] = null;
+			heads[tier] = (heads[tier] + 1) & mask;
+		}
+		else {
+			int end = (tier == lastTier) ? lastCount - 1 : mask;
+			for (int i=offset; i<end; i++) {
+				data[physical(tier, i)] = data[physical(tier, i + 1)];
+			}
+			if (tier == lastTier) {
+				data[physical(tier, end)] = null;
+			}
+			/** Move the first element of every following tier into the last slot of the previous tier */
+			for (int t=tier+1; t<=lastTier; t++) {
+				tiers[t-1][physical(t-1, mask)] = tiers[t][heads[t]];
+				tiers[t][heads[t]] = null;
+				heads[t] = (heads[t] + 1) & mask;
+			}
+		}
+		size--;
+		modCount++;
+
+		if (size * 8 <= capacity() && shift > MIN_SHIFT) {
+			resize(shift - 1);
+		}
+		else if ((size & mask) == 0) {
+			/** Keep the empty tier after the last element and drop the one after it */
+			int spare = (size >>> shift) + 1;
+			if (spare < tiers.length) {
+				tiers[spare] = null;
+			}
+		}
+	}
+
+	/***
+	 * Rebuilds the tiers with a tier size of 2^newShift, unwrapping them so that every head is at 0 again. The old
+	 * tiers are dropped as soon as their elements are copied.
+	 */
+	private void resize(int newShift) {
+		if (newShift > MAX_SHIFT) {
+			throw new IllegalStateException("Vector too large, cannot grow beyond " + capacity() + " elements.");
+		}
+		Object[][] oldTiers = tiers;
+		int[] oldHeads = heads;
+		int oldMask = mask;
+		int oldTierSize = oldMask + 1;
+		int count = size;
+		init(newShift);
+		int newTierSize = mask + 1;
+
+		for (int copied=0; copied<count; ) {
+			int oldTier = copied / oldTierSize, oldOffset = copied % oldTierSize;
+			int newTier = copied >>> shift, newOffset = copied & mask;
+			if (tiers[newTier] == null) {
+				tiers[newTier] = new Object[newTierSize];
+			}
+			int length = Math.min(count - copied, Math.min(oldTierSize - oldOffset, newTierSize - newOffset));
+			for (int i=0; i<length; i++) {
+				tiers[newTier][newOffset + i] = oldTiers[oldTier][(oldHeads[oldTier] + oldOffset + i) & oldMask];
+			}
+			copied += length;
+			if (copied % oldTierSize == 0) {
+				oldTiers[oldTier] = null;
+			}
+		}
+		size = count;
+	}
+
+	/***
+	 * Deletes the first occurrence of the specified element from the vector.
+	 * Returns true if deletion was successful and false if no element was deleted.
+	 */
+	@Override
+	public boolean remove(T element) {
+		int index = search(element);
+		if (index == -1) {
+			return false;
+		}
+		removeAt(index);
+		return true;
+	}
+
+	/***
+	 * Returns the index of the first occurrence of the element from the vector, -1 if it is not found.
+	 */
+	public int search(T element) {
+		for (int i=0; i<size; i++) {
+			int tier = i >>> shift;
+			Object current = tiers[tier][physical(tier, i & mask)];
+			if (null == element ? null == current : element.equals(current)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public boolean contains(T element) {
+		return search(element) != -1;
+	}
+
+	/***
+	 * Removes all the elements and goes back to the smallest tiers.
+	 */
+	@Override
+	public void clear() {
+		init(MIN_SHIFT);
+		modCount++;
+	}
+
+	/***
+	 * Returns the elements in order, copied with at most two array copies per tier.
+	 */
+	@Override
+	public Object[] toArray() {
+		Object[] array = new Object[size];
+		for (int copied=0, tier=0; copied<size; tier++) {
+			int count = Math.min(size - copied, mask + 1);
+			int firstPart = Math.min(count, mask + 1 - heads[tier]);
+			System.arraycopy(tiers[tier], heads[tier], array, copied, firstPart);
+			System.arraycopy(tiers[tier], 0, array, copied + firstPart, count - firstPart);
+			copied += count;
+		}
+		return array;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new TieredIterator();
+	}
+
+	private class TieredIterator implements Iterator<T> {
+
+		int currentPointer = 0;
+		int expectedModCount = modCount;
+
+		public boolean hasNext() {
+			return currentPointer < size;
+		}
+
+		public T next() {
+			if (expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return getAt(currentPointer++);
+		}
+	}
+
+	public String toString() {
+		if (isEmpty()) {
+			return "[ ]";
+		}
+		StringBuilder sb = new StringBuilder();
+		sb.append("[");
+		for (int i=0; i<size; i++) {
+			if (i > 0) sb.append(", ");
+			sb.append(getAt(i));
+		}
+		sb.append("]");
+		return sb.toString();
+	}
+}
@@ -0,0 +1,523 @@
+package nkher.datastructures.lists;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import nkher.api.MyList;
+import nkher.exception.DataStructureEmptyException;
+
+/***
+ * An unrolled linked list (Shao, Smith and Reps, "Unrolled linked lists"). Instead of one node per element like
+ * {@link SinglyLinkedList} and {@link DoublyLinkedList}, every node holds a small array of up to nodeCapacity
+ * elements, packed at the start of the array. A node costs a header, two pointers and an array header no matter
+ * how many elements it holds, so the memory overhead per element drops by about the node capacity. Iterating,
+ * {@link #contains(Object)} and {@link #remove(Object)} scan arrays and only follow a pointer every nodeCapacity
+ * elements, which is a lot friendlier to the cache. </br>
+ *
+ * A full node is split in two halves on insert. After a removal a node is merged with its successor when both fit
+ * into a single node, hence the nodes stay about half full on average. Inserting at either end is O(1), indexed
+ * access walks the nodes from the closer end, and {@link #append(UnrolledLinkedList)} splices the nodes of the
+ * other list in O(1) like {@link SinglyLinkedList#append(SinglyLinkedList)}. </br>
+ *
+ * The data structure is not thread safe. Synchronization has to be handled by the programmer.
+ *
+ * @author nameshkher
+ *
+ * @param <T>
+ */
+public class UnrolledLinkedList<T> implements MyList<T>, Iterable<T> {
+
+	private static final int DEFAULT_NODE_CAPACITY = 64;
+
+	private final int nodeCapacity;
+	private UnrolledNode head;
+	private UnrolledNode tail;
+	private int size;
+	private int modCount; // number of structural modifications, for failing fast in the iterator
+
+	/***
+	 * Represents a node of the unrolled linked list. The node holds count elements at the start of its array.
+	 */
+	private static final class UnrolledNode {
+		final Object[] elements;
+		int count;
+		UnrolledNode next;
+		UnrolledNode prev;
+
+		UnrolledNode(int capacity) {
+			elements = new Object[capacity];
+		}
+	}
+
+	public UnrolledLinkedList() {
+		this(DEFAULT_NODE_CAPACITY);
+	}
+
+	/***
+	 * Creates an empty list whose nodes hold up to nodeCapacity elements.
+	 *
+	 * @param nodeCapacity number of elements per node, at least 4
+	 */
+	public UnrolledLinkedList(int nodeCapacity) {
+		if (nodeCapacity < 4) {
+			throw new IllegalArgumentException("Node capacity must be at least 4 : " + nodeCapacity);
+		}
+		this.nodeCapacity = nodeCapacity;
+	}
+
+	public int nodeCapacity() {
+		return nodeCapacity;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/***
+	 * Inserts the passed element at the tail of the list, in O(1).
+	 */
+	@Override
+	public void insert(T element) {
+		if (tail == null || tail.count == nodeCapacity) {
+			linkAfter(tail, new UnrolledNode(nodeCapacity));
+		}
+		tail.elements[tail.count++] = element;
+		size++;
+		modCount++;
+	}
+
+	/***
+	 * Inserts the new element at the head of the list, in O(nodeCapacity).
+	 */
+	@Override
+	public void insertAtHead(T element) {
+		if (head == null || head.count == nodeCapacity) {
+			linkBefore(head, new UnrolledNode(nodeCapacity));
+		}
+		insertIntoNode(head, 0, element);
+		size++;
+		modCount++;
+	}
+
+	@Override
+	public boolean add(T element) {
+		insert(element);
+		return true;
+	}
+
+	/***
+	 * Inserts the element at the index, splitting the node holding the index if it is full.
+	 *
+	 * @param index position of the new element, between 0 and size
+	 * @param element the element to be inserted
+	 */
+	public void addAt(int index, T element) {
+		if (index < 0 || index > size) {
+			throw new ArrayIndexOutOfBoundsException(index);
+		}
+		if (index == size) {
+			insert(element);
+			return;
+		}
+		UnrolledNode node = head;
+		int offset = index;
+		if (index < size / 2) {
+			while (offset >= node.count) {
+				offset -= node.count;
+				node = node.next;
+			}
+		}
+		else {
+			node = tail;
+			offset = index - (size - tail.count);
+			while (offset < 0) {
+				node = node.prev;
+				offset += node.count;
+			}
+		}
+		if (node.count == nodeCapacity) {
+			UnrolledNode split = split(node);
+			if (offset > node.count) {
+				offset -= node.count;
+				node = split;
+			}
+		}
+		insertIntoNode(node, offset, element);
+		size++;
+		modCount++;
+	}
+
+	private void insertIntoNode(UnrolledNode node, int offset, Object element) {
+		System.arraycopy(node.elements, offset, node.elements, offset + 1, node.count - offset);
+		node.elements[offset] = element;
+		node.count++;
+	}
+
+	/***
+	 * Moves the upper half of a full node into a new node linked after it and returns the new node.
+	 */
+	private UnrolledNode split(UnrolledNode node) {
+		UnrolledNode split = new UnrolledNode(nodeCapacity);
+		int half = node.count / 2;
+		int moved = node.count - half;
+		System.arraycopy(node.elements, half, split.elements, 0, moved);
+		Arrays.fill(node.elements, half, node.count, null);
+		split.count = moved;
+		node.count = half;
+		linkAfter(node, split);
+		return split;
+	}
+
+	private void linkAfter(UnrolledNode node, UnrolledNode newNode) {
+		if (node == null) { // empty list
+			head = tail = newNode;
+			return;
+		}
+		newNode.prev = node;
+		newNode.next = node.next;
+		if (node.next != null) {
+			node.next.prev = newNode;
+		}
+		else {
+			tail = newNode;
+		}
+		node.next = newNode;
+	}
+
+	private void linkBefore(UnrolledNode node, UnrolledNode newNode) {
+		if (node == null) { // empty list
+			head = tail = newNode;
+			return;
+		}
+		newNode.next = node;
+		newNode.prev = node.prev;
+		if (node.prev != null) {
+			node.prev.next = newNode;
+		}
+		else {
+			head = newNode;
+		}
+		node.prev = newNode;
+	}
+
+	private void unlink(UnrolledNode node) {
+		if (node.prev != null) {
+			node.prev.next = node.next;
+		}
+		else {
+			head = node.next;
+		}
+		if (node.next != null) {
+			node.next.prev = node.prev;
+		}
+		else {
+			tail = node.prev;
+		}
+		node.next = node.prev = null;
+	}
+
+	@SuppressWarnings("unchecked")
+	public T getAt(int index) {
+		checkIndex(index);
+		return (T) elementAt(index);
+	}
+
+	public void replaceAt(int index, T element) {
+		checkIndex(index);
+		UnrolledNode node = head;
+		int offset = index;
+		while (offset >= node.count) {
+			offset -= node.count;
+			node = node.next;
+		}
+		node.elements[offset] = element;
+	}
+
+	/***
+	 * Walks the nodes from the closer end of the list to the element at the index.
+	 */
+	private Object elementAt(int index) {
+		if (index < size / 2) {
+			UnrolledNode node = head;
+			while (index >= node.count) {
+				index -= node.count;
+				node = node.next;
+			}
+			return node.elements[index];
+		}
+		UnrolledNode node = tail;
+		int offset = index - (size - tail.count);
+		while (offset < 0) {
+			node = node.prev;
+			offset += node.count;
+		}
+		return node.elements[offset];
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new ArrayIndexOutOfBoundsException(index);
+		}
+	}
+
+	/***
+	 * Returns the element at the head of the list.
+	 */
+	@SuppressWarnings("unchecked")
+	public T getFirst() {
+		if (isEmpty()) {
+			throw new DataStructureEmptyException("Unrolled linked list is empty.");
+		}
+		return (T) head.elements[0];
+	}
+
+	/***
+	 * Returns the element at the tail of the list.
+	 */
+	@SuppressWarnings("unchecked")
+	public T getLast() {
+		if (isEmpty()) {
+			throw new DataStructureEmptyException("Unrolled linked list is empty.");
+		}
+		return (T) tail.elements[tail.count - 1];
+	}
+
+	/***
+	 * Removes and returns the element at the tail of the list, in O(1).
+	 */
+	public T removeLast() {
+		T element = getLast();
+		removeFromNode(tail, tail.count - 1);
+		return element;
+	}
+
+	/***
+	 * Removes and returns the element at the head of the list, in O(nodeCapacity).
+	 */
+	public T removeFirst() {
+		T element = getFirst();
+		removeFromNode(head, 0);
+		return element;
+	}
+
+	/***
+	 * Deletes the element at the specified index.
+	 */
+	@Override
+	public void removeAt(int index) {
+		checkIndex(index);
+		UnrolledNode node = head;
+		int offset = index;
+		while (offset >= node.count) {
+			offset -= node.count;
+			node = node.next;
+		}
+		removeFromNode(node, offset);
+	}
+
+	/***
+	 * Deletes the first occurrence of the element. Returns true if deletion was successful and false if the element
+	 * was not found.
+	 */
+	@Override
+	public boolean remove(T element) {
+		for (UnrolledNode node = head; node != null; node = node.next) {
+			int offset = indexInNode(node, element);
+			if (offset != -1) {
+				removeFromNode(node, offset);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/***
+	 * Removes the element at the offset of the node. An empty node is unlinked, and a node is merged with its
+	 * successor when the elements of both fit into one node.
+	 */
+	private void removeFromNode(UnrolledNode node, int offset) {
+		System.arraycopy(node.elements, offset + 1, node.elements, offset, node.count - offset - 1);
+		node.elements[--node.count] = null;
+		size--;
+		modCount++;
+		if (node.count == 0) {
+			unlink(node);
+			return;
+		}
+		UnrolledNode next = node.next;
+		if (next != null && node.count + next.count <= nodeCapacity) {
+			System.arraycopy(next.elements, 0, node.elements, node.count, next.count);
+			node.count += next.count;
+			unlink(next);
+		}
+	}
+
+	private int indexInNode(UnrolledNode node, Object element) {
+		for (int i=0; i<node.count; i++) {
+			if (null == element ? null == node.elements[i] : element.equals(node.elements[i])) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/***
+	 * Returns the index of the first occurrence of the element, -1 if it is not found.
+	 */
+	public int search(T element) {
+		int skipped = 0;
+		for (UnrolledNode node = head; node != null; node = node.next) {
+			int offset = indexInNode(node, element);
+			if (offset != -1) {
+				return skipped + offset;
+			}
+			skipped += node.count;
+		}
+		return -1;
+	}
+
+	@Override
+	public boolean contains(T element) {
+		return search(element) != -1;
+	}
+
+	/***
+	 * Appends the passed list at the tail of this list, leaving the passed list empty. When both lists have the same
+	 * node capacity this does not copy the elements but links the nodes of the passed list after the tail of this
+	 * list, in O(1). Otherwise its nodes would not fit this list, hence the elements are copied into nodes of this
+	 * list's capacity, in O(n) for n elements of the passed list.
+	 *
+	 * @param list the list to be appended, must not be this list
+	 */
+	public void append(UnrolledLinkedList<T> list) {
+		if (list == this) {
+			throw new IllegalArgumentException("Cannot append a list to itself.");
+		}
+		if (list.isEmpty()) {
+			return;
+		}
+		if (list.nodeCapacity == nodeCapacity) {
+			splice(list);
+		}
+		else {
+			repack(list);
+		}
+		size += list.size;
+		modCount++;
+		list.head = list.tail = null;
+		list.size = 0;
+		list.modCount++;
+	}
+
+	private void splice(UnrolledLinkedList<T> list) {
+		if (isEmpty()) {
+			head = list.head;
+		}
+		else {
+			tail.next = list.head;
+			list.head.prev = tail;
+		}
+		tail = list.tail;
+	}
+
+	/***
+	 * Copies the elements of a list with another node capacity to the tail of this list, filling the tail node
+	 * before linking full nodes of this list's capacity.
+	 */
+	private void repack(UnrolledLinkedList<T> list) {
+		for (UnrolledNode node = list.head; node != null; node = node.next) {
+			int copied = 0;
+			while (copied < node.count) {
+				if (tail == null || tail.count == nodeCapacity) {
+					linkAfter(tail, new UnrolledNode(nodeCapacity));
+				}
+				int length = Math.min(node.count - copied, nodeCapacity - tail.count);
+				System.arraycopy(node.elements, copied, tail.elements, tail.count, length);
+				tail.count += length;
+				copied += length;
+			}
+		}
+	}
+
+	/***
+	 * Removes all the elements from the list.
+	 */
+	@Override
+	public void clear() {
+		head = tail = null;
+		size = 0;
+		modCount++;
+	}
+
+	/***
+	 * Returns an Object[] array containing all the elements of the list, copied with one array copy per node.
+	 */
+	@Override
+	public Object[] toArray() {
+		Object[] result = new Object[size];
+		int copied = 0;
+		for (UnrolledNode node = head; node != null; node = node.next) {
+			System.arraycopy(node.elements, 0, result, copied, node.count);
+			copied += node.count;
+		}
+		return result;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new UnrolledIterator();
+	}
+
+	private class UnrolledIterator implements Iterator<T> {
+
+		UnrolledNode node = head;
+		int offset = 0;
+		int expectedModCount = modCount;
+
+		public boolean hasNext() {
+			return node != null && (offset < node.count || node.next != null);
+		}
+
+		@SuppressWarnings("unchecked")
+		public T next() {
+			if (expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			if (offset == node.count) {
+				node = node.next;
+				offset = 0;
+			}
+			return (T) node.elements[offset++];
+		}
+	}
+
+	/***
+	 * Returns the elements of the list in a String for printing and viewing.
+	 */
+	public String toString() {
+		if (isEmpty()) {
+			return "[ ]";
+		}
+		StringBuilder sb = new StringBuilder();
+		sb.append("[");
+		for (UnrolledNode node = head; node != null; node = node.next) {
+			for (int i=0; i<node.count; i++) {
+				if (sb.length() > 1) sb.append(", ");
+				sb.append(node.elements[i]);
+			}
+		}
+		sb.append("]");
+		return sb.toString();
+	}
+}
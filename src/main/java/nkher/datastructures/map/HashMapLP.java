@@ -3,6 +3,7 @@ package nkher.datastructures.map;
 import java.util.LinkedList;
 import java.util.Queue;
 
+import nkher.algorithms.hash.HashMethod;
 import nkher.api.MyMap;
 
 /***
@@ -25,13 +26,26 @@ public class HashMapLP<K, V> implements MyMap<K, V> {
 	private V[] values; // array of values
 	
 	private int mask = 0x7fffffff; // for getting the hashcode and masking against it
+	private HashMethod hashMethod; // null when java's hashCode() is used directly
 	
 	public HashMapLP() {
 		this(DEFAULT_CAP);
 	}
 	
-	@SuppressWarnings("unchecked")
 	public HashMapLP(int capacity) {
+		this(capacity, null);
+	}
+	
+	/***
+	 * Creates a hash map that spreads its keys with the passed {@link HashMethod} instead of
+	 * using the hashCode() of the keys directly.
+	 * 
+	 * @param capacity initial table size
+	 * @param hashMethod the hash strategy, null for java's hashCode()
+	 */
+	@SuppressWarnings("unchecked")
+	public HashMapLP(int capacity, HashMethod hashMethod) {
+		this.hashMethod = hashMethod;
 		M = capacity;
 		keys = (K[]) new Object[M];
 		values = (V[]) new Object[M];
@@ -136,13 +150,16 @@ public class HashMapLP<K, V> implements MyMap<K, V> {
 		return iterable;
 	}
 	
-	/** Using a simple hashing function here - java's hashCode() */
+	/** Using java's hashCode() unless a hash method was passed in */
 	private int hash(K key) {
-		return (key.hashCode() & mask) % M;
+		if (null == hashMethod) {
+			return (key.hashCode() & mask) % M;
+		}
+		return (int) ((hashMethod.hashObject(key, 0) & Long.MAX_VALUE) % M);
 	}
 	
 	private void resize(int newsize) {
-		HashMapLP<K, V> temp = new HashMapLP<>(newsize);
+		HashMapLP<K, V> temp = new HashMapLP<>(newsize, hashMethod);
 		for (int i=0; i<M; i++) {
 			if (keys[i] != null) {
 				temp.put(keys[i], values[i]);
@@ -3,6 +3,7 @@ package nkher.datastructures.map;
 import java.util.LinkedList;
 import java.util.Queue;
 
+import nkher.algorithms.hash.HashMethod;
 import nkher.api.MyMap;
 
 /***
@@ -23,14 +24,27 @@ public class HashMapSC<K, V> implements MyMap<K, V>{
 	private int M; // size of the table
 	private int N; // number of key value pairs in the hashmap
 	private int mask = 0x7fffffff;
+	private HashMethod hashMethod; // null when java's hashCode() is used directly
 	private HashLinkedList<K, V>[] table;
 	
 	public HashMapSC() {
 		this(DEFAULT_CAP);
 	}
 	
-	@SuppressWarnings("unchecked")
 	public HashMapSC(int capacity) {
+		this(capacity, null);
+	}
+	
+	/***
+	 * Creates a hash map that spreads its keys with the passed {@link HashMethod} instead of
+	 * using the hashCode() of the keys directly.
+	 * 
+	 * @param capacity initial table size
+	 * @param hashMethod the hash strategy, null for java's hashCode()
+	 */
+	@SuppressWarnings("unchecked")
+	public HashMapSC(int capacity, HashMethod hashMethod) {
+		this.hashMethod = hashMethod;
 		this.M = capacity;
 		table = new HashLinkedList[capacity];
 		for (int i=0; i<capacity; i++) {
@@ -58,7 +72,7 @@ public class HashMapSC<K, V> implements MyMap<K, V>{
 	 * Utility function to resize the array, hence maintaining the load factor.
 	 */
 	private void resize(int size) {
-		HashMapSC<K, V> new_map = new HashMapSC<K, V>(size);
+		HashMapSC<K, V> new_map = new HashMapSC<K, V>(size, hashMethod);
 		for (int i=0; i<M; i++) { // go over each bucket
 			for (K key : table[i].keys()) { // go over each key within the bucket
 				new_map.put(key, table[i].get(key));
@@ -97,13 +111,17 @@ public class HashMapSC<K, V> implements MyMap<K, V>{
 	 * method used for hashing. The Max Integer value is used as the mask over the
 	 * hashcode of the key which is calculated using java's hashcode method.
 	 * This value is mapped to the size of the table by dividing it with M and
-	 * getting the remainder.
+	 * getting the remainder. When a {@link HashMethod} was passed in, it is used
+	 * for hashing the key instead of the hashcode.
 	 * 
 	 * @param key
 	 * @return
 	 */
 	private int hash(K key) {
-		return (key.hashCode() & mask) % M;
+		if (null == hashMethod) {
+			return (key.hashCode() & mask) % M;
+		}
+		return (int) ((hashMethod.hashObject(key, 0) & Long.MAX_VALUE) % M);
 	}
 
 	public boolean isEmpty() {
@@ -0,0 +1,651 @@
+package nkher.datastructures.queues;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import nkher.api.MyQueue;
+import nkher.exception.DataStructureEmptyException;
+
+/***
+ * A thread safe, bounded variant of {@link QueueArray} for producer / consumer pipelines. The array never grows,
+ * so a producer that runs ahead of its consumers waits in {@link #put(Object)}, times out in
+ * {@link #offer(Object, long, TimeUnit)} or is turned away by {@link #offer(Object)} instead of filling up the
+ * heap. </br>
+ *
+ * The queue uses two locks like {@code java.util.concurrent.LinkedBlockingQueue} : producers only take the tail
+ * lock and consumers only take the head lock, hence a producer and a consumer never block each other. They
+ * share the element count, an atomic integer, whose updates also publish the array slots written by the other
+ * side. A waiting thread that gets signalled wakes up the next waiter of its kind when there is still room or
+ * elements left, so each operation signals at most once across the locks. {@link #drainTo(Consumer, int)}
+ * takes a whole batch under a single lock acquisition. </br>
+ *
+ * Operations that look at the whole queue, like {@link #contains(Object)}, {@link #remove(Object)} and
+ * {@link #toArray()}, take both locks. The queue counts what goes through it, see {@link #metrics()}. Null
+ * elements are not allowed.
+ *
+ * @author nameshkher
+ *
+ * @param <T>
+ */
+public class BoundedBlockingQueueArray<T> implements MyQueue<T> {
+
+	private final Object[] data;
+	private int front = 0; // guarded by takeLock
+	private int rear = 0; // guarded by putLock
+	private final AtomicInteger count = new AtomicInteger();
+
+	private final ReentrantLock takeLock = new ReentrantLock();
+	private final Condition notEmpty = takeLock.newCondition();
+	private final ReentrantLock putLock = new ReentrantLock();
+	private final Condition notFull = putLock.newCondition();
+
+	/** Metrics, updated by the holders of the respective locks */
+	private final LongAdder enqueued = new LongAdder();
+	private final LongAdder dequeued = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder producerWaits = new LongAdder();
+	private final LongAdder consumerWaits = new LongAdder();
+	private volatile int peakSize; // written under putLock only
+
+	/***
+	 * Creates a queue holding at most capacity elements.
+	 */
+	public BoundedBlockingQueueArray(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive : " + capacity);
+		}
+		data = new Object[capacity];
+	}
+
+	public int capacity() {
+		return data.length;
+	}
+
+	@Override
+	public int size() {
+		return count.get();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return count.get() == 0;
+	}
+
+	public int remainingCapacity() {
+		return data.length - count.get();
+	}
+
+	private void checkElement(T element) {
+		if (null == element) {
+			throw new IllegalArgumentException("Queue does not accept null elements.");
+		}
+	}
+
+	/***
+	 * Writes the element at the rear, the caller holds the put lock and has checked there is room. Returns the
+	 * count before the insert.
+	 */
+	private int insertAtRear(T element) {
+		data[rear] = element;
+		rear = (rear + 1) % data.length;
+		int previous = count.getAndIncrement();
+		if (previous + 1 > peakSize) {
+			peakSize = previous + 1;
+		}
+		enqueued.increment();
+		if (previous + 1 < data.length) {
+			notFull.signal(); // wake up the next producer
+		}
+		return previous;
+	}
+
+	/***
+	 * Clears the slot at the front and moves past it, the caller holds the take lock, has checked there is an
+	 * element and has read it. Returns the count before the removal.
+	 */
+	private int removeAtFront() {
+		data[front] = null;
+		front = (front + 1) % data.length;
+		int previous = count.getAndDecrement();
+		dequeued.increment();
+		if (previous > 1) {
+			notEmpty.signal(); // wake up the next consumer
+		}
+		return previous;
+	}
+
+	/***
+	 * Signals a waiting consumer, called by a producer after it made the queue non empty.
+	 */
+	private void signalNotEmpty() {
+		takeLock.lock();
+		try {
+			notEmpty.signal();
+		}
+		finally {
+			takeLock.unlock();
+		}
+	}
+
+	/***
+	 * Signals a waiting producer, called by a consumer after it made room in a full queue.
+	 */
+	private void signalNotFull() {
+		putLock.lock();
+		try {
+			notFull.signal();
+		}
+		finally {
+			putLock.unlock();
+		}
+	}
+
+	/***
+	 * Adds the element at the rear, waiting for room if the queue is full.
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public void put(T element) throws InterruptedException {
+		checkElement(element);
+		int previous;
+		putLock.lockInterruptibly();
+		try {
+			if (count.get() == data.length) {
+				producerWaits.increment();
+				while (count.get() == data.length) {
+					notFull.await();
+				}
+			}
+			previous = insertAtRear(element);
+		}
+		finally {
+			putLock.unlock();
+		}
+		if (previous == 0) {
+			signalNotEmpty();
+		}
+	}
+
+	/***
+	 * Adds the element at the rear, waiting for room if the queue is full. Unlike {@link #put(Object)} the wait
+	 * cannot be interrupted.
+	 */
+	@Override
+	public void enqueue(T element) {
+		checkElement(element);
+		int previous;
+		putLock.lock();
+		try {
+			if (count.get() == data.length) {
+				producerWaits.increment();
+				while (count.get() == data.length) {
+					notFull.awaitUninterruptibly();
+				}
+			}
+			previous = insertAtRear(element);
+		}
+		finally {
+			putLock.unlock();
+		}
+		if (previous == 0) {
+			signalNotEmpty();
+		}
+	}
+
+	/***
+	 * Adds the element at the rear if the queue is not full, without waiting.
+	 *
+	 * @return true if the element was added, false if the queue is full
+	 */
+	public boolean offer(T element) {
+		checkElement(element);
+		if (count.get() == data.length) {
+			rejected.increment();
+			return false;
+		}
+		int previous = -1;
+		putLock.lock();
+		try {
+			if (count.get() < data.length) {
+				previous = insertAtRear(element);
+			}
+		}
+		finally {
+			putLock.unlock();
+		}
+		if (previous == 0) {
+			signalNotEmpty();
+		}
+		if (previous == -1) {
+			rejected.increment();
+		}
+		return previous != -1;
+	}
+
+	/***
+	 * Adds the element at the rear, waiting up to the timeout for room if the queue is full.
+	 *
+	 * @return true if the element was added, false if the timeout elapsed
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public boolean offer(T element, long timeout, TimeUnit unit) throws InterruptedException {
+		checkElement(element);
+		long nanos = unit.toNanos(timeout);
+		int previous;
+		putLock.lockInterruptibly();
+		try {
+			if (count.get() == data.length) {
+				producerWaits.increment();
+				while (count.get() == data.length) {
+					if (nanos <= 0) {
+						rejected.increment();
+						return false;
+					}
+					nanos = notFull.awaitNanos(nanos);
+				}
+			}
+			previous = insertAtRear(element);
+		}
+		finally {
+			putLock.unlock();
+		}
+		if (previous == 0) {
+			signalNotEmpty();
+		}
+		return true;
+	}
+
+	/***
+	 * Removes and returns the element at the front, waiting for one if the queue is empty.
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	@SuppressWarnings("unchecked")
+	public T take() throws InterruptedException {
+		T element;
+		int previous;
+		takeLock.lockInterruptibly();
+		try {
+			if (count.get() == 0) {
+				consumerWaits.increment();
+				while (count.get() == 0) {
+					notEmpty.await();
+				}
+			}
+			element = (T) data[front];
+			previous = removeAtFront();
+		}
+		finally {
+			takeLock.unlock();
+		}
+		afterRemoval(previous);
+		return element;
+	}
+
+	/***
+	 * Removes and returns the element at the front, or null if the queue is empty, without waiting.
+	 */
+	@SuppressWarnings("unchecked")
+	public T poll() {
+		if (count.get() == 0) {
+			return null;
+		}
+		T element = null;
+		int previous = 0;
+		takeLock.lock();
+		try {
+			if (count.get() > 0) {
+				element = (T) data[front];
+				previous = removeAtFront();
+			}
+		}
+		finally {
+			takeLock.unlock();
+		}
+		afterRemoval(previous);
+		return element;
+	}
+
+	/***
+	 * Removes and returns the element at the front, waiting up to the timeout for one if the queue is empty.
+	 *
+	 * @return the element, or null if the timeout elapsed
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	@SuppressWarnings("unchecked")
+	public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+		long nanos = unit.toNanos(timeout);
+		T element;
+		int previous;
+		takeLock.lockInterruptibly();
+		try {
+			if (count.get() == 0) {
+				consumerWaits.increment();
+				while (count.get() == 0) {
+					if (nanos <= 0) {
+						return null;
+					}
+					nanos = notEmpty.awaitNanos(nanos);
+				}
+			}
+			element = (T) data[front];
+			previous = removeAtFront();
+		}
+		finally {
+			takeLock.unlock();
+		}
+		afterRemoval(previous);
+		return element;
+	}
+
+	/***
+	 * Wakes up a producer if the removal made room in a full queue.
+	 */
+	private void afterRemoval(int previous) {
+		if (previous == data.length) {
+			signalNotFull();
+		}
+	}
+
+	/***
+	 * Removes and returns the element at the front without waiting.
+	 *
+	 * @throws DataStructureEmptyException if the queue is empty
+	 */
+	@Override
+	public T dequeue() {
+		T element = poll();
+		if (null == element) {
+			throw new DataStructureEmptyException("Cannot remove from an empty queue");
+		}
+		return element;
+	}
+
+	/***
+	 * Returns the element at the front without removing it, or null if the queue is empty.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public T peek() {
+		if (count.get() == 0) {
+			return null;
+		}
+		takeLock.lock();
+		try {
+			return (count.get() > 0) ? (T) data[front] : null;
+		}
+		finally {
+			takeLock.unlock();
+		}
+	}
+
+	@Override
+	public T head() {
+		T element = peek();
+		if (null == element) {
+			throw new DataStructureEmptyException("Cannot get head of an empty queue");
+		}
+		return element;
+	}
+
+	/***
+	 * Removes up to maxElements elements from the front under a single acquisition of the take lock, and then
+	 * passes them to the consumer in order, outside of the lock.
+	 *
+	 * @return the number of elements removed
+	 */
+	@SuppressWarnings("unchecked")
+	public int drainTo(Consumer<? super T> consumer, int maxElements) {
+		if (null == consumer) {
+			throw new IllegalArgumentException("Consumer cannot be null.");
+		}
+		if (maxElements <= 0 || count.get() == 0) {
+			return 0;
+		}
+		Object[] drained;
+		int previous;
+		takeLock.lock();
+		try {
+			int n = Math.min(maxElements, count.get());
+			drained = new Object[n];
+			for (int i=0; i<n; i++) {
+				drained[i] = data[front];
+				data[front] = null;
+				front = (front + 1) % data.length;
+			}
+			previous = count.getAndAdd(-n);
+			dequeued.add(n);
+			if (previous > n) {
+				notEmpty.signal();
+			}
+		}
+		finally {
+			takeLock.unlock();
+		}
+		if (previous == data.length) {
+			signalNotFull();
+		}
+		for (Object element : drained) {
+			consumer.accept((T) element);
+		}
+		return drained.length;
+	}
+
+	public int drainTo(Consumer<? super T> consumer) {
+		return drainTo(consumer, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public boolean add(T element) {
+		return offer(element);
+	}
+
+	/***
+	 * Locks out both producers and consumers, always in the same order to avoid dead locks.
+	 */
+	private void fullyLock() {
+		putLock.lock();
+		takeLock.lock();
+	}
+
+	private void fullyUnlock() {
+		takeLock.unlock();
+		putLock.unlock();
+	}
+
+	@Override
+	public boolean contains(T element) {
+		if (null == element) {
+			return false;
+		}
+		fullyLock();
+		try {
+			for (int i=0, index=front; i<count.get(); i++, index=(index+1)%data.length) {
+				if (element.equals(data[index])) {
+					return true;
+				}
+			}
+			return false;
+		}
+		finally {
+			fullyUnlock();
+		}
+	}
+
+	/***
+	 * Removes the first occurrence of the element, shifting the elements behind it one position to the front.
+	 */
+	@Override
+	public boolean remove(T element) {
+		if (null == element) {
+			return false;
+		}
+		fullyLock();
+		try {
+			int size = count.get();
+			for (int i=0, index=front; i<size; i++, index=(index+1)%data.length) {
+				if (element.equals(data[index])) {
+					for (int j=i; j<size-1; j++, index=(index+1)%data.length) {
+						data[index] = data[(index + 1) % data.length];
+					}
+					data[index] = null;
+					rear = index;
+					count.getAndDecrement();
+					dequeued.increment();
+					notFull.signal();
+					return true;
+				}
+			}
+			return false;
+		}
+		finally {
+			fullyUnlock();
+		}
+	}
+
+	@Override
+	public void clear() {
+		fullyLock();
+		try {
+			int removed = count.get();
+			for (int i=0, index=front; i<removed; i++, index=(index+1)%data.length) {
+				data[index] = null;
+			}
+			front = rear = 0;
+			count.set(0);
+			dequeued.add(removed);
+			notFull.signalAll();
+		}
+		finally {
+			fullyUnlock();
+		}
+	}
+
+	@Override
+	public Object[] toArray() {
+		fullyLock();
+		try {
+			Object[] array = new Object[count.get()];
+			for (int i=0, index=front; i<array.length; i++, index=(index+1)%data.length) {
+				array[i] = data[index];
+			}
+			return array;
+		}
+		finally {
+			fullyUnlock();
+		}
+	}
+
+	public String toString() {
+		Object[] array = toArray();
+		if (array.length == 0) {
+			return "[ ]";
+		}
+		StringBuilder sb = new StringBuilder();
+		sb.append("[ ");
+		for (int i=0; i<array.length; i++) {
+			if (i > 0) sb.append(", ");
+			sb.append(array[i]);
+		}
+		sb.append(" ]");
+		return sb.toString();
+	}
+
+	/***
+	 * Returns a snapshot of the occupancy metrics of the queue.
+	 */
+	public Metrics metrics() {
+		return new Metrics(count.get(), data.length, peakSize, enqueued.sum(), dequeued.sum(), rejected.sum(),
+				producerWaits.sum(), consumerWaits.sum());
+	}
+
+	/***
+	 * A snapshot of the occupancy of the queue and of the counts of what went through it since it was created.
+	 * The counters are read one after the other while the queue keeps running, so they are only consistent with
+	 * each other when the queue is idle.
+	 */
+	public static final class Metrics {
+		private final int size;
+		private final int capacity;
+		private final int peakSize;
+		private final long enqueued;
+		private final long dequeued;
+		private final long rejected;
+		private final long producerWaits;
+		private final long consumerWaits;
+
+		private Metrics(int size, int capacity, int peakSize, long enqueued, long dequeued, long rejected,
+				long producerWaits, long consumerWaits) {
+			this.size = size;
+			this.capacity = capacity;
+			this.peakSize = peakSize;
+			this.enqueued = enqueued;
+			this.dequeued = dequeued;
+			this.rejected = rejected;
+			this.producerWaits = producerWaits;
+			this.consumerWaits = consumerWaits;
+		}
+
+		public int getSize() {
+			return size;
+		}
+
+		public int getCapacity() {
+			return capacity;
+		}
+
+		/***
+		 * Returns the fraction of the capacity in use, between 0 and 1.
+		 */
+		public double getOccupancy() {
+			return (double) size / capacity;
+		}
+
+		/***
+		 * Returns the largest number of elements the queue has held at once.
+		 */
+		public int getPeakSize() {
+			return peakSize;
+		}
+
+		public long getEnqueued() {
+			return enqueued;
+		}
+
+		public long getDequeued() {
+			return dequeued;
+		}
+
+		/***
+		 * Returns the number of offers turned away because the queue was full, or timed out waiting for room.
+		 */
+		public long getRejected() {
+			return rejected;
+		}
+
+		/***
+		 * Returns the number of times a producer had to wait for room, a measure of the back pressure applied.
+		 */
+		public long getProducerWaits() {
+			return producerWaits;
+		}
+
+		/***
+		 * Returns the number of times a consumer had to wait for an element.
+		 */
+		public long getConsumerWaits() {
+			return consumerWaits;
+		}
+
+		@Override
+		public String toString() {
+			return "[size->" + size + ", capacity->" + capacity + ", peakSize->" + peakSize + ", enqueued->" + enqueued
+					+ ", dequeued->" + dequeued + ", rejected->" + rejected + ", producerWaits->" + producerWaits
+					+ ", consumerWaits->" + consumerWaits + "]";
+		}
+	}
+}
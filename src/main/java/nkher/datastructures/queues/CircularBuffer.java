@@ -40,6 +40,7 @@ public class CircularBuffer<T> implements MyQueue<T> {
 	@Override
 	public void clear() {
 		this.size = 0;
+		this.writeIndex = this.readIndex = 0;
 		data = new Object[fixedCapacity];
 	}
 
@@ -107,7 +108,7 @@ public class CircularBuffer<T> implements MyQueue<T> {
 		data[writeIndex] = element;
 		writeIndex = (writeIndex + 1) % fixedCapacity;
 		if (isFull()) { // condition for override
-			readIndex++;
+			readIndex = (readIndex + 1) % fixedCapacity;
 			return;
 		}
 		size++;
@@ -0,0 +1,318 @@
+package nkher.datastructures.queues;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import nkher.api.MyQueue;
+import nkher.datastructures.lists.DynamicArray;
+import nkher.exception.DataStructureEmptyException;
+
+/***
+ * A lock free, unbounded linked queue, the thread safe counterpart of {@link DequeList}. It is the queue of
+ * Michael and Scott ("Simple, Fast, and Practical Non-Blocking and Blocking Concurrent Queue Algorithms") : the
+ * list always starts with a dummy node, producers link their node after the last node with a compare and set and
+ * then swing the tail, and consumers swing the head to the first node, which becomes the new dummy. A thread that
+ * finds the tail lagging behind completes the swing for the thread that was interrupted. </br>
+ *
+ * A node that was dequeued is linked to itself, so that it cannot keep the nodes behind it alive once it has been
+ * promoted to an older GC generation. A traversal that runs into such a node starts over from the head. Removing
+ * an element from the middle clears the element of its node with a compare and set, the one that clears it owns
+ * the element, and the node is dropped once the head moves past it. </br>
+ *
+ * Unlike DequeList only the FIFO end points are supported : inserting at the head or removing at the tail cannot be
+ * added to this algorithm without locks. The iterator is weakly consistent, it never throws a
+ * ConcurrentModificationException and returns the elements that were in the queue at some point of the
+ * iteration. {@link #size()} walks the whole queue. Null elements are not allowed.
+ *
+ * @author nameshkher
+ *
+ * @param <T>
+ */
+public class ConcurrentLinkedDequeList<T> implements MyQueue<T>, Iterable<T> {
+
+	private static final class Node<T> {
+		volatile T item;
+		volatile Node<T> next;
+
+		Node(T item) {
+			ITEM.lazySet(this, item); // published by the compare and set that links the node
+		}
+
+		@SuppressWarnings("rawtypes")
+		private static final AtomicReferenceFieldUpdater<Node, Object> ITEM =
+				AtomicReferenceFieldUpdater.newUpdater(Node.class, Object.class, "item");
+		@SuppressWarnings("rawtypes")
+		private static final AtomicReferenceFieldUpdater<Node, Node> NEXT =
+				AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+
+		boolean casItem(T expected, T newItem) {
+			return ITEM.compareAndSet(this, expected, newItem);
+		}
+
+		boolean casNext(Node<T> expected, Node<T> newNext) {
+			return NEXT.compareAndSet(this, expected, newNext);
+		}
+
+		void lazySetNext(Node<T> newNext) {
+			NEXT.lazySet(this, newNext);
+		}
+	}
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<ConcurrentLinkedDequeList, Node> HEAD =
+			AtomicReferenceFieldUpdater.newUpdater(ConcurrentLinkedDequeList.class, Node.class, "head");
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<ConcurrentLinkedDequeList, Node> TAIL =
+			AtomicReferenceFieldUpdater.newUpdater(ConcurrentLinkedDequeList.class, Node.class, "tail");
+
+	private volatile Node<T> head;
+	private volatile Node<T> tail;
+
+	public ConcurrentLinkedDequeList() {
+		head = tail = new Node<>(null);
+	}
+
+	private boolean casHead(Node<T> expected, Node<T> newHead) {
+		return HEAD.compareAndSet(this, expected, newHead);
+	}
+
+	private boolean casTail(Node<T> expected, Node<T> newTail) {
+		return TAIL.compareAndSet(this, expected, newTail);
+	}
+
+	/***
+	 * Returns the node after p, or the first node if p was dequeued and is linked to itself.
+	 */
+	private Node<T> successor(Node<T> p) {
+		Node<T> next = p.next;
+		return (next == p) ? head : next;
+	}
+
+	/***
+	 * Adds the element at the tail of the queue. Never fails, as the queue is unbounded.
+	 */
+	public boolean offer(T element) {
+		if (null == element) {
+			throw new IllegalArgumentException("Queue does not accept null elements.");
+		}
+		Node<T> node = new Node<>(element);
+		while (true) {
+			Node<T> last = tail, next = last.next;
+			if (last != tail) {
+				continue;
+			}
+			if (next == null) {
+				if (last.casNext(null, node)) {
+					casTail(last, node); // failing is fine, some other thread has swung the tail
+					return true;
+				}
+			}
+			else {
+				casTail(last, next); // help the producer that linked next
+			}
+		}
+	}
+
+	@Override
+	public void enqueue(T element) {
+		offer(element);
+	}
+
+	@Override
+	public boolean add(T element) {
+		return offer(element);
+	}
+
+	/***
+	 * Removes and returns the element at the head of the queue, or null if the queue is empty.
+	 */
+	public T poll() {
+		while (true) {
+			Node<T> first = head, last = tail, next = first.next;
+			if (first != head) {
+				continue;
+			}
+			if (first == last) {
+				if (next == null) {
+					return null;
+				}
+				casTail(last, next); // the tail is lagging behind, help before moving the head past it
+			}
+			else if (casHead(first, next)) {
+				first.lazySetNext(first);
+				T item = next.item;
+				/** next is the new dummy, its element is ours unless remove(T) cleared it first */
+				if (null != item && next.casItem(item, null)) {
+					return item;
+				}
+			}
+		}
+	}
+
+	/***
+	 * Removes and returns the element at the head of the queue.
+	 *
+	 * @throws DataStructureEmptyException if the queue is empty
+	 */
+	@Override
+	public T dequeue() {
+		T element = poll();
+		if (null == element) {
+			throw new DataStructureEmptyException("Cannot remove from an empty deque data structure !");
+		}
+		return element;
+	}
+
+	/***
+	 * Returns the element at the head of the queue without removing it, or null if the queue is empty.
+	 */
+	@Override
+	public T peek() {
+		for (Node<T> p = successor(head); p != null; p = successor(p)) {
+			T item = p.item;
+			if (null != item) {
+				return item;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public T head() {
+		T element = peek();
+		if (null == element) {
+			throw new DataStructureEmptyException("Deque is empty.");
+		}
+		return element;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return peek() == null;
+	}
+
+	/***
+	 * Returns the number of elements by walking the queue, in O(n). The count is only exact when no other thread
+	 * is updating the queue.
+	 */
+	@Override
+	public int size() {
+		int count = 0;
+		for (Node<T> p = successor(head); p != null; p = successor(p)) {
+			if (null != p.item && ++count == Integer.MAX_VALUE) {
+				break;
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public boolean contains(T element) {
+		if (null == element) {
+			return false;
+		}
+		for (Node<T> p = successor(head); p != null; p = successor(p)) {
+			if (element.equals(p.item)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/***
+	 * Removes the first occurrence of the element by clearing the element of its node. The node stays linked and
+	 * is skipped until the head moves past it, unlinking it here could leave the tail behind the head.
+	 */
+	@Override
+	public boolean remove(T element) {
+		if (null == element) {
+			return false;
+		}
+		for (Node<T> p = successor(head); p != null; p = successor(p)) {
+			T item = p.item;
+			if (null != item && element.equals(item) && p.casItem(item, null)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/***
+	 * Removes all the elements by polling them.
+	 */
+	@Override
+	public void clear() {
+		while (poll() != null);
+	}
+
+	@Override
+	public Object[] toArray() {
+		DynamicArray<Object> elements = new DynamicArray<>();
+		for (T element : this) {
+			elements.insert(element);
+		}
+		return elements.toArray();
+	}
+
+	/***
+	 * Returns a weakly consistent iterator from the head to the tail of the queue.
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return new ConcurrentDequeIterator();
+	}
+
+	private class ConcurrentDequeIterator implements Iterator<T> {
+
+		private Node<T> nextNode;
+		private T nextItem; // read together with nextNode, so that hasNext and next agree
+
+		ConcurrentDequeIterator() {
+			advance(head);
+		}
+
+		/***
+		 * Moves to the first node after p holding an element.
+		 */
+		private void advance(Node<T> p) {
+			for (Node<T> node = successor(p); node != null; node = successor(node)) {
+				T item = node.item;
+				if (null != item) {
+					nextNode = node;
+					nextItem = item;
+					return;
+				}
+			}
+			nextNode = null;
+			nextItem = null;
+		}
+
+		public boolean hasNext() {
+			return nextNode != null;
+		}
+
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			T item = nextItem;
+			advance(nextNode);
+			return item;
+		}
+	}
+
+	public String toString() {
+		Iterator<T> iterator = iterator();
+		if (!iterator.hasNext()) {
+			return "[ ]";
+		}
+		StringBuilder sb = new StringBuilder();
+		sb.append("[ ").append(iterator.next());
+		while (iterator.hasNext()) {
+			sb.append(", ").append(iterator.next());
+		}
+		sb.append(" ]");
+		return sb.toString();
+	}
+}
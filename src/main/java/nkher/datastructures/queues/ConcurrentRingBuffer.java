@@ -0,0 +1,263 @@
+package nkher.datastructures.queues;
+
+import java.util.function.Consumer;
+
+import nkher.api.MyQueue;
+import nkher.datastructures.lists.DynamicArray;
+import nkher.exception.DataStructureEmptyException;
+
+/***
+ * The base class of the bounded lock free ring buffers, the thread safe counterparts of {@link CircularBuffer}.
+ * The elements are kept in an array whose length is a power of two, addressed by two ever increasing counters :
+ * the tail where the producers write and the head where the consumers read. Unlike CircularBuffer a full ring
+ * never overwrites the oldest element, {@link #offer(Object)} fails instead. </br>
+ *
+ * The variants differ in how many threads may produce and consume : {@link SpscRingBuffer} for one producer and
+ * one consumer, {@link MpscRingBuffer} for many producers and one consumer and {@link MpmcRingBuffer} for many
+ * producers and many consumers. Using a variant with more threads than it allows corrupts the queue. </br>
+ *
+ * {@link #offer(Object)} and {@link #poll()} never block. {@link #enqueue(Object)} and {@link #take()} retry until
+ * they succeed, waiting in between with the {@link WaitStrategy} of the buffer. {@link #offerBatch(Object[], int,
+ * int)} and, but for {@link MpmcRingBuffer}, {@link #drainTo(Consumer, int)} move many elements for the
+ * synchronization cost of one. Null elements are not allowed, since a null from poll means the buffer is empty.
+ * {@link #size()}, {@link #contains(Object)} and {@link #toArray()} are only estimates while other threads are
+ * using the buffer.
+ *
+ * @author nameshkher
+ *
+ * @param <T>
+ */
+public abstract class ConcurrentRingBuffer<T> implements MyQueue<T> {
+
+	static final int MAX_CAPACITY = 1 << 30;
+
+	protected final Object[] buffer;
+	protected final int mask;
+	protected final WaitStrategy waitStrategy;
+
+	/***
+	 * Creates a ring buffer holding at least capacity elements, the capacity is rounded up to a power of two.
+	 */
+	protected ConcurrentRingBuffer(int capacity, WaitStrategy waitStrategy) {
+		if (capacity < 2 || capacity > MAX_CAPACITY) {
+			throw new IllegalArgumentException("Capacity must be between 2 and " + MAX_CAPACITY + " : " + capacity);
+		}
+		if (null == waitStrategy) {
+			throw new IllegalArgumentException("Wait strategy cannot be null.");
+		}
+		int length = Integer.highestOneBit(capacity - 1) << 1;
+		this.buffer = new Object[length];
+		this.mask = length - 1;
+		this.waitStrategy = waitStrategy;
+	}
+
+	/***
+	 * Adds the element at the tail if the buffer is not full.
+	 *
+	 * @return true if the element was added, false if the buffer is full
+	 */
+	public abstract boolean offer(T element);
+
+	/***
+	 * Removes and returns the element at the head, or null if the buffer is empty.
+	 */
+	public abstract T poll();
+
+	/***
+	 * Returns the element at the head without removing it, or null if the buffer is empty.
+	 */
+	public abstract T peek();
+
+	/***
+	 * Returns the position of the next element to be read.
+	 */
+	protected abstract long headPosition();
+
+	/***
+	 * Returns the position of the next element to be written.
+	 */
+	protected abstract long tailPosition();
+
+	/***
+	 * Returns the element at the position if it is written and not yet read, null otherwise.
+	 */
+	protected abstract Object elementAt(long position);
+
+	/***
+	 * Adds as many elements of elements[offset, offset + length) as there is room for, in order.
+	 *
+	 * @return the number of elements added, from offset on
+	 */
+	public int offerBatch(T[] elements, int offset, int length) {
+		checkBatch(elements, offset, length);
+		int added = 0;
+		while (added < length && offer(elements[offset + added])) {
+			added++;
+		}
+		return added;
+	}
+
+	public int offerBatch(T[] elements) {
+		return offerBatch(elements, 0, elements.length);
+	}
+
+	protected void checkBatch(T[] elements, int offset, int length) {
+		if (offset < 0 || length < 0 || offset + length > elements.length) {
+			throw new ArrayIndexOutOfBoundsException("Invalid range [" + offset + ", " + (offset + length) + ") of "
+					+ elements.length + " elements");
+		}
+		for (int i=offset; i<offset+length; i++) {
+			checkElement(elements[i]);
+		}
+	}
+
+	/***
+	 * Removes up to limit elements from the head and passes them to the consumer, in order. If the consumer throws,
+	 * the elements it has not been passed yet stay in the buffer.
+	 *
+	 * @return the number of elements removed
+	 */
+	public int drainTo(Consumer<? super T> consumer, int limit) {
+		int drained = 0;
+		T element;
+		while (drained < limit && (element = poll()) != null) {
+			consumer.accept(element);
+			drained++;
+		}
+		return drained;
+	}
+
+	/***
+	 * Removes all the elements available and passes them to the consumer, in order.
+	 *
+	 * @return the number of elements removed
+	 */
+	public int drainTo(Consumer<? super T> consumer) {
+		return drainTo(consumer, Integer.MAX_VALUE);
+	}
+
+	protected void checkElement(T element) {
+		if (null == element) {
+			throw new IllegalArgumentException("Ring buffer does not accept null elements.");
+		}
+	}
+
+	/***
+	 * Adds the element at the tail, waiting with the wait strategy as long as the buffer is full.
+	 */
+	@Override
+	public void enqueue(T element) {
+		checkElement(element);
+		for (int attempt=0; !offer(element); attempt++) {
+			waitStrategy.idle(attempt);
+		}
+	}
+
+	/***
+	 * Removes and returns the element at the head, waiting with the wait strategy as long as the buffer is empty.
+	 */
+	public T take() {
+		T element;
+		for (int attempt=0; (element = poll()) == null; attempt++) {
+			waitStrategy.idle(attempt);
+		}
+		return element;
+	}
+
+	/***
+	 * Removes and returns the element at the head without waiting.
+	 *
+	 * @throws DataStructureEmptyException if the buffer is empty
+	 */
+	@Override
+	public T dequeue() {
+		T element = poll();
+		if (null == element) {
+			throw new DataStructureEmptyException("Cannot remove from an empty ring buffer !");
+		}
+		return element;
+	}
+
+	@Override
+	public T head() {
+		T element = peek();
+		if (null == element) {
+			throw new DataStructureEmptyException("Ring buffer is empty !");
+		}
+		return element;
+	}
+
+	@Override
+	public boolean add(T element) {
+		return offer(element);
+	}
+
+	/***
+	 * A ring buffer only removes at its head, use {@link #poll()} or {@link #dequeue()}. Removing an arbitrary
+	 * element is not supported, hence this always returns false and leaves the buffer unchanged.
+	 */
+	@Override
+	public boolean remove(T element) {
+		return false;
+	}
+
+	/***
+	 * Removes all the elements by polling them, hence this counts as a consumer.
+	 */
+	@Override
+	public void clear() {
+		while (poll() != null);
+	}
+
+	public int capacity() {
+		return buffer.length;
+	}
+
+	/***
+	 * Returns the number of elements, read so that head and tail are from the same moment.
+	 */
+	@Override
+	public int size() {
+		long head, tail;
+		do {
+			head = headPosition();
+			tail = tailPosition();
+		} while (head != headPosition());
+		return (int) Math.max(0, Math.min(tail - head, buffer.length));
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public boolean contains(T element) {
+		if (null == element) {
+			return false;
+		}
+		long head = headPosition(), tail = tailPosition();
+		for (long position=head; position<tail; position++) {
+			if (element.equals(elementAt(position))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/***
+	 * Returns the elements from the head to the tail. Elements read by a consumer during the copy are skipped.
+	 */
+	@Override
+	public Object[] toArray() {
+		DynamicArray<Object> elements = new DynamicArray<>();
+		long head = headPosition(), tail = tailPosition();
+		for (long position=head; position<tail; position++) {
+			Object element = elementAt(position);
+			if (null != element) {
+				elements.insert(element);
+			}
+		}
+		return elements.toArray();
+	}
+}
@@ -0,0 +1,407 @@
+package nkher.datastructures.queues;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import nkher.api.MyQueue;
+import nkher.exception.DataStructureEmptyException;
+
+/***
+ * A double ended queue that keeps its elements in fixed size blocks instead of one node per element like
+ * {@link DequeList}. The blocks form a doubly linked list, the elements are packed from frontIndex in the front
+ * block to rearIndex in the rear block, and all the blocks in between are full. A block is only linked when an end
+ * runs out of room and is unlinked as soon as it becomes empty. </br>
+ *
+ * Unlinked blocks go to a small pool of free blocks and are reused the next time an end needs one, so once the
+ * queue has reached its working size {@link #enqueue(Object)}, {@link #enqueueAtHead(Object)}, {@link #dequeue()}
+ * and {@link #deqeueAtTail()} do not allocate at all. All four are O(1), unlike the O(n) deqeueAtTail of
+ * DequeList. An empty queue restarts from the middle of its block, so that alternating between the ends does not
+ * link and unlink a block on every call. </br>
+ *
+ * The data structure is not thread safe. Synchronization has to be handled by the programmer.
+ *
+ * @author nameshkher
+ *
+ * @param <T>
+ */
+public class DequeChunkedArray<T> implements MyQueue<T>, Iterable<T> {
+
+	private static final int DEFAULT_BLOCK_SIZE = 64;
+	private static final int DEFAULT_MAX_POOLED_BLOCKS = 4;
+
+	private final int blockSize;
+	private final int maxPooledBlocks;
+
+	private Block front;
+	private Block rear;
+	private int frontIndex; // index of the first element in the front block
+	private int rearIndex; // index after the last element in the rear block
+	private int size;
+	private int modCount; // number of structural modifications, for failing fast in the iterator
+
+	private Block pool; // free blocks, chained through next
+	private int pooledBlocks;
+	private int allocatedBlocks;
+
+	/***
+	 * Represents a block of the deque. Blocks are linked both ways while in the deque and through next in the pool.
+	 */
+	private static final class Block {
+		final Object[] elements;
+		Block next;
+		Block prev;
+
+		Block(int blockSize) {
+			elements = new Object[blockSize];
+		}
+	}
+
+	public DequeChunkedArray() {
+		this(DEFAULT_BLOCK_SIZE, DEFAULT_MAX_POOLED_BLOCKS);
+	}
+
+	/***
+	 * Creates an empty deque.
+	 *
+	 * @param blockSize number of elements per block, at least 2
+	 * @param maxPooledBlocks maximum number of free blocks kept for reuse, 0 to not keep any
+	 */
+	public DequeChunkedArray(int blockSize, int maxPooledBlocks) {
+		if (blockSize < 2) {
+			throw new IllegalArgumentException("Block size must be at least 2 : " + blockSize);
+		}
+		if (maxPooledBlocks < 0) {
+			throw new IllegalArgumentException("Maximum pooled blocks cannot be negative : " + maxPooledBlocks);
+		}
+		this.blockSize = blockSize;
+		this.maxPooledBlocks = maxPooledBlocks;
+		front = rear = obtainBlock();
+		recenter();
+	}
+
+	/***
+	 * Takes a block from the pool, allocating one only if the pool is empty.
+	 */
+	private Block obtainBlock() {
+		Block block = pool;
+		if (null == block) {
+			allocatedBlocks++;
+			return new Block(blockSize);
+		}
+		pool = block.next;
+		block.next = null;
+		pooledBlocks--;
+		return block;
+	}
+
+	/***
+	 * Returns an unlinked block to the pool, or drops it if the pool is full. The elements must be cleared already.
+	 */
+	private void releaseBlock(Block block) {
+		block.prev = null;
+		block.next = null;
+		if (pooledBlocks < maxPooledBlocks) {
+			block.next = pool;
+			pool = block;
+			pooledBlocks++;
+		}
+	}
+
+	/***
+	 * Moves both ends of an empty deque to the middle of its only block.
+	 */
+	private void recenter() {
+		frontIndex = rearIndex = blockSize >>> 1;
+	}
+
+	public int blockSize() {
+		return blockSize;
+	}
+
+	/***
+	 * Returns the number of free blocks waiting in the pool.
+	 */
+	public int pooledBlocks() {
+		return pooledBlocks;
+	}
+
+	/***
+	 * Returns the number of blocks allocated since the deque was created, for checking the pool is large enough.
+	 */
+	public int allocatedBlocks() {
+		return allocatedBlocks;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/***
+	 * Inserts the element at the rear of the deque.
+	 */
+	@Override
+	public void enqueue(T element) {
+		if (rearIndex == blockSize) {
+			Block block = obtainBlock();
+			block.prev = rear;
+			rear.next = block;
+			rear = block;
+			rearIndex = 0;
+		}
+		rear.elements[rearIndex++] = element;
+		size++;
+		modCount++;
+	}
+
+	/***
+	 * Inserts the element at the head of the deque.
+	 */
+	public void enqueueAtHead(T element) {
+		if (frontIndex == 0) {
+			Block block = obtainBlock();
+			block.next = front;
+			front.prev = block;
+			front = block;
+			frontIndex = blockSize;
+		}
+		front.elements[--frontIndex] = element;
+		size++;
+		modCount++;
+	}
+
+	/***
+	 * Removes and returns the element at the head of the deque.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public T dequeue() {
+		if (isEmpty()) {
+			throw new DataStructureEmptyException("Cannot remove from an empty deque data structure !");
+		}
+		T element = (T) front.elements[frontIndex];
+		front.elements[frontIndex++] = null;
+		size--;
+		modCount++;
+		if (size == 0) {
+			recenter();
+		}
+		else if (frontIndex == blockSize) {
+			Block empty = front;
+			front = front.next;
+			front.prev = null;
+			frontIndex = 0;
+			releaseBlock(empty);
+		}
+		return element;
+	}
+
+	/***
+	 * Removes and returns the element at the rear of the deque.
+	 */
+	@SuppressWarnings("unchecked")
+	public T deqeueAtTail() {
+		if (isEmpty()) {
+			throw new DataStructureEmptyException("Cannot remove from an empty deque data structure !");
+		}
+		T element = (T) rear.elements[--rearIndex];
+		rear.elements[rearIndex] = null;
+		size--;
+		modCount++;
+		if (size == 0) {
+			recenter();
+		}
+		else if (rearIndex == 0) {
+			Block empty = rear;
+			rear = rear.prev;
+			rear.next = null;
+			rearIndex = blockSize;
+			releaseBlock(empty);
+		}
+		return element;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T head() {
+		if (isEmpty()) {
+			throw new DataStructureEmptyException("Cannot peek at the head of an empty deque data structure !");
+		}
+		return (T) front.elements[frontIndex];
+	}
+
+	@Override
+	public T peek() {
+		return head();
+	}
+
+	/***
+	 * Returns the element at the rear of the deque without removing it.
+	 */
+	@SuppressWarnings("unchecked")
+	public T tail() {
+		if (isEmpty()) {
+			throw new DataStructureEmptyException("Cannot peek at the tail of an empty deque data structure !");
+		}
+		return (T) rear.elements[rearIndex - 1];
+	}
+
+	@Override
+	public boolean add(T element) {
+		enqueue(element);
+		return true;
+	}
+
+	private int start(Block block) {
+		return (block == front) ? frontIndex : 0;
+	}
+
+	private int end(Block block) {
+		return (block == rear) ? rearIndex : blockSize;
+	}
+
+	private static boolean equal(Object a, Object b) {
+		return (null == a) ? null == b : a.equals(b);
+	}
+
+	@Override
+	public boolean contains(T element) {
+		for (Block block = front; block != null; block = block.next) {
+			for (int i=start(block), end=end(block); i<end; i++) {
+				if (equal(element, block.elements[i])) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/***
+	 * Removes the first occurrence of the element, shifting the elements behind it one place towards the head.
+	 * Takes O(n) time.
+	 */
+	@Override
+	public boolean remove(T element) {
+		for (Block block = front; block != null; block = block.next) {
+			for (int i=start(block), end=end(block); i<end; i++) {
+				if (equal(element, block.elements[i])) {
+					shiftTowardsHead(block, i);
+					deqeueAtTail(); // the last element now also sits one place before the rear
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/***
+	 * Moves every element after the given position one place towards the head, overwriting the element at it.
+	 */
+	private void shiftTowardsHead(Block block, int index) {
+		while (true) {
+			Block nextBlock = block;
+			int nextIndex = index + 1;
+			if (nextIndex == blockSize) {
+				nextBlock = block.next;
+				nextIndex = 0;
+			}
+			if (null == nextBlock || (nextBlock == rear && nextIndex >= rearIndex)) {
+				return;
+			}
+			block.elements[index] = nextBlock.elements[nextIndex];
+			block = nextBlock;
+			index = nextIndex;
+		}
+	}
+
+	/***
+	 * Removes all the elements. The emptied blocks go to the pool, the front block is kept.
+	 */
+	@Override
+	public void clear() {
+		Arrays.fill(front.elements, frontIndex, end(front), null);
+		Block block = front.next;
+		while (null != block) {
+			Block next = block.next;
+			Arrays.fill(block.elements, 0, end(block), null);
+			releaseBlock(block);
+			block = next;
+		}
+		front.next = null;
+		rear = front;
+		size = 0;
+		modCount++;
+		recenter();
+	}
+
+	@Override
+	public Object[] toArray() {
+		Object[] array = new Object[size];
+		int copied = 0;
+		for (Block block = front; block != null; block = block.next) {
+			int start = start(block), length = end(block) - start;
+			System.arraycopy(block.elements, start, array, copied, length);
+			copied += length;
+		}
+		return array;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new ChunkedIterator();
+	}
+
+	private class ChunkedIterator implements Iterator<T> {
+
+		Block block = front;
+		int index = frontIndex;
+		int returned = 0;
+		int expectedModCount = modCount;
+
+		public boolean hasNext() {
+			return returned < size;
+		}
+
+		@SuppressWarnings("unchecked")
+		public T next() {
+			if (expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			if (index == blockSize) {
+				block = block.next;
+				index = 0;
+			}
+			returned++;
+			return (T) block.elements[index++];
+		}
+	}
+
+	/***
+	 * Returns the elements of the deque in a String for printing and viewing.
+	 */
+	public String toString() {
+		if (isEmpty()) {
+			return "[ ]";
+		}
+		StringBuilder sb = new StringBuilder();
+		sb.append("[ ");
+		for (Block block = front; block != null; block = block.next) {
+			for (int i=start(block), end=end(block); i<end; i++) {
+				if (sb.length() > 2) sb.append(", ");
+				sb.append(block.elements[i]);
+			}
+		}
+		sb.append(" ]");
+		return sb.toString();
+	}
+}
@@ -0,0 +1,65 @@
+package nkher.datastructures.queues;
+
+/***
+ * A lock free bounded ring buffer for many producer and many consumer threads (Vyukov, "Bounded MPMC queue").
+ * Producers and consumers claim their positions with a compare and set of the tail and the head respectively,
+ * and hand the slots over to each other through the per slot sequence numbers of {@link SequencedRingBuffer}. A
+ * batch of elements is offered with a single compare and set of the tail. Draining claims one element at a time,
+ * like {@link #poll()} : a claimed slot cannot be given back once other consumers have moved the head past it,
+ * so claiming ahead would lose the claimed elements the consumer has not been passed when it throws.
+ *
+ * @author nameshkher
+ *
+ * @param <T>
+ */
+public class MpmcRingBuffer<T> extends SequencedRingBuffer<T> {
+
+	public MpmcRingBuffer(int capacity) {
+		this(capacity, WaitStrategies.BACKOFF);
+	}
+
+	public MpmcRingBuffer(int capacity, WaitStrategy waitStrategy) {
+		super(capacity, waitStrategy);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T poll() {
+		long position = head.get();
+		while (true) {
+			int index = (int) position & mask;
+			long difference = sequences.get(index) - (position + 1);
+			if (difference == 0) {
+				if (head.compareAndSet(position, position + 1)) {
+					T element = (T) buffer[index];
+					buffer[index] = null;
+					sequences.lazySet(index, position + buffer.length);
+					return element;
+				}
+			}
+			else if (difference < 0) {
+				return null; // the producer of the position has not written yet, the buffer is empty
+			}
+			position = head.get(); // another consumer claimed the position
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T peek() {
+		while (true) {
+			long position = head.get();
+			int index = (int) position & mask;
+			long difference = sequences.get(index) - (position + 1);
+			if (difference < 0) {
+				return null;
+			}
+			if (difference == 0) {
+				T element = (T) buffer[index];
+				if (null != element && head.get() == position) {
+					return element;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package nkher.datastructures.queues;
+
+import java.util.function.Consumer;
+
+/***
+ * A lock free bounded ring buffer for many producer threads and a single consumer thread. The producers claim
+ * their positions like in {@link MpmcRingBuffer}, but the head has a single writer, hence the consumer reads a
+ * slot once its sequence says it is written and publishes the head with an ordered store instead of a compare and
+ * set. A drain publishes the head once for the whole batch.
+ *
+ * @author nameshkher
+ *
+ * @param <T>
+ */
+public class MpscRingBuffer<T> extends SequencedRingBuffer<T> {
+
+	public MpscRingBuffer(int capacity) {
+		this(capacity, WaitStrategies.BACKOFF);
+	}
+
+	public MpscRingBuffer(int capacity, WaitStrategy waitStrategy) {
+		super(capacity, waitStrategy);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T poll() {
+		long position = head.get();
+		if (!isReadable(position)) {
+			return null;
+		}
+		int index = (int) position & mask;
+		T element = (T) buffer[index];
+		buffer[index] = null;
+		sequences.lazySet(index, position + buffer.length);
+		head.lazySet(position + 1);
+		return element;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T peek() {
+		long position = head.get();
+		return isReadable(position) ? (T) buffer[(int) position & mask] : null;
+	}
+
+	/***
+	 * Passes the elements ready at the head to the consumer, stopping at the first slot not written yet, and
+	 * publishes the head once. If the consumer throws, the elements passed on so far are still removed.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public int drainTo(Consumer<? super T> consumer, int limit) {
+		long position = head.get();
+		int drained = 0;
+		try {
+			while (drained < limit && isReadable(position + drained)) {
+				int index = (int) (position + drained) & mask;
+				T element = (T) buffer[index];
+				buffer[index] = null;
+				sequences.lazySet(index, position + drained + buffer.length);
+				drained++;
+				consumer.accept(element);
+			}
+		}
+		finally {
+			head.lazySet(position + drained);
+		}
+		return drained;
+	}
+}
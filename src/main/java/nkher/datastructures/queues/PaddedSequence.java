@@ -0,0 +1,56 @@
+package nkher.datastructures.queues;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/***
+ * A volatile long counter padded with 7 longs on each side, so that it fills a cache line of its own. The head and
+ * the tail of a ring buffer are written by different threads, and without the padding they could share a cache
+ * line which then bounces between the cores on every write (false sharing). The padding is declared in super and
+ * sub classes since the JVM lays out the fields of a class hierarchy from the top class down, but is free to
+ * reorder the fields within a class.
+ *
+ * @author nameshkher
+ *
+ */
+final class PaddedSequence extends SequenceValue {
+
+	protected long p9, p10, p11, p12, p13, p14, p15;
+
+	private static final AtomicLongFieldUpdater<SequenceValue> UPDATER =
+			AtomicLongFieldUpdater.newUpdater(SequenceValue.class, "value");
+
+	PaddedSequence(long initialValue) {
+		UPDATER.set(this, initialValue);
+	}
+
+	long get() {
+		return value;
+	}
+
+	/***
+	 * Sets the value with release semantics only, which is cheaper than a volatile write. Used by the single writer
+	 * of a counter to publish the elements written before.
+	 */
+	void lazySet(long newValue) {
+		UPDATER.lazySet(this, newValue);
+	}
+
+	boolean compareAndSet(long expected, long newValue) {
+		return UPDATER.compareAndSet(this, expected, newValue);
+	}
+
+	/***
+	 * Sums the padding so that it is not optimized away.
+	 */
+	long sumPaddingToPreventOptimisation() {
+		return p1 + p2 + p3 + p4 + p5 + p6 + p7 + p9 + p10 + p11 + p12 + p13 + p14 + p15;
+	}
+}
+
+abstract class LeftPadding {
+	protected long p1, p2, p3, p4, p5, p6, p7;
+}
+
+abstract class SequenceValue extends LeftPadding {
+	protected volatile long value;
+}
@@ -0,0 +1,108 @@
+package nkher.datastructures.queues;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/***
+ * The producer side shared by the multi producer ring buffers, after the bounded MPMC queue of Dmitry Vyukov.
+ * Every slot carries a sequence number telling whose turn it is : a slot at position p is free for the producer
+ * of p when its sequence is p, and holds an element for the consumer of p when its sequence is p + 1. The consumer
+ * then sets the sequence to p + capacity, handing the slot to the producer of the next lap. </br>
+ *
+ * A producer claims a position by a compare and set of the tail, writes its element into the slot and publishes it
+ * by storing the sequence. Producers only contend on the tail, and a consumer never waits for a producer other
+ * than the one writing the slot it is about to read.
+ *
+ * @author nameshkher
+ *
+ * @param <T>
+ */
+abstract class SequencedRingBuffer<T> extends ConcurrentRingBuffer<T> {
+
+	protected final AtomicLongArray sequences;
+	protected final PaddedSequence head = new PaddedSequence(0);
+	protected final PaddedSequence tail = new PaddedSequence(0);
+
+	protected SequencedRingBuffer(int capacity, WaitStrategy waitStrategy) {
+		super(capacity, waitStrategy);
+		sequences = new AtomicLongArray(buffer.length);
+		for (int i=0; i<buffer.length; i++) {
+			sequences.set(i, i);
+		}
+	}
+
+	@Override
+	public boolean offer(T element) {
+		checkElement(element);
+		long position = tail.get();
+		while (true) {
+			int index = (int) position & mask;
+			long difference = sequences.get(index) - position;
+			if (difference == 0) {
+				if (tail.compareAndSet(position, position + 1)) {
+					buffer[index] = element;
+					sequences.lazySet(index, position + 1);
+					return true;
+				}
+			}
+			else if (difference < 0) {
+				return false; // the slot still holds the element of the previous lap, the buffer is full
+			}
+			position = tail.get(); // another producer claimed the position
+		}
+	}
+
+	/***
+	 * Claims as many consecutive free slots as needed with a single compare and set of the tail, then writes and
+	 * publishes the elements.
+	 */
+	@Override
+	public int offerBatch(T[] elements, int offset, int length) {
+		checkBatch(elements, offset, length);
+		if (length == 0) {
+			return 0;
+		}
+		long position = tail.get();
+		while (true) {
+			int free = 0;
+			while (free < length && sequences.get((int) (position + free) & mask) == position + free) {
+				free++;
+			}
+			if (free == 0) {
+				if (sequences.get((int) position & mask) < position) {
+					return 0; // full
+				}
+			}
+			else if (tail.compareAndSet(position, position + free)) {
+				for (int i=0; i<free; i++) {
+					int index = (int) (position + i) & mask;
+					buffer[index] = elements[offset + i];
+					sequences.lazySet(index, position + i + 1);
+				}
+				return free;
+			}
+			position = tail.get();
+		}
+	}
+
+	/***
+	 * Returns true if the slot at the position holds the element of that position.
+	 */
+	protected boolean isReadable(long position) {
+		return sequences.get((int) position & mask) == position + 1;
+	}
+
+	@Override
+	protected long headPosition() {
+		return head.get();
+	}
+
+	@Override
+	protected long tailPosition() {
+		return tail.get();
+	}
+
+	@Override
+	protected Object elementAt(long position) {
+		return isReadable(position) ? buffer[(int) position & mask] : null;
+	}
+}
@@ -0,0 +1,146 @@
+package nkher.datastructures.queues;
+
+import java.util.function.Consumer;
+
+/***
+ * A lock free ring buffer for a single producer thread and a single consumer thread. Each counter has a single
+ * writer, so no compare and set is needed : the producer writes the element and publishes the tail with an
+ * ordered store, and the consumer reads the element and publishes the head the same way. </br>
+ *
+ * The producer keeps its last read of the head in a cache and only reads the volatile head again when the cache
+ * says the buffer is full, and the consumer does the same with the tail. As the counters sit on cache lines of
+ * their own, the cores only exchange a cache line when one side catches up with the other. Batches publish their
+ * counter once for the whole batch. With one thread per side no per slot sequence is needed, see
+ * {@link MpmcRingBuffer} for those.
+ *
+ * @author nameshkher
+ *
+ * @param <T>
+ */
+public class SpscRingBuffer<T> extends ConcurrentRingBuffer<T> {
+
+	private final PaddedSequence head = new PaddedSequence(0);
+	private final PaddedSequence tail = new PaddedSequence(0);
+	private long headCache; // producer only, last head read by the producer
+	private long tailCache; // consumer only, last tail read by the consumer
+
+	public SpscRingBuffer(int capacity) {
+		this(capacity, WaitStrategies.BACKOFF);
+	}
+
+	public SpscRingBuffer(int capacity, WaitStrategy waitStrategy) {
+		super(capacity, waitStrategy);
+	}
+
+	/***
+	 * Returns the number of free slots for the producer writing at the tail, reading the head only if needed.
+	 */
+	private long freeSlots(long currentTail, long needed) {
+		long free = buffer.length - (currentTail - headCache);
+		if (free < needed) {
+			headCache = head.get();
+			free = buffer.length - (currentTail - headCache);
+		}
+		return free;
+	}
+
+	/***
+	 * Returns the number of elements ready for the consumer reading at the head, reading the tail only if needed.
+	 */
+	private long readySlots(long currentHead, long needed) {
+		long ready = tailCache - currentHead;
+		if (ready < needed) {
+			tailCache = tail.get();
+			ready = tailCache - currentHead;
+		}
+		return ready;
+	}
+
+	@Override
+	public boolean offer(T element) {
+		checkElement(element);
+		long currentTail = tail.get();
+		if (freeSlots(currentTail, 1) < 1) {
+			return false;
+		}
+		buffer[(int) currentTail & mask] = element;
+		tail.lazySet(currentTail + 1);
+		return true;
+	}
+
+	@Override
+	public int offerBatch(T[] elements, int offset, int length) {
+		checkBatch(elements, offset, length);
+		long currentTail = tail.get();
+		int count = (int) Math.min(length, freeSlots(currentTail, length));
+		for (int i=0; i<count; i++) {
+			buffer[(int) (currentTail + i) & mask] = elements[offset + i];
+		}
+		tail.lazySet(currentTail + count);
+		return count;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T poll() {
+		long currentHead = head.get();
+		if (readySlots(currentHead, 1) < 1) {
+			return null;
+		}
+		int index = (int) currentHead & mask;
+		T element = (T) buffer[index];
+		buffer[index] = null;
+		head.lazySet(currentHead + 1);
+		return element;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T peek() {
+		long currentHead = head.get();
+		if (readySlots(currentHead, 1) < 1) {
+			return null;
+		}
+		return (T) buffer[(int) currentHead & mask];
+	}
+
+	/***
+	 * Passes the elements ready at the moment of the call to the consumer and publishes the head once. If the
+	 * consumer throws, the elements passed on so far are still removed.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public int drainTo(Consumer<? super T> consumer, int limit) {
+		long currentHead = head.get();
+		int count = (int) Math.min(limit, readySlots(currentHead, limit));
+		int drained = 0;
+		try {
+			while (drained < count) {
+				int index = (int) (currentHead + drained) & mask;
+				T element = (T) buffer[index];
+				buffer[index] = null;
+				drained++;
+				consumer.accept(element);
+			}
+		}
+		finally {
+			head.lazySet(currentHead + drained);
+		}
+		return drained;
+	}
+
+	@Override
+	protected long headPosition() {
+		return head.get();
+	}
+
+	@Override
+	protected long tailPosition() {
+		return tail.get();
+	}
+
+	@Override
+	protected Object elementAt(long position) {
+		return buffer[(int) position & mask];
+	}
+}
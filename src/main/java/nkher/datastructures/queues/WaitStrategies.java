@@ -0,0 +1,55 @@
+package nkher.datastructures.queues;
+
+import java.util.concurrent.locks.LockSupport;
+
+/***
+ * The available {@link WaitStrategy} implementations. </br>
+ *
+ * BUSY_SPIN retries right away and gives the lowest latency, but keeps a core busy, so it is only worth it when
+ * every waiting thread has a core of its own. YIELD gives up the rest of the time slice to other threads, and
+ * PARK sleeps for a microsecond and costs the least CPU at the price of latency. BACKOFF spins first, then yields
+ * and then parks, which suits queues that are busy in bursts.
+ *
+ * @author nameshkher
+ *
+ */
+public final class WaitStrategies {
+
+	private static final int SPIN_TRIES = 100;
+	private static final int YIELD_TRIES = 200;
+	private static final long DEFAULT_PARK_NANOS = 1000;
+
+	public static final WaitStrategy BUSY_SPIN = attempt -> {};
+
+	public static final WaitStrategy YIELD = attempt -> Thread.yield();
+
+	public static final WaitStrategy PARK = parking(DEFAULT_PARK_NANOS);
+
+	public static final WaitStrategy BACKOFF = attempt -> {
+		if (attempt < SPIN_TRIES) {
+			return;
+		}
+		if (attempt < YIELD_TRIES) {
+			Thread.yield();
+			return;
+		}
+		LockSupport.parkNanos(DEFAULT_PARK_NANOS);
+	};
+
+	// To make the class uninstantiable
+	private WaitStrategies() {
+		throw new AssertionError();
+	}
+
+	/***
+	 * Returns a strategy that parks the waiting thread for the given time.
+	 *
+	 * @param parkNanos time to park for on every wait, in nanoseconds
+	 */
+	public static WaitStrategy parking(final long parkNanos) {
+		if (parkNanos <= 0) {
+			throw new IllegalArgumentException("Park time must be positive : " + parkNanos);
+		}
+		return attempt -> LockSupport.parkNanos(parkNanos);
+	}
+}
@@ -0,0 +1,21 @@
+package nkher.datastructures.queues;
+
+/***
+ * A strategy for waiting when a concurrent queue operation cannot proceed, because the queue is full for a
+ * producer or empty for a consumer. The blocking operations of {@link ConcurrentRingBuffer} retry the operation
+ * and call {@link #idle(int)} in between, trading latency against the CPU burnt while waiting. See
+ * {@link WaitStrategies} for the available strategies.
+ *
+ * @author nameshkher
+ *
+ */
+public interface WaitStrategy {
+
+	/***
+	 * Waits before the next attempt of an operation.
+	 *
+	 * @param attempt number of attempts that failed so far, 0 for the first wait of an operation
+	 */
+	void idle(int attempt);
+
+}
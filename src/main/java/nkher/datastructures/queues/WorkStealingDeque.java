@@ -0,0 +1,175 @@
+package nkher.datastructures.queues;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/***
+ * A work stealing deque after Chase and Lev ("Dynamic Circular Work-Stealing Deque"), the per thread task queue of
+ * a work stealing scheduler. The deque has one owner thread that pushes and pops at the bottom, like a stack, and
+ * any number of thief threads that steal from the top. The owner works on its newest task, which is the most
+ * likely to be in its cache, and thieves take the oldest one, which in divide and conquer code tends to be the
+ * largest piece of work left. </br>
+ *
+ * The elements live in a circular array addressed by two ever increasing counters, like the front and rear of
+ * {@link QueueArray}. Only the owner writes bottom, so push needs no atomic operation at all, and pop only needs a
+ * compare and set on top when it races with the thieves for the last element. Thieves claim an element with a
+ * compare and set on top. When the array is full the owner copies the elements into one twice as large; thieves
+ * still reading the old array find the same elements there, as it is never written again. </br>
+ *
+ * {@link #push(Object)} and {@link #pop()} must only be called by the owner thread, {@link #steal()} may be called
+ * by any thread. {@link #size()} is only an estimate while other threads are using the deque. Null elements are not
+ * allowed, since a null from pop or steal means there was nothing to take.
+ *
+ * @author nameshkher
+ *
+ * @param <T>
+ */
+public class WorkStealingDeque<T> {
+
+	private static final int DEFAULT_LOG_CAPACITY = 5;
+	private static final int MAX_LOG_CAPACITY = 30;
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicLongFieldUpdater<WorkStealingDeque> TOP =
+			AtomicLongFieldUpdater.newUpdater(WorkStealingDeque.class, "top");
+	@SuppressWarnings("rawtypes")
+	private static final AtomicLongFieldUpdater<WorkStealingDeque> BOTTOM =
+			AtomicLongFieldUpdater.newUpdater(WorkStealingDeque.class, "bottom");
+
+	private volatile long top; // next element to steal, only ever incremented
+	private volatile long bottom; // next free slot of the owner
+	private volatile CircularArray array;
+
+	/***
+	 * A circular array whose length is a power of two, indexed by the counters of the deque.
+	 */
+	private static final class CircularArray {
+		final int logCapacity;
+		final Object[] elements;
+		final int mask;
+
+		CircularArray(int logCapacity) {
+			this.logCapacity = logCapacity;
+			this.elements = new Object[1 << logCapacity];
+			this.mask = elements.length - 1;
+		}
+
+		int capacity() {
+			return elements.length;
+		}
+
+		Object get(long index) {
+			return elements[(int) index & mask];
+		}
+
+		void put(long index, Object element) {
+			elements[(int) index & mask] = element;
+		}
+
+		/***
+		 * Returns a copy twice as large holding the elements from top to bottom at the same indexes.
+		 */
+		CircularArray grow(long top, long bottom) {
+			if (logCapacity == MAX_LOG_CAPACITY) {
+				throw new IllegalStateException("Work stealing deque cannot grow beyond " + capacity() + " elements");
+			}
+			CircularArray larger = new CircularArray(logCapacity + 1);
+			for (long i=top; i<bottom; i++) {
+				larger.put(i, get(i));
+			}
+			return larger;
+		}
+	}
+
+	public WorkStealingDeque() {
+		this(1 << DEFAULT_LOG_CAPACITY);
+	}
+
+	/***
+	 * Creates a deque whose array holds at least initialCapacity elements before growing.
+	 */
+	public WorkStealingDeque(int initialCapacity) {
+		if (initialCapacity < 2 || initialCapacity > 1 << MAX_LOG_CAPACITY) {
+			throw new IllegalArgumentException("Initial capacity must be between 2 and " + (1 << MAX_LOG_CAPACITY)
+					+ " : " + initialCapacity);
+		}
+		array = new CircularArray(32 - Integer.numberOfLeadingZeros(initialCapacity - 1));
+	}
+
+	/***
+	 * Pushes the element at the bottom of the deque, growing the array if it is full. Owner only.
+	 */
+	public void push(T element) {
+		if (null == element) {
+			throw new IllegalArgumentException("Work stealing deque does not accept null elements.");
+		}
+		long b = bottom, t = top;
+		CircularArray a = array;
+		if (b - t >= a.capacity()) {
+			a = a.grow(t, b);
+			array = a;
+		}
+		a.put(b, element);
+		BOTTOM.lazySet(this, b + 1); // publishes the element to the thieves
+	}
+
+	/***
+	 * Removes and returns the element at the bottom of the deque, the one pushed last. Owner only.
+	 *
+	 * @return the element, or null if the deque is empty or a thief took the last element
+	 */
+	@SuppressWarnings("unchecked")
+	public T pop() {
+		long b = bottom - 1;
+		CircularArray a = array;
+		bottom = b; // the volatile write before reading top keeps the thieves from taking the slot unnoticed
+		long t = top;
+		if (t > b) {
+			bottom = b + 1; // empty
+			return null;
+		}
+		T element = (T) a.get(b);
+		if (t < b) {
+			a.put(b, null); // no thief can reach this slot any more
+			return element;
+		}
+		/** last element, the owner and the thieves race for it on top */
+		if (!TOP.compareAndSet(this, t, t + 1)) {
+			element = null;
+		}
+		bottom = b + 1;
+		return element;
+	}
+
+	/***
+	 * Removes and returns the element at the top of the deque, the oldest one. Any thread may steal.
+	 *
+	 * @return the element, or null if the deque is empty or another thread took the element first
+	 */
+	@SuppressWarnings("unchecked")
+	public T steal() {
+		long t = top;
+		long b = bottom;
+		if (t >= b) {
+			return null;
+		}
+		CircularArray a = array;
+		T element = (T) a.get(t);
+		return TOP.compareAndSet(this, t, t + 1) ? element : null;
+	}
+
+	public int size() {
+		long t = top;
+		return (int) Math.max(0, bottom - t);
+	}
+
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/***
+	 * Returns the length of the current array.
+	 */
+	public int capacity() {
+		return array.capacity();
+	}
+}
@@ -0,0 +1,221 @@
+package nkher.datastructures.sketches;
+
+import java.util.Arrays;
+
+import nkher.algorithms.hash.HashMethod;
+import nkher.algorithms.hash.Murmur3;
+
+/***
+ * A Count-Min sketch for estimating the frequencies of the elements of a stream in sub linear space. The sketch
+ * is a table of (depth x width) counters, every row indexed by its own hash of the element. An estimate never
+ * under counts and, with probability (1 - delta), over counts by at most (epsilon * total count), where
+ * width = ceil(e / epsilon) and depth = ceil(ln(1 / delta)). </br>
+ *
+ * By default the sketch uses conservative update : an add only raises the counters of the element up to its
+ * new estimate instead of incrementing all of them, which keeps the same guarantee while cutting the over
+ * counting considerably for skewed streams. Conservative update does not support removals, hence the counts
+ * added must be positive. </br>
+ *
+ * Sketches with the same dimensions and hash method can be merged by adding up their counters, which lets
+ * separate nodes sketch their part of a stream and aggregate them later. The row indexes are derived from a
+ * single 64 bit hash (h1 + i * h2) of the {@link HashMethod}, see {@link HashMethod#hashObject(Object, long)} for
+ * how elements are hashed. Elements that are hashed through their hashCode() must have a stable hashCode()
+ * across JVMs for merging sketches from different nodes. The data structure is not thread safe.
+ *
+ * @author nameshkher
+ *
+ * @param <E>
+ */
+public class CountMinSketch<E> {
+
+	private final int width;
+	private final int depth;
+	private final boolean conservativeUpdate;
+	private final HashMethod hashMethod;
+	private final long[] table; // row major, depth rows of width counters
+	private long size; // sum of all the counts added
+
+	/***
+	 * Creates a conservative update sketch using {@link Murmur3} for the given error bounds.
+	 *
+	 * @param epsilon relative error of the estimates with respect to the total count, in (0, 1)
+	 * @param delta probability of exceeding the error, in (0, 1)
+	 */
+	public CountMinSketch(double epsilon, double delta) {
+		this(epsilon, delta, new Murmur3());
+	}
+
+	public CountMinSketch(double epsilon, double delta, HashMethod hashMethod) {
+		this(widthFor(epsilon), depthFor(delta), hashMethod, true);
+	}
+
+	/***
+	 * Creates a sketch with explicit dimensions.
+	 *
+	 * @param width number of counters in a row
+	 * @param depth number of rows
+	 * @param hashMethod the hash strategy
+	 * @param conservativeUpdate true for conservative update, false for the plain Count-Min update
+	 */
+	public CountMinSketch(int width, int depth, HashMethod hashMethod, boolean conservativeUpdate) {
+		if (width <= 0 || depth <= 0) {
+			throw new IllegalArgumentException("Width and depth must be positive : " + width + " x " + depth);
+		}
+		if ((long) width * depth > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Sketch too large : " + width + " x " + depth);
+		}
+		if (null == hashMethod) {
+			throw new IllegalArgumentException("Hash method cannot be null.");
+		}
+		this.width = width;
+		this.depth = depth;
+		this.hashMethod = hashMethod;
+		this.conservativeUpdate = conservativeUpdate;
+		table = new long[width * depth];
+	}
+
+	/***
+	 * Constructor that creates a deep copy of an existing sketch.
+	 */
+	public CountMinSketch(CountMinSketch<E> other) {
+		width = other.width;
+		depth = other.depth;
+		hashMethod = other.hashMethod;
+		conservativeUpdate = other.conservativeUpdate;
+		table = other.table.clone();
+		size = other.size;
+	}
+
+	private static int widthFor(double epsilon) {
+		if (epsilon <= 0 || epsilon >= 1) {
+			throw new IllegalArgumentException("Epsilon must be in (0, 1) : " + epsilon);
+		}
+		return (int) Math.ceil(Math.E / epsilon);
+	}
+
+	private static int depthFor(double delta) {
+		if (delta <= 0 || delta >= 1) {
+			throw new IllegalArgumentException("Delta must be in (0, 1) : " + delta);
+		}
+		return (int) Math.ceil(Math.log(1 / delta));
+	}
+
+	public void add(E element) {
+		add(element, 1);
+	}
+
+	public void add(E element, long count) {
+		addHash(hashMethod.hashObject(element, 0), count);
+	}
+
+	public void addBytes(byte[] data, long count) {
+		addHash(hashMethod.hash64(data, 0), count);
+	}
+
+	private void addHash(long hash, long count) {
+		if (count <= 0) {
+			throw new IllegalArgumentException("Count must be positive : " + count);
+		}
+		int h1 = (int) hash, h2 = (int) (hash >>> 32);
+		if (conservativeUpdate) {
+			long updated = estimateHash(h1, h2) + count;
+			for (int i=0; i<depth; i++) {
+				int index = index(i, h1, h2);
+				if (table[index] < updated) {
+					table[index] = updated;
+				}
+			}
+		}
+		else {
+			for (int i=0; i<depth; i++) {
+				table[index(i, h1, h2)] += count;
+			}
+		}
+		size += count;
+	}
+
+	/***
+	 * Returns the estimated count of the element, which is never less than its actual count.
+	 */
+	public long estimate(E element) {
+		long hash = hashMethod.hashObject(element, 0);
+		return estimateHash((int) hash, (int) (hash >>> 32));
+	}
+
+	public long estimateBytes(byte[] data) {
+		long hash = hashMethod.hash64(data, 0);
+		return estimateHash((int) hash, (int) (hash >>> 32));
+	}
+
+	private long estimateHash(int h1, int h2) {
+		long min = Long.MAX_VALUE;
+		for (int i=0; i<depth; i++) {
+			min = Math.min(min, table[index(i, h1, h2)]);
+		}
+		return min;
+	}
+
+	/***
+	 * Returns the position of the counter of row i in the table, the column being (h1 + i * h2) mod width.
+	 */
+	private int index(int i, int h1, int h2) {
+		int combined = h1 + i * h2;
+		return i * width + (combined & Integer.MAX_VALUE) % width;
+	}
+
+	/***
+	 * Merges the counts of another sketch into this one. Both sketches must have the same dimensions, update
+	 * mode and hash method. The merged sketch gives the same guarantees as a sketch of both streams.
+	 *
+	 * @param other the sketch to be merged into this one
+	 */
+	public void merge(CountMinSketch<E> other) {
+		if (width != other.width || depth != other.depth || conservativeUpdate != other.conservativeUpdate
+				|| !sameHashMethod(other.hashMethod)) {
+			throw new IllegalArgumentException("Cannot merge sketches with different dimensions or hash methods.");
+		}
+		for (int i=0; i<table.length; i++) {
+			table[i] += other.table[i];
+		}
+		size += other.size;
+	}
+
+	private boolean sameHashMethod(HashMethod other) {
+		return hashMethod.getClass() == other.getClass();
+	}
+
+	/***
+	 * Returns the sum of all the counts added to the sketch.
+	 */
+	public long size() {
+		return size;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getDepth() {
+		return depth;
+	}
+
+	public boolean isConservativeUpdate() {
+		return conservativeUpdate;
+	}
+
+	public HashMethod getHashMethod() {
+		return hashMethod;
+	}
+
+	/***
+	 * Returns the relative error epsilon of the estimates, e / width.
+	 */
+	public double getRelativeError() {
+		return Math.E / width;
+	}
+
+	public void clear() {
+		Arrays.fill(table, 0L);
+		size = 0;
+	}
+}
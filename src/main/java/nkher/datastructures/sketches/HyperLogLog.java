@@ -0,0 +1,311 @@
+package nkher.datastructures.sketches;
+
+import java.util.Arrays;
+
+import nkher.algorithms.hash.HashMethod;
+import nkher.algorithms.hash.Murmur3;
+
+/***
+ * A HyperLogLog cardinality estimator with the improvements of HyperLogLog++ (Heule, Nunkesser and Hall,
+ * "HyperLogLog in Practice"). The first p bits of the 64 bit hash of an element pick one of m = 2^p registers
+ * and the register keeps the highest position of the first 1 bit seen in the remaining bits. The standard
+ * error of the estimate is about 1.04 / sqrt(m). </br>
+ *
+ * As long as only a few registers would be used, the sketch stays in a sparse mode that keeps a sorted list of
+ * (index, rank) pairs computed at the higher precision of 25 bits. New entries are collected in a small buffer
+ * that is sorted and merged into the list when it fills up. The sketch switches to the dense registers once the
+ * list takes more memory than them. In the sparse mode the estimate is a linear count over 2^25 registers, which
+ * is close to exact for the small cardinalities the list can hold. </br>
+ *
+ * The dense registers are 6 bits wide and packed ten per long word, the same long words a
+ * {@link nkher.datastructures.lists.BitMap} uses. Dense estimates use the raw HyperLogLog estimate with linear
+ * counting for the small range; the empirical bias correction tables of HyperLogLog++ are not included. Since
+ * the hash has 64 bits no large range correction is needed. </br>
+ *
+ * Sketches with the same precision and hash method can be merged, the merged sketch being the sketch of the
+ * union of both streams. The data structure is not thread safe.
+ *
+ * @author nameshkher
+ *
+ */
+public class HyperLogLog {
+
+	public static final int MIN_PRECISION = 4;
+	public static final int MAX_PRECISION = 18;
+	private static final int DEFAULT_PRECISION = 14;
+
+	private static final int SPARSE_PRECISION = 25;
+	private static final int RANK_BITS = 6; // ranks are at most 64 - p + 1, hence fit in 6 bits
+	private static final int RANK_MASK = (1 << RANK_BITS) - 1;
+	private static final int REGISTERS_PER_WORD = 10;
+	private static final int MAX_BUFFER_SIZE = 256;
+
+	private final int precision;
+	private final int m; // number of dense registers
+	private final HashMethod hashMethod;
+	private final int sparseLimit; // number of sparse entries that take the memory of the dense registers
+
+	private long[] registers; // null while the sketch is sparse
+	private int[] sparse; // sorted entries of (index << RANK_BITS | rank) at the sparse precision
+	private int sparseSize;
+	private int[] buffer; // unsorted entries not yet merged into the sparse list
+	private int bufferSize;
+
+	public HyperLogLog() {
+		this(DEFAULT_PRECISION);
+	}
+
+	public HyperLogLog(int precision) {
+		this(precision, new Murmur3());
+	}
+
+	/***
+	 * Creates an empty sketch.
+	 *
+	 * @param precision number of index bits p, between {@link #MIN_PRECISION} and {@link #MAX_PRECISION}
+	 * @param hashMethod the hash strategy
+	 */
+	public HyperLogLog(int precision, HashMethod hashMethod) {
+		if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+			throw new IllegalArgumentException("Precision must be between " + MIN_PRECISION + " and " + MAX_PRECISION + " : " + precision);
+		}
+		if (null == hashMethod) {
+			throw new IllegalArgumentException("Hash method cannot be null.");
+		}
+		this.precision = precision;
+		this.hashMethod = hashMethod;
+		m = 1 << precision;
+		sparseLimit = numberOfWords() * 2; // two int entries per long word
+		sparse = new int[0];
+		buffer = new int[Math.min(sparseLimit, MAX_BUFFER_SIZE)];
+	}
+
+	/***
+	 * Constructor that creates a deep copy of an existing sketch.
+	 */
+	public HyperLogLog(HyperLogLog other) {
+		precision = other.precision;
+		hashMethod = other.hashMethod;
+		m = other.m;
+		sparseLimit = other.sparseLimit;
+		registers = (null == other.registers) ? null : other.registers.clone();
+		sparse = (null == other.sparse) ? null : other.sparse.clone();
+		sparseSize = other.sparseSize;
+		buffer = (null == other.buffer) ? null : other.buffer.clone();
+		bufferSize = other.bufferSize;
+	}
+
+	private int numberOfWords() {
+		return (m + REGISTERS_PER_WORD - 1) / REGISTERS_PER_WORD;
+	}
+
+	public void add(Object element) {
+		addHash(hashMethod.hashObject(element, 0));
+	}
+
+	public void addBytes(byte[] data) {
+		addHash(hashMethod.hash64(data, 0));
+	}
+
+	/***
+	 * Adds an already hashed element. The hash must be a well mixed 64 bit hash.
+	 *
+	 * @param hash 64 bit hash of the element
+	 */
+	public void addHash(long hash) {
+		if (null != registers) {
+			int index = (int) (hash >>> (Long.SIZE - precision));
+			int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+			updateRegister(index, rank);
+		}
+		else {
+			int index = (int) (hash >>> (Long.SIZE - SPARSE_PRECISION));
+			int rank = Long.numberOfLeadingZeros((hash << SPARSE_PRECISION) | (1L << (SPARSE_PRECISION - 1))) + 1;
+			addSparseEntry(index << RANK_BITS | rank);
+		}
+	}
+
+	private void addSparseEntry(int entry) {
+		if (null != registers) {
+			updateRegisterFromSparse(entry);
+			return;
+		}
+		buffer[bufferSize++] = entry;
+		if (bufferSize == buffer.length) {
+			flushBuffer();
+			if (sparseSize > sparseLimit) {
+				toDense();
+			}
+		}
+	}
+
+	/***
+	 * Sorts the buffer and merges it into the sparse list, keeping the highest rank for every index.
+	 */
+	private void flushBuffer() {
+		if (bufferSize == 0) {
+			return;
+		}
+		Arrays.sort(buffer, 0, bufferSize);
+		int[] merged = new int[sparseSize + bufferSize];
+		int i = 0, j = 0, k = 0;
+		while (i < sparseSize || j < bufferSize) {
+			int entry;
+			if (j == bufferSize || (i < sparseSize && sparse[i] <= buffer[j])) {
+				entry = sparse[i++];
+			}
+			else {
+				entry = buffer[j++];
+			}
+			// entries of the same index are adjacent and in increasing order of rank, hence the last one wins
+			if (k > 0 && (merged[k-1] >>> RANK_BITS) == (entry >>> RANK_BITS)) {
+				merged[k-1] = entry;
+			}
+			else {
+				merged[k++] = entry;
+			}
+		}
+		sparse = (k == merged.length) ? merged : Arrays.copyOf(merged, k);
+		sparseSize = k;
+		bufferSize = 0;
+	}
+
+	private void toDense() {
+		flushBuffer();
+		registers = new long[numberOfWords()];
+		for (int i=0; i<sparseSize; i++) {
+			updateRegisterFromSparse(sparse[i]);
+		}
+		sparse = null;
+		sparseSize = 0;
+		buffer = null;
+	}
+
+	/***
+	 * Converts an entry at the sparse precision to its dense register. The extra (25 - p) index bits are the
+	 * leading bits the dense rank is computed over, so when they are not all zero they decide the rank.
+	 */
+	private void updateRegisterFromSparse(int entry) {
+		int sparseIndex = entry >>> RANK_BITS;
+		int extraBits = SPARSE_PRECISION - precision;
+		int index = sparseIndex >>> extraBits;
+		int extra = sparseIndex & ((1 << extraBits) - 1);
+		int rank;
+		if (extra != 0) {
+			rank = Integer.numberOfLeadingZeros(extra) - (Integer.SIZE - extraBits) + 1;
+		}
+		else {
+			rank = extraBits + (entry & RANK_MASK);
+		}
+		updateRegister(index, rank);
+	}
+
+	private void updateRegister(int index, int rank) {
+		if (rank > getRegister(index)) {
+			int word = index / REGISTERS_PER_WORD;
+			int shift = (index % REGISTERS_PER_WORD) * RANK_BITS;
+			registers[word] = (registers[word] & ~((long) RANK_MASK << shift)) | ((long) rank << shift);
+		}
+	}
+
+	private int getRegister(int index) {
+		int shift = (index % REGISTERS_PER_WORD) * RANK_BITS;
+		return (int) (registers[index / REGISTERS_PER_WORD] >>> shift) & RANK_MASK;
+	}
+
+	/***
+	 * Returns the estimated number of distinct elements added to the sketch.
+	 */
+	public long cardinality() {
+		if (null == registers) {
+			flushBuffer();
+			long sparseM = 1L << SPARSE_PRECISION;
+			return Math.round(linearCounting(sparseM, sparseM - sparseSize));
+		}
+		double sum = 0;
+		int zeros = 0;
+		for (int i=0; i<m; i++) {
+			int register = getRegister(i);
+			sum += 1.0 / (1L << register);
+			if (register == 0) {
+				zeros++;
+			}
+		}
+		double estimate = alpha() * m * m / sum;
+		if (estimate <= 2.5 * m && zeros > 0) {
+			estimate = linearCounting(m, zeros);
+		}
+		return Math.round(estimate);
+	}
+
+	private static double linearCounting(long m, long zeros) {
+		return m * Math.log((double) m / zeros);
+	}
+
+	private double alpha() {
+		switch (m) {
+		case 16:
+			return 0.673;
+		case 32:
+			return 0.697;
+		case 64:
+			return 0.709;
+		default:
+			return 0.7213 / (1 + 1.079 / m);
+		}
+	}
+
+	/***
+	 * Merges another sketch into this one, after which this sketch estimates the cardinality of the union of
+	 * both streams. Both sketches must have the same precision and hash method. The other sketch is not modified.
+	 *
+	 * @param other the sketch to be merged into this one
+	 */
+	public void merge(HyperLogLog other) {
+		if (precision != other.precision || hashMethod.getClass() != other.hashMethod.getClass()) {
+			throw new IllegalArgumentException("Cannot merge sketches with different precisions or hash methods.");
+		}
+		if (null == other.registers) {
+			for (int i=0; i<other.sparseSize; i++) {
+				addSparseEntry(other.sparse[i]);
+			}
+			for (int i=0; i<other.bufferSize; i++) {
+				addSparseEntry(other.buffer[i]);
+			}
+			return;
+		}
+		if (null == registers) {
+			toDense();
+		}
+		for (int i=0; i<m; i++) {
+			updateRegister(i, other.getRegister(i));
+		}
+	}
+
+	public boolean isSparse() {
+		return null == registers;
+	}
+
+	public int getPrecision() {
+		return precision;
+	}
+
+	public HashMethod getHashMethod() {
+		return hashMethod;
+	}
+
+	/***
+	 * Returns the standard error of the dense estimates, 1.04 / sqrt(m).
+	 */
+	public double getStandardError() {
+		return 1.04 / Math.sqrt(m);
+	}
+
+	public void clear() {
+		registers = null;
+		sparse = new int[0];
+		sparseSize = 0;
+		buffer = new int[Math.min(sparseLimit, MAX_BUFFER_SIZE)];
+		bufferSize = 0;
+	}
+}
@@ -0,0 +1,303 @@
+package nkher.datastructures.sketches;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+/***
+ * An implementation of the Space-Saving algorithm (Metwally, Agrawal and El Abbadi, "Efficient Computation of
+ * Frequent and Top-k Elements in Data Streams") for finding the heavy hitters of a stream with a fixed number
+ * of counters. An element that is already counted gets its counter incremented. A new element takes over the
+ * counter with the smallest count when all counters are in use, inheriting that count as its over estimation
+ * error. </br>
+ *
+ * With c counters every element whose frequency is above (size / c) is guaranteed to be counted, and a counted
+ * estimate exceeds the actual frequency by at most its error. The counters are kept in a min heap whose
+ * positions are tracked in the counters themselves, so that an increment is a sift down and the counter to be
+ * replaced is always at the root, much like the key index of {@link nkher.datastructures.heaps.MinHeap}. </br>
+ *
+ * Summaries can be merged (Agarwal et al., "Mergeable Summaries") : the counts of both summaries are added,
+ * an element missing from a full summary being charged that summary's minimum count, and the largest counters
+ * are kept. The data structure is not thread safe.
+ *
+ * @author nameshkher
+ *
+ * @param <E>
+ */
+public class SpaceSaving<E> {
+
+	/***
+	 * A monitored element with its estimated count and the maximum over estimation of that count.
+	 */
+	public static final class Counter<E> {
+		private E element;
+		private long count;
+		private long error;
+		private int index; // position in the heap
+
+		private Counter(E element, long count, long error) {
+			this.element = element;
+			this.count = count;
+			this.error = error;
+		}
+
+		public E getElement() {
+			return element;
+		}
+
+		public long getCount() {
+			return count;
+		}
+
+		public long getError() {
+			return error;
+		}
+
+		/***
+		 * Returns the count the element is guaranteed to have, count - error.
+		 */
+		public long getGuaranteedCount() {
+			return count - error;
+		}
+
+		@Override
+		public String toString() {
+			return "[" + element + "->" + count + ", error->" + error + "]";
+		}
+	}
+
+	private final int capacity;
+	private Counter<E>[] heap;
+	private int numberOfCounters;
+	private HashMap<E, Counter<E>> counters; // maps the elements to their counters
+	private long size; // sum of all the counts offered
+
+	/***
+	 * Creates a summary with the given number of counters.
+	 *
+	 * @param capacity number of counters, the top k elements can be asked for any k up to it
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public SpaceSaving(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive : " + capacity);
+		}
+		this.capacity = capacity;
+		heap = new Counter[capacity];
+		counters = new HashMap<>();
+	}
+
+	/***
+	 * Constructor that creates a deep copy of an existing summary.
+	 */
+	public SpaceSaving(SpaceSaving<E> other) {
+		this(other.capacity);
+		for (int i=0; i<other.numberOfCounters; i++) {
+			Counter<E> counter = other.heap[i];
+			Counter<E> copy = new Counter<>(counter.element, counter.count, counter.error);
+			copy.index = i;
+			heap[i] = copy;
+			counters.put(copy.element, copy);
+		}
+		numberOfCounters = other.numberOfCounters;
+		size = other.size;
+	}
+
+	public E offer(E element) {
+		return offer(element, 1);
+	}
+
+	/***
+	 * Adds count occurrences of the element to the summary.
+	 *
+	 * @param element the element, must not be null
+	 * @param count number of occurrences, must be positive
+	 * @return the element evicted to make room for this one, or null if none was evicted
+	 */
+	public E offer(E element, long count) {
+		if (null == element) {
+			throw new IllegalArgumentException("Element cannot be null.");
+		}
+		if (count <= 0) {
+			throw new IllegalArgumentException("Count must be positive : " + count);
+		}
+		size += count;
+		Counter<E> counter = counters.get(element);
+		if (null != counter) {
+			counter.count += count;
+			siftDown(counter.index);
+			return null;
+		}
+		if (numberOfCounters < capacity) {
+			counter = new Counter<>(element, count, 0);
+			counter.index = numberOfCounters;
+			heap[numberOfCounters++] = counter;
+			counters.put(element, counter);
+			siftUp(counter.index);
+			return null;
+		}
+		/** Replace the element with the smallest count, which is at the root */
+		counter = heap[0];
+		E evicted = counter.element;
+		counters.remove(evicted);
+		counter.element = element;
+		counter.error = counter.count;
+		counter.count += count;
+		counters.put(element, counter);
+		siftDown(0);
+		return evicted;
+	}
+
+	/***
+	 * Returns the estimated count of the element. For an element that is not counted this is an upper bound
+	 * of its count : the smallest count when all counters are in use and 0 otherwise.
+	 */
+	public long estimate(E element) {
+		Counter<E> counter = counters.get(element);
+		if (null != counter) {
+			return counter.count;
+		}
+		return minimumCount();
+	}
+
+	private long minimumCount() {
+		return (numberOfCounters == capacity) ? heap[0].count : 0;
+	}
+
+	public boolean isMonitored(E element) {
+		return counters.containsKey(element);
+	}
+
+	/***
+	 * Returns copies of the k counters with the largest counts, largest first.
+	 *
+	 * @param k number of counters, at most the capacity of the summary
+	 * @return list of at most k counters
+	 */
+	public List<Counter<E>> topK(int k) {
+		if (k < 0 || k > capacity) {
+			throw new IllegalArgumentException("k must be between 0 and the capacity " + capacity + " : " + k);
+		}
+		Counter<E>[] sorted = Arrays.copyOf(heap, numberOfCounters);
+		Arrays.sort(sorted, (a, b) -> Long.compare(b.count, a.count));
+		List<Counter<E>> result = new ArrayList<>();
+		for (int i=0; i<Math.min(k, sorted.length); i++) {
+			result.add(new Counter<>(sorted[i].element, sorted[i].count, sorted[i].error));
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	/***
+	 * Merges another summary into this one. The other summary is not modified and can have a different capacity,
+	 * the merged summary keeps the capacity of this one.
+	 *
+	 * @param other the summary to be merged into this one
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public void merge(SpaceSaving<E> other) {
+		long thisMin = minimumCount(), otherMin = other.minimumCount();
+		HashMap<E, Counter<E>> merged = new HashMap<>();
+		for (int i=0; i<numberOfCounters; i++) {
+			Counter<E> counter = heap[i];
+			Counter<E> otherCounter = other.counters.get(counter.element);
+			if (null == otherCounter) {
+				merged.put(counter.element, new Counter<>(counter.element, counter.count + otherMin, counter.error + otherMin));
+			}
+			else {
+				merged.put(counter.element, new Counter<>(counter.element, counter.count + otherCounter.count, counter.error + otherCounter.error));
+			}
+		}
+		for (int i=0; i<other.numberOfCounters; i++) {
+			Counter<E> otherCounter = other.heap[i];
+			if (!counters.containsKey(otherCounter.element)) {
+				merged.put(otherCounter.element, new Counter<>(otherCounter.element, otherCounter.count + thisMin, otherCounter.error + thisMin));
+			}
+		}
+
+		/** Keep the largest counters and rebuild the heap */
+		Counter<E>[] all = merged.values().toArray(new Counter[merged.size()]);
+		Arrays.sort(all, (a, b) -> Long.compare(b.count, a.count));
+		heap = new Counter[capacity];
+		counters = new HashMap<>();
+		numberOfCounters = Math.min(capacity, all.length);
+		for (int i=0; i<numberOfCounters; i++) {
+			// sorted in decreasing order, reversed it is a valid min heap
+			Counter<E> counter = all[numberOfCounters - 1 - i];
+			counter.index = i;
+			heap[i] = counter;
+			counters.put(counter.element, counter);
+		}
+		size += other.size;
+	}
+
+	private void siftUp(int ind) {
+		while (ind != 0 && heap[ind].count < heap[parent(ind)].count) {
+			swap(ind, parent(ind));
+			ind = parent(ind);
+		}
+	}
+
+	private void siftDown(int ind) {
+		while (true) {
+			int smallest = ind, left = left(ind), right = right(ind);
+			if (left < numberOfCounters && heap[left].count < heap[smallest].count) {
+				smallest = left;
+			}
+			if (right < numberOfCounters && heap[right].count < heap[smallest].count) {
+				smallest = right;
+			}
+			if (smallest == ind) {
+				return;
+			}
+			swap(ind, smallest);
+			ind = smallest;
+		}
+	}
+
+	private void swap(int i, int j) {
+		Counter<E> temp = heap[i];
+		heap[i] = heap[j];
+		heap[j] = temp;
+		heap[i].index = i;
+		heap[j].index = j;
+	}
+
+	private int parent(int ind) {
+		return (ind-1)/2;
+	}
+
+	private int left(int ind) {
+		return (2*ind + 1);
+	}
+
+	private int right(int ind) {
+		return (2*ind + 2);
+	}
+
+	/***
+	 * Returns the sum of all the counts offered to the summary.
+	 */
+	public long size() {
+		return size;
+	}
+
+	public int capacity() {
+		return capacity;
+	}
+
+	/***
+	 * Returns the number of counters in use.
+	 */
+	public int numberOfCounters() {
+		return numberOfCounters;
+	}
+
+	public void clear() {
+		Arrays.fill(heap, null);
+		counters.clear();
+		numberOfCounters = 0;
+		size = 0;
+	}
+}
@@ -0,0 +1,109 @@
+package nkher.datastructures.stacks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/***
+ * A {@link TreiberStack} that backs off into an elimination array when its top is contended, after Hendler, Shavit
+ * and Yerushalmi ("A Scalable Lock-free Stack Algorithm"). A push followed right away by a pop leaves the stack as
+ * it was, so a push and a pop that meet can hand the element over between themselves and skip the top entirely. </br>
+ *
+ * A thread whose compare and set on the top fails goes to a random slot of the elimination array instead of
+ * retrying at once. A pusher leaves its node in a free slot and waits a short while for a popper to take it,
+ * withdrawing it if none comes. A popper takes whatever node it finds in its slot. Either way the thread returns
+ * to the top afterwards if no exchange happened, so the visit doubles as the backoff. The more threads contend, the
+ * more of them meet in the array, hence the stack keeps scaling where the plain Treiber stack serializes on its
+ * top. Without contention it behaves exactly like the plain Treiber stack.
+ *
+ * @author nameshkher
+ *
+ * @param <T>
+ */
+public class EliminationBackoffStack<T> extends TreiberStack<T> {
+
+	private static final int DEFAULT_SPINS = 64;
+
+	private final AtomicReferenceArray<Node<T>> slots;
+	private final int spins;
+
+	public EliminationBackoffStack() {
+		this(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), DEFAULT_SPINS);
+	}
+
+	/***
+	 * Creates an empty stack.
+	 *
+	 * @param width number of slots of the elimination array, about half the number of contending threads
+	 * @param spins number of times a pusher checks its slot before withdrawing its node
+	 */
+	public EliminationBackoffStack(int width, int spins) {
+		if (width < 1) {
+			throw new IllegalArgumentException("Elimination array width must be at least 1 : " + width);
+		}
+		if (spins < 1) {
+			throw new IllegalArgumentException("Spins must be at least 1 : " + spins);
+		}
+		this.slots = new AtomicReferenceArray<>(width);
+		this.spins = spins;
+	}
+
+	private int randomSlot() {
+		return ThreadLocalRandom.current().nextInt(slots.length());
+	}
+
+	/***
+	 * Offers the node to a popper through a random slot.
+	 *
+	 * @return true if a popper took the node
+	 */
+	private boolean eliminatePush(Node<T> node) {
+		int slot = randomSlot();
+		if (!slots.compareAndSet(slot, null, node)) {
+			return false; // another pusher is waiting there
+		}
+		for (int i=0; i<spins; i++) {
+			if (slots.get(slot) != node) {
+				return true;
+			}
+			if ((i & 15) == 15) {
+				Thread.yield();
+			}
+		}
+		/** a popper may take the node until the very moment it is withdrawn */
+		return !slots.compareAndSet(slot, node, null);
+	}
+
+	/***
+	 * Takes the node of a pusher waiting in a random slot.
+	 *
+	 * @return the element of the pusher, or null if no pusher was waiting there
+	 */
+	private T eliminatePop() {
+		int slot = randomSlot();
+		Node<T> node = slots.get(slot);
+		return (null != node && slots.compareAndSet(slot, node, null)) ? node.item : null;
+	}
+
+	@Override
+	public void push(T element) {
+		Node<T> node = newNode(element);
+		while (!tryPush(node) && !eliminatePush(node));
+	}
+
+	@Override
+	public T poll() {
+		while (true) {
+			Node<T> oldTop = top();
+			if (null == oldTop) {
+				return null;
+			}
+			if (tryPop(oldTop)) {
+				return oldTop.item;
+			}
+			T element = eliminatePop();
+			if (null != element) {
+				return element;
+			}
+		}
+	}
+}
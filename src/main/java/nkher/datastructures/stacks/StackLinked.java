@@ -97,42 +97,35 @@ public class StackLinked<T extends Comparable<T>> implements MyStack<T> {
 	}
 	
 	/***
-	 * A recursive O(N^2) algorithm to reverse the stack in-place in ascending order.
+	 * Reverses the stack in-place in O(N) by swapping the above and below pointers of every node, the bottom
+	 * becomes the top and the other way round. No node is allocated and no recursion is involved, so it works for
+	 * stacks of any size.
 	 */
 	public void reverse() {
 		if (isEmpty()) {
 			throw new DataStructureEmptyException("Cannot Sort and empty stack !");
 		}
-		reverseUtil();
-	}
-	
-	/***
-	 * Utility function to reverse the stack.
-	 */
-	private void reverseUtil() {
-		if (!isEmpty()) {
-			T element = pop();
-			reverseUtil();
-			reverseInsertUtil(element);
+		Node<T> node = bottom;
+		while (node != null) {
+			Node<T> above = node.above;
+			node.above = node.below;
+			node.below = above;
+			node = above;
 		}
+		Node<T> temp = top;
+		top = bottom;
+		bottom = temp;
 	}
 	
 	/***
-	 * Utility function 2 to reverse the stack.
-	 */
-	private void reverseInsertUtil(T element) {
-		if (isEmpty()) {
-			push(element);
-		}
-		else {
-			T x = pop();
-			reverseInsertUtil(element);
-			push(x);
-		}
-	}
-	
-	/***
-	 * A recursive O(N^2) algorithm to sort the stack in ascending order.
+	 * Sorts the stack in-place with an iterative O(N logN) merge sort on the nodes, so that the elements go in the
+	 * sort order from the bottom to the top : in ascending order the largest element ends at the top. The sort is
+	 * stable, elements that compare equal keep their order. </br>
+	 * 
+	 * The nodes are taken from the bottom one at a time and merged bottom up, the way a binary counter is
+	 * incremented : pending[i] holds a sorted run of 2^i nodes, and a new run is merged with pending[i] for as
+	 * long as that one is taken. This needs no recursion and only O(logN) extra space for the pending runs. Only
+	 * the above pointers are used while sorting, the below pointers are rebuilt in a final pass.
 	 * 
 	 * @param sortOrder - a {@code int} type variable, 1 for descending and 0 for ascending order
 	 */
@@ -140,33 +133,76 @@ public class StackLinked<T extends Comparable<T>> implements MyStack<T> {
 		if (isEmpty()) {
 			throw new DataStructureEmptyException("Cannot Sort and empty stack !");
 		}
-		sortUtil(sortOrder);
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		Node<T>[] pending = (Node<T>[]) new Node[Integer.SIZE];
+		Node<T> node = bottom;
+		while (node != null) {
+			Node<T> run = node;
+			node = node.above;
+			run.above = null;
+			int i = 0;
+			for (; pending[i] != null; i++) {
+				run = merge(pending[i], run, sortOrder);
+				pending[i] = null;
+			}
+			pending[i] = run;
+		}
+		Node<T> sorted = null;
+		for (Node<T> run : pending) {
+			if (run != null) {
+				sorted = (sorted == null) ? run : merge(run, sorted, sortOrder);
+			}
+		}
+		
+		/* Rebuilding the below pointers from the bottom to the top */
+		bottom = sorted;
+		bottom.below = null;
+		for (node = bottom; node.above != null; node = node.above) {
+			node.above.below = node;
+		}
+		top = node;
 	}
 	
 	/***
-	 * Utility function to sort the stack.
+	 * Merges two runs sorted in the sort order and linked through their above pointers. The nodes of first were
+	 * below the nodes of second in the stack and stay below them when the elements are equal.
+	 * 
+	 * @return the lowest node of the merged run
 	 */
-	private void sortUtil(int sortOrder) {
-		if (!isEmpty()) {
-			T element = pop();			
-			sortUtil(sortOrder);
-			sortInsertUtil(element, sortOrder);
+	private Node<T> merge(Node<T> first, Node<T> second, int sortOrder) {
+		Node<T> head = null, tail = null;
+		while (first != null && second != null) {
+			Node<T> next;
+			if (outOfOrder(first.data, second.data, sortOrder)) {
+				next = second;
+				second = second.above;
+			}
+			else {
+				next = first;
+				first = first.above;
+			}
+			if (tail == null) {
+				head = next;
+			}
+			else {
+				tail.above = next;
+			}
+			tail = next;
+		}
+		Node<T> rest = (first != null) ? first : second;
+		if (tail == null) {
+			return rest;
 		}
+		tail.above = rest;
+		return head;
 	}
 	
 	/***
-	 * Utility function to sort the stack.
+	 * Returns true if the element a has to be placed above the element b in the given sort order.
 	 */
-	private void sortInsertUtil(T element, int sortOrder) { 
-		
-		if (isEmpty() || (sortOrder == Sorting.ORDER_ASC && (peek().compareTo(element) < 0)) || (sortOrder == Sorting.ORDER_DESC && (peek().compareTo(element) > 0))) {
-			push(element);
-		}			
-		else {
-			T x = pop();
-			sortInsertUtil(element, sortOrder);
-			push(x);
-		}
+	private static <T extends Comparable<T>> boolean outOfOrder(T a, T b, int sortOrder) {
+		int cmp = a.compareTo(b);
+		return (sortOrder == Sorting.ORDER_ASC) ? cmp > 0 : cmp < 0;
 	}
 	
 	/***
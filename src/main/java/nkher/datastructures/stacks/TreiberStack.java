@@ -0,0 +1,220 @@
+package nkher.datastructures.stacks;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import nkher.api.MyStack;
+import nkher.datastructures.lists.DynamicArray;
+import nkher.exception.DataStructureEmptyException;
+
+/***
+ * A lock free stack after Treiber ("Systems Programming: Coping with Parallelism"), the thread safe counterpart of
+ * {@link StackLinked}. The stack is a singly linked list of immutable nodes and a top pointer : push links its node
+ * above the current top and installs it with a compare and set, pop installs the node below the top the same way.
+ * A thread whose compare and set fails simply retries with the new top. As nodes are never reused, the top cannot
+ * go from A to B and back to the same A while a thread is looking at it, the ABA problem is left to the garbage
+ * collector. </br>
+ *
+ * Unlike StackLinked the elements need not be Comparable. Every operation goes through the single top pointer,
+ * which limits how far the stack scales under contention, see {@link EliminationBackoffStack} for a stack that
+ * spreads the contention out. The iterator is weakly consistent and goes from the top to the bottom of the stack as
+ * it was when the iterator was created. Only the top of the stack can be removed. Null elements are not allowed.
+ *
+ * @author nameshkher
+ *
+ * @param <T>
+ */
+public class TreiberStack<T> implements MyStack<T>, Iterable<T> {
+
+	static final class Node<T> {
+		final T item;
+		Node<T> below; // written before the node is published and never after
+
+		Node(T item) {
+			this.item = item;
+		}
+	}
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<TreiberStack, Node> TOP =
+			AtomicReferenceFieldUpdater.newUpdater(TreiberStack.class, Node.class, "top");
+
+	private volatile Node<T> top;
+
+	public TreiberStack() {}
+
+	/***
+	 * Makes a single attempt at pushing the node.
+	 *
+	 * @return true if the node is the new top, false if another thread changed the top first
+	 */
+	boolean tryPush(Node<T> node) {
+		Node<T> oldTop = top;
+		node.below = oldTop;
+		return TOP.compareAndSet(this, oldTop, node);
+	}
+
+	/***
+	 * Makes a single attempt at popping oldTop, the top node read by the caller.
+	 *
+	 * @return true if oldTop was popped, false if another thread changed the top first
+	 */
+	boolean tryPop(Node<T> oldTop) {
+		return TOP.compareAndSet(this, oldTop, oldTop.below);
+	}
+
+	Node<T> top() {
+		return top;
+	}
+
+	static <T> Node<T> newNode(T element) {
+		if (null == element) {
+			throw new IllegalArgumentException("Stack does not accept null elements.");
+		}
+		return new Node<>(element);
+	}
+
+	public void push(T element) {
+		Node<T> node = newNode(element);
+		while (!tryPush(node));
+	}
+
+	/***
+	 * Removes and returns the element at the top of the stack.
+	 *
+	 * @throws DataStructureEmptyException if the stack is empty
+	 */
+	@Override
+	public T pop() {
+		T element = poll();
+		if (null == element) {
+			throw new DataStructureEmptyException("Stack is currently empty !! Cannot pop from empty stack.");
+		}
+		return element;
+	}
+
+	/***
+	 * Removes and returns the element at the top of the stack, or null if the stack is empty.
+	 */
+	public T poll() {
+		while (true) {
+			Node<T> oldTop = top;
+			if (null == oldTop) {
+				return null;
+			}
+			if (tryPop(oldTop)) {
+				return oldTop.item;
+			}
+		}
+	}
+
+	@Override
+	public T peek() {
+		Node<T> node = top;
+		if (null == node) {
+			throw new DataStructureEmptyException("Stack is currently empty !! Cannot peek from empty stack.");
+		}
+		return node.item;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return top == null;
+	}
+
+	/***
+	 * Returns the number of elements by walking the stack, in O(n).
+	 */
+	@Override
+	public int size() {
+		int count = 0;
+		for (Node<T> node = top; node != null; node = node.below) {
+			count++;
+		}
+		return count;
+	}
+
+	/***
+	 * Removes all the elements at once by swapping the top for null.
+	 */
+	@Override
+	public void clear() {
+		TOP.set(this, null);
+	}
+
+	/***
+	 * Returns the elements from the top to the bottom of the stack.
+	 */
+	@Override
+	public Object[] toArray() {
+		DynamicArray<Object> elements = new DynamicArray<>();
+		for (Node<T> node = top; node != null; node = node.below) {
+			elements.insert(node.item);
+		}
+		return elements.toArray();
+	}
+
+	@Override
+	public boolean contains(T element) {
+		if (null == element) {
+			return false;
+		}
+		for (Node<T> node = top; node != null; node = node.below) {
+			if (element.equals(node.item)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean add(T element) {
+		push(element);
+		return true;
+	}
+
+	/***
+	 * A lock free stack only removes at its top, use {@link #pop()} or {@link #poll()}. Removing an arbitrary
+	 * element is not supported, hence this always returns false and leaves the stack unchanged.
+	 */
+	@Override
+	public boolean remove(T element) {
+		return false;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+
+			Node<T> next = top;
+
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			public T next() {
+				if (null == next) {
+					throw new NoSuchElementException();
+				}
+				T item = next.item;
+				next = next.below;
+				return item;
+			}
+		};
+	}
+
+	public String toString() {
+		Node<T> node = top;
+		if (null == node) {
+			return "[ ]";
+		}
+		StringBuilder sb = new StringBuilder();
+		sb.append("[ ").append(node.item);
+		for (node = node.below; node != null; node = node.below) {
+			sb.append(", ").append(node.item);
+		}
+		sb.append(" ]");
+		return sb.toString();
+	}
+}
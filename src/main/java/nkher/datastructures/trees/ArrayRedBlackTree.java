@@ -0,0 +1,726 @@
+package nkher.datastructures.trees;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import nkher.api.MyTree;
+import nkher.datastructures.lists.DynamicArray;
+import nkher.datastructures.lists.IntDynamicArray;
+import nkher.exception.DataStructureEmptyException;
+
+/***
+ * A red black tree laid out as a struct of arrays. Instead of one object per node, a node is an index into parallel
+ * arrays holding the keys, the values, the left, right and parent indexes and the colors. Index 0 is the black nil
+ * sentinel of Cormen et al., so the insert and delete fixups read exactly like the textbook ones. Removed slots are
+ * chained on a free list through the left array and are reused by the next inserts. </br>
+ *
+ * A tree of n entries is 7 arrays whatever n is, where the linked {@link RedBlackTree} is n node objects of about
+ * 40 bytes each. The garbage collector has to trace the two reference arrays only, the links and colors being
+ * primitives it skips, and a walk down the tree reads ints from arrays instead of chasing object pointers. </br>
+ *
+ * Inserting a key that is already in the tree replaces its value. Besides the {@link MyTree} operations the tree
+ * supports floor, ceiling, lower and higher searches, range searches and iterating over the keys in order. The data
+ * structure is not thread safe.
+ *
+ * @author nameshkher
+ *
+ * @param <K>
+ * @param <V>
+ */
+public class ArrayRedBlackTree<K extends Comparable<K>, V> implements MyTree<K, V>, Iterable<K> {
+
+	private static final int NIL = 0;
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private Object[] keys, values;
+	private int[] left, right, parent;
+	private boolean[] red;
+	private int root = NIL;
+	private int size;
+	private int used; // highest slot handed out so far, slots above it have never been used
+	private int free = NIL; // head of the free list of removed slots, chained through left[]
+	private int modCount; // number of structural modifications, for failing fast in the iterator
+
+	public ArrayRedBlackTree() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/***
+	 * Creates an empty tree with room for capacity entries before the arrays grow.
+	 */
+	public ArrayRedBlackTree(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Capacity cannot be negative : " + capacity);
+		}
+		int length = capacity + 1; // slot 0 is the sentinel
+		keys = new Object[length];
+		values = new Object[length];
+		left = new int[length];
+		right = new int[length];
+		parent = new int[length];
+		red = new boolean[length];
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/***
+	 * Returns the number of entries the tree can hold before its arrays grow.
+	 */
+	public int capacity() {
+		return keys.length - 1;
+	}
+
+	@SuppressWarnings("unchecked")
+	private K key(int node) {
+		return (K) keys[node];
+	}
+
+	@SuppressWarnings("unchecked")
+	private V value(int node) {
+		return (V) values[node];
+	}
+
+	/***
+	 * Returns a slot for a new red leaf, from the free list if it is not empty.
+	 */
+	private int newNode(K key, V value, int p) {
+		int node;
+		if (free != NIL) {
+			node = free;
+			free = left[node];
+		}
+		else {
+			if (used + 1 == keys.length) {
+				grow();
+			}
+			node = ++used;
+		}
+		keys[node] = key;
+		values[node] = value;
+		left[node] = right[node] = NIL;
+		parent[node] = p;
+		red[node] = true;
+		return node;
+	}
+
+	private void recycle(int node) {
+		keys[node] = values[node] = null;
+		right[node] = parent[node] = NIL;
+		red[node] = false;
+		left[node] = free;
+		free = node;
+	}
+
+	private void grow() {
+		int length = keys.length + (keys.length >> 1) + 1;
+		keys = Arrays.copyOf(keys, length);
+		values = Arrays.copyOf(values, length);
+		left = Arrays.copyOf(left, length);
+		right = Arrays.copyOf(right, length);
+		parent = Arrays.copyOf(parent, length);
+		red = Arrays.copyOf(red, length);
+	}
+
+	private void checkKey(K key) {
+		if (null == key) {
+			throw new IllegalArgumentException("Key cannot be null.");
+		}
+	}
+
+	/***
+	 * Inserts the key with its value, replacing the value if the key is already in the tree.
+	 */
+	@Override
+	public void insert(K key, V value) {
+		checkKey(key);
+		int p = NIL, node = root, cmp = 0;
+		while (node != NIL) {
+			p = node;
+			cmp = key.compareTo(key(node));
+			if (cmp == 0) {
+				values[node] = value;
+				return;
+			}
+			node = (cmp < 0) ? left[node] : right[node];
+		}
+		node = newNode(key, value, p);
+		if (p == NIL) {
+			root = node;
+		}
+		else if (cmp < 0) {
+			left[p] = node;
+		}
+		else {
+			right[p] = node;
+		}
+		insertFixup(node);
+		size++;
+		modCount++;
+	}
+
+	private void insertFixup(int node) {
+		while (red[parent[node]]) {
+			int p = parent[node], g = parent[p];
+			if (p == left[g]) {
+				int uncle = right[g];
+				if (red[uncle]) {
+					red[p] = red[uncle] = false;
+					red[g] = true;
+					node = g;
+					continue;
+				}
+				if (node == right[p]) {
+					node = p;
+					rotateLeft(node);
+					p = parent[node];
+				}
+				red[p] = false;
+				red[g] = true;
+				rotateRight(g);
+			}
+			else {
+				int uncle = left[g];
+				if (red[uncle]) {
+					red[p] = red[uncle] = false;
+					red[g] = true;
+					node = g;
+					continue;
+				}
+				if (node == left[p]) {
+					node = p;
+					rotateRight(node);
+					p = parent[node];
+				}
+				red[p] = false;
+				red[g] = true;
+				rotateLeft(g);
+			}
+		}
+		red[root] = false;
+	}
+
+	@Override
+	public boolean remove(K key) {
+		int node = find(key);
+		if (node == NIL) {
+			return false;
+		}
+		int child, moved = node;
+		boolean movedRed = red[moved];
+		if (left[node] == NIL) {
+			child = right[node];
+			transplant(node, child);
+		}
+		else if (right[node] == NIL) {
+			child = left[node];
+			transplant(node, child);
+		}
+		else {
+			moved = min(right[node]);
+			movedRed = red[moved];
+			child = right[moved];
+			if (parent[moved] == node) {
+				parent[child] = moved; // child may be the sentinel, the fixup climbs from its parent
+			}
+			else {
+				transplant(moved, child);
+				right[moved] = right[node];
+				parent[right[moved]] = moved;
+			}
+			transplant(node, moved);
+			left[moved] = left[node];
+			parent[left[moved]] = moved;
+			red[moved] = red[node];
+		}
+		if (!movedRed) {
+			removeFixup(child);
+		}
+		parent[NIL] = NIL;
+		recycle(node);
+		size--;
+		modCount++;
+		return true;
+	}
+
+	private void removeFixup(int node) {
+		while (node != root && !red[node]) {
+			int p = parent[node];
+			if (node == left[p]) {
+				int sibling = right[p];
+				if (red[sibling]) {
+					red[sibling] = false;
+					red[p] = true;
+					rotateLeft(p);
+					sibling = right[p];
+				}
+				if (!red[left[sibling]] && !red[right[sibling]]) {
+					red[sibling] = true;
+					node = p;
+					continue;
+				}
+				if (!red[right[sibling]]) {
+					red[left[sibling]] = false;
+					red[sibling] = true;
+					rotateRight(sibling);
+					sibling = right[p];
+				}
+				red[sibling] = red[p];
+				red[p] = red[right[sibling]] = false;
+				rotateLeft(p);
+			}
+			else {
+				int sibling = left[p];
+				if (red[sibling]) {
+					red[sibling] = false;
+					red[p] = true;
+					rotateRight(p);
+					sibling = left[p];
+				}
+				if (!red[left[sibling]] && !red[right[sibling]]) {
+					red[sibling] = true;
+					node = p;
+					continue;
+				}
+				if (!red[left[sibling]]) {
+					red[right[sibling]] = false;
+					red[sibling] = true;
+					rotateLeft(sibling);
+					sibling = left[p];
+				}
+				red[sibling] = red[p];
+				red[p] = red[left[sibling]] = false;
+				rotateRight(p);
+			}
+			node = root;
+		}
+		red[node] = false;
+	}
+
+	/***
+	 * Replaces the subtree rooted at u by the one rooted at v in the parent of u.
+	 */
+	private void transplant(int u, int v) {
+		int p = parent[u];
+		if (p == NIL) {
+			root = v;
+		}
+		else if (u == left[p]) {
+			left[p] = v;
+		}
+		else {
+			right[p] = v;
+		}
+		parent[v] = p;
+	}
+
+	private void rotateLeft(int node) {
+		int pivot = right[node];
+		right[node] = left[pivot];
+		if (left[pivot] != NIL) {
+			parent[left[pivot]] = node;
+		}
+		transplant(node, pivot);
+		left[pivot] = node;
+		parent[node] = pivot;
+	}
+
+	private void rotateRight(int node) {
+		int pivot = left[node];
+		left[node] = right[pivot];
+		if (right[pivot] != NIL) {
+			parent[right[pivot]] = node;
+		}
+		transplant(node, pivot);
+		right[pivot] = node;
+		parent[node] = pivot;
+	}
+
+	private int min(int node) {
+		while (left[node] != NIL) {
+			node = left[node];
+		}
+		return node;
+	}
+
+	private int max(int node) {
+		while (right[node] != NIL) {
+			node = right[node];
+		}
+		return node;
+	}
+
+	private int successor(int node) {
+		if (right[node] != NIL) {
+			return min(right[node]);
+		}
+		int p = parent[node];
+		while (p != NIL && node == right[p]) {
+			node = p;
+			p = parent[p];
+		}
+		return p;
+	}
+
+	private int find(K key) {
+		checkKey(key);
+		int node = root;
+		while (node != NIL) {
+			int cmp = key.compareTo(key(node));
+			if (cmp == 0) {
+				return node;
+			}
+			node = (cmp < 0) ? left[node] : right[node];
+		}
+		return NIL;
+	}
+
+	/***
+	 * Returns the value of the key, or null if the key is not in the tree.
+	 */
+	public V get(K key) {
+		return value(find(key)); // the sentinel holds no value
+	}
+
+	public boolean containsKey(K key) {
+		return find(key) != NIL;
+	}
+
+	@Override
+	public K rootkey() {
+		if (isEmpty()) {
+			throw new DataStructureEmptyException("Tree is empty.");
+		}
+		return key(root);
+	}
+
+	public K firstKey() {
+		if (isEmpty()) {
+			throw new DataStructureEmptyException("Tree is empty.");
+		}
+		return key(min(root));
+	}
+
+	public K lastKey() {
+		if (isEmpty()) {
+			throw new DataStructureEmptyException("Tree is empty.");
+		}
+		return key(max(root));
+	}
+
+	/***
+	 * Returns the largest key smaller than or equal to the passed key, or null if there is none.
+	 */
+	public K floorKey(K key) {
+		return key(below(key, true));
+	}
+
+	/***
+	 * Returns the largest key strictly smaller than the passed key, or null if there is none.
+	 */
+	public K lowerKey(K key) {
+		return key(below(key, false));
+	}
+
+	/***
+	 * Returns the smallest key greater than or equal to the passed key, or null if there is none.
+	 */
+	public K ceilingKey(K key) {
+		return key(above(key, true));
+	}
+
+	/***
+	 * Returns the smallest key strictly greater than the passed key, or null if there is none.
+	 */
+	public K higherKey(K key) {
+		return key(above(key, false));
+	}
+
+	private int below(K key, boolean inclusive) {
+		checkKey(key);
+		int node = root, found = NIL;
+		while (node != NIL) {
+			int cmp = key.compareTo(key(node));
+			if (cmp > 0 || (inclusive && cmp == 0)) {
+				found = node;
+				if (cmp == 0) {
+					break;
+				}
+				node = right[node];
+			}
+			else {
+				node = left[node];
+			}
+		}
+		return found;
+	}
+
+	private int above(K key, boolean inclusive) {
+		checkKey(key);
+		int node = root, found = NIL;
+		while (node != NIL) {
+			int cmp = key.compareTo(key(node));
+			if (cmp < 0 || (inclusive && cmp == 0)) {
+				found = node;
+				if (cmp == 0) {
+					break;
+				}
+				node = left[node];
+			}
+			else {
+				node = right[node];
+			}
+		}
+		return found;
+	}
+
+	/***
+	 * Returns the keys between from and to, both inclusive, in increasing order.
+	 *
+	 * @param from - smallest key of the range
+	 * @param to - largest key of the range
+	 * @return - array of {@code DynamicArray<K>} type
+	 */
+	public DynamicArray<K> rangeSearch(K from, K to) {
+		checkKey(from);
+		checkKey(to);
+		if (from.compareTo(to) > 0) {
+			throw new IllegalArgumentException("Invalid range : " + from + " > " + to);
+		}
+		DynamicArray<K> dArray = new DynamicArray<>();
+		for (int node = above(from, true); node != NIL && key(node).compareTo(to) <= 0; node = successor(node)) {
+			dArray.insert(key(node));
+		}
+		return dArray;
+	}
+
+	/***
+	 * Returns all the keys in increasing order.
+	 *
+	 * @return - array of {@code DynamicArray<K>} type
+	 */
+	public DynamicArray<K> inorderkeys() {
+		DynamicArray<K> dArray = new DynamicArray<>(Math.max(size, 1));
+		if (isEmpty()) {
+			return dArray;
+		}
+		for (int node = min(root); node != NIL; node = successor(node)) {
+			dArray.insert(key(node));
+		}
+		return dArray;
+	}
+
+	/***
+	 * Returns the keys in preorder, walking the tree with an explicit stack of indexes.
+	 *
+	 * @return - array of {@code DynamicArray<K>} type
+	 */
+	public DynamicArray<K> preorderkeys() {
+		DynamicArray<K> dArray = new DynamicArray<>(Math.max(size, 1));
+		IntDynamicArray stack = new IntDynamicArray();
+		if (root != NIL) {
+			stack.insert(root);
+		}
+		while (!stack.isEmpty()) {
+			int node = stack.remove();
+			dArray.insert(key(node));
+			if (right[node] != NIL) {
+				stack.insert(right[node]);
+			}
+			if (left[node] != NIL) {
+				stack.insert(left[node]);
+			}
+		}
+		return dArray;
+	}
+
+	/***
+	 * Returns the keys in postorder, which is the reverse of a root, right, left walk.
+	 *
+	 * @return - array of {@code DynamicArray<K>} type
+	 */
+	public DynamicArray<K> postorderkeys() {
+		IntDynamicArray stack = new IntDynamicArray(), reversed = new IntDynamicArray(Math.max(size, 1));
+		if (root != NIL) {
+			stack.insert(root);
+		}
+		while (!stack.isEmpty()) {
+			int node = stack.remove();
+			reversed.insert(node);
+			if (left[node] != NIL) {
+				stack.insert(left[node]);
+			}
+			if (right[node] != NIL) {
+				stack.insert(right[node]);
+			}
+		}
+		DynamicArray<K> dArray = new DynamicArray<>(Math.max(size, 1));
+		while (!reversed.isEmpty()) {
+			dArray.insert(key(reversed.remove()));
+		}
+		return dArray;
+	}
+
+	/***
+	 * Returns the number of nodes on the longest path from the root to a leaf, 0 for an empty tree.
+	 */
+	public int height() {
+		return height(root);
+	}
+
+	private int height(int node) {
+		// a red black tree is at most 2 log(n) high, so the recursion stays shallow
+		return (node == NIL) ? 0 : 1 + Math.max(height(left[node]), height(right[node]));
+	}
+
+	/***
+	 * Removes all the entries, keeping the arrays for the next inserts.
+	 */
+	public void clear() {
+		Arrays.fill(keys, 0, used + 1, null);
+		Arrays.fill(values, 0, used + 1, null);
+		root = NIL;
+		free = NIL;
+		used = 0;
+		size = 0;
+		modCount++;
+	}
+
+	/***
+	 * Shrinks the arrays to the current size. The live entries are packed into the lowest slots first, so the free
+	 * list is empty afterwards.
+	 */
+	public void trimToSize() {
+		int length = size + 1;
+		if (length == keys.length) {
+			return;
+		}
+		Object[] newKeys = new Object[length], newValues = new Object[length];
+		int[] newLeft = new int[length], newRight = new int[length], newParent = new int[length];
+		boolean[] newRed = new boolean[length];
+		int[] slot = new int[used + 1]; // new slot of every old slot, 0 maps to the sentinel
+		int next = 0;
+		if (!isEmpty()) {
+			for (int node = min(root); node != NIL; node = successor(node)) {
+				slot[node] = ++next;
+			}
+			for (int node = min(root); node != NIL; node = successor(node)) {
+				int s = slot[node];
+				newKeys[s] = keys[node];
+				newValues[s] = values[node];
+				newLeft[s] = slot[left[node]];
+				newRight[s] = slot[right[node]];
+				newParent[s] = slot[parent[node]];
+				newRed[s] = red[node];
+			}
+		}
+		root = slot[root];
+		keys = newKeys;
+		values = newValues;
+		left = newLeft;
+		right = newRight;
+		parent = newParent;
+		red = newRed;
+		used = size;
+		free = NIL;
+		modCount++;
+	}
+
+	/***
+	 * Returns an iterator over the keys in increasing order.
+	 */
+	@Override
+	public Iterator<K> iterator() {
+		return new TreeIterator();
+	}
+
+	private class TreeIterator implements Iterator<K> {
+
+		int node = isEmpty() ? NIL : min(root);
+		int expectedModCount = modCount;
+
+		public boolean hasNext() {
+			return node != NIL;
+		}
+
+		public K next() {
+			if (expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			K key = key(node);
+			node = successor(node);
+			return key;
+		}
+	}
+
+	public String toString() {
+		if (isEmpty()) {
+			return "[ ]";
+		}
+		StringBuilder sb = new StringBuilder();
+		sb.append("[");
+		for (int node = min(root); node != NIL; node = successor(node)) {
+			if (sb.length() > 1) sb.append(", ");
+			sb.append(key(node) + "->" + value(node));
+		}
+		sb.append("]");
+		return sb.toString();
+	}
+
+	/***
+	 * Checks the red black properties and the parent links, for the tests.
+	 *
+	 * @return the black height of the tree
+	 * @throws IllegalStateException if a property does not hold
+	 */
+	int checkInvariants() {
+		if (red[root] || red[NIL]) {
+			throw new IllegalStateException("Root and sentinel must be black.");
+		}
+		if (parent[root] != NIL) {
+			throw new IllegalStateException("Root has a parent.");
+		}
+		int[] count = new int[1];
+		int blackHeight = checkInvariants(root, count);
+		if (count[0] != size) {
+			throw new IllegalStateException("Size is " + size + " but the tree has " + count[0] + " nodes.");
+		}
+		return blackHeight;
+	}
+
+	private int checkInvariants(int node, int[] count) {
+		if (node == NIL) {
+			return 1;
+		}
+		count[0]++;
+		for (int child : new int[] {left[node], right[node]}) {
+			if (child != NIL && parent[child] != node) {
+				throw new IllegalStateException("Broken parent link at " + key(child));
+			}
+			if (red[node] && red[child]) {
+				throw new IllegalStateException("Red node " + key(node) + " has a red child.");
+			}
+		}
+		if ((left[node] != NIL && key(left[node]).compareTo(key(node)) >= 0)
+				|| (right[node] != NIL && key(right[node]).compareTo(key(node)) <= 0)) {
+			throw new IllegalStateException("Keys out of order at " + key(node));
+		}
+		int leftHeight = checkInvariants(left[node], count), rightHeight = checkInvariants(right[node], count);
+		if (leftHeight != rightHeight) {
+			throw new IllegalStateException("Black heights differ at " + key(node));
+		}
+		return leftHeight + (red[node] ? 0 : 1);
+	}
+}
@@ -0,0 +1,758 @@
+package nkher.datastructures.trees;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import nkher.api.MyTree;
+import nkher.datastructures.lists.DynamicArray;
+import nkher.exception.DataStructureEmptyException;
+
+/***
+ * An ordered map backed by a B+ tree held in memory. Every node holds up to order keys in one array, the inner nodes
+ * route the searches and the leaves hold all the entries, linked to their neighbours in key order. A lookup reads
+ * log_order(n) nodes instead of the log2(n) nodes of a binary tree, and the keys it compares sit next to each other
+ * in memory, hence a search costs a few cache misses per level rather than one per comparison. A range search
+ * finds its first leaf and then follows the leaf links. </br>
+ *
+ * The order is the maximum number of entries of a leaf and of children of an inner node. Every node but the root
+ * is kept at least half full, splitting on insert and borrowing from or merging with a sibling on remove. An order
+ * of 32 to 128 fills one or a few cache lines with key references and keeps the tree 3 to 5 levels high for
+ * millions of keys. A tree can also be bulk loaded from sorted keys in O(n), see
+ * {@link #bulkLoad(int, Comparable[], Object[])}. </br>
+ *
+ * Inserting a key that is already in the tree replaces its value. Besides the {@link MyTree} operations the tree
+ * supports floor, ceiling, lower and higher searches, range searches and iterating over the keys in order. The data
+ * structure is not thread safe.
+ *
+ * @author nameshkher
+ *
+ * @param <K>
+ * @param <V>
+ */
+public class BPlusTree<K extends Comparable<K>, V> implements MyTree<K, V>, Iterable<K> {
+
+	public static final int DEFAULT_ORDER = 64;
+	static final int MIN_ORDER = 4, MAX_ORDER = 1024;
+
+	private final int order;
+	private Node root;
+	private Leaf first, last;
+	private int size;
+	private int height = 1;
+	private int modCount; // number of structural modifications, for failing fast in the iterator
+
+	/***
+	 * The keys of a node. An inner node with count keys has count + 1 children, the subtree of children[i] holding
+	 * the keys from keys[i - 1] inclusive to keys[i] exclusive. The arrays have one spare slot, so that a node can
+	 * overflow by one before it is split.
+	 */
+	private static abstract class Node {
+		final Object[] keys;
+		int count;
+
+		Node(int capacity) {
+			keys = new Object[capacity];
+		}
+	}
+
+	private static final class Inner extends Node {
+		final Node[] children;
+
+		Inner(int order) {
+			super(order);
+			children = new Node[order + 1];
+		}
+	}
+
+	private static final class Leaf extends Node {
+		final Object[] values;
+		Leaf prev, next;
+
+		Leaf(int order) {
+			super(order + 1);
+			values = new Object[order + 1];
+		}
+	}
+
+	public BPlusTree() {
+		this(DEFAULT_ORDER);
+	}
+
+	/***
+	 * Creates an empty tree.
+	 *
+	 * @param order - maximum number of entries of a leaf and of children of an inner node, from 4 to 1024
+	 */
+	public BPlusTree(int order) {
+		if (order < MIN_ORDER || order > MAX_ORDER) {
+			throw new IllegalArgumentException("Order must be between " + MIN_ORDER + " and " + MAX_ORDER + " : " + order);
+		}
+		this.order = order;
+		clear();
+	}
+
+	/***
+	 * Builds a tree from keys sorted in strictly increasing order, filling the nodes level by level from the leaves
+	 * up in O(n) instead of the O(n log n) of inserting the keys one by one. The entries are spread evenly over the
+	 * fewest nodes that can hold them, so the nodes are nearly full. </br>
+	 *
+	 * @param order - order of the tree
+	 * @param keys - keys in strictly increasing order
+	 * @param values - value of every key, or null for null values
+	 * @return - tree of {@code BPlusTree<K, V>} type
+	 * @throws IllegalArgumentException if a key is null or the keys are not strictly increasing
+	 */
+	public static <K extends Comparable<K>, V> BPlusTree<K, V> bulkLoad(int order, K[] keys, V[] values) {
+		if (null != values && values.length != keys.length) {
+			throw new IllegalArgumentException("Got " + keys.length + " keys but " + values.length + " values.");
+		}
+		BPlusTree<K, V> tree = new BPlusTree<>(order);
+		int n = keys.length;
+		if (n == 0) {
+			return tree;
+		}
+		for (int i=0; i<n; i++) {
+			tree.checkKey(keys[i]);
+			if (i > 0 && keys[i - 1].compareTo(keys[i]) >= 0) {
+				throw new IllegalArgumentException("Keys are not strictly increasing at index " + i + " : " + keys[i]);
+			}
+		}
+		/* the leaves, with the smallest key of every node kept as the separator for its parent */
+		int nodes = (n + order - 1) / order;
+		Node[] level = new Node[nodes];
+		Object[] lowest = new Object[nodes];
+		Leaf prev = null;
+		for (int j=0, from=0; j<nodes; j++) {
+			int to = (int) ((long) n * (j + 1) / nodes);
+			Leaf leaf = new Leaf(order);
+			leaf.count = to - from;
+			System.arraycopy(keys, from, leaf.keys, 0, leaf.count);
+			if (null != values) {
+				System.arraycopy(values, from, leaf.values, 0, leaf.count);
+			}
+			leaf.prev = prev;
+			if (null != prev) {
+				prev.next = leaf;
+			}
+			else {
+				tree.first = leaf;
+			}
+			prev = leaf;
+			level[j] = leaf;
+			lowest[j] = keys[from];
+			from = to;
+		}
+		tree.last = prev;
+		/* the inner levels, each grouping the nodes of the level below */
+		int height = 1;
+		while (nodes > 1) {
+			int parents = (nodes + order - 1) / order;
+			Node[] upper = new Node[parents];
+			Object[] upperLowest = new Object[parents];
+			for (int j=0, from=0; j<parents; j++) {
+				int to = (int) ((long) nodes * (j + 1) / parents);
+				Inner inner = new Inner(order);
+				System.arraycopy(level, from, inner.children, 0, to - from);
+				System.arraycopy(lowest, from + 1, inner.keys, 0, to - from - 1);
+				inner.count = to - from - 1;
+				upper[j] = inner;
+				upperLowest[j] = lowest[from];
+				from = to;
+			}
+			level = upper;
+			lowest = upperLowest;
+			nodes = parents;
+			height++;
+		}
+		tree.root = level[0];
+		tree.height = height;
+		tree.size = n;
+		return tree;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public int order() {
+		return order;
+	}
+
+	/***
+	 * Returns the number of levels of the tree, 1 when the root is a leaf.
+	 */
+	public int height() {
+		return height;
+	}
+
+	private void checkKey(K key) {
+		if (null == key) {
+			throw new IllegalArgumentException("Key cannot be null.");
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K extends Comparable<K>> int compare(K key, Object other) {
+		return key.compareTo((K) other);
+	}
+
+	/***
+	 * Returns the index of the key in the node, or -(insertion point) - 1 if it is not there.
+	 */
+	private static <K extends Comparable<K>> int indexOf(Node node, K key) {
+		int low = 0, high = node.count - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int cmp = compare(key, node.keys[middle]);
+			if (cmp > 0) {
+				low = middle + 1;
+			}
+			else if (cmp < 0) {
+				high = middle - 1;
+			}
+			else {
+				return middle;
+			}
+		}
+		return -(low + 1);
+	}
+
+	/***
+	 * Returns the index of the child of the inner node whose subtree holds the key.
+	 */
+	private static <K extends Comparable<K>> int childIndex(Inner inner, K key) {
+		int index = indexOf(inner, key);
+		return (index >= 0) ? index + 1 : -(index + 1);
+	}
+
+	private Leaf leafOf(K key) {
+		Node node = root;
+		while (node instanceof Inner) {
+			Inner inner = (Inner) node;
+			node = inner.children[childIndex(inner, key)];
+		}
+		return (Leaf) node;
+	}
+
+	/***
+	 * Inserts the key with its value, replacing the value if the key is already in the tree.
+	 */
+	@Override
+	public void insert(K key, V value) {
+		checkKey(key);
+		Node sibling = insert(root, key, value);
+		if (null != sibling) {
+			Inner newRoot = new Inner(order);
+			newRoot.children[0] = root;
+			newRoot.children[1] = sibling;
+			newRoot.keys[0] = lowestKey(sibling);
+			newRoot.count = 1;
+			root = newRoot;
+			height++;
+		}
+	}
+
+	/***
+	 * Inserts into the subtree of the node, returning the new right sibling of the node if it had to be split.
+	 */
+	private Node insert(Node node, K key, V value) {
+		if (node instanceof Leaf) {
+			Leaf leaf = (Leaf) node;
+			int index = indexOf(leaf, key);
+			if (index >= 0) {
+				leaf.values[index] = value;
+				return null;
+			}
+			index = -(index + 1);
+			shift(leaf.keys, index, leaf.count);
+			shift(leaf.values, index, leaf.count);
+			leaf.keys[index] = key;
+			leaf.values[index] = value;
+			leaf.count++;
+			size++;
+			modCount++;
+			return (leaf.count > order) ? split(leaf) : null;
+		}
+		Inner inner = (Inner) node;
+		int index = childIndex(inner, key);
+		Node sibling = insert(inner.children[index], key, value);
+		if (null == sibling) {
+			return null;
+		}
+		shift(inner.keys, index, inner.count);
+		shift(inner.children, index + 1, inner.count + 1);
+		inner.keys[index] = lowestKey(sibling);
+		inner.children[index + 1] = sibling;
+		inner.count++;
+		return (inner.count == order) ? split(inner) : null;
+	}
+
+	private static void shift(Object[] array, int index, int length) {
+		System.arraycopy(array, index, array, index + 1, length - index);
+	}
+
+	private static void unshift(Object[] array, int index, int length) {
+		System.arraycopy(array, index + 1, array, index, length - index - 1);
+		array[length - 1] = null;
+	}
+
+	private Leaf split(Leaf leaf) {
+		Leaf right = new Leaf(order);
+		int keep = leaf.count / 2;
+		right.count = leaf.count - keep;
+		System.arraycopy(leaf.keys, keep, right.keys, 0, right.count);
+		System.arraycopy(leaf.values, keep, right.values, 0, right.count);
+		clear(leaf.keys, keep, leaf.count);
+		clear(leaf.values, keep, leaf.count);
+		leaf.count = keep;
+		right.next = leaf.next;
+		right.prev = leaf;
+		if (null != leaf.next) {
+			leaf.next.prev = right;
+		}
+		else {
+			last = right;
+		}
+		leaf.next = right;
+		return right;
+	}
+
+	/***
+	 * Splits an inner node holding order keys. The middle key moves up to the parent, which finds it again as the
+	 * lowest key of the new node, so the new node starts with a child and no key in front of it.
+	 */
+	private Inner split(Inner inner) {
+		Inner right = new Inner(order);
+		int keep = inner.count / 2;
+		right.count = inner.count - keep - 1;
+		System.arraycopy(inner.keys, keep + 1, right.keys, 0, right.count);
+		System.arraycopy(inner.children, keep + 1, right.children, 0, right.count + 1);
+		clear(inner.keys, keep, inner.count);
+		clear(inner.children, keep + 1, inner.count + 1);
+		inner.count = keep;
+		return right;
+	}
+
+	private static void clear(Object[] array, int from, int to) {
+		for (int i=from; i<to; i++) {
+			array[i] = null;
+		}
+	}
+
+	private static Object lowestKey(Node node) {
+		while (node instanceof Inner) {
+			node = ((Inner) node).children[0];
+		}
+		return node.keys[0];
+	}
+
+	@Override
+	public boolean remove(K key) {
+		checkKey(key);
+		if (!remove(root, key)) {
+			return false;
+		}
+		if (root instanceof Inner && root.count == 0) {
+			root = ((Inner) root).children[0];
+			height--;
+		}
+		size--;
+		modCount++;
+		return true;
+	}
+
+	private boolean remove(Node node, K key) {
+		if (node instanceof Leaf) {
+			Leaf leaf = (Leaf) node;
+			int index = indexOf(leaf, key);
+			if (index < 0) {
+				return false;
+			}
+			unshift(leaf.keys, index, leaf.count);
+			unshift(leaf.values, index, leaf.count);
+			leaf.count--;
+			return true;
+		}
+		Inner inner = (Inner) node;
+		int index = childIndex(inner, key);
+		Node child = inner.children[index];
+		if (!remove(child, key)) {
+			return false;
+		}
+		if (child.count < minCount(child)) {
+			rebalance(inner, index);
+		}
+		return true;
+	}
+
+	/***
+	 * Returns the fewest entries of a leaf or keys of an inner node, other than the root.
+	 */
+	private int minCount(Node node) {
+		return (node instanceof Leaf) ? order / 2 : (order - 1) / 2;
+	}
+
+	/***
+	 * Refills the child at the index of the parent, which went below its minimum, from a sibling that can spare an
+	 * entry, or else merges it with a sibling.
+	 */
+	private void rebalance(Inner parent, int index) {
+		Node child = parent.children[index];
+		Node left = (index > 0) ? parent.children[index - 1] : null;
+		Node right = (index < parent.count) ? parent.children[index + 1] : null;
+		if (null != left && left.count > minCount(left)) {
+			borrowFromLeft(parent, index, left, child);
+		}
+		else if (null != right && right.count > minCount(right)) {
+			borrowFromRight(parent, index, child, right);
+		}
+		else if (null != left) {
+			merge(parent, index - 1, left, child);
+		}
+		else {
+			merge(parent, index, child, right);
+		}
+	}
+
+	private void borrowFromLeft(Inner parent, int index, Node left, Node child) {
+		shift(child.keys, 0, child.count);
+		if (child instanceof Leaf) {
+			Leaf from = (Leaf) left, to = (Leaf) child;
+			shift(to.values, 0, to.count);
+			to.keys[0] = from.keys[from.count - 1];
+			to.values[0] = from.values[from.count - 1];
+			from.keys[from.count - 1] = from.values[from.count - 1] = null;
+			parent.keys[index - 1] = to.keys[0];
+		}
+		else {
+			Inner from = (Inner) left, to = (Inner) child;
+			shift(to.children, 0, to.count + 1);
+			to.keys[0] = parent.keys[index - 1];
+			to.children[0] = from.children[from.count];
+			parent.keys[index - 1] = from.keys[from.count - 1];
+			from.keys[from.count - 1] = null;
+			from.children[from.count] = null;
+		}
+		left.count--;
+		child.count++;
+	}
+
+	private void borrowFromRight(Inner parent, int index, Node child, Node right) {
+		if (child instanceof Leaf) {
+			Leaf from = (Leaf) right, to = (Leaf) child;
+			to.keys[to.count] = from.keys[0];
+			to.values[to.count] = from.values[0];
+			unshift(from.keys, 0, from.count);
+			unshift(from.values, 0, from.count);
+			parent.keys[index] = from.keys[0];
+		}
+		else {
+			Inner from = (Inner) right, to = (Inner) child;
+			to.keys[to.count] = parent.keys[index];
+			to.children[to.count + 1] = from.children[0];
+			parent.keys[index] = from.keys[0];
+			unshift(from.keys, 0, from.count);
+			unshift(from.children, 0, from.count + 1);
+		}
+		right.count--;
+		child.count++;
+	}
+
+	/***
+	 * Moves everything of the right node into the left one and drops the separator at the index of the parent.
+	 */
+	private void merge(Inner parent, int index, Node left, Node right) {
+		if (left instanceof Leaf) {
+			Leaf to = (Leaf) left, from = (Leaf) right;
+			System.arraycopy(from.keys, 0, to.keys, to.count, from.count);
+			System.arraycopy(from.values, 0, to.values, to.count, from.count);
+			to.count += from.count;
+			to.next = from.next;
+			if (null != from.next) {
+				from.next.prev = to;
+			}
+			else {
+				last = to;
+			}
+		}
+		else {
+			Inner to = (Inner) left, from = (Inner) right;
+			to.keys[to.count] = parent.keys[index];
+			System.arraycopy(from.keys, 0, to.keys, to.count + 1, from.count);
+			System.arraycopy(from.children, 0, to.children, to.count + 1, from.count + 1);
+			to.count += from.count + 1;
+		}
+		unshift(parent.keys, index, parent.count);
+		unshift(parent.children, index + 1, parent.count + 1);
+		parent.count--;
+	}
+
+	/***
+	 * Returns the value of the key, or null if the key is not in the tree.
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(K key) {
+		checkKey(key);
+		Leaf leaf = leafOf(key);
+		int index = indexOf(leaf, key);
+		return (index >= 0) ? (V) leaf.values[index] : null;
+	}
+
+	public boolean containsKey(K key) {
+		checkKey(key);
+		return indexOf(leafOf(key), key) >= 0;
+	}
+
+	/***
+	 * Returns the first key of the root node, which for an inner root is the smallest key of its second subtree.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public K rootkey() {
+		if (isEmpty()) {
+			throw new DataStructureEmptyException("B+ tree is empty.");
+		}
+		return (K) root.keys[0];
+	}
+
+	@SuppressWarnings("unchecked")
+	public K firstKey() {
+		if (isEmpty()) {
+			throw new DataStructureEmptyException("B+ tree is empty.");
+		}
+		return (K) first.keys[0];
+	}
+
+	@SuppressWarnings("unchecked")
+	public K lastKey() {
+		if (isEmpty()) {
+			throw new DataStructureEmptyException("B+ tree is empty.");
+		}
+		return (K) last.keys[last.count - 1];
+	}
+
+	/***
+	 * Returns the largest key smaller than or equal to the passed key, or null if there is none.
+	 */
+	public K floorKey(K key) {
+		return below(key, true);
+	}
+
+	/***
+	 * Returns the largest key strictly smaller than the passed key, or null if there is none.
+	 */
+	public K lowerKey(K key) {
+		return below(key, false);
+	}
+
+	/***
+	 * Returns the smallest key greater than or equal to the passed key, or null if there is none.
+	 */
+	public K ceilingKey(K key) {
+		return above(key, true);
+	}
+
+	/***
+	 * Returns the smallest key strictly greater than the passed key, or null if there is none.
+	 */
+	public K higherKey(K key) {
+		return above(key, false);
+	}
+
+	@SuppressWarnings("unchecked")
+	private K below(K key, boolean inclusive) {
+		checkKey(key);
+		Leaf leaf = leafOf(key);
+		int index = indexOf(leaf, key);
+		index = (index >= 0) ? (inclusive ? index : index - 1) : -(index + 1) - 1;
+		if (index < 0) { // the previous leaf, which cannot be empty, holds the answer
+			leaf = leaf.prev;
+			if (null == leaf) {
+				return null;
+			}
+			index = leaf.count - 1;
+		}
+		return (K) leaf.keys[index];
+	}
+
+	@SuppressWarnings("unchecked")
+	private K above(K key, boolean inclusive) {
+		checkKey(key);
+		Leaf leaf = leafOf(key);
+		int index = indexOf(leaf, key);
+		index = (index >= 0) ? (inclusive ? index : index + 1) : -(index + 1);
+		if (index == leaf.count) {
+			leaf = leaf.next;
+			if (null == leaf) {
+				return null;
+			}
+			index = 0;
+		}
+		return (K) leaf.keys[index];
+	}
+
+	/***
+	 * Returns the keys between from and to, both inclusive, in increasing order. The search descends once to the
+	 * leaf of from and then walks the linked leaves.
+	 *
+	 * @param from - smallest key of the range
+	 * @param to - largest key of the range
+	 * @return - array of {@code DynamicArray<K>} type
+	 */
+	@SuppressWarnings("unchecked")
+	public DynamicArray<K> rangeSearch(K from, K to) {
+		checkKey(from);
+		checkKey(to);
+		if (from.compareTo(to) > 0) {
+			throw new IllegalArgumentException("Invalid range : " + from + " > " + to);
+		}
+		DynamicArray<K> dArray = new DynamicArray<>();
+		Leaf leaf = leafOf(from);
+		int index = indexOf(leaf, from);
+		index = (index >= 0) ? index : -(index + 1);
+		while (null != leaf) {
+			for (; index<leaf.count; index++) {
+				K key = (K) leaf.keys[index];
+				if (key.compareTo(to) > 0) {
+					return dArray;
+				}
+				dArray.insert(key);
+			}
+			leaf = leaf.next;
+			index = 0;
+		}
+		return dArray;
+	}
+
+	/***
+	 * Returns all the keys in increasing order.
+	 *
+	 * @return - array of {@code DynamicArray<K>} type
+	 */
+	@SuppressWarnings("unchecked")
+	public DynamicArray<K> keys() {
+		DynamicArray<K> dArray = new DynamicArray<>(Math.max(size, 1));
+		for (Leaf leaf = first; null != leaf; leaf = leaf.next) {
+			for (int i=0; i<leaf.count; i++) {
+				dArray.insert((K) leaf.keys[i]);
+			}
+		}
+		return dArray;
+	}
+
+	public void clear() {
+		first = last = new Leaf(order);
+		root = first;
+		height = 1;
+		size = 0;
+		modCount++;
+	}
+
+	/***
+	 * Returns an iterator over the keys in increasing order, walking the linked leaves.
+	 */
+	@Override
+	public Iterator<K> iterator() {
+		return new LeafIterator();
+	}
+
+	private class LeafIterator implements Iterator<K> {
+
+		Leaf leaf = first;
+		int index;
+		int expectedModCount = modCount;
+
+		public boolean hasNext() {
+			return index < leaf.count;
+		}
+
+		@SuppressWarnings("unchecked")
+		public K next() {
+			if (expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			K key = (K) leaf.keys[index++];
+			if (index == leaf.count && null != leaf.next) {
+				leaf = leaf.next;
+				index = 0;
+			}
+			return key;
+		}
+	}
+
+	public String toString() {
+		if (isEmpty()) {
+			return "[ ]";
+		}
+		StringBuilder sb = new StringBuilder();
+		sb.append("[");
+		for (Leaf leaf = first; null != leaf; leaf = leaf.next) {
+			for (int i=0; i<leaf.count; i++) {
+				if (sb.length() > 1) sb.append(", ");
+				sb.append(leaf.keys[i] + "->" + leaf.values[i]);
+			}
+		}
+		sb.append("]");
+		return sb.toString();
+	}
+
+	/***
+	 * Checks the fill of the nodes, the order of the keys, the separators, the depth of the leaves and the leaf
+	 * links, for the tests.
+	 *
+	 * @throws IllegalStateException if a property does not hold
+	 */
+	void checkInvariants() {
+		int[] count = new int[1];
+		Leaf[] previous = new Leaf[1];
+		checkInvariants(root, null, null, 1, count, previous);
+		if (count[0] != size) {
+			throw new IllegalStateException("Size is " + size + " but the leaves hold " + count[0] + " keys.");
+		}
+		if (previous[0] != last || (null != last && null != last.next)) {
+			throw new IllegalStateException("Broken link to the last leaf.");
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void checkInvariants(Node node, K low, K high, int depth, int[] count, Leaf[] previous) {
+		if (node != root && node.count < minCount(node)) {
+			throw new IllegalStateException("Node under filled with " + node.count + " keys.");
+		}
+		for (int i=0; i<node.count; i++) {
+			K key = (K) node.keys[i];
+			if ((i > 0 && compare(key, node.keys[i - 1]) <= 0) || (null != low && key.compareTo(low) < 0)
+					|| (null != high && key.compareTo(high) >= 0)) {
+				throw new IllegalStateException("Key " + key + " out of order.");
+			}
+		}
+		if (node instanceof Leaf) {
+			Leaf leaf = (Leaf) node;
+			if (depth != height) {
+				throw new IllegalStateException("Leaf at depth " + depth + " in a tree of height " + height);
+			}
+			if (leaf.prev != previous[0] || (null == previous[0] ? first != leaf : previous[0].next != leaf)) {
+				throw new IllegalStateException("Broken leaf links.");
+			}
+			previous[0] = leaf;
+			count[0] += leaf.count;
+			return;
+		}
+		Inner inner = (Inner) node;
+		for (int i=0; i<=inner.count; i++) {
+			K childLow = (i == 0) ? low : (K) inner.keys[i - 1];
+			K childHigh = (i == inner.count) ? high : (K) inner.keys[i];
+			checkInvariants(inner.children[i], childLow, childHigh, depth + 1, count, previous);
+		}
+	}
+}
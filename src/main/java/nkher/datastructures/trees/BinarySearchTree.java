@@ -5,11 +5,13 @@ import nkher.datastructures.lists.SinglyLinkedList;
 import nkher.exception.DataStructureEmptyException;
 import nkher.exception.NodeDoesNotExistException;
 import nkher.api.MyTree;
+import nkher.utils.NodePool;
 
 public class BinarySearchTree<K extends Comparable<K>, V> implements MyTree<K, V> {
 	
 	private int size;
 	private BSTNode<K, V> root;
+	private NodePool<BSTNode<K, V>> nodePool; // null unless node pooling is enabled
 	
 	public static class BSTNode<K extends Comparable<K>, V> extends AbstractTreeNode<K, V>{
 		private BSTNode<K, V> left;
@@ -130,7 +132,8 @@ public class BinarySearchTree<K extends Comparable<K>, V> implements MyTree<K, V
 				}
 				
 				else if (left == null && right != null) { // Case 2 : node has only right child 
-					parent.right = right;
+					if (parent.left == this) parent.left = right;
+					else parent.right = right;
 					return;
 				}
 				
@@ -166,8 +169,58 @@ public class BinarySearchTree<K extends Comparable<K>, V> implements MyTree<K, V
 		return this.size;
 	}
 
+	/***
+	 * Makes the tree reuse the nodes of removed keys, keeping up to maxPooledNodes free nodes. Nodes returned by
+	 * the tree, like the ones from search, must not be used once their key has been removed. See {@link NodePool}.
+	 * 
+	 * @param maxPooledNodes - maximum number of free nodes kept for reuse
+	 */
+	public void enableNodePooling(int maxPooledNodes) {
+		nodePool = new NodePool<BSTNode<K, V>>(maxPooledNodes, BSTNode::new);
+	}
+	
+	/***
+	 * Returns the node pool of the tree, or null if node pooling is not enabled.
+	 */
+	public NodePool<BSTNode<K, V>> nodePool() {
+		return nodePool;
+	}
+	
+	private BSTNode<K, V> newNode(K key, V value) {
+		if (null == nodePool) {
+			return new BSTNode<K, V>(key, value);
+		}
+		BSTNode<K, V> node = nodePool.acquire();
+		node.key = key;
+		node.value = value;
+		return node;
+	}
+	
+	/***
+	 * Gives a node that was unlinked from the tree back to the pool, if pooling is enabled.
+	 */
+	private void recycle(BSTNode<K, V> node) {
+		if (null != nodePool && null != node) {
+			node.key = null;
+			node.value = null;
+			node.left = node.right = null;
+			nodePool.release(node);
+		}
+	}
+	
+	/***
+	 * Returns the node that {@link BSTNode#remove(Comparable, BSTNode)} unlinks for the key, null if there is none.
+	 */
+	private BSTNode<K, V> nodeToRemove(K k) {
+		BSTNode<K, V> node = root;
+		while (node != null && !node.key.equals(k)) {
+			node = (node.key.compareTo(k) < 0) ? node.right : node.left;
+		}
+		return node;
+	}
+
 	public void insert(K key, V value) {
-		insert(new BSTNode<K, V>(key, value));
+		insert(newNode(key, value));
 	}
 	
 	/***
@@ -248,7 +301,7 @@ public class BinarySearchTree<K extends Comparable<K>, V> implements MyTree<K, V
 			if (node.key.equals(key)) { // found the node
 				return node;
 			}
-			else if (node.key.compareTo(key) > 1) {
+			else if (node.key.compareTo(key) > 0) {
 				return search(key, node.left);
 			}
 			else {
@@ -338,26 +391,27 @@ public class BinarySearchTree<K extends Comparable<K>, V> implements MyTree<K, V
 		if (root == null) {
 			throw new DataStructureEmptyException("Cannot delete from an empty tree !");
 		}
+		BSTNode<K, V> removed = (null == nodePool) ? null : nodeToRemove(k);
+		if (root.key.equals(k)) { // root equals the key
+			
+			/* Here we create a temporary parent to the root which would help us in deletion */
+			BSTNode<K, V> tempParent = newNode(null, null);
+			tempParent.right = this.root;
+			root = tempParent;
+			
+			root.right.remove(k, tempParent);
+			root = tempParent.right;
+			tempParent.right = null;
+			recycle(tempParent);
+			found = true;
+		}
 		else {
-			if (root.key.equals(k)) { // root equals the key
-				
-				/* Here we create a temporary parent to the root which would help us in deletion */
-				BSTNode<K, V> tempParent = new BSTNode<K, V>();
-				tempParent.right = this.root;
-				root = tempParent;
-				
-				root.right.remove(k, tempParent);
-				root = tempParent.right;
-				tempParent.right = null;
-				found = true;
-			}
-			else {
-				this.root.remove(k, null);
-				found = true;
-			}
+			this.root.remove(k, null);
+			found = true;
 		}
 		if (found) {
 			size--;
+			recycle(removed);
 		}
 		return found;
 	}
@@ -0,0 +1,228 @@
+package nkher.datastructures.trees;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/***
+ * A cache of decoded pages with clock eviction. Every frame has a referenced bit, set on each access. When the pool
+ * is full, the clock hand sweeps the frames, clearing the bits it finds set, and evicts the first frame whose bit is
+ * already clear, hence a page used since the last sweep gets a second chance. This approximates least recently used
+ * without moving anything on a hit. A dirty frame is written back when it is evicted or flushed. </br>
+ *
+ * A page read during an operation stays pinned, so that it cannot be evicted while the caller is changing it, until
+ * the caller releases the pins at the end of the operation. If every frame is pinned the pool grows by a frame.
+ * Used by {@link DiskBPlusTree}, not thread safe.
+ *
+ * @author nameshkher
+ *
+ * @param <N> type of the decoded pages
+ */
+class BufferPool<N> {
+
+	/***
+	 * Decodes pages from and encodes pages to the file.
+	 */
+	interface PageIO<N> {
+		N read(int pageId);
+
+		void write(int pageId, N node);
+	}
+
+	private static final class Frame<N> {
+		int pageId;
+		int slot; // index in frames
+		N node;
+		boolean dirty, referenced, pinned;
+	}
+
+	private final PageIO<N> io;
+	private final HashMap<Integer, Frame<N>> table;
+	private final ArrayList<Frame<N>> pinned = new ArrayList<>();
+	private Frame<N>[] frames;
+	private int used; // frames in use, they are always the lowest ones
+	private int hand;
+	private long hits, misses, evictions, writes;
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	BufferPool(int capacity, PageIO<N> io) {
+		this.io = io;
+		this.frames = new Frame[capacity];
+		this.table = new HashMap<>(capacity * 2);
+	}
+
+	int capacity() {
+		return frames.length;
+	}
+
+	/***
+	 * Returns the decoded page, reading it if it is not cached, and pins it.
+	 */
+	N get(int pageId) {
+		Frame<N> frame = table.get(pageId);
+		if (null != frame) {
+			hits++;
+		}
+		else {
+			misses++;
+			frame = install(pageId, io.read(pageId));
+		}
+		frame.referenced = true;
+		pin(frame);
+		return frame.node;
+	}
+
+	/***
+	 * Caches a page that has not been written yet, dirty and pinned.
+	 */
+	void put(int pageId, N node) {
+		Frame<N> frame = install(pageId, node);
+		frame.dirty = frame.referenced = true;
+		pin(frame);
+	}
+
+	private void pin(Frame<N> frame) {
+		if (!frame.pinned) {
+			frame.pinned = true;
+			pinned.add(frame);
+		}
+	}
+
+	/***
+	 * Unpins every page pinned since the last release.
+	 */
+	void releasePins() {
+		for (Frame<N> frame : pinned) {
+			frame.pinned = false;
+		}
+		pinned.clear();
+	}
+
+	/***
+	 * Marks a cached page as changed, so that it is written back before it leaves the pool.
+	 */
+	void markDirty(int pageId) {
+		table.get(pageId).dirty = true;
+	}
+
+	/***
+	 * Moves a cached page to another page id, dirty, leaving the old page in the file untouched. This is how a copy
+	 * on write takes a page without copying it in memory.
+	 */
+	void move(int fromPageId, int toPageId) {
+		Frame<N> frame = table.remove(fromPageId);
+		frame.pageId = toPageId;
+		frame.dirty = true;
+		table.put(toPageId, frame);
+	}
+
+	/***
+	 * Drops a page from the pool without writing it, for a page that is freed.
+	 */
+	void drop(int pageId) {
+		Frame<N> frame = table.remove(pageId);
+		if (null == frame) {
+			return;
+		}
+		frames[frame.slot] = frames[--used];
+		frames[frame.slot].slot = frame.slot;
+		frames[used] = null;
+		frame.node = null;
+		if (hand >= used) {
+			hand = 0;
+		}
+	}
+
+	/***
+	 * Writes back every dirty page, keeping them cached.
+	 */
+	void flush() {
+		for (int i=0; i<used; i++) {
+			Frame<N> frame = frames[i];
+			if (frame.dirty) {
+				io.write(frame.pageId, frame.node);
+				frame.dirty = false;
+				writes++;
+			}
+		}
+	}
+
+	/***
+	 * Drops every page without writing it back.
+	 */
+	void clear() {
+		releasePins();
+		Arrays.fill(frames, 0, used, null);
+		table.clear();
+		used = 0;
+		hand = 0;
+	}
+
+	private Frame<N> install(int pageId, N node) {
+		Frame<N> frame;
+		if (used < frames.length) {
+			frame = newFrame();
+		}
+		else {
+			frame = victim();
+		}
+		frame.pageId = pageId;
+		frame.node = node;
+		frame.dirty = frame.referenced = false;
+		table.put(pageId, frame);
+		return frame;
+	}
+
+	/***
+	 * Sweeps the clock hand to a frame that is neither pinned nor referenced, writes it back if it is dirty and
+	 * returns it for reuse. Two turns are enough to clear every referenced bit.
+	 */
+	private Frame<N> victim() {
+		for (int step=0; step<2*used; step++) {
+			Frame<N> frame = frames[hand];
+			hand = (hand + 1) % used;
+			if (frame.pinned) {
+				continue;
+			}
+			if (frame.referenced) {
+				frame.referenced = false;
+				continue;
+			}
+			if (frame.dirty) {
+				io.write(frame.pageId, frame.node);
+				writes++;
+			}
+			table.remove(frame.pageId);
+			evictions++;
+			return frame;
+		}
+		frames = Arrays.copyOf(frames, frames.length + 1); // every frame is pinned
+		return newFrame();
+	}
+
+	private Frame<N> newFrame() {
+		Frame<N> frame = new Frame<>();
+		frame.slot = used;
+		frames[used++] = frame;
+		return frame;
+	}
+
+	long hits() {
+		return hits;
+	}
+
+	long misses() {
+		return misses;
+	}
+
+	long evictions() {
+		return evictions;
+	}
+
+	/***
+	 * Returns the number of dirty pages written back, on eviction or flush.
+	 */
+	long writes() {
+		return writes;
+	}
+}
@@ -0,0 +1,1128 @@
+package nkher.datastructures.trees;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32;
+
+import nkher.api.MyTree;
+import nkher.datastructures.lists.IntDynamicArray;
+import nkher.exception.DataStructureEmptyException;
+
+/***
+ * A persistent B+ tree ordered map stored in a file of fixed size pages, for indexes larger than the memory. The file
+ * is memory mapped, see {@link PageFile}, and the decoded pages are cached in a {@link BufferPool} with clock
+ * eviction, so that the hot inner pages are searched as objects while the cold leaves are left to the operating
+ * system. Keys and values have a fixed size in bytes given by their {@link Codec}, which decides how many entries a
+ * page holds. </br>
+ *
+ * Crash safety comes from copy on write. A page that is part of the last commit is never overwritten, a change
+ * writes the page to a free page instead, and so does the parent that points to it, up to a new root. Pages written
+ * since the last commit are changed in place. {@link #commit()} writes the dirty pages, forces them to the disk and
+ * then writes the root, height, size and page count to one of the two meta pages at the head of the file, taking
+ * turns, with a transaction id and a checksum. Opening the file picks the valid meta page of the highest
+ * transaction, so a crash at any point, even in the middle of a meta page, reopens the tree as of the last completed
+ * commit. The pages left behind by a commit are reused from the next one on. The free pages are not stored, they are
+ * the pages that cannot be reached from the root, found again when the file is opened by reading the inner pages.
+ * </br>
+ *
+ * Under copy on write the leaves cannot be linked, since linking a new leaf copies its neighbour and hence the path
+ * to the neighbour too. A {@link Cursor} keeps the path from the root instead, and streams the entries of a range one
+ * leaf at a time without collecting them. </br>
+ *
+ * Inserting a key that is already in the tree replaces its value, keys and values cannot be null. The changes since
+ * the last commit are lost if the tree is not committed or closed, and can be dropped with {@link #rollback()}. The
+ * data structure is not thread safe.
+ *
+ * @author nameshkher
+ *
+ * @param <K>
+ * @param <V>
+ */
+public class DiskBPlusTree<K extends Comparable<K>, V> implements MyTree<K, V>, Iterable<K>, Closeable {
+
+	public static final int DEFAULT_PAGE_SIZE = 4096;
+	public static final int DEFAULT_CACHED_PAGES = 1024;
+	static final int MIN_PAGE_SIZE = 256, MAX_PAGE_SIZE = 1 << 16;
+	static final int MIN_CACHED_PAGES = 32;
+
+	private static final long MAGIC = 0x4e4b42504c555331L; // "NKBPLUS1"
+	private static final int VERSION = 1;
+	private static final int META_PAGES = 2; // pages 0 and 1, see commit()
+	private static final int HEADER = 8; // page type and entry count
+	private static final byte LEAF = 1, INNER = 2;
+
+	/***
+	 * Writes and reads values of type T in a fixed number of bytes.
+	 */
+	public interface Codec<T> {
+		/***
+		 * Returns the number of bytes of every value.
+		 */
+		int size();
+
+		/***
+		 * Writes the value at the position of the buffer, exactly size() bytes.
+		 */
+		void write(ByteBuffer buffer, T value);
+
+		/***
+		 * Reads a value written by write at the position of the buffer.
+		 */
+		T read(ByteBuffer buffer);
+
+		Codec<Integer> INTEGER = new Codec<Integer>() {
+			public int size() {
+				return Integer.BYTES;
+			}
+			public void write(ByteBuffer buffer, Integer value) {
+				buffer.putInt(value);
+			}
+			public Integer read(ByteBuffer buffer) {
+				return buffer.getInt();
+			}
+		};
+
+		Codec<Long> LONG = new Codec<Long>() {
+			public int size() {
+				return Long.BYTES;
+			}
+			public void write(ByteBuffer buffer, Long value) {
+				buffer.putLong(value);
+			}
+			public Long read(ByteBuffer buffer) {
+				return buffer.getLong();
+			}
+		};
+
+		/***
+		 * Returns a codec for strings of up to maxBytes bytes in UTF-8, stored with their length in front.
+		 */
+		static Codec<String> string(int maxBytes) {
+			if (maxBytes < 1 || maxBytes > Short.MAX_VALUE) {
+				throw new IllegalArgumentException("Invalid maximum string size : " + maxBytes);
+			}
+			return new Codec<String>() {
+				public int size() {
+					return Short.BYTES + maxBytes;
+				}
+				public void write(ByteBuffer buffer, String value) {
+					byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+					if (bytes.length > maxBytes) {
+						throw new IllegalArgumentException("String longer than " + maxBytes + " bytes : " + value);
+					}
+					buffer.putShort((short) bytes.length);
+					buffer.put(bytes);
+				}
+				public String read(ByteBuffer buffer) {
+					byte[] bytes = new byte[buffer.getShort()];
+					buffer.get(bytes);
+					return new String(bytes, StandardCharsets.UTF_8);
+				}
+			};
+		}
+	}
+
+	/***
+	 * A decoded page. Like in {@link BPlusTree} an inner node with count keys has count + 1 children and the arrays
+	 * have a spare slot, so that a node can overflow by one before it is split.
+	 */
+	private static abstract class Node {
+		final Object[] keys;
+		int count;
+
+		Node(int capacity) {
+			keys = new Object[capacity];
+		}
+	}
+
+	private static final class Inner extends Node {
+		final int[] children;
+
+		Inner(int order) {
+			super(order);
+			children = new int[order + 1];
+		}
+	}
+
+	private static final class Leaf extends Node {
+		final Object[] values;
+
+		Leaf(int order) {
+			super(order + 1);
+			values = new Object[order + 1];
+		}
+	}
+
+	private final PageFile file;
+	private final Codec<K> keyCodec;
+	private final Codec<V> valueCodec;
+	private final int leafOrder, innerOrder;
+	private final BufferPool<Node> pool;
+
+	/* the tree as of now, committed or not */
+	private int root, height, pageCount;
+	private long size;
+	/* the last commit */
+	private long txnId;
+	private int committedRoot, committedHeight, committedPageCount;
+	private long committedSize;
+
+	private final IntDynamicArray freePages = new IntDynamicArray(); // reusable now
+	private final IntDynamicArray pendingFree = new IntDynamicArray(); // part of the last commit, reusable after the next
+	private final BitSet fresh = new BitSet(); // pages written since the last commit, changed in place
+	private boolean closed;
+	private int modCount; // number of modifications, for failing fast in the cursors
+
+	/* second result of insert(int, K, V), the page and the lowest key of the new right sibling of a split */
+	private int splitPage;
+	private Object splitKey;
+
+	private DiskBPlusTree(Path path, Codec<K> keyCodec, Codec<V> valueCodec, int pageSize, int cachedPages) {
+		if (pageSize < MIN_PAGE_SIZE || pageSize > MAX_PAGE_SIZE || Integer.bitCount(pageSize) != 1) {
+			throw new IllegalArgumentException("Page size must be a power of 2 from " + MIN_PAGE_SIZE + " to "
+					+ MAX_PAGE_SIZE + " : " + pageSize);
+		}
+		if (cachedPages < MIN_CACHED_PAGES) {
+			throw new IllegalArgumentException("At least " + MIN_CACHED_PAGES + " pages must be cached : " + cachedPages);
+		}
+		this.keyCodec = keyCodec;
+		this.valueCodec = valueCodec;
+		this.leafOrder = (pageSize - HEADER) / (keyCodec.size() + valueCodec.size());
+		this.innerOrder = (pageSize - HEADER + keyCodec.size()) / (keyCodec.size() + Integer.BYTES);
+		if (leafOrder < 4 || innerOrder < 4) {
+			throw new IllegalArgumentException("Page size " + pageSize + " holds less than 4 keys.");
+		}
+		this.file = new PageFile(path, pageSize);
+		this.pool = new BufferPool<>(cachedPages, new BufferPool.PageIO<Node>() {
+			public Node read(int pageId) {
+				return decode(pageId);
+			}
+			public void write(int pageId, Node node) {
+				encode(pageId, node);
+			}
+		});
+	}
+
+	/***
+	 * Opens the tree stored in the file with the default page size and cache, creating the file if it does not
+	 * exist.
+	 */
+	public static <K extends Comparable<K>, V> DiskBPlusTree<K, V> open(Path path, Codec<K> keyCodec,
+			Codec<V> valueCodec) {
+		return open(path, keyCodec, valueCodec, DEFAULT_PAGE_SIZE, DEFAULT_CACHED_PAGES);
+	}
+
+	/***
+	 * Opens the tree stored in the file, creating the file if it does not exist. The tree is as of its last commit.
+	 *
+	 * @param path - file of the tree
+	 * @param keyCodec - codec of the keys, the one the file was created with
+	 * @param valueCodec - codec of the values, the one the file was created with
+	 * @param pageSize - size of a page in bytes, the one the file was created with
+	 * @param cachedPages - number of decoded pages kept in memory
+	 * @return - tree of {@code DiskBPlusTree<K, V>} type
+	 * @throws IllegalArgumentException if the file was created with other sizes
+	 * @throws IllegalStateException if the file is not a tree or both meta pages are corrupt
+	 * @throws java.io.UncheckedIOException if the file cannot be read or written
+	 */
+	public static <K extends Comparable<K>, V> DiskBPlusTree<K, V> open(Path path, Codec<K> keyCodec,
+			Codec<V> valueCodec, int pageSize, int cachedPages) {
+		DiskBPlusTree<K, V> tree = new DiskBPlusTree<>(path, keyCodec, valueCodec, pageSize, cachedPages);
+		if (tree.file.isEmpty()) {
+			tree.create();
+		}
+		else {
+			tree.load();
+		}
+		return tree;
+	}
+
+	private void create() {
+		pageCount = META_PAGES;
+		height = 1;
+		root = allocate();
+		pool.put(root, new Leaf(leafOrder));
+		pool.releasePins();
+		commit();
+		writeMeta(0); // the same tree, so that page 0 always tells the sizes the file was created with
+	}
+
+	private void load() {
+		ByteBuffer first = file.page(0), second = file.page(1);
+		boolean firstValid = isValidMeta(first), secondValid = isValidMeta(second);
+		if (!firstValid && !secondValid) {
+			throw new IllegalStateException("No valid meta page, the file is not a B+ tree or is corrupt.");
+		}
+		ByteBuffer meta = (!secondValid || (firstValid && first.getLong(24) > second.getLong(24))) ? first : second;
+		txnId = meta.getLong(24);
+		root = committedRoot = meta.getInt(32);
+		height = committedHeight = meta.getInt(36);
+		size = committedSize = meta.getLong(40);
+		pageCount = committedPageCount = meta.getInt(48);
+		findFreePages();
+	}
+
+	/***
+	 * Checks the magic number, the sizes and the checksum of a meta page. The layout is magic (8 bytes), version,
+	 * page size, key size, value size (4 bytes each), transaction id (8), root, height (4 each), size (8), page count
+	 * (4) and the CRC32 of the bytes before it (4).
+	 */
+	private boolean isValidMeta(ByteBuffer meta) {
+		if (meta.getLong(0) != MAGIC || meta.getInt(52) != checksum(meta)) {
+			return false;
+		}
+		if (meta.getInt(8) != VERSION) {
+			throw new IllegalStateException("Unsupported file version : " + meta.getInt(8));
+		}
+		if (meta.getInt(12) != file.pageSize() || meta.getInt(16) != keyCodec.size()
+				|| meta.getInt(20) != valueCodec.size()) {
+			throw new IllegalArgumentException("The file was created with page, key and value sizes "
+					+ meta.getInt(12) + ", " + meta.getInt(16) + " and " + meta.getInt(20));
+		}
+		return true;
+	}
+
+	private static int checksum(ByteBuffer meta) {
+		CRC32 crc = new CRC32();
+		for (int i=0; i<52; i++) {
+			crc.update(meta.get(i));
+		}
+		return (int) crc.getValue();
+	}
+
+	/***
+	 * Marks the pages reachable from the root, reading the inner pages only, and frees the others.
+	 */
+	private void findFreePages() {
+		BitSet reachable = new BitSet(pageCount);
+		IntDynamicArray stack = new IntDynamicArray();
+		stack.insert(root);
+		reachable.set(root);
+		for (int level=height; level>1; level--) {
+			IntDynamicArray below = new IntDynamicArray();
+			while (!stack.isEmpty()) {
+				Inner inner = (Inner) pool.get(stack.remove());
+				for (int i=0; i<=inner.count; i++) {
+					below.insert(inner.children[i]);
+					reachable.set(inner.children[i]);
+				}
+				pool.releasePins();
+			}
+			stack = below;
+		}
+		for (int page=pageCount-1; page>=META_PAGES; page--) { // the lowest pages get reused first
+			if (!reachable.get(page)) {
+				freePages.insert(page);
+			}
+		}
+	}
+
+	/***
+	 * Makes the changes since the last commit durable. The dirty pages are written and forced to the disk before the
+	 * meta page that points to them, so that a crash leaves either the last commit or this one.
+	 */
+	public void commit() {
+		checkOpen();
+		if (fresh.isEmpty() && pendingFree.isEmpty() && root == committedRoot) {
+			return;
+		}
+		pool.flush();
+		file.force();
+		writeMeta(++txnId);
+		committedRoot = root;
+		committedHeight = height;
+		committedSize = size;
+		committedPageCount = pageCount;
+		while (!pendingFree.isEmpty()) {
+			freePages.insert(pendingFree.remove());
+		}
+		fresh.clear();
+	}
+
+	/***
+	 * Discards the changes since the last commit. The pages written since then are freed again.
+	 */
+	public void rollback() {
+		checkOpen();
+		pool.clear();
+		root = committedRoot;
+		height = committedHeight;
+		size = committedSize;
+		pageCount = committedPageCount;
+		freePages.clear();
+		pendingFree.clear();
+		fresh.clear();
+		findFreePages();
+		modCount++;
+	}
+
+	private void writeMeta(long txn) {
+		ByteBuffer meta = file.page((int) (txn & 1));
+		meta.putLong(0, MAGIC);
+		meta.putInt(8, VERSION);
+		meta.putInt(12, file.pageSize());
+		meta.putInt(16, keyCodec.size());
+		meta.putInt(20, valueCodec.size());
+		meta.putLong(24, txn);
+		meta.putInt(32, root);
+		meta.putInt(36, height);
+		meta.putLong(40, size);
+		meta.putInt(48, pageCount);
+		meta.putInt(52, checksum(meta));
+		file.force(0);
+	}
+
+	/***
+	 * Commits and closes the file. The tree cannot be used afterwards.
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		commit();
+		file.close();
+		pool.clear();
+		closed = true;
+	}
+
+	private void checkOpen() {
+		if (closed) {
+			throw new IllegalStateException("Tree is closed.");
+		}
+	}
+
+	private Node decode(int pageId) {
+		ByteBuffer page = file.page(pageId);
+		byte type = page.get(0);
+		int count = page.getInt(4);
+		if (type == LEAF) {
+			Leaf leaf = new Leaf(leafOrder);
+			leaf.count = count;
+			page.position(HEADER);
+			for (int i=0; i<count; i++) {
+				leaf.keys[i] = keyCodec.read(page);
+			}
+			page.position(valuesOffset());
+			for (int i=0; i<count; i++) {
+				leaf.values[i] = valueCodec.read(page);
+			}
+			return leaf;
+		}
+		if (type != INNER) {
+			throw new IllegalStateException("Page " + pageId + " is not a tree page.");
+		}
+		Inner inner = new Inner(innerOrder);
+		inner.count = count;
+		page.position(HEADER);
+		for (int i=0; i<count; i++) {
+			inner.keys[i] = keyCodec.read(page);
+		}
+		page.position(childrenOffset());
+		for (int i=0; i<=count; i++) {
+			inner.children[i] = page.getInt();
+		}
+		return inner;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void encode(int pageId, Node node) {
+		ByteBuffer page = file.page(pageId);
+		page.put(0, (node instanceof Leaf) ? LEAF : INNER);
+		page.putInt(4, node.count);
+		page.position(HEADER);
+		for (int i=0; i<node.count; i++) {
+			keyCodec.write(page, (K) node.keys[i]);
+		}
+		if (node instanceof Leaf) {
+			page.position(valuesOffset());
+			for (int i=0; i<node.count; i++) {
+				valueCodec.write(page, (V) ((Leaf) node).values[i]);
+			}
+		}
+		else {
+			page.position(childrenOffset());
+			for (int i=0; i<=node.count; i++) {
+				page.putInt(((Inner) node).children[i]);
+			}
+		}
+	}
+
+	private int valuesOffset() {
+		return HEADER + leafOrder * keyCodec.size();
+	}
+
+	private int childrenOffset() {
+		return HEADER + (innerOrder - 1) * keyCodec.size();
+	}
+
+	private int allocate() {
+		int pageId = freePages.isEmpty() ? pageCount++ : freePages.remove();
+		fresh.set(pageId);
+		return pageId;
+	}
+
+	/***
+	 * Frees a page of the tree. A page of the last commit is only reused after the next commit.
+	 */
+	private void free(int pageId) {
+		pool.drop(pageId);
+		if (fresh.get(pageId)) {
+			fresh.clear(pageId);
+			freePages.insert(pageId);
+		}
+		else {
+			pendingFree.insert(pageId);
+		}
+	}
+
+	/***
+	 * Returns the page to write a cached page to, the page itself if it was written since the last commit, or else
+	 * a new page the cached page moves to, the old one being freed.
+	 */
+	private int writable(int pageId) {
+		if (fresh.get(pageId)) {
+			pool.markDirty(pageId);
+			return pageId;
+		}
+		int copy = allocate();
+		pool.move(pageId, copy);
+		pendingFree.insert(pageId);
+		return copy;
+	}
+
+	@Override
+	public int size() {
+		return (int) Math.min(size, Integer.MAX_VALUE);
+	}
+
+	/***
+	 * Returns the number of keys, which may be more than an int holds.
+	 */
+	public long longSize() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/***
+	 * Returns the number of levels of the tree, 1 when the root is a leaf.
+	 */
+	public int height() {
+		return height;
+	}
+
+	/***
+	 * Returns the number of pages of the file, meta pages and free pages included.
+	 */
+	public int pageCount() {
+		return pageCount;
+	}
+
+	/***
+	 * Returns the number of pages that the next inserts can reuse.
+	 */
+	public int freePageCount() {
+		return freePages.size();
+	}
+
+	public long cacheHits() {
+		return pool.hits();
+	}
+
+	public long cacheMisses() {
+		return pool.misses();
+	}
+
+	public long cacheEvictions() {
+		return pool.evictions();
+	}
+
+	private void checkKey(K key) {
+		if (null == key) {
+			throw new IllegalArgumentException("Key cannot be null.");
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K extends Comparable<K>> int indexOf(Node node, K key) {
+		int low = 0, high = node.count - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int cmp = key.compareTo((K) node.keys[middle]);
+			if (cmp > 0) {
+				low = middle + 1;
+			}
+			else if (cmp < 0) {
+				high = middle - 1;
+			}
+			else {
+				return middle;
+			}
+		}
+		return -(low + 1);
+	}
+
+	private static <K extends Comparable<K>> int childIndex(Inner inner, K key) {
+		int index = indexOf(inner, key);
+		return (index >= 0) ? index + 1 : -(index + 1);
+	}
+
+	/***
+	 * Inserts the key with its value, replacing the value if the key is already in the tree.
+	 */
+	@Override
+	public void insert(K key, V value) {
+		checkOpen();
+		checkKey(key);
+		if (null == value) {
+			throw new IllegalArgumentException("Value cannot be null.");
+		}
+		try {
+			splitPage = 0;
+			int newRoot = insert(root, key, value);
+			if (splitPage != 0) {
+				Inner inner = new Inner(innerOrder);
+				inner.children[0] = newRoot;
+				inner.children[1] = splitPage;
+				inner.keys[0] = splitKey;
+				inner.count = 1;
+				newRoot = allocate();
+				pool.put(newRoot, inner);
+				height++;
+			}
+			root = newRoot;
+			modCount++;
+		}
+		finally {
+			splitKey = null;
+			pool.releasePins();
+		}
+	}
+
+	/***
+	 * Inserts into the subtree of the page and returns the page the subtree now starts at. If the page had to be
+	 * split, the new right sibling is left in splitPage and splitKey.
+	 */
+	private int insert(int pageId, K key, V value) {
+		Node node = pool.get(pageId);
+		if (node instanceof Leaf) {
+			Leaf leaf = (Leaf) node;
+			int index = indexOf(leaf, key);
+			pageId = writable(pageId);
+			if (index >= 0) {
+				leaf.values[index] = value;
+				return pageId;
+			}
+			index = -(index + 1);
+			shift(leaf.keys, index, leaf.count);
+			shift(leaf.values, index, leaf.count);
+			leaf.keys[index] = key;
+			leaf.values[index] = value;
+			leaf.count++;
+			size++;
+			if (leaf.count > leafOrder) {
+				split(leaf);
+			}
+			return pageId;
+		}
+		Inner inner = (Inner) node;
+		int index = childIndex(inner, key);
+		int child = insert(inner.children[index], key, value);
+		if (child == inner.children[index] && splitPage == 0) {
+			return pageId; // the child was changed in place
+		}
+		pageId = writable(pageId);
+		inner.children[index] = child;
+		if (splitPage == 0) {
+			return pageId;
+		}
+		shift(inner.keys, index, inner.count);
+		System.arraycopy(inner.children, index + 1, inner.children, index + 2, inner.count - index);
+		inner.keys[index] = splitKey;
+		inner.children[index + 1] = splitPage;
+		inner.count++;
+		splitPage = 0;
+		if (inner.count == innerOrder) {
+			split(inner);
+		}
+		return pageId;
+	}
+
+	private static void shift(Object[] array, int index, int length) {
+		System.arraycopy(array, index, array, index + 1, length - index);
+	}
+
+	private static void unshift(Object[] array, int index, int length) {
+		System.arraycopy(array, index + 1, array, index, length - index - 1);
+		array[length - 1] = null;
+	}
+
+	private void split(Leaf leaf) {
+		Leaf right = new Leaf(leafOrder);
+		int keep = leaf.count / 2;
+		right.count = leaf.count - keep;
+		System.arraycopy(leaf.keys, keep, right.keys, 0, right.count);
+		System.arraycopy(leaf.values, keep, right.values, 0, right.count);
+		for (int i=keep; i<leaf.count; i++) {
+			leaf.keys[i] = leaf.values[i] = null;
+		}
+		leaf.count = keep;
+		splitPage = allocate();
+		splitKey = right.keys[0];
+		pool.put(splitPage, right);
+	}
+
+	/***
+	 * Splits an inner node holding innerOrder keys, moving its middle key up as the split key.
+	 */
+	private void split(Inner inner) {
+		Inner right = new Inner(innerOrder);
+		int keep = inner.count / 2;
+		right.count = inner.count - keep - 1;
+		System.arraycopy(inner.keys, keep + 1, right.keys, 0, right.count);
+		System.arraycopy(inner.children, keep + 1, right.children, 0, right.count + 1);
+		splitKey = inner.keys[keep];
+		for (int i=keep; i<inner.count; i++) {
+			inner.keys[i] = null;
+		}
+		inner.count = keep;
+		splitPage = allocate();
+		pool.put(splitPage, right);
+	}
+
+	@Override
+	public boolean remove(K key) {
+		checkOpen();
+		checkKey(key);
+		try {
+			int newRoot = remove(root, key);
+			if (newRoot < 0) {
+				return false;
+			}
+			Node node = pool.get(newRoot);
+			if (node instanceof Inner && node.count == 0) {
+				int child = ((Inner) node).children[0];
+				free(newRoot);
+				newRoot = child;
+				height--;
+			}
+			root = newRoot;
+			size--;
+			modCount++;
+			return true;
+		}
+		finally {
+			pool.releasePins();
+		}
+	}
+
+	/***
+	 * Removes from the subtree of the page and returns the page the subtree now starts at, or -1 if the key is not
+	 * in the subtree.
+	 */
+	private int remove(int pageId, K key) {
+		Node node = pool.get(pageId);
+		if (node instanceof Leaf) {
+			Leaf leaf = (Leaf) node;
+			int index = indexOf(leaf, key);
+			if (index < 0) {
+				return -1;
+			}
+			pageId = writable(pageId);
+			unshift(leaf.keys, index, leaf.count);
+			unshift(leaf.values, index, leaf.count);
+			leaf.count--;
+			return pageId;
+		}
+		Inner inner = (Inner) node;
+		int index = childIndex(inner, key);
+		int child = remove(inner.children[index], key);
+		if (child < 0) {
+			return -1;
+		}
+		Node childNode = pool.get(child);
+		if (child == inner.children[index] && childNode.count >= minCount(childNode)) {
+			return pageId; // the child was changed in place
+		}
+		pageId = writable(pageId);
+		inner.children[index] = child;
+		if (childNode.count < minCount(childNode)) {
+			rebalance(inner, index);
+		}
+		return pageId;
+	}
+
+	private int minCount(Node node) {
+		return (node instanceof Leaf) ? leafOrder / 2 : (innerOrder - 1) / 2;
+	}
+
+	/***
+	 * Refills the child at the index of the parent from a sibling that can spare an entry, or else merges it with a
+	 * sibling. The parent is writable already, a sibling is made writable before it is changed.
+	 */
+	private void rebalance(Inner parent, int index) {
+		Node child = pool.get(parent.children[index]);
+		Node left = (index > 0) ? pool.get(parent.children[index - 1]) : null;
+		Node right = (index < parent.count) ? pool.get(parent.children[index + 1]) : null;
+		if (null != left && left.count > minCount(left)) {
+			parent.children[index - 1] = writable(parent.children[index - 1]);
+			borrowFromLeft(parent, index, left, child);
+		}
+		else if (null != right && right.count > minCount(right)) {
+			parent.children[index + 1] = writable(parent.children[index + 1]);
+			borrowFromRight(parent, index, child, right);
+		}
+		else if (null != left) {
+			parent.children[index - 1] = writable(parent.children[index - 1]);
+			merge(parent, index - 1, left, child);
+		}
+		else {
+			merge(parent, index, child, right);
+		}
+	}
+
+	private void borrowFromLeft(Inner parent, int index, Node left, Node child) {
+		shift(child.keys, 0, child.count);
+		if (child instanceof Leaf) {
+			Leaf from = (Leaf) left, to = (Leaf) child;
+			shift(to.values, 0, to.count);
+			to.keys[0] = from.keys[from.count - 1];
+			to.values[0] = from.values[from.count - 1];
+			from.keys[from.count - 1] = from.values[from.count - 1] = null;
+			parent.keys[index - 1] = to.keys[0];
+		}
+		else {
+			Inner from = (Inner) left, to = (Inner) child;
+			System.arraycopy(to.children, 0, to.children, 1, to.count + 1);
+			to.keys[0] = parent.keys[index - 1];
+			to.children[0] = from.children[from.count];
+			parent.keys[index - 1] = from.keys[from.count - 1];
+			from.keys[from.count - 1] = null;
+		}
+		left.count--;
+		child.count++;
+	}
+
+	private void borrowFromRight(Inner parent, int index, Node child, Node right) {
+		if (child instanceof Leaf) {
+			Leaf from = (Leaf) right, to = (Leaf) child;
+			to.keys[to.count] = from.keys[0];
+			to.values[to.count] = from.values[0];
+			unshift(from.keys, 0, from.count);
+			unshift(from.values, 0, from.count);
+			parent.keys[index] = from.keys[0];
+		}
+		else {
+			Inner from = (Inner) right, to = (Inner) child;
+			to.keys[to.count] = parent.keys[index];
+			to.children[to.count + 1] = from.children[0];
+			parent.keys[index] = from.keys[0];
+			unshift(from.keys, 0, from.count);
+			System.arraycopy(from.children, 1, from.children, 0, from.count);
+		}
+		right.count--;
+		child.count++;
+	}
+
+	/***
+	 * Moves everything of the right node into the left one, frees the right page and drops the separator at the
+	 * index of the parent.
+	 */
+	private void merge(Inner parent, int index, Node left, Node right) {
+		if (left instanceof Leaf) {
+			Leaf to = (Leaf) left, from = (Leaf) right;
+			System.arraycopy(from.keys, 0, to.keys, to.count, from.count);
+			System.arraycopy(from.values, 0, to.values, to.count, from.count);
+			to.count += from.count;
+		}
+		else {
+			Inner to = (Inner) left, from = (Inner) right;
+			to.keys[to.count] = parent.keys[index];
+			System.arraycopy(from.keys, 0, to.keys, to.count + 1, from.count);
+			System.arraycopy(from.children, 0, to.children, to.count + 1, from.count + 1);
+			to.count += from.count + 1;
+		}
+		free(parent.children[index + 1]);
+		unshift(parent.keys, index, parent.count);
+		System.arraycopy(parent.children, index + 2, parent.children, index + 1, parent.count - index - 1);
+		parent.count--;
+	}
+
+	/***
+	 * Returns the value of the key, or null if the key is not in the tree.
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(K key) {
+		checkOpen();
+		checkKey(key);
+		try {
+			Node node = pool.get(root);
+			while (node instanceof Inner) {
+				Inner inner = (Inner) node;
+				node = pool.get(inner.children[childIndex(inner, key)]);
+			}
+			int index = indexOf(node, key);
+			return (index >= 0) ? (V) ((Leaf) node).values[index] : null;
+		}
+		finally {
+			pool.releasePins();
+		}
+	}
+
+	public boolean containsKey(K key) {
+		return get(key) != null;
+	}
+
+	/***
+	 * Returns the first key of the root page, which for an inner root is the smallest key of its second subtree.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public K rootkey() {
+		checkOpen();
+		if (isEmpty()) {
+			throw new DataStructureEmptyException("Disk B+ tree is empty.");
+		}
+		try {
+			return (K) pool.get(root).keys[0];
+		}
+		finally {
+			pool.releasePins();
+		}
+	}
+
+	public K firstKey() {
+		if (isEmpty()) {
+			throw new DataStructureEmptyException("Disk B+ tree is empty.");
+		}
+		return cursor().next();
+	}
+
+	@SuppressWarnings("unchecked")
+	public K lastKey() {
+		checkOpen();
+		if (isEmpty()) {
+			throw new DataStructureEmptyException("Disk B+ tree is empty.");
+		}
+		try {
+			Node node = pool.get(root);
+			while (node instanceof Inner) {
+				node = pool.get(((Inner) node).children[node.count]);
+			}
+			return (K) node.keys[node.count - 1];
+		}
+		finally {
+			pool.releasePins();
+		}
+	}
+
+	/***
+	 * Returns a cursor over all the keys in increasing order.
+	 */
+	public Cursor cursor() {
+		return new Cursor(null, null);
+	}
+
+	/***
+	 * Returns a cursor over the keys between from and to, both inclusive, in increasing order. The cursor reads one
+	 * leaf at a time, however large the range is.
+	 *
+	 * @param from - smallest key of the range
+	 * @param to - largest key of the range
+	 * @return - cursor of {@code Cursor} type
+	 */
+	public Cursor range(K from, K to) {
+		checkKey(from);
+		checkKey(to);
+		if (from.compareTo(to) > 0) {
+			throw new IllegalArgumentException("Invalid range : " + from + " > " + to);
+		}
+		return new Cursor(from, to);
+	}
+
+	@Override
+	public Iterator<K> iterator() {
+		return cursor();
+	}
+
+	/***
+	 * Streams the keys of a range in increasing order, along with their values. The cursor keeps the path from the
+	 * root to the current leaf, the inner pages on it and their child indexes, and moves to the next leaf by going
+	 * up the path until it can go right. It fails fast if the tree is changed.
+	 */
+	public class Cursor implements Iterator<K> {
+
+		private final K to;
+		private final Inner[] path = new Inner[height];
+		private final int[] indexes = new int[height];
+		private int depth; // inner pages on the path
+		private Leaf leaf;
+		private int index;
+		private Object value;
+		private final int expectedModCount = modCount;
+
+		private Cursor(K from, K to) {
+			checkOpen();
+			this.to = to;
+			try {
+				Node node = pool.get(root);
+				while (node instanceof Inner) {
+					Inner inner = (Inner) node;
+					int child = (null == from) ? 0 : childIndex(inner, from);
+					push(inner, child);
+					node = pool.get(inner.children[child]);
+				}
+				leaf = (Leaf) node;
+				if (null != from) {
+					index = indexOf(leaf, from);
+					index = (index >= 0) ? index : -(index + 1);
+				}
+				skipEmptyLeaf();
+			}
+			finally {
+				pool.releasePins();
+			}
+		}
+
+		private void push(Inner inner, int child) {
+			path[depth] = inner;
+			indexes[depth++] = child;
+		}
+
+		/***
+		 * Moves to the next leaf if the current one is used up.
+		 */
+		private void skipEmptyLeaf() {
+			if (index < leaf.count) {
+				return;
+			}
+			while (depth > 0 && indexes[depth - 1] == path[depth - 1].count) {
+				depth--;
+			}
+			if (depth == 0) {
+				leaf = null;
+				return;
+			}
+			Node node = pool.get(path[depth - 1].children[++indexes[depth - 1]]);
+			while (node instanceof Inner) {
+				push((Inner) node, 0);
+				node = pool.get(((Inner) node).children[0]);
+			}
+			leaf = (Leaf) node;
+			index = 0;
+		}
+
+		@SuppressWarnings("unchecked")
+		public boolean hasNext() {
+			return null != leaf && (null == to || to.compareTo((K) leaf.keys[index]) >= 0);
+		}
+
+		@SuppressWarnings("unchecked")
+		public K next() {
+			if (expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			K key = (K) leaf.keys[index];
+			value = leaf.values[index++];
+			try {
+				skipEmptyLeaf();
+			}
+			finally {
+				pool.releasePins();
+			}
+			return key;
+		}
+
+		/***
+		 * Returns the value of the key last returned by next.
+		 */
+		@SuppressWarnings("unchecked")
+		public V value() {
+			if (null == value) {
+				throw new IllegalStateException("Call next first.");
+			}
+			return (V) value;
+		}
+	}
+
+	public String toString() {
+		return "[size->" + size + ", height->" + height + ", pages->" + pageCount + ", free->" + freePages.size()
+				+ ", commit->" + txnId + "]";
+	}
+
+	/***
+	 * Checks the fill of the pages, the order of the keys, the depth of the leaves, the size and that every page is
+	 * either in the tree, free or waiting for the next commit, for the tests.
+	 *
+	 * @throws IllegalStateException if a property does not hold
+	 */
+	void checkInvariants() {
+		BitSet seen = new BitSet(pageCount);
+		long[] count = new long[1];
+		try {
+			checkInvariants(root, null, null, 1, count, seen);
+		}
+		finally {
+			pool.releasePins();
+		}
+		if (count[0] != size) {
+			throw new IllegalStateException("Size is " + size + " but the leaves hold " + count[0] + " keys.");
+		}
+		for (IntDynamicArray pages : new IntDynamicArray[] {freePages, pendingFree}) {
+			for (int i=0; i<pages.size(); i++) {
+				if (seen.get(pages.getAt(i))) {
+					throw new IllegalStateException("Page " + pages.getAt(i) + " is in the tree and free.");
+				}
+				seen.set(pages.getAt(i));
+			}
+		}
+		if (seen.cardinality() != pageCount - META_PAGES) {
+			throw new IllegalStateException("Lost " + (pageCount - META_PAGES - seen.cardinality()) + " pages.");
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void checkInvariants(int pageId, K low, K high, int depth, long[] count, BitSet seen) {
+		if (seen.get(pageId) || pageId < META_PAGES) {
+			throw new IllegalStateException("Page " + pageId + " is linked twice.");
+		}
+		seen.set(pageId);
+		Node node = pool.get(pageId);
+		if (pageId != root && node.count < minCount(node)) {
+			throw new IllegalStateException("Page " + pageId + " under filled with " + node.count + " keys.");
+		}
+		for (int i=0; i<node.count; i++) {
+			K key = (K) node.keys[i];
+			if ((i > 0 && key.compareTo((K) node.keys[i - 1]) <= 0) || (null != low && key.compareTo(low) < 0)
+					|| (null != high && key.compareTo(high) >= 0)) {
+				throw new IllegalStateException("Key " + key + " out of order.");
+			}
+		}
+		if (node instanceof Leaf) {
+			if (depth != height) {
+				throw new IllegalStateException("Leaf at depth " + depth + " in a tree of height " + height);
+			}
+			count[0] += node.count;
+			return;
+		}
+		Inner inner = (Inner) node;
+		for (int i=0; i<=inner.count; i++) {
+			K childLow = (i == 0) ? low : (K) inner.keys[i - 1];
+			K childHigh = (i == inner.count) ? high : (K) inner.keys[i];
+			checkInvariants(inner.children[i], childLow, childHigh, depth + 1, count, seen);
+		}
+	}
+}
@@ -2,199 +2,246 @@ package nkher.datastructures.trees;
 
 import java.util.AbstractList;
 import java.util.Arrays;
+import java.util.RandomAccess;
 
 /**
+ * A hashed array tree (Sitarski, "Algorithm Alley: HATs: Hashed array trees", Dr. Dobb's Journal 1996). The elements
+ * are stored in leaf arrays of 2^k elements which hang off a top array of 2^k pointers, so the element at index i is
+ * at leaves[i >>> k][i & (2^k - 1)] and access stays O(1).
+ *
+ * Leaves are only allocated when they are reached, hence at most one leaf plus the top array is unused, an O(sqrt n)
+ * overhead against the up to n wasted slots of a doubling array like {@link nkher.datastructures.lists.DynamicArray}.
+ * Appends never move existing elements, except when the tree is full and k grows by one. The tree is then rebuilt
+ * leaf by leaf, merging two old leaves into a new one and dropping them right away, so no second array of the full
+ * size is ever needed. That makes the tree a lower memory alternative to DynamicArray for very large lists.
+ *
+ * Inserting or removing in the middle shifts the following elements by one, a block at a time with one
+ * System.arraycopy per leaf and one element carried over between neighbouring leaves. The tree shrinks when it is
+ * only an eighth full. The data structure is not thread safe.
+ *
  * Created by nameshkher on 6/11/16.
  */
-public class HashedArrayTree<T>  extends AbstractList<T> {
+public class HashedArrayTree<T> extends AbstractList<T> implements RandomAccess {
 
-    private static final int minParentArraySize = 2;
-    private T[][] data;
+    private static final int MIN_SHIFT = 1; // the smallest tree has 2 leaves of 2 elements
+
+    private Object[][] leaves; // the top array, its length is always the leaf size
+    private int shift; // log2 of the leaf size
+    private int mask; // leaf size - 1
     private int size = 0;
-    private int logSize = 0;
 
     public HashedArrayTree() {
-        data = (T[][]) new Object[minParentArraySize][]; // topmost array
+        init();
+    }
+
+    private void init() {
+        shift = MIN_SHIFT;
+        mask = (1 << shift) - 1;
+        leaves = new Object[1 << shift][];
+        size = 0;
     }
 
     public int size() {
         return this.size;
     }
 
+    /***
+     * Returns the number of elements the tree can hold before it has to grow, the square of the leaf size.
+     */
+    public int capacity() {
+        return leaves.length << shift;
+    }
+
     @Override
     public boolean add(T element) {
-
-        if (size() == data.length * data.length)
-            grow();
-
-        /* Compute the array, index pair for the next position */
-        int offset = computeOffset(size());
-        int index = computeIndex(size());
-
-        if (data[offset] == null)
-            data[offset] = (T[]) new Object[data.length];
-
-        /* Write the element to its location */
-        data[offset][index] = element;
-
+        ensureSlotForNext();
+        leaves[size >>> shift][size & mask] = element;
         ++size;
-
+        ++modCount;
         return true;
     }
 
+    /***
+     * Makes sure that the slot at index size exists, growing the tree and allocating the leaf as needed.
+     */
+    private void ensureSlotForNext() {
+        if (size == capacity()) {
+            grow();
+        }
+        int leaf = size >>> shift;
+        if (leaves[leaf] == null) {
+            leaves[leaf] = new Object[mask + 1];
+        }
+    }
+
     @Override
     public T set(int index, T element) {
-
-        int offset = computeOffset(index);
-        int arrIndex = computeIndex(index);
-
-        T result = data[offset][arrIndex];
-        data[offset][arrIndex] = element;
-
-        return element;
+        checkIndex(index);
+        Object[] leaf = leaves[index >>> shift];
+        @SuppressWarnings("unchecked")
+        T result = (T) leaf[index & mask];
+        leaf[index & mask] = element;
+        return result;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public T get(int index) {
+        checkIndex(index);
+        return (T) leaves[index >>> shift][index & mask];
+    }
 
+    private void checkIndex(int index) {
         if (index < 0 || index >= size) {
             throw new IndexOutOfBoundsException("Index " + index + ", size " + size());
         }
-
-        return data[computeOffset(index)][computeIndex(index)];
     }
 
+    /***
+     * Inserts the element at the index, shifting the element at that index and the following ones to the right.
+     * The shift moves each leaf with a single array copy.
+     */
     @Override
     public void add(int index, T element) {
-
-        if (index < 0 || index >= size()) {
+        if (index < 0 || index > size) {
             throw new IndexOutOfBoundsException("Index " + index + ", size " + size());
         }
-
-        /* Add a dummy element to ensure that everything resizes correctly. There's no reason to repeat the logic. */
-        add(null);
-
-        for (int i=size(); i<index; ++i) {
-            set(i, get(i-1));
+        if (index == size) {
+            add(element);
+            return;
         }
+        ensureSlotForNext();
+        shiftRight(index);
+        leaves[index >>> shift][index & mask] = element;
+        ++size;
+        ++modCount;
+    }
 
-        set(index, element);
+    /***
+     * Moves the elements of [index, size) one position to the right, going from the last leaf backwards and carrying
+     * the last element of every leaf into the first slot of the next one.
+     */
+    private void shiftRight(int index) {
+        int leafSize = mask + 1;
+        int firstLeaf = index >>> shift, lastLeaf = size >>> shift;
+        for (int leaf=lastLeaf; leaf>firstLeaf; leaf--) {
+            Object[] current = leaves[leaf];
+            int count = (leaf == lastLeaf) ? (size & mask) : leafSize - 1;
+            System.arraycopy(current, 0, current, 1, count);
+            current[0] = leaves[leaf - 1][leafSize - 1];
+        }
+        Object[] first = leaves[firstLeaf];
+        int start = index & mask;
+        int end = (firstLeaf == lastLeaf) ? (size & mask) : leafSize - 1;
+        System.arraycopy(first, start, first, start + 1, end - start);
     }
 
+    /***
+     * Removes the element at the index, shifting the following elements to the left one leaf at a time.
+     */
     @Override
     public T remove(int index) {
-
         T result = get(index);
-
-        /* Naive shuffle down algorithm to reposition elements after the removed one. */
-        for (int i=index+1; i<size(); ++i)
-            set(i-1, get(i));
-
-        /* Clobber the last element to play nicely with the garbage collector */
-        set(size()-1, null);
-
+        shiftLeft(index);
         --size;
+        ++modCount;
 
         /* If we are now at 1/8 total capacity, shrink the structure. */
-        if (size() * 8 <= data.length * data.length) {
+        if (size * 8 <= capacity() && shift > MIN_SHIFT) {
             shrink();
         }
 
         /**
-         * Otherwise, if the size is now an even multiple of the array size,
-         * we can drop the very last array.  This is the array whose offset
-         * is one after the end of the elements.
+         * Otherwise, if the leaf after the last element became empty, we can drop the leaf after it.
+         * Keeping one empty leaf around avoids allocating and dropping a leaf over and over when
+         * elements are added and removed at a leaf boundary.
          */
-        else if (size() % data.length == 0) {
-            data[computeOffset(size())] = null;
+        else if ((size & mask) == 0) {
+            int spare = (size >>> shift) + 1;
+            if (spare < leaves.length) {
+                leaves[spare] = null;
+            }
         }
 
         return result;
     }
 
-
     /***
-     * Given an index, this method returns the index of the parent array into which we insert data.
-     *
-     * @return
+     * Moves the elements of (index, size) one position to the left and clears the last slot.
      */
-    private int computeOffset(int index) {
-        return index >> logSize;
+    private void shiftLeft(int index) {
+        int leafSize = mask + 1;
+        int last = size - 1;
+        int firstLeaf = index >>> shift, lastLeaf = last >>> shift;
+        Object[] first = leaves[firstLeaf];
+        int start = index & mask;
+        int end = (firstLeaf == lastLeaf) ? (last & mask) : leafSize - 1;
+        System.arraycopy(first, start + 1, first, start, end - start);
+        for (int leaf=firstLeaf+1; leaf<=lastLeaf; leaf++) {
+            Object[] current = leaves[leaf];
+            leaves[leaf - 1][leafSize - 1] = current[0];
+            int count = (leaf == lastLeaf) ? (last & mask) : leafSize - 1;
+            System.arraycopy(current, 1, current, 0, count);
+        }
+        /* Clobber the last element to play nicely with the garbage collector */
+        leaves[lastLeaf][last & mask] = null;
     }
 
-    /***
-     * Given an index, this method returns the index of the sub array
-     * into which we insert data.
-     *
-     * @return
-     */
-    private int computeIndex(int index) {
-        return index & (data.length - 1);
+    @Override
+    public void clear() {
+        init();
+        ++modCount;
     }
 
+    /***
+     * Doubles the leaf size and the top array when the tree is full. Every pair of old leaves is merged into a new
+     * leaf, and the old leaves are dropped as soon as they are copied.
+     */
     private void grow() {
+        int oldLeafSize = mask + 1;
+        Object[][] newLeaves = new Object[leaves.length * 2][];
 
-        T[][] newData = (T[][]) new Object[data.length * 2][];
-
-        /* The new arrays each have size 2^(n + 1).  We need 2^(n - 1) of them
-         * to hold the old elements.  Allocate those here and copy everything
-         * over.
-         */
-        for (int i=0; i<data.length; i=i+2) {
-
-            newData[i/2] = (T[]) new Object[newData.length];
-
-            System.arraycopy(data[i], 0, newData[i/2], 0, data.length);
-            System.arraycopy(data[i+1], 0, newData[i/2], data.length, data.length);
+        for (int i=0; i<leaves.length; i=i+2) {
+            Object[] merged = new Object[newLeaves.length];
+            System.arraycopy(leaves[i], 0, merged, 0, oldLeafSize);
+            System.arraycopy(leaves[i+1], 0, merged, oldLeafSize, oldLeafSize);
 
             /* Null out the old arrays to be nice to the GC during this potentially stressful time. */
-            data[i] = data[i+1] = null;
+            leaves[i] = leaves[i+1] = null;
+            newLeaves[i/2] = merged;
         }
 
-        data = newData;
-
-        ++logSize;
+        leaves = newLeaves;
+        ++shift;
+        mask = (1 << shift) - 1;
     }
 
+    /***
+     * Halves the leaf size and the top array. The tree is at most an eighth full, so the elements fit in half of the
+     * new, four times smaller, capacity. Every old leaf holding elements is split into two new leaves.
+     */
     private void shrink() {
-        /* If the size of the topmost array is at its minimum, don't do
-         * anything.  This doesn't change the asymptotic memory usage because
-         * we only do this for small arrays.
-         */
-        if (data.length == minParentArraySize) return;
-
-        /* Otherwise, we currently have 2^(2n) / 8 = 2^(2n - 3) elements.
-         * We're about to shrink into a grid of 2^(2n - 2) elements, and so
-         * we'll fill in half of the elements.
-         */
-        T[][] newData = (T[][]) new Object[data.length / 2][];
-
-        for (int i=0; i<newData.length/2; i++) {
-            newData[i] = (T[]) new Object[newData.length];
-
-            /* Move everything into it.  If this is an odd array, it comes
-             * from the upper half of the old array; otherwise it comes from
-             * the lower half.
-             */
-            System.arraycopy(data[i/2], (i % 2 == 0) ? 0 : newData.length,
-                            newData[i], 0, newData.length);
-
-            /* Play nice with the GC.  If this is an odd-numbered array, we
-             * just copied over everything we needed and can clear out the
-             * old array.
-             */
-            if (i % 2 == 1)
-                data[i / 2] = null;
+        int newLeafSize = (mask + 1) / 2;
+        Object[][] newLeaves = new Object[leaves.length / 2][];
+        int usedNewLeaves = (size + newLeafSize - 1) / newLeafSize;
+
+        for (int i=0; i<usedNewLeaves; i++) {
+            newLeaves[i] = new Object[newLeafSize];
+            /* An even leaf comes from the lower half of the old leaf, an odd one from the upper half. */
+            System.arraycopy(leaves[i / 2], (i % 2 == 0) ? 0 : newLeafSize, newLeaves[i], 0, newLeafSize);
+            if (i % 2 == 1) {
+                leaves[i / 2] = null;
+            }
         }
 
-        data = newData;
-
-        --logSize;
+        leaves = newLeaves;
+        --shift;
+        mask = (1 << shift) - 1;
     }
 
     @Override
     public String toString() {
-        return Arrays.deepToString(data);
+        return Arrays.toString(toArray());
     }
 
 }
@@ -0,0 +1,123 @@
+package nkher.datastructures.trees;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/***
+ * A file of fixed size pages, memory mapped in segments of 64 MB or more. A segment is mapped the first time one of
+ * its pages is used, which also grows the file, so reading and writing a page is a plain memory access and the
+ * operating system decides what stays in memory. Used by {@link DiskBPlusTree}. </br>
+ *
+ * Java 8 cannot unmap a buffer, the segments stay mapped until they are garbage collected, even after the file is
+ * closed.
+ *
+ * @author nameshkher
+ *
+ */
+class PageFile {
+
+	private static final int SEGMENT_BYTES = 1 << 26;
+
+	private final FileChannel channel;
+	private final int pageSize;
+	private final int pagesPerSegment;
+	private MappedByteBuffer[] segments = new MappedByteBuffer[4];
+
+	/***
+	 * Opens the file, creating it if it does not exist.
+	 *
+	 * @param pageSize - size of a page in bytes, a power of 2
+	 */
+	PageFile(Path path, int pageSize) {
+		this.pageSize = pageSize;
+		this.pagesPerSegment = Math.max(SEGMENT_BYTES, pageSize) / pageSize;
+		try {
+			this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	int pageSize() {
+		return pageSize;
+	}
+
+	/***
+	 * Returns true if the file has no bytes, that is it has just been created.
+	 */
+	boolean isEmpty() {
+		try {
+			return channel.size() == 0;
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/***
+	 * Returns a view of the page, positioned at its first byte. Writes to the view go to the file.
+	 */
+	ByteBuffer page(int pageId) {
+		int segment = pageId / pagesPerSegment;
+		if (segment >= segments.length) {
+			segments = Arrays.copyOf(segments, Math.max(segments.length * 2, segment + 1));
+		}
+		if (null == segments[segment]) {
+			segments[segment] = map(segment);
+		}
+		ByteBuffer page = segments[segment].duplicate();
+		int offset = (pageId % pagesPerSegment) * pageSize;
+		page.position(offset);
+		page.limit(offset + pageSize);
+		return page.slice();
+	}
+
+	private MappedByteBuffer map(int segment) {
+		try {
+			return channel.map(FileChannel.MapMode.READ_WRITE, (long) segment * pagesPerSegment * pageSize,
+					(long) pagesPerSegment * pageSize);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/***
+	 * Writes the changed pages of every mapped segment to the disk, returning once they are durable.
+	 */
+	void force() {
+		for (MappedByteBuffer segment : segments) {
+			if (null != segment) {
+				segment.force();
+			}
+		}
+	}
+
+	/***
+	 * Writes the changed pages of the segment holding the page to the disk.
+	 */
+	void force(int pageId) {
+		MappedByteBuffer segment = segments[pageId / pagesPerSegment];
+		if (null != segment) {
+			segment.force();
+		}
+	}
+
+	void close() {
+		force();
+		try {
+			channel.close();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
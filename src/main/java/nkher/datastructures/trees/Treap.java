@@ -4,6 +4,7 @@ import java.util.Random;
 
 import nkher.datastructures.lists.DynamicArray;
 import nkher.api.MyTreap;
+import nkher.utils.NodePool;
 
 /***
  * A Treap a is a special type of tree data structure that stores 2 pieces of information.
@@ -25,6 +26,7 @@ public class Treap<K extends Comparable<K>, V> implements MyTreap<K, V> {
 	private static Random rand = new Random();
 
 	private TreapNode<K, V> root;
+	private NodePool<TreapNode<K, V>> nodePool; // null unless node pooling is enabled
 	
 	public static class TreapNode<K extends Comparable<K>, V> {
 		
@@ -136,9 +138,49 @@ public class Treap<K extends Comparable<K>, V> implements MyTreap<K, V> {
 		
 	}
 	
+	/***
+	 * Makes the treap reuse the nodes of removed keys, keeping up to maxPooledNodes free nodes. Nodes returned by
+	 * the treap must not be used once their key has been removed. See {@link NodePool}.
+	 * 
+	 * @param maxPooledNodes - maximum number of free nodes kept for reuse
+	 */
+	public void enableNodePooling(int maxPooledNodes) {
+		nodePool = new NodePool<TreapNode<K, V>>(maxPooledNodes, TreapNode::new);
+	}
+	
+	/***
+	 * Returns the node pool of the treap, or null if node pooling is not enabled.
+	 */
+	public NodePool<TreapNode<K, V>> nodePool() {
+		return nodePool;
+	}
+	
+	private TreapNode<K, V> newNode(K key, V val, int priority) {
+		if (null == nodePool) {
+			return new TreapNode<K, V>(key, val, priority);
+		}
+		TreapNode<K, V> node = nodePool.acquire();
+		node.key = key;
+		node.value = val;
+		node.priority = priority;
+		return node;
+	}
+	
+	/***
+	 * Gives a node that was unlinked from the treap back to the pool, if pooling is enabled.
+	 */
+	private void recycle(TreapNode<K, V> node) {
+		if (null != nodePool) {
+			node.key = null;
+			node.value = null;
+			node.left = node.right = null;
+			nodePool.release(node);
+		}
+	}
+	
 	@Override
 	public void insert(K key, V val) {
-		insert(new TreapNode<K, V>(key, val));
+		insert(newNode(key, val, rand.nextInt(Integer.MAX_VALUE/2) + 1));
 	}
 	
 	public void insert(TreapNode<K, V> node) {
@@ -150,7 +192,7 @@ public class Treap<K extends Comparable<K>, V> implements MyTreap<K, V> {
 	}
 	
 	public void insertWithPriority(K key, V val, int priority) {
-		root = insertHelper(root, new TreapNode<>(key, val, priority));
+		root = insertHelper(root, newNode(key, val, priority));
 	}
 	
 	private TreapNode<K, V> insertHelper(TreapNode<K, V> root, TreapNode<K, V> node) {
@@ -177,7 +219,8 @@ public class Treap<K extends Comparable<K>, V> implements MyTreap<K, V> {
 	@Override
 	public boolean remove(K key) {
 		if (contains(key)) {
-			removeHelper(root, key);
+			root = removeHelper(root, key);
+			size--;
 			return true;
 		}
 		return false;		
@@ -196,10 +239,12 @@ public class Treap<K extends Comparable<K>, V> implements MyTreap<K, V> {
 		else if (root.left == null) { // If the key is at the root and left is null
 			TreapNode<K, V> temp = root;
 			root = temp.right;
+			recycle(temp);
 		} 
 		else if (root.right == null) { // If the key is at the root and right is null
 			TreapNode<K, V> temp = root;
 			root = temp.left;
+			recycle(temp);
 		}
 			
 		else if (root.left.priority < root.right.priority) {
@@ -226,7 +271,7 @@ public class Treap<K extends Comparable<K>, V> implements MyTreap<K, V> {
 			return true;
 		}
 		
-		if (root.key.compareTo(key) < 0) { // If root's key is greater than key to be searched
+		if (root.key.compareTo(key) > 0) { // If root's key is greater than key to be searched
 			return containsHelper(root.left, key);
 		}
 		
@@ -0,0 +1,226 @@
+package nkher.main;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+import nkher.datastructures.queues.ConcurrentLinkedDequeList;
+import nkher.datastructures.queues.WorkStealingDeque;
+
+/***
+ * A small fork/join style executor showing how {@link WorkStealingDeque} is meant to be used. Every worker thread
+ * owns a deque : a task forked by a worker is pushed on its own deque, the worker pops its newest task first, and
+ * a worker that runs out of tasks steals the oldest task of a random other worker. Tasks submitted from outside
+ * the pool go through a shared {@link ConcurrentLinkedDequeList}. </br>
+ *
+ * A worker joining a task that is not done yet does not block, it keeps running tasks, its own first and then
+ * stolen ones, until the task it waits for is done. A thread outside the pool blocks in join instead. Idle workers
+ * park for a short while between attempts to find work.
+ *
+ * @author nameshkher
+ *
+ */
+public class WorkStealingExecutor implements AutoCloseable {
+
+	private static final long IDLE_PARK_NANOS = 50_000;
+
+	private final Worker[] workers;
+	private final ConcurrentLinkedDequeList<Task<?>> submissions = new ConcurrentLinkedDequeList<>();
+	private volatile boolean shutdown;
+
+	/***
+	 * A piece of work that may fork sub tasks and join them.
+	 *
+	 * @param <R> type of the result
+	 */
+	public static abstract class Task<R> {
+
+		private volatile boolean done;
+		private volatile boolean waiting; // a thread outside the pool is blocked in join
+		private R result;
+		private RuntimeException failure;
+
+		/***
+		 * Does the work of the task, forking and joining sub tasks as needed.
+		 */
+		protected abstract R compute();
+
+		/***
+		 * Pushes the task on the deque of the current worker, to be run by it or stolen by another worker.
+		 *
+		 * @throws IllegalStateException if the current thread is not a worker
+		 */
+		public final Task<R> fork() {
+			Thread thread = Thread.currentThread();
+			if (!(thread instanceof Worker)) {
+				throw new IllegalStateException("Tasks can only be forked from a worker thread.");
+			}
+			((Worker) thread).deque.push(this);
+			return this;
+		}
+
+		/***
+		 * Waits for the task to be done and returns its result, running other tasks in the meantime when called
+		 * from a worker.
+		 */
+		public final R join() {
+			Thread thread = Thread.currentThread();
+			if (thread instanceof Worker) {
+				((Worker) thread).helpUntilDone(this);
+			}
+			else if (!done) {
+				waiting = true;
+				synchronized (this) {
+					while (!done) {
+						try {
+							wait();
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+							throw new IllegalStateException("Interrupted while joining a task.", e);
+						}
+					}
+				}
+			}
+			if (null != failure) {
+				throw failure;
+			}
+			return result;
+		}
+
+		public final boolean isDone() {
+			return done;
+		}
+
+		final void run() {
+			try {
+				result = compute();
+			} catch (RuntimeException e) {
+				failure = e;
+			}
+			done = true;
+			if (waiting) {
+				synchronized (this) {
+					notifyAll();
+				}
+			}
+		}
+	}
+
+	public WorkStealingExecutor() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	public WorkStealingExecutor(int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism must be at least 1 : " + parallelism);
+		}
+		workers = new Worker[parallelism];
+		for (int i=0; i<parallelism; i++) {
+			workers[i] = new Worker(i);
+		}
+		for (Worker worker : workers) {
+			worker.start();
+		}
+	}
+
+	public int parallelism() {
+		return workers.length;
+	}
+
+	/***
+	 * Submits the task to the pool and waits for its result.
+	 */
+	public <R> R invoke(Task<R> task) {
+		submit(task);
+		return task.join();
+	}
+
+	/***
+	 * Submits the task to the pool without waiting for it.
+	 */
+	public <R> Task<R> submit(Task<R> task) {
+		if (shutdown) {
+			throw new IllegalStateException("Executor has been shut down.");
+		}
+		submissions.offer(task);
+		for (Worker worker : workers) {
+			LockSupport.unpark(worker);
+		}
+		return task;
+	}
+
+	/***
+	 * Stops the workers once they are done with the task they are running and waits for them to exit.
+	 */
+	@Override
+	public void close() {
+		shutdown = true;
+		for (Worker worker : workers) {
+			LockSupport.unpark(worker);
+		}
+		for (Worker worker : workers) {
+			try {
+				worker.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	private final class Worker extends Thread {
+
+		final WorkStealingDeque<Task<?>> deque = new WorkStealingDeque<>();
+		final int index;
+
+		Worker(int index) {
+			super("work-stealing-worker-" + index);
+			this.index = index;
+			setDaemon(true);
+		}
+
+		/***
+		 * Returns a task from the own deque, the submissions or another worker, or null if none was found.
+		 */
+		Task<?> findTask() {
+			Task<?> task = deque.pop();
+			if (null == task) {
+				task = submissions.poll();
+			}
+			if (null == task && workers.length > 1) {
+				int start = ThreadLocalRandom.current().nextInt(workers.length);
+				for (int i=0; i<workers.length && null == task; i++) {
+					Worker victim = workers[(start + i) % workers.length];
+					if (victim != this) {
+						task = victim.deque.steal();
+					}
+				}
+			}
+			return task;
+		}
+
+		void helpUntilDone(Task<?> joined) {
+			while (!joined.isDone()) {
+				Task<?> task = findTask();
+				if (null != task) {
+					task.run();
+				}
+				else {
+					Thread.yield(); // the joined task is running on another worker
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			while (!shutdown) {
+				Task<?> task = findTask();
+				if (null != task) {
+					task.run();
+				}
+				else {
+					LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package nkher.main;
+
+import java.util.Random;
+
+public class WorkStealingTester {
+
+	/***
+	 * Sums a range of an array by splitting it in halves until the range is small enough to sum directly.
+	 */
+	static class SumTask extends WorkStealingExecutor.Task<Long> {
+
+		final long[] numbers;
+		final int from, to, threshold;
+
+		SumTask(long[] numbers, int from, int to, int threshold) {
+			this.numbers = numbers;
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+		}
+
+		@Override
+		protected Long compute() {
+			if (to - from <= threshold) {
+				long sum = 0;
+				for (int i=from; i<to; i++) {
+					sum += numbers[i];
+				}
+				return sum;
+			}
+			int middle = (from + to) >>> 1;
+			SumTask left = new SumTask(numbers, from, middle, threshold);
+			left.fork();
+			long right = new SumTask(numbers, middle, to, threshold).compute();
+			return right + left.join();
+		}
+	}
+
+	public static void main(String[] args) {
+		long[] numbers = new long[10_000_000];
+		Random random = new Random(44);
+		long expected = 0;
+		for (int i=0; i<numbers.length; i++) {
+			numbers[i] = random.nextInt(1000);
+			expected += numbers[i];
+		}
+
+		int cores = Runtime.getRuntime().availableProcessors();
+		for (int parallelism=1; parallelism<=cores; parallelism*=2) {
+			try (WorkStealingExecutor executor = new WorkStealingExecutor(parallelism)) {
+				long start = System.nanoTime();
+				long sum = executor.invoke(new SumTask(numbers, 0, numbers.length, 10_000));
+				long millis = (System.nanoTime() - start) / 1_000_000;
+				System.out.println("parallelism : " + parallelism + ", sum : " + sum + " (expected " + expected + "), "
+						+ millis + " ms");
+			}
+		}
+	}
+}
@@ -3,7 +3,10 @@ package nkher.utils;
 import java.util.HashSet;
 import java.util.Set;
 
+import nkher.datastructures.lists.DoubleDynamicArray;
 import nkher.datastructures.lists.DynamicArray;
+import nkher.datastructures.lists.IntDynamicArray;
+import nkher.datastructures.lists.LongDynamicArray;
 
 
 /****
@@ -668,6 +671,79 @@ public class ArrayUtility {
 		}
 	}
 	
+	/********************************************************************************
+	 * COPIES BETWEEN THE PRIMITIVE TYPE ARRAYS AND THE PRIMITIVE DYNAMIC ARRAYS
+	 ********************************************************************************/
+	
+	/***
+	 * Appends the elements of the int[] array to the IntDynamicArray with a single copy, without boxing.
+	 *  
+	 * @param array
+	 * @param dArray
+	 */
+	public static void getDArray(int[] array, IntDynamicArray dArray) {
+		if (null == array) return;
+		dArray.addAll(array);
+	}
+	
+	/***
+	 * Fills the int[] array with the elements of the IntDynamicArray.
+	 * int[] array must be at least the size of dArray
+	 * 
+	 * @param dArray
+	 * @param array
+	 */
+	public static void fillArray(IntDynamicArray dArray, int[] array) {
+		if (null == dArray) return;
+		dArray.asBuffer().get(array, 0, dArray.size());
+	}
+	
+	/***
+	 * Appends the elements of the long[] array to the LongDynamicArray with a single copy, without boxing.
+	 *  
+	 * @param array
+	 * @param dArray
+	 */
+	public static void getDArray(long[] array, LongDynamicArray dArray) {
+		if (null == array) return;
+		dArray.addAll(array);
+	}
+	
+	/***
+	 * Fills the long[] array with the elements of the LongDynamicArray.
+	 * long[] array must be at least the size of dArray
+	 * 
+	 * @param dArray
+	 * @param array
+	 */
+	public static void fillArray(LongDynamicArray dArray, long[] array) {
+		if (null == dArray) return;
+		dArray.asBuffer().get(array, 0, dArray.size());
+	}
+	
+	/***
+	 * Appends the elements of the double[] array to the DoubleDynamicArray with a single copy, without boxing.
+	 *  
+	 * @param array
+	 * @param dArray
+	 */
+	public static void getDArray(double[] array, DoubleDynamicArray dArray) {
+		if (null == array) return;
+		dArray.addAll(array);
+	}
+	
+	/***
+	 * Fills the double[] array with the elements of the DoubleDynamicArray.
+	 * double[] array must be at least the size of dArray
+	 * 
+	 * @param dArray
+	 * @param array
+	 */
+	public static void fillArray(DoubleDynamicArray dArray, double[] array) {
+		if (null == dArray) return;
+		dArray.asBuffer().get(array, 0, dArray.size());
+	}
+	
 	/*******
 	 * UTILITY TO REVERSE PRIMITIVE TYPE ARRAYS
 	 ********/
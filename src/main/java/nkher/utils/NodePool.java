@@ -0,0 +1,117 @@
+package nkher.utils;
+
+import java.util.function.Supplier;
+
+/****
+ * A bounded pool of free nodes for the linked data structures of this library. A structure that has pooling enabled
+ * takes its nodes from the pool on insert and gives them back on remove, so that a structure whose size goes up and
+ * down stops allocating once the pool holds enough nodes. At most capacity nodes are kept, the rest are left to the
+ * garbage collector, hence a structure that shrinks for good does not hold on to its peak memory. </br>
+ *
+ * Each pool belongs to a single structure instance and is not thread safe. A node goes back to the pool the moment
+ * its element is removed, so a node obtained from the structure, say through a search, must not be used after its
+ * key or element has been removed. This is the price of pooling and why it is opt-in.
+ *
+ * @author nameshkher
+ *
+ * @param <N> type of the nodes
+ */
+public class NodePool<N> {
+
+	private final Object[] free;
+	private final Supplier<N> factory;
+	private int size;
+	private long allocated, reused, dropped;
+
+	/***
+	 * Creates an empty pool.
+	 *
+	 * @param capacity maximum number of free nodes kept
+	 * @param factory creates a node when the pool is empty
+	 */
+	public NodePool(int capacity, Supplier<N> factory) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Pool capacity cannot be negative : " + capacity);
+		}
+		if (null == factory) {
+			throw new IllegalArgumentException("Node factory cannot be null.");
+		}
+		this.free = new Object[capacity];
+		this.factory = factory;
+	}
+
+	/***
+	 * Returns a free node, allocating one only if the pool is empty. The fields of a reused node are the ones it
+	 * was released with.
+	 */
+	@SuppressWarnings("unchecked")
+	public N acquire() {
+		if (size == 0) {
+			allocated++;
+			return factory.get();
+		}
+		N node = (N) free[--size];
+		free[size] = null;
+		reused++;
+		return node;
+	}
+
+	/***
+	 * Gives a node back to the pool. The caller clears its fields first, so that the pool does not keep elements
+	 * alive.
+	 *
+	 * @return true if the node was kept, false if the pool was full and the node was dropped
+	 */
+	public boolean release(N node) {
+		if (size == free.length) {
+			dropped++;
+			return false;
+		}
+		free[size++] = node;
+		return true;
+	}
+
+	/***
+	 * Returns true if the pool cannot keep any more nodes, so that a caller releasing many nodes can stop early.
+	 */
+	public boolean isFull() {
+		return size == free.length;
+	}
+
+	/***
+	 * Returns the number of free nodes in the pool.
+	 */
+	public int size() {
+		return size;
+	}
+
+	public int capacity() {
+		return free.length;
+	}
+
+	/***
+	 * Returns the number of nodes allocated because the pool was empty.
+	 */
+	public long allocated() {
+		return allocated;
+	}
+
+	/***
+	 * Returns the number of nodes handed out from the pool instead of being allocated.
+	 */
+	public long reused() {
+		return reused;
+	}
+
+	/***
+	 * Returns the number of nodes released while the pool was full.
+	 */
+	public long dropped() {
+		return dropped;
+	}
+
+	public String toString() {
+		return "[size->" + size + ", capacity->" + free.length + ", allocated->" + allocated + ", reused->" + reused
+				+ ", dropped->" + dropped + "]";
+	}
+}
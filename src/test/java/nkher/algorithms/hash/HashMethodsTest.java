@@ -0,0 +1,63 @@
+package nkher.algorithms.hash;
+
+import java.nio.charset.StandardCharsets;
+
+import nkher.datastructures.bloomfilter.BloomFilter;
+import nkher.datastructures.map.HashMapLP;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HashMethodsTest {
+
+	@Test
+	public void testRegisteredHashMethods() {
+		for (String name : new String[] {"fnv", "murmur3", "xxhash64", "wyhash"}) {
+			Assert.assertEquals(name, HashMethods.forName(name).getHashFunctionName());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknownHashMethod() {
+		HashMethods.forName("md5");
+	}
+
+	@Test
+	public void testStrategyMatchesStaticFunctions() {
+		byte[] data = "hash method strategy".getBytes(StandardCharsets.UTF_8);
+		Assert.assertEquals(Murmur3.hash_64(data, 9), HashMethods.forName("murmur3").hash64(data, 9));
+		Assert.assertEquals(Murmur3.hash_32(data, 9), HashMethods.forName("murmur3").hash32(data, 9));
+		Assert.assertEquals(XXHash64.hash_64(data, 9), HashMethods.forName("xxhash64").hash64(data, 9));
+		Assert.assertEquals(WyHash.hash_64(data, 9), HashMethods.forName("wyhash").hash64(data, 9));
+		Assert.assertEquals(FNV.hash_64(data), HashMethods.forName("fnv").hash64(data, 0));
+		Assert.assertEquals(FNV.hash_32(data), HashMethods.forName("fnv").hash32(data, 0));
+	}
+
+	@Test
+	public void testDefaultVariantsAreConsistent() {
+		HashMethod xx = HashMethods.forName("xxhash64");
+		byte[] longBytes = {1, 0, 0, 0, 0, 0, 0, 0};
+		Assert.assertEquals(xx.hash64(longBytes, 3), xx.hash64(1L, 3));
+		Assert.assertEquals(xx.hash64("ab".getBytes(StandardCharsets.UTF_16LE), 3), xx.hash64("ab", 3));
+		Assert.assertEquals(HashMethods.forName("murmur3").hash64("ab".getBytes(StandardCharsets.UTF_16LE), 3),
+				HashMethods.forName("murmur3").hash64("ab", 3));
+	}
+
+	@Test
+	public void testStructuresAcceptHashMethod() {
+		for (String name : HashMethods.names()) {
+			HashMethod hashMethod = HashMethods.forName(name);
+
+			BloomFilter<String> bloomFilter = new BloomFilter<>(1000, 0.01, hashMethod);
+			HashMapLP<String, Integer> mapLP = new HashMapLP<>(10, hashMethod);
+			for (int i=0; i<500; i++) {
+				bloomFilter.add("key" + i);
+				mapLP.put("key" + i, i);
+			}
+			for (int i=0; i<500; i++) {
+				Assert.assertTrue(bloomFilter.contains("key" + i));
+				Assert.assertEquals(Integer.valueOf(i), mapLP.get("key" + i));
+			}
+		}
+	}
+}
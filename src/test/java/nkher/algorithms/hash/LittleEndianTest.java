@@ -0,0 +1,53 @@
+package nkher.algorithms.hash;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LittleEndianTest {
+
+	@Test
+	public void testByteArrayReadsMatchByteBuffer() {
+		byte[] data = new byte[64];
+		new Random(28).nextBytes(data);
+		ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+		for (int i=0; i<=data.length - Long.BYTES; i++) {
+			Assert.assertEquals(buffer.getLong(i), LittleEndian.getLong(data, i));
+		}
+		for (int i=0; i<=data.length - Integer.BYTES; i++) {
+			Assert.assertEquals(buffer.getInt(i), LittleEndian.getInt(data, i));
+		}
+		ByteBuffer bigEndian = ByteBuffer.wrap(data);
+		Assert.assertEquals(buffer.getLong(3), LittleEndian.getLong(bigEndian, 3));
+		Assert.assertEquals(buffer.getInt(5), LittleEndian.getInt(bigEndian, 5));
+	}
+
+	@Test(expected = ArrayIndexOutOfBoundsException.class)
+	public void testLongReadPastTheEnd() {
+		LittleEndian.getLong(new byte[10], 3);
+	}
+
+	@Test(expected = ArrayIndexOutOfBoundsException.class)
+	public void testIntReadBeforeTheStart() {
+		LittleEndian.getInt(new byte[10], -1);
+	}
+
+	@Test
+	public void testDirectBufferHashMatchesByteArrayHash() {
+		byte[] data = new byte[37];
+		new Random(37).nextBytes(data);
+		for (ByteOrder order : new ByteOrder[] {ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN}) {
+			ByteBuffer direct = ByteBuffer.allocateDirect(data.length + 3).order(order);
+			direct.position(3);
+			direct.put(data);
+			direct.position(3);
+			Assert.assertEquals(Murmur3.hash_64(data, 7), Murmur3.hash_64(direct, 7));
+			Assert.assertEquals(3, direct.position());
+			Assert.assertEquals(LittleEndian.getLong(data, 8), LittleEndian.getLong(direct, 11));
+			Assert.assertEquals(LittleEndian.getInt(data, 3), LittleEndian.getInt(direct, 6));
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package nkher.algorithms.hash;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class Murmur3Test {
+
+	private static final String FOX = "The quick brown fox jumps over the lazy dog";
+
+	@Test
+	public void testHash32AgainstReferenceValues() {
+		Assert.assertEquals(0, Murmur3.hash_32(new byte[0], 0));
+		Assert.assertEquals(0x514e28b7, Murmur3.hash_32(new byte[0], 1));
+		Assert.assertEquals(0xba6bd213, Murmur3.hash_32(bytes("test"), 0));
+		Assert.assertEquals(0xc0363e43, Murmur3.hash_32(bytes("Hello, world!"), 0));
+		Assert.assertEquals(0x2e4ff723, Murmur3.hash_32(bytes(FOX), 0));
+	}
+
+	@Test
+	public void testHash128AgainstReferenceValues() {
+		assertHash128(0x629942693e10f867L, 0x92db0b82baeb5347L, "hell", 0);
+		assertHash128(0xa78ddff5adae8d10L, 0x128900ef20900135L, "hello", 1);
+		assertHash128(0x8a486b23f422e826L, 0xf962a2c58947765fL, "hello ", 2);
+		assertHash128(0x2ea59f466f6bed8cL, 0xc610990acc428a17L, "hello w", 3);
+		assertHash128(0xe34bbc7bbc071b6cL, 0x7a433ca9c49a9347L, FOX, 0);
+		Assert.assertEquals(0xe34bbc7bbc071b6cL, Murmur3.hash_64(bytes(FOX), 0));
+	}
+
+	@Test
+	public void testOverloadsMatchByteArrayHash() {
+		byte[] data = bytes(FOX);
+		long expected = Murmur3.hash_64(data, 7);
+
+		Assert.assertEquals(expected, Murmur3.hash_64(ByteBuffer.wrap(data).order(ByteOrder.BIG_ENDIAN), 7));
+		ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+		direct.put(data).flip();
+		Assert.assertEquals(expected, Murmur3.hash_64(direct, 7));
+		Assert.assertEquals(0, direct.position());
+
+		ByteBuffer longBytes = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(0, 123456789L);
+		Assert.assertEquals(Murmur3.hash_64(longBytes.array(), 3), Murmur3.hash_64(123456789L, 3));
+		ByteBuffer intBytes = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, -5);
+		Assert.assertEquals(Murmur3.hash_64(intBytes.array(), 3), Murmur3.hash_64(-5, 3));
+
+		String chars = "abcdefghijklmnopqrstu";
+		Assert.assertEquals(Murmur3.hash_64(chars.getBytes(StandardCharsets.UTF_16LE), 3), Murmur3.hash_64(chars, 3));
+	}
+
+	@Test
+	public void testStreamingHasherMatchesOneShotHash() {
+		byte[] data = bytes(FOX + FOX);
+		Murmur3.Murmur3Hasher hasher = Murmur3.newHasher(11);
+		hasher.putBytes(data, 0, 5).putBytes(data, 5, 20).putByte(data[25]);
+		hasher.putBytes(data, 26, data.length - 26);
+
+		long[] expected = new long[2], actual = new long[2];
+		Murmur3.hash_x64_128(data, 0, data.length, 11, expected);
+		hasher.hash_x64_128(actual);
+		Assert.assertArrayEquals(expected, actual);
+
+		hasher.reset();
+		hasher.putInt(-5).putLong(42L);
+		ByteBuffer bytes = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN).putInt(-5).putLong(42L);
+		Assert.assertEquals(Murmur3.hash_64(bytes.array(), 11), hasher.hash_64());
+	}
+
+	private static void assertHash128(long expected1, long expected2, String input, int seed) {
+		long[] hash = Murmur3.hash_x64_128(bytes(input), seed);
+		Assert.assertEquals(expected1, hash[0]);
+		Assert.assertEquals(expected2, hash[1]);
+	}
+
+	private static byte[] bytes(String s) {
+		return s.getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,36 @@
+package nkher.algorithms.hash;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WyHashTest {
+
+	@Test
+	public void testWyHashAgainstReferenceValues() {
+		/* Test vectors of wyhash final4, the seed is the index of the vector */
+		Assert.assertEquals(0x93228a4de0eec5a2L, WyHash.hash_64(bytes(""), 0));
+		Assert.assertEquals(0xc5bac3db178713c4L, WyHash.hash_64(bytes("a"), 1));
+		Assert.assertEquals(0xa97f2f7b1d9b3314L, WyHash.hash_64(bytes("abc"), 2));
+		Assert.assertEquals(0x786d1f1df3801df4L, WyHash.hash_64(bytes("message digest"), 3));
+		Assert.assertEquals(0xdca5a8138ad37c87L, WyHash.hash_64(bytes("abcdefghijklmnopqrstuvwxyz"), 4));
+		Assert.assertEquals(0xb9e734f117cfaf70L,
+				WyHash.hash_64(bytes("ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789"), 5));
+		Assert.assertEquals(0x6cc5eab49a92d617L,
+				WyHash.hash_64(bytes("12345678901234567890123456789012345678901234567890123456789012345678901234567890"), 6));
+	}
+
+	@Test
+	public void testLongOverloadMatchesByteArrayHash() {
+		long value = 0x0123456789abcdefL;
+		byte[] data = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(0, value).array();
+		Assert.assertEquals(WyHash.hash_64(data, 5), WyHash.hash_64(value, 5));
+	}
+
+	private static byte[] bytes(String s) {
+		return s.getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,30 @@
+package nkher.algorithms.hash;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class XXHash64Test {
+
+	@Test
+	public void testXXHash64AgainstReferenceValues() {
+		Assert.assertEquals(0xef46db3751d8e999L, XXHash64.hash_64(bytes("")));
+		Assert.assertEquals(0xd24ec4f1a98c6e5bL, XXHash64.hash_64(bytes("a")));
+		Assert.assertEquals(0x44bc2cf5ad770999L, XXHash64.hash_64(bytes("abc")));
+		Assert.assertEquals(0xfbcea83c8a378bf1L, XXHash64.hash_64(bytes("Nobody inspects the spammish repetition")));
+	}
+
+	@Test
+	public void testLongOverloadMatchesByteArrayHash() {
+		long value = 0x0123456789abcdefL;
+		byte[] data = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(0, value).array();
+		Assert.assertEquals(XXHash64.hash_64(data, 5), XXHash64.hash_64(value, 5));
+	}
+
+	private static byte[] bytes(String s) {
+		return s.getBytes(StandardCharsets.UTF_8);
+	}
+}
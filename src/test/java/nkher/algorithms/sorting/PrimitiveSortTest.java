@@ -0,0 +1,59 @@
+package nkher.algorithms.sorting;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PrimitiveSortTest {
+
+	private interface IntSorter { void sort(int[] array, int sortOrder); }
+	private interface LongSorter { void sort(long[] array, int sortOrder); }
+	private interface DoubleSorter { void sort(double[] array, int sortOrder); }
+
+	private static final IntSorter[] INT_SORTERS = {BubbleSort::sort, InsertionSort::sort, SelectionSort::sort, MergeSort::sort, QuickSort::sort};
+	private static final LongSorter[] LONG_SORTERS = {BubbleSort::sort, InsertionSort::sort, SelectionSort::sort, MergeSort::sort, QuickSort::sort};
+	private static final DoubleSorter[] DOUBLE_SORTERS = {BubbleSort::sort, InsertionSort::sort, SelectionSort::sort, MergeSort::sort, QuickSort::sort};
+
+	@Test
+	public void testIntSorts() {
+		Random random = new Random(11);
+		for (IntSorter sorter : INT_SORTERS) {
+			int[] array = random.ints(300, -50, 50).toArray();
+			int[] expected = array.clone();
+			Arrays.sort(expected);
+			sorter.sort(array, Sorting.ORDER_ASC);
+			Assert.assertArrayEquals(expected, array);
+
+			sorter.sort(array, Sorting.ORDER_DESC);
+			for (int i=0; i<array.length; i++) {
+				Assert.assertEquals(expected[array.length - 1 - i], array[i]);
+			}
+		}
+	}
+
+	@Test
+	public void testLongSorts() {
+		Random random = new Random(12);
+		for (LongSorter sorter : LONG_SORTERS) {
+			long[] array = random.longs(300).toArray();
+			long[] expected = array.clone();
+			Arrays.sort(expected);
+			sorter.sort(array, Sorting.ORDER_ASC);
+			Assert.assertArrayEquals(expected, array);
+		}
+	}
+
+	@Test
+	public void testDoubleSorts() {
+		Random random = new Random(13);
+		for (DoubleSorter sorter : DOUBLE_SORTERS) {
+			double[] array = random.doubles(300).toArray();
+			double[] expected = array.clone();
+			Arrays.sort(expected);
+			sorter.sort(array, Sorting.ORDER_ASC);
+			Assert.assertArrayEquals(expected, array, 0);
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package nkher.datastructures.bloomfilter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import nkher.api.MyBitMap;
+import nkher.datastructures.lists.BitMap;
+import nkher.datastructures.lists.LongBitMap;
+
+public class BloomFilterTest {
+
+	@Test
+	public void testAddAndContains() {
+		BloomFilter<String> filter = new BloomFilter<>(1000, 0.01);
+		Assert.assertEquals(9586, filter.capacity());
+		Assert.assertEquals(7, filter.numberOfHashFunctionsUsed());
+		Assert.assertTrue(filter.getUnerlyingBloomDS() instanceof BitMap);
+		for (int i=0; i<1000; i++) {
+			filter.add("key" + i);
+		}
+		for (int i=0; i<1000; i++) {
+			Assert.assertTrue(filter.contains("key" + i));
+		}
+		int falsePositives = 0;
+		for (int i=1000; i<11000; i++) {
+			if (filter.contains("key" + i)) {
+				falsePositives++;
+			}
+		}
+		Assert.assertTrue(falsePositives < 200);
+	}
+
+	@Test
+	public void testOptimalSizeBeyondIntRange() {
+		Assert.assertEquals(9585058378.0, BloomFilter.optimialSize(1000000000, 0.01), 1);
+		Assert.assertTrue(BloomFilter.newBitMap(Integer.MAX_VALUE >> 1) instanceof BitMap);
+	}
+
+	@Test
+	public void testBitMapAtTheIntBoundary() {
+		MyBitMap largest = BloomFilter.newBitMap(Integer.MAX_VALUE - 63); // exactly the bits of the largest BitMap
+		Assert.assertTrue(largest instanceof BitMap);
+		largest.set(Integer.MAX_VALUE - 64);
+		Assert.assertEquals(1, largest.get(Integer.MAX_VALUE - 64));
+		largest = null;
+		MyBitMap beyond = BloomFilter.newBitMap(Integer.MAX_VALUE);
+		Assert.assertTrue(beyond instanceof LongBitMap);
+		beyond.set(Integer.MAX_VALUE - 1);
+		Assert.assertEquals(1, beyond.get(Integer.MAX_VALUE - 1));
+	}
+
+	@Test
+	public void testMoreThanIntRangeBits() {
+		BloomFilter<String> filter = new BloomFilter<>(230000000, 0.01); // a bit over 2^31 bits, 263 MB
+		Assert.assertEquals(2204563427.0, filter.capacity(), 1);
+		Assert.assertTrue(filter.getUnerlyingBloomDS() instanceof LongBitMap);
+		for (int i=0; i<1000; i++) {
+			filter.add("key" + i);
+		}
+		for (int i=0; i<1000; i++) {
+			Assert.assertTrue(filter.contains("key" + i));
+		}
+		LongBitMap bits = (LongBitMap) filter.getUnerlyingBloomDS();
+		long setAboveIntRange = 0;
+		for (long bit=1L << 31; bit<filter.capacity(); bit++) {
+			setAboveIntRange += bits.get(bit);
+		}
+		Assert.assertTrue(setAboveIntRange > 0);
+	}
+}
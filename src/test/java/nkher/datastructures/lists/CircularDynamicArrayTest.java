@@ -0,0 +1,88 @@
+package nkher.datastructures.lists;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CircularDynamicArrayTest {
+
+	// Data Structure under test
+	private CircularDynamicArray<Integer> cArray;
+
+	@Before
+	public void setup() {
+		cArray = new CircularDynamicArray<>(2);
+	}
+
+	@Test
+	public void testHeadAndTailOperations() {
+		for (int i=0; i<10; i++) {
+			cArray.insertAtHead(i);
+			cArray.insert(100 + i);
+		}
+		Assert.assertEquals(20, cArray.size());
+		Assert.assertEquals(Integer.valueOf(9), cArray.getFirst());
+		Assert.assertEquals(Integer.valueOf(109), cArray.getLast());
+		Assert.assertEquals(Integer.valueOf(100), cArray.getAt(10));
+		Assert.assertEquals(Integer.valueOf(9), cArray.removeFirst());
+		Assert.assertEquals(Integer.valueOf(109), cArray.removeLast());
+		Assert.assertEquals(32, cArray.capacity());
+	}
+
+	@Test
+	public void testAgainstArrayList() {
+		Random random = new Random(5);
+		List<Integer> expected = new ArrayList<>();
+		for (int i=0; i<5000; i++) {
+			int op = random.nextInt(6);
+			if (op == 0) {
+				cArray.insertAtHead(i);
+				expected.add(0, i);
+			}
+			else if (op == 1) {
+				cArray.insert(i);
+				expected.add(i);
+			}
+			else if (op == 2) {
+				int index = random.nextInt(expected.size() + 1);
+				cArray.addAt(index, i);
+				expected.add(index, i);
+			}
+			else if (!expected.isEmpty()) {
+				int index = random.nextInt(expected.size());
+				if (op == 3) {
+					cArray.removeAt(index);
+					expected.remove(index);
+				}
+				else if (op == 4) {
+					Assert.assertEquals(expected.remove(0), cArray.removeFirst());
+				}
+				else {
+					cArray.replaceAt(index, -i);
+					expected.set(index, -i);
+				}
+			}
+		}
+		Assert.assertArrayEquals(expected.toArray(), cArray.toArray());
+		int i = 0;
+		for (Integer element : cArray) {
+			Assert.assertEquals(expected.get(i++), element);
+		}
+	}
+
+	@Test(expected = ConcurrentModificationException.class)
+	public void testIteratorFailsFast() {
+		cArray.insert(1);
+		cArray.insert(2);
+		Iterator<Integer> it = cArray.iterator();
+		it.next();
+		cArray.insertAtHead(0);
+		it.next();
+	}
+}
@@ -0,0 +1,156 @@
+package nkher.datastructures.lists;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConcurrentSkipListMapTest {
+
+	// Data Structure under test
+	private ConcurrentSkipListMap<Integer, String> map;
+
+	@Before
+	public void setup() {
+		map = new ConcurrentSkipListMap<>();
+	}
+
+	@Test
+	public void testPutGetAndRemove() {
+		Assert.assertTrue(map.isEmpty());
+		Assert.assertTrue(map.put(1, "one"));
+		Assert.assertFalse(map.put(1, "uno"));
+		Assert.assertEquals("uno", map.get(1));
+		Assert.assertTrue(map.containsKey(1));
+		Assert.assertTrue(map.remove(1));
+		Assert.assertFalse(map.remove(1));
+		Assert.assertNull(map.get(1));
+		Assert.assertTrue(map.isEmpty());
+		Assert.assertEquals("[ ]", map.toString());
+	}
+
+	@Test
+	public void testOrderedSearches() {
+		for (int i=10; i<=50; i=i+10) {
+			map.insert(i, "v" + i);
+		}
+		Assert.assertEquals(Integer.valueOf(10), map.rootkey());
+		Assert.assertEquals(Integer.valueOf(20), map.floorKey(25));
+		Assert.assertNull(map.floorKey(5));
+		Assert.assertEquals(Integer.valueOf(30), map.ceilingKey(25));
+		Assert.assertNull(map.ceilingKey(51));
+		Assert.assertEquals(Integer.valueOf(10), map.lowerKey(20));
+		Assert.assertEquals(Integer.valueOf(30), map.higherKey(20));
+		DynamicArray<Integer> range = map.rangeSearch(15, 40);
+		Assert.assertEquals(3, range.size());
+		Assert.assertEquals(Integer.valueOf(20), range.getAt(0));
+	}
+
+	@Test
+	public void testAgainstTreeMap() {
+		Random random = new Random(4);
+		TreeMap<Integer, String> expected = new TreeMap<>();
+		for (int i=0; i<20000; i++) {
+			int key = random.nextInt(2000);
+			int op = random.nextInt(3);
+			if (op == 0) {
+				Assert.assertEquals(expected.remove(key) != null, map.remove(key));
+			}
+			else if (op == 1) {
+				Assert.assertEquals(expected.put(key, "v" + i) == null, map.put(key, "v" + i));
+			}
+			else {
+				Assert.assertEquals(expected.get(key), map.get(key));
+				Assert.assertEquals(expected.ceilingKey(key), map.ceilingKey(key));
+				Assert.assertEquals(expected.lowerKey(key), map.lowerKey(key));
+			}
+		}
+		Assert.assertEquals(expected.size(), map.size());
+		List<Integer> keys = new ArrayList<>();
+		for (int key : map) {
+			keys.add(key);
+		}
+		Assert.assertEquals(new ArrayList<>(expected.keySet()), keys);
+	}
+
+	@Test
+	public void testConcurrentInsertsAndRemoves() throws InterruptedException {
+		final int threads = 4, keysPerThread = 5000;
+		final CountDownLatch start = new CountDownLatch(1);
+		final AtomicInteger removed = new AtomicInteger();
+		List<Thread> workers = new ArrayList<>();
+		for (int t=0; t<threads; t++) {
+			final int id = t;
+			Thread worker = new Thread(() -> {
+				try {
+					start.await();
+				}
+				catch (InterruptedException e) {
+					return;
+				}
+				/** Every thread inserts its own keys, interleaved with the other threads, and removes the odd ones */
+				for (int i=0; i<keysPerThread; i++) {
+					map.insert(i * threads + id, "v");
+				}
+				for (int i=0; i<keysPerThread; i++) {
+					int key = i * threads + id;
+					if (key % 2 == 1 && map.remove(key)) {
+						removed.incrementAndGet();
+					}
+				}
+			});
+			workers.add(worker);
+			worker.start();
+		}
+		start.countDown();
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		int total = threads * keysPerThread;
+		Assert.assertEquals(total / 2, removed.get());
+		Assert.assertEquals(total / 2, map.size());
+		int expected = 0;
+		for (int key : map) {
+			Assert.assertEquals(expected, key);
+			expected += 2;
+		}
+		Assert.assertEquals(total, expected);
+	}
+
+	@Test
+	public void testContendedKeysKeepSizeConsistent() throws InterruptedException {
+		List<Thread> workers = new ArrayList<>();
+		for (int t=0; t<4; t++) {
+			final Random random = new Random(t);
+			Thread worker = new Thread(() -> {
+				for (int i=0; i<20000; i++) {
+					int key = random.nextInt(64);
+					if (random.nextBoolean()) {
+						map.insert(key, "v");
+					}
+					else {
+						map.remove(key);
+					}
+				}
+			});
+			workers.add(worker);
+			worker.start();
+		}
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		int count = 0, previous = -1;
+		for (int key : map) {
+			Assert.assertTrue(key > previous);
+			previous = key;
+			count++;
+		}
+		Assert.assertEquals(count, map.size());
+	}
+}
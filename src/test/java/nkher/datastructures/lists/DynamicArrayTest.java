@@ -0,0 +1,127 @@
+package nkher.datastructures.lists;
+
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DynamicArrayTest {
+
+	// Data Structure under test
+	private DynamicArray<Integer> dArray;
+
+	@Before
+	public void setup() {
+		dArray = new DynamicArray<>(0);
+	}
+
+	@Test
+	public void testInsertGrowsFromZeroCapacity() {
+		for (int i=0; i<25; i++) {
+			dArray.insert(i);
+		}
+		Assert.assertEquals(25, dArray.size());
+		Assert.assertEquals(Integer.valueOf(24), dArray.getLast());
+		Assert.assertTrue(dArray.capacity() >= 25);
+	}
+
+	@Test
+	public void testRemoveKeepsSizeConsistent() {
+		dArray.addAll(new Integer[] {1, 2, 3});
+		Assert.assertTrue(dArray.remove(Integer.valueOf(2)));
+		Assert.assertEquals(2, dArray.size());
+		Assert.assertEquals(Integer.valueOf(3), dArray.getAt(1));
+		dArray.insert(4);
+		Assert.assertArrayEquals(new Object[] {1, 3, 4}, dArray.toArray());
+	}
+
+	@Test
+	public void testShrinkHysteresis() {
+		for (int i=0; i<64; i++) {
+			dArray.insert(i);
+		}
+		int capacity = dArray.capacity();
+		dArray.removeRange(32, 64);
+		// half full is above the shrink threshold, alternating at the boundary does not resize
+		for (int i=0; i<100; i++) {
+			dArray.insert(i);
+			dArray.remove();
+		}
+		Assert.assertEquals(capacity, dArray.capacity());
+
+		dArray.removeRange(8, 32);
+		Assert.assertTrue(dArray.capacity() < capacity);
+		Assert.assertEquals(8, dArray.size());
+	}
+
+	@Test
+	public void testBulkOperations() {
+		dArray.addAll(new Integer[] {1, 2, 6});
+		dArray.insertAll(2, new Integer[] {3, 4, 5});
+		Assert.assertArrayEquals(new Object[] {1, 2, 3, 4, 5, 6}, dArray.toArray());
+		dArray.insertAll(0, new Integer[] {0});
+		dArray.removeRange(1, 4);
+		Assert.assertArrayEquals(new Object[] {0, 4, 5, 6}, dArray.toArray());
+
+		dArray.ensureCapacity(1000);
+		Assert.assertTrue(dArray.capacity() >= 1000);
+		dArray.trimToSize();
+		Assert.assertEquals(4, dArray.capacity());
+		dArray.insertAtHead(-1);
+		Assert.assertEquals(Integer.valueOf(-1), dArray.getFirst());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidGrowthPolicy() {
+		new DynamicArray<Integer>(10, 2.0, 0.5);
+	}
+
+	@Test
+	public void testSpliteratorSplitsInHalves() {
+		for (int i=0; i<100; i++) {
+			dArray.insert(i);
+		}
+		Spliterator<Integer> second = dArray.spliterator();
+		Assert.assertTrue(second.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+		Spliterator<Integer> first = second.trySplit();
+		Assert.assertEquals(50, first.estimateSize());
+		Assert.assertEquals(50, second.estimateSize());
+		first.tryAdvance(element -> Assert.assertEquals(Integer.valueOf(0), element));
+		second.tryAdvance(element -> Assert.assertEquals(Integer.valueOf(50), element));
+	}
+
+	@Test
+	public void testParallelOperations() {
+		int n = 200000;
+		for (int i=0; i<n; i++) {
+			dArray.insert(i);
+		}
+		Assert.assertEquals(Long.valueOf((long) n * (n - 1) / 2), dArray.parallelStream().collect(Collectors.summingLong(Integer::longValue)));
+		Assert.assertEquals(Integer.valueOf(n - 1), dArray.parallelReduce(0, Math::max));
+
+		DynamicArray<Long> squares = dArray.parallelMap(i -> (long) i * i);
+		Assert.assertEquals(n, squares.size());
+		Assert.assertEquals(Long.valueOf(1999L * 1999L), squares.getAt(1999));
+
+		dArray.parallelSort(Comparator.reverseOrder());
+		Assert.assertEquals(Integer.valueOf(n - 1), dArray.getFirst());
+		Assert.assertEquals(Integer.valueOf(0), dArray.getLast());
+		dArray.sort(Comparator.naturalOrder());
+		Assert.assertEquals(Integer.valueOf(0), dArray.getFirst());
+		Assert.assertEquals(n, dArray.stream().count());
+	}
+
+	@Test(expected = ConcurrentModificationException.class)
+	public void testIteratorFailsFast() {
+		dArray.addAll(new Integer[] {1, 2, 3});
+		Iterator<Integer> it = dArray.iterator();
+		it.next();
+		dArray.removeAt(0);
+		it.next();
+	}
+}
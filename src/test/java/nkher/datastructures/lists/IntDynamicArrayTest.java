@@ -0,0 +1,74 @@
+package nkher.datastructures.lists;
+
+import java.nio.IntBuffer;
+import java.util.PrimitiveIterator;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IntDynamicArrayTest {
+
+	// Data Structure under test
+	private IntDynamicArray dArray;
+
+	@Before
+	public void setup() {
+		dArray = new IntDynamicArray(0);
+	}
+
+	@Test
+	public void testInsertGrowsFromZeroCapacity() {
+		for (int i=0; i<100; i++) {
+			dArray.insert(i);
+		}
+		Assert.assertEquals(100, dArray.size());
+		Assert.assertEquals(42, dArray.getAt(42));
+		dArray.insertAtHead(-1);
+		Assert.assertEquals(-1, dArray.getFirst());
+		Assert.assertEquals(99, dArray.getLast());
+	}
+
+	@Test
+	public void testRemove() {
+		dArray.addAll(new int[] {1, 2, 3, 4});
+		Assert.assertEquals(2, dArray.removeAt(1));
+		Assert.assertEquals(4, dArray.remove());
+		Assert.assertArrayEquals(new int[] {1, 3}, dArray.toArray());
+		Assert.assertEquals(1, dArray.search(3));
+		Assert.assertFalse(dArray.contains(2));
+	}
+
+	@Test(expected = ArrayIndexOutOfBoundsException.class)
+	public void testGetOutOfBounds() {
+		dArray.insert(1);
+		dArray.getAt(1);
+	}
+
+	@Test
+	public void testWrapAndBufferShareTheArray() {
+		int[] array = {5, 3, 9};
+		IntDynamicArray wrapped = IntDynamicArray.wrap(array);
+		wrapped.reverse();
+		Assert.assertArrayEquals(new int[] {9, 3, 5}, array);
+
+		IntBuffer buffer = wrapped.asBuffer();
+		Assert.assertEquals(3, buffer.remaining());
+		array[1] = 7;
+		Assert.assertEquals(7, buffer.get(1));
+	}
+
+	@Test
+	public void testIteratorAndShuffle() {
+		dArray.addAll(new int[] {1, 2, 3, 4, 5, 6}, 1, 4);
+		dArray.shuffle();
+		int sum = 0;
+		PrimitiveIterator.OfInt it = dArray.iterator();
+		while (it.hasNext()) {
+			sum += it.nextInt();
+		}
+		Assert.assertEquals(14, sum);
+		dArray.sort();
+		Assert.assertArrayEquals(new int[] {2, 3, 4, 5}, dArray.toArray());
+	}
+}
@@ -0,0 +1,49 @@
+package nkher.datastructures.lists;
+
+import nkher.exception.InvalidIndexException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LongBitMapTest {
+
+	@Test
+	public void testSetGetAndUnsetAcrossSegments() {
+		long bitCount = (1L << 27) + 5; // spans three segments
+		LongBitMap bitmap = new LongBitMap(bitCount);
+		long[] bits = {0, 63, 64, (1L << 26) - 1, 1L << 26, bitCount - 1};
+		for (long bit : bits) {
+			bitmap.set(bit);
+		}
+		for (long bit : bits) {
+			Assert.assertEquals(1, bitmap.get(bit));
+		}
+		Assert.assertEquals(0, bitmap.get(1L << 27));
+		Assert.assertEquals(bits.length, bitmap.cardinality());
+
+		/* Setting a bit twice does not change the count */
+		bitmap.set(64);
+		Assert.assertEquals(bits.length, bitmap.cardinality());
+
+		bitmap.unset(1L << 26);
+		Assert.assertEquals(0, bitmap.get(1L << 26));
+		Assert.assertEquals(bits.length - 1, bitmap.getNumberOfElements());
+	}
+
+	@Test
+	public void testCloneAndClear() {
+		LongBitMap bitmap = new LongBitMap(1000);
+		bitmap.set(10);
+		LongBitMap copy = bitmap.clone();
+		bitmap.clear();
+		Assert.assertEquals(0, bitmap.get(10));
+		Assert.assertEquals(0, bitmap.getNumberOfElements());
+		Assert.assertEquals(1, copy.get(10));
+	}
+
+	@Test(expected = InvalidIndexException.class)
+	public void testOutOfRangeBit() {
+		LongBitMap bitmap = new LongBitMap(100);
+		bitmap.set(100);
+	}
+}
@@ -0,0 +1,153 @@
+package nkher.datastructures.lists;
+
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import nkher.exception.InvalidIndexException;
+
+public class RoaringBitMapTest {
+
+	// Data Structure under test
+	private RoaringBitMap bitmap;
+
+	@Before
+	public void setup() {
+		bitmap = new RoaringBitMap();
+	}
+
+	@Test
+	public void testSetGetAndUnset() {
+		int[] bits = {0, 1, 65535, 65536, 1 << 20, Integer.MAX_VALUE, -1};
+		for (int bit : bits) {
+			bitmap.set(bit);
+		}
+		for (int bit : bits) {
+			Assert.assertEquals(1, bitmap.get(bit));
+		}
+		Assert.assertEquals(0, bitmap.get(2));
+		Assert.assertEquals(bits.length, bitmap.cardinality());
+
+		bitmap.unset(65536);
+		Assert.assertEquals(0, bitmap.get(65536));
+		Assert.assertEquals(bits.length - 1, bitmap.getNumberOfElements());
+	}
+
+	@Test
+	public void testLongIndexesCoverTheUnsignedRange() {
+		bitmap.set(1L << 31);
+		bitmap.set(0xFFFFFFFFL);
+		bitmap.set(7L);
+		Assert.assertEquals(1, bitmap.get(Integer.MIN_VALUE));
+		Assert.assertEquals(1, bitmap.get(-1));
+		Assert.assertEquals(1, bitmap.get(0xFFFFFFFFL));
+		Assert.assertEquals(1, bitmap.get(7L));
+		Assert.assertEquals(0, bitmap.get((1L << 31) + 1));
+		bitmap.unset(1L << 31);
+		Assert.assertEquals(0, bitmap.get(Integer.MIN_VALUE));
+		Assert.assertEquals(2, bitmap.cardinality());
+	}
+
+	@Test(expected = InvalidIndexException.class)
+	public void testLongIndexBeyondTheUnsignedRange() {
+		bitmap.set(1L << 32);
+	}
+
+	@Test
+	public void testIterationIsInUnsignedOrder() {
+		bitmap.set(-1);
+		bitmap.set(5);
+		bitmap.set(1 << 17);
+		PrimitiveIterator.OfInt it = bitmap.iterator();
+		Assert.assertEquals(5, it.nextInt());
+		Assert.assertEquals(1 << 17, it.nextInt());
+		Assert.assertEquals(-1, it.nextInt());
+		Assert.assertFalse(it.hasNext());
+	}
+
+	@Test
+	public void testDenseChunkConvertsBackAndForth() {
+		for (int i=0; i<10000; i++) {
+			bitmap.set(i * 2);
+		}
+		Assert.assertEquals(10000, bitmap.cardinality());
+		for (int i=0; i<10000; i++) {
+			bitmap.unset(i * 2);
+		}
+		Assert.assertTrue(bitmap.isEmpty());
+	}
+
+	@Test
+	public void testSetOperationsAgainstTreeSet() {
+		Random random = new Random(42);
+		RoaringBitMap other = new RoaringBitMap();
+		TreeSet<Long> set1 = new TreeSet<>(), set2 = new TreeSet<>();
+		for (int i=0; i<50000; i++) {
+			int x = random.nextInt(1 << 18);
+			int y = (i % 2 == 0) ? random.nextInt(1 << 18) : i; // dense region for bitmap containers
+			bitmap.set(x);
+			other.set(y);
+			set1.add((long) x);
+			set2.add((long) y);
+		}
+
+		TreeSet<Long> expected = new TreeSet<>(set1);
+		expected.retainAll(set2);
+		assertSameBits(expected, RoaringBitMap.and(bitmap, other));
+
+		expected = new TreeSet<>(set1);
+		expected.addAll(set2);
+		assertSameBits(expected, RoaringBitMap.or(bitmap, other));
+
+		expected = new TreeSet<>(set1);
+		expected.removeAll(set2);
+		assertSameBits(expected, RoaringBitMap.andNot(bitmap, other));
+	}
+
+	@Test
+	public void testRunOptimizeKeepsValues() {
+		for (int i=1000; i<100000; i++) {
+			bitmap.set(i);
+		}
+		RoaringBitMap copy = bitmap.clone();
+		Assert.assertTrue(bitmap.runOptimize());
+		Assert.assertEquals(copy, bitmap);
+		Assert.assertTrue(bitmap.serializedSizeInBytes() < copy.serializedSizeInBytes());
+		bitmap.unset(5000);
+		Assert.assertEquals(0, bitmap.get(5000));
+		Assert.assertEquals(copy.cardinality() - 1, bitmap.cardinality());
+	}
+
+	@Test
+	public void testSerializationRoundTrip() {
+		for (int i=0; i<70000; i++) {
+			bitmap.set(i);
+		}
+		bitmap.set(1 << 24);
+		bitmap.set(-5);
+		byte[] plain = bitmap.toByteArray();
+		Assert.assertEquals(bitmap, RoaringBitMap.fromByteArray(plain));
+
+		bitmap.runOptimize();
+		byte[] withRuns = bitmap.toByteArray();
+		Assert.assertEquals(bitmap.serializedSizeInBytes(), withRuns.length);
+		Assert.assertEquals(bitmap, RoaringBitMap.fromByteArray(withRuns));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDeserializeInvalidCookie() {
+		RoaringBitMap.fromByteArray(new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+	}
+
+	private void assertSameBits(TreeSet<Long> expected, RoaringBitMap actual) {
+		Assert.assertEquals(expected.size(), actual.cardinality());
+		PrimitiveIterator.OfInt it = actual.iterator();
+		for (long value : expected) {
+			Assert.assertEquals(value, Integer.toUnsignedLong(it.nextInt()));
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package nkher.datastructures.lists;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import nkher.exception.DataStructureEmptyException;
+
+public class SkipListMapTest {
+
+	// Data Structure under test
+	private SkipListMap<Integer, String> map;
+
+	@Before
+	public void setup() {
+		map = new SkipListMap<>(new Random(1));
+	}
+
+	@Test
+	public void testInsertGetAndReplace() {
+		for (int i=0; i<100; i++) {
+			map.insert(i * 2, "v" + i);
+		}
+		Assert.assertEquals(100, map.size());
+		Assert.assertEquals("v10", map.get(20));
+		Assert.assertNull(map.get(21));
+		map.insert(20, "twenty");
+		Assert.assertEquals(100, map.size());
+		Assert.assertEquals("twenty", map.get(20));
+		Assert.assertEquals(Integer.valueOf(0), map.rootkey());
+		Assert.assertEquals(Integer.valueOf(198), map.lastKey());
+	}
+
+	@Test
+	public void testFloorCeilingLowerHigher() {
+		for (int i=10; i<=50; i=i+10) {
+			map.insert(i, "v" + i);
+		}
+		Assert.assertEquals(Integer.valueOf(20), map.floorKey(25));
+		Assert.assertEquals(Integer.valueOf(20), map.floorKey(20));
+		Assert.assertNull(map.floorKey(5));
+		Assert.assertEquals(Integer.valueOf(30), map.ceilingKey(25));
+		Assert.assertEquals(Integer.valueOf(20), map.ceilingKey(20));
+		Assert.assertNull(map.ceilingKey(51));
+		Assert.assertEquals(Integer.valueOf(10), map.lowerKey(20));
+		Assert.assertNull(map.lowerKey(10));
+		Assert.assertEquals(Integer.valueOf(30), map.higherKey(20));
+		Assert.assertNull(map.higherKey(50));
+	}
+
+	@Test
+	public void testRangeSearchAndIteration() {
+		for (int i=0; i<100; i++) {
+			map.insert(i, "v" + i);
+		}
+		DynamicArray<Integer> range = map.rangeSearch(25, 30);
+		Assert.assertEquals(6, range.size());
+		Assert.assertEquals(Integer.valueOf(25), range.getAt(0));
+		Assert.assertEquals(Integer.valueOf(30), range.getAt(5));
+		int expected = 0;
+		for (int key : map) {
+			Assert.assertEquals(expected++, key);
+		}
+		Assert.assertEquals(100, expected);
+	}
+
+	@Test(expected = DataStructureEmptyException.class)
+	public void testRootKeyOfEmptyMap() {
+		map.rootkey();
+	}
+
+	@Test
+	public void testAgainstTreeMap() {
+		Random random = new Random(9);
+		TreeMap<Integer, String> expected = new TreeMap<>();
+		for (int i=0; i<20000; i++) {
+			int key = random.nextInt(2000);
+			int op = random.nextInt(3);
+			if (op == 0) {
+				Assert.assertEquals(expected.remove(key) != null, map.remove(key));
+			}
+			else if (op == 1) {
+				expected.put(key, "v" + i);
+				map.insert(key, "v" + i);
+			}
+			else {
+				Assert.assertEquals(expected.get(key), map.get(key));
+				Assert.assertEquals(expected.floorKey(key), map.floorKey(key));
+				Assert.assertEquals(expected.higherKey(key), map.higherKey(key));
+			}
+			Assert.assertEquals(expected.size(), map.size());
+		}
+		List<Integer> keys = new ArrayList<>();
+		for (int key : map) {
+			keys.add(key);
+		}
+		Assert.assertEquals(new ArrayList<>(expected.keySet()), keys);
+	}
+}
@@ -0,0 +1,125 @@
+package nkher.datastructures.lists;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TieredVectorTest {
+
+	// Data Structure under test
+	private TieredVector<Integer> vector;
+
+	@Before
+	public void setup() {
+		vector = new TieredVector<>();
+	}
+
+	@Test
+	public void testInsertAndGet() {
+		for (int i=0; i<1000; i++) {
+			vector.insert(i);
+		}
+		Assert.assertEquals(1000, vector.size());
+		Assert.assertEquals(1024, vector.capacity());
+		Assert.assertEquals(32, vector.tierSize());
+		for (int i=0; i<1000; i++) {
+			Assert.assertEquals(Integer.valueOf(i), vector.getAt(i));
+		}
+		Assert.assertEquals(Integer.valueOf(0), vector.getFirst());
+		Assert.assertEquals(Integer.valueOf(999), vector.getLast());
+	}
+
+	@Test
+	public void testInsertAtHead() {
+		for (int i=0; i<100; i++) {
+			vector.insertAtHead(i);
+		}
+		for (int i=0; i<100; i++) {
+			Assert.assertEquals(Integer.valueOf(99 - i), vector.getAt(i));
+		}
+	}
+
+	@Test
+	public void testRemoveShrinks() {
+		for (int i=0; i<1000; i++) {
+			vector.insert(i);
+		}
+		for (int i=0; i<990; i++) {
+			vector.removeAt(0);
+		}
+		Assert.assertEquals(10, vector.size());
+		Assert.assertTrue(vector.capacity() <= 64);
+		for (int i=0; i<10; i++) {
+			Assert.assertEquals(Integer.valueOf(990 + i), vector.getAt(i));
+		}
+	}
+
+	@Test
+	public void testAgainstArrayList() {
+		Random random = new Random(11);
+		List<Integer> expected = new ArrayList<>();
+		for (int i=0; i<20000; i++) {
+			int op = random.nextInt(10);
+			if (op < 4 || expected.isEmpty()) {
+				int index = random.nextInt(expected.size() + 1);
+				vector.addAt(index, i);
+				expected.add(index, i);
+			}
+			else if (op < 6) {
+				vector.insert(i);
+				expected.add(i);
+			}
+			else if (op < 9) {
+				int index = random.nextInt(expected.size());
+				vector.removeAt(index);
+				expected.remove(index);
+			}
+			else {
+				int index = random.nextInt(expected.size());
+				vector.replaceAt(index, -i);
+				expected.set(index, -i);
+			}
+			Assert.assertEquals(expected.size(), vector.size());
+		}
+		Assert.assertArrayEquals(expected.toArray(), vector.toArray());
+		while (!expected.isEmpty()) {
+			int index = random.nextInt(expected.size());
+			vector.removeAt(index);
+			expected.remove(index);
+			if (expected.size() % 100 == 0) {
+				Assert.assertArrayEquals(expected.toArray(), vector.toArray());
+			}
+		}
+		Assert.assertTrue(vector.isEmpty());
+	}
+
+	@Test
+	public void testSearchAndRemove() {
+		for (int i=0; i<50; i++) {
+			vector.add(i);
+		}
+		Assert.assertEquals(25, vector.search(25));
+		Assert.assertTrue(vector.remove(Integer.valueOf(25)));
+		Assert.assertFalse(vector.contains(25));
+		Assert.assertEquals(Integer.valueOf(26), vector.getAt(25));
+		vector.clear();
+		Assert.assertTrue(vector.isEmpty());
+		Assert.assertEquals("[ ]", vector.toString());
+	}
+
+	@Test(expected = ConcurrentModificationException.class)
+	public void testIteratorFailsFast() {
+		vector.insert(1);
+		vector.insert(2);
+		Iterator<Integer> iterator = vector.iterator();
+		iterator.next();
+		vector.insert(3);
+		iterator.next();
+	}
+}
@@ -0,0 +1,161 @@
+package nkher.datastructures.lists;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class UnrolledLinkedListTest {
+
+	// Data Structure under test
+	private UnrolledLinkedList<Integer> list;
+
+	@Before
+	public void setup() {
+		list = new UnrolledLinkedList<>(8);
+	}
+
+	@Test
+	public void testInsertAtBothEnds() {
+		for (int i=0; i<20; i++) {
+			list.insert(100 + i);
+			list.insertAtHead(i);
+		}
+		Assert.assertEquals(40, list.size());
+		Assert.assertEquals(Integer.valueOf(19), list.getFirst());
+		Assert.assertEquals(Integer.valueOf(119), list.getLast());
+		Assert.assertEquals(Integer.valueOf(100), list.getAt(20));
+		Assert.assertEquals(Integer.valueOf(119), list.removeLast());
+		Assert.assertEquals(Integer.valueOf(19), list.removeFirst());
+		Assert.assertEquals(38, list.size());
+	}
+
+	@Test
+	public void testSearchAndRemove() {
+		for (int i=0; i<50; i++) {
+			list.add(i);
+		}
+		Assert.assertEquals(30, list.search(30));
+		Assert.assertTrue(list.remove(Integer.valueOf(30)));
+		Assert.assertFalse(list.remove(Integer.valueOf(30)));
+		Assert.assertFalse(list.contains(30));
+		Assert.assertEquals(-1, list.search(30));
+		Assert.assertEquals(Integer.valueOf(31), list.getAt(30));
+	}
+
+	@Test
+	public void testAppendSplicesNodes() {
+		UnrolledLinkedList<Integer> other = new UnrolledLinkedList<>(8);
+		for (int i=0; i<10; i++) {
+			list.insert(i);
+			other.insert(10 + i);
+		}
+		list.append(other);
+		Assert.assertEquals(20, list.size());
+		Assert.assertTrue(other.isEmpty());
+		int expected = 0;
+		for (int element : list) {
+			Assert.assertEquals(expected++, element);
+		}
+		list.insert(20);
+		Assert.assertEquals(Integer.valueOf(20), list.getLast());
+		Assert.assertEquals("[ ]", other.toString());
+	}
+
+	@Test
+	public void testAppendOtherNodeCapacity() {
+		UnrolledLinkedList<Integer> large = new UnrolledLinkedList<>(64);
+		UnrolledLinkedList<Integer> small = new UnrolledLinkedList<>(4);
+		List<Integer> expected = new ArrayList<>();
+		for (int i=0; i<100; i++) {
+			large.insert(i);
+			small.insert(100 + i);
+			expected.add(i);
+		}
+		for (int i=0; i<100; i++) {
+			expected.add(100 + i);
+		}
+		large.append(small);
+		Assert.assertTrue(small.isEmpty());
+		Assert.assertEquals(64, large.nodeCapacity());
+		for (int i=0; i<200; i=i+3) {
+			large.addAt(i, -i);
+			expected.add(i, -i);
+			large.insertAtHead(i);
+			expected.add(0, i);
+		}
+		for (int i=0; i<100; i++) {
+			large.removeAt(i);
+			expected.remove(i);
+		}
+		large.insert(1000);
+		expected.add(1000);
+		Assert.assertArrayEquals(expected.toArray(), large.toArray());
+		/* and the other way, a large node capacity list into a small one */
+		small.insert(-1);
+		small.append(large);
+		small.addAt(50, 50);
+		expected.add(0, -1);
+		expected.add(50, 50);
+		Assert.assertArrayEquals(expected.toArray(), small.toArray());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAppendToItself() {
+		list.insert(1);
+		list.append(list);
+	}
+
+	@Test
+	public void testAgainstArrayList() {
+		Random random = new Random(3);
+		List<Integer> expected = new ArrayList<>();
+		for (int i=0; i<20000; i++) {
+			int op = random.nextInt(10);
+			if (op < 3 || expected.isEmpty()) {
+				int index = random.nextInt(expected.size() + 1);
+				list.addAt(index, i);
+				expected.add(index, i);
+			}
+			else if (op < 5) {
+				list.insert(i);
+				expected.add(i);
+			}
+			else if (op < 8) {
+				int index = random.nextInt(expected.size());
+				list.removeAt(index);
+				expected.remove(index);
+			}
+			else if (op < 9) {
+				Integer element = expected.get(random.nextInt(expected.size()));
+				Assert.assertEquals(expected.remove(element), list.remove(element));
+			}
+			else {
+				int index = random.nextInt(expected.size());
+				list.replaceAt(index, -i);
+				expected.set(index, -i);
+				Assert.assertEquals(expected.get(index), list.getAt(index));
+			}
+			Assert.assertEquals(expected.size(), list.size());
+		}
+		Assert.assertArrayEquals(expected.toArray(), list.toArray());
+		for (int i=0; i<expected.size(); i++) {
+			Assert.assertEquals(expected.get(i), list.getAt(i));
+		}
+	}
+
+	@Test(expected = ConcurrentModificationException.class)
+	public void testIteratorFailsFast() {
+		list.insert(1);
+		list.insert(2);
+		Iterator<Integer> iterator = list.iterator();
+		iterator.next();
+		list.removeAt(0);
+		iterator.next();
+	}
+}
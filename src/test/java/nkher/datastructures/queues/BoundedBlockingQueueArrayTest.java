@@ -0,0 +1,139 @@
+package nkher.datastructures.queues;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import nkher.exception.DataStructureEmptyException;
+
+public class BoundedBlockingQueueArrayTest {
+
+	// Data Structure under test
+	private BoundedBlockingQueueArray<Integer> queue;
+
+	@Before
+	public void setup() {
+		queue = new BoundedBlockingQueueArray<>(4);
+	}
+
+	@Test
+	public void testBoundedOfferAndPoll() {
+		for (int i=0; i<4; i++) {
+			Assert.assertTrue(queue.offer(i));
+		}
+		Assert.assertFalse(queue.offer(4));
+		Assert.assertEquals(0, queue.remainingCapacity());
+		Assert.assertEquals(Integer.valueOf(0), queue.head());
+		Assert.assertEquals(Integer.valueOf(0), queue.poll());
+		Assert.assertTrue(queue.offer(4));
+		Assert.assertEquals("[ 1, 2, 3, 4 ]", queue.toString());
+		for (int i=1; i<=4; i++) {
+			Assert.assertEquals(Integer.valueOf(i), queue.dequeue());
+		}
+		Assert.assertNull(queue.poll());
+		Assert.assertNull(queue.peek());
+	}
+
+	@Test(expected = DataStructureEmptyException.class)
+	public void testDequeueFromEmptyQueue() {
+		queue.dequeue();
+	}
+
+	@Test
+	public void testTimedOperationsTimeOut() throws InterruptedException {
+		Assert.assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+		for (int i=0; i<4; i++) {
+			queue.put(i);
+		}
+		Assert.assertFalse(queue.offer(4, 10, TimeUnit.MILLISECONDS));
+		BoundedBlockingQueueArray.Metrics metrics = queue.metrics();
+		Assert.assertEquals(4, metrics.getPeakSize());
+		Assert.assertEquals(1, metrics.getRejected());
+		Assert.assertEquals(1, metrics.getProducerWaits());
+		Assert.assertEquals(1, metrics.getConsumerWaits());
+		Assert.assertEquals(1.0, metrics.getOccupancy(), 0.0);
+	}
+
+	@Test
+	public void testRemoveContainsAndDrain() {
+		for (int i=0; i<4; i++) {
+			queue.enqueue(i);
+		}
+		queue.poll();
+		queue.enqueue(4); // wrapped around the array
+		Assert.assertTrue(queue.contains(3));
+		Assert.assertTrue(queue.remove(Integer.valueOf(2)));
+		Assert.assertFalse(queue.remove(Integer.valueOf(2)));
+		Assert.assertArrayEquals(new Object[] {1, 3, 4}, queue.toArray());
+		queue.enqueue(5);
+		List<Integer> drained = new ArrayList<>();
+		Assert.assertEquals(2, queue.drainTo(drained::add, 2));
+		Assert.assertEquals(2, queue.drainTo(drained::add));
+		Assert.assertEquals(0, queue.drainTo(drained::add));
+		Assert.assertEquals(4, drained.size());
+		Assert.assertEquals(Integer.valueOf(5), drained.get(3));
+		BoundedBlockingQueueArray.Metrics metrics = queue.metrics();
+		Assert.assertEquals(6, metrics.getEnqueued());
+		Assert.assertEquals(6, metrics.getDequeued());
+		Assert.assertEquals(0, metrics.getSize());
+	}
+
+	@Test
+	public void testProducersBlockOnSlowConsumers() throws InterruptedException {
+		final int producers = 4, consumers = 3, perProducer = 5000;
+		final int total = producers * perProducer;
+		final AtomicLong sum = new AtomicLong(), consumed = new AtomicLong();
+		List<Thread> threads = new ArrayList<>();
+		for (int p=0; p<producers; p++) {
+			final int id = p;
+			threads.add(new Thread(() -> {
+				try {
+					for (int i=0; i<perProducer; i++) {
+						queue.put(i * producers + id);
+					}
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}));
+		}
+		for (int c=0; c<consumers; c++) {
+			final boolean batches = c == 0;
+			threads.add(new Thread(() -> {
+				try {
+					while (consumed.get() < total) {
+						if (batches) {
+							queue.drainTo(element -> {
+								sum.addAndGet(element);
+								consumed.incrementAndGet();
+							}, 3);
+						}
+						Integer element = queue.poll(1, TimeUnit.MILLISECONDS);
+						if (null != element) {
+							sum.addAndGet(element);
+							consumed.incrementAndGet();
+						}
+					}
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}));
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		Assert.assertEquals(total, consumed.get());
+		Assert.assertEquals((long) total * (total - 1) / 2, sum.get());
+		Assert.assertTrue(queue.isEmpty());
+		Assert.assertTrue(queue.metrics().getPeakSize() <= 4);
+	}
+}
@@ -39,6 +39,18 @@ public class CircularBufferTest {
 		Assert.assertEquals(Constants.NUMBER_TWO, circularBuffer.peek().intValue());
 	}
 	
+	@Test
+	public void testOverrideWrapsAroundTheBuffer() {
+		circularBuffer = new CircularBuffer<>(3);
+		for (int i=0; i<10; i++) {
+			circularBuffer.enqueue(i);
+		}
+		Assert.assertEquals(3, circularBuffer.size());
+		for (int i=7; i<10; i++) {
+			Assert.assertEquals(i, circularBuffer.dequeue().intValue());
+		}
+	}
+
 	@Test
 	public void testClearOperation() {
 		circularBuffer = getCircularBufferWith5ElementsAndCapacity5();
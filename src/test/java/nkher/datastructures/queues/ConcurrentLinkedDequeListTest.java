@@ -0,0 +1,130 @@
+package nkher.datastructures.queues;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import nkher.exception.DataStructureEmptyException;
+
+public class ConcurrentLinkedDequeListTest {
+
+	// Data Structure under test
+	private ConcurrentLinkedDequeList<Integer> queue;
+
+	@Before
+	public void setup() {
+		queue = new ConcurrentLinkedDequeList<>();
+	}
+
+	@Test
+	public void testFifoOrder() {
+		Assert.assertTrue(queue.isEmpty());
+		Assert.assertNull(queue.poll());
+		Assert.assertNull(queue.peek());
+		for (int i=0; i<5; i++) {
+			queue.enqueue(i);
+		}
+		Assert.assertEquals(5, queue.size());
+		Assert.assertEquals(Integer.valueOf(0), queue.head());
+		Assert.assertEquals("[ 0, 1, 2, 3, 4 ]", queue.toString());
+		for (int i=0; i<5; i++) {
+			Assert.assertEquals(Integer.valueOf(i), queue.dequeue());
+		}
+		Assert.assertTrue(queue.isEmpty());
+		Assert.assertEquals("[ ]", queue.toString());
+	}
+
+	@Test(expected = DataStructureEmptyException.class)
+	public void testDequeueFromEmptyQueue() {
+		queue.dequeue();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullElement() {
+		queue.offer(null);
+	}
+
+	@Test
+	public void testRemoveAndContains() {
+		for (int i=0; i<6; i++) {
+			queue.add(i);
+		}
+		Assert.assertTrue(queue.remove(0));
+		Assert.assertTrue(queue.remove(3));
+		Assert.assertTrue(queue.remove(5));
+		Assert.assertFalse(queue.remove(3));
+		Assert.assertFalse(queue.contains(3));
+		Assert.assertTrue(queue.contains(4));
+		Assert.assertEquals(3, queue.size());
+		Assert.assertArrayEquals(new Object[] {1, 2, 4}, queue.toArray());
+		Assert.assertEquals(Integer.valueOf(1), queue.poll());
+		Assert.assertEquals(Integer.valueOf(2), queue.poll());
+		queue.offer(6);
+		Assert.assertEquals(Integer.valueOf(4), queue.poll());
+		Assert.assertEquals(Integer.valueOf(6), queue.poll());
+		Assert.assertNull(queue.poll());
+	}
+
+	@Test
+	public void testIteratorIsWeaklyConsistent() {
+		for (int i=0; i<4; i++) {
+			queue.offer(i);
+		}
+		Iterator<Integer> iterator = queue.iterator();
+		Assert.assertEquals(Integer.valueOf(0), iterator.next());
+		queue.poll();
+		queue.poll();
+		queue.offer(4);
+		List<Integer> rest = new ArrayList<>();
+		while (iterator.hasNext()) {
+			rest.add(iterator.next());
+		}
+		// the iterator had already read 1 before it was polled, 4 was added before it got there
+		Assert.assertEquals("[1, 2, 3, 4]", rest.toString());
+		queue.clear();
+		Assert.assertFalse(queue.iterator().hasNext());
+	}
+
+	@Test
+	public void testConcurrentProducersAndConsumers() throws InterruptedException {
+		final int producers = 3, consumers = 3, perProducer = 20000;
+		final AtomicLong sum = new AtomicLong(), count = new AtomicLong();
+		List<Thread> threads = new ArrayList<>();
+		for (int p=0; p<producers; p++) {
+			final int base = p * perProducer;
+			threads.add(new Thread(() -> {
+				for (int i=1; i<=perProducer; i++) {
+					queue.offer(base + i);
+				}
+			}));
+		}
+		for (int c=0; c<consumers; c++) {
+			threads.add(new Thread(() -> {
+				while (count.get() < producers * perProducer) {
+					Integer element = queue.poll();
+					if (null == element) {
+						Thread.yield();
+						continue;
+					}
+					sum.addAndGet(element);
+					count.incrementAndGet();
+				}
+			}));
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		long n = producers * perProducer;
+		Assert.assertEquals(n, count.get());
+		Assert.assertEquals(n * (n + 1) / 2, sum.get());
+		Assert.assertTrue(queue.isEmpty());
+	}
+}
@@ -0,0 +1,231 @@
+package nkher.datastructures.queues;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import nkher.exception.DataStructureEmptyException;
+
+public class ConcurrentRingBufferTest {
+
+	private List<ConcurrentRingBuffer<Integer>> allVariants(int capacity) {
+		List<ConcurrentRingBuffer<Integer>> buffers = new ArrayList<>();
+		buffers.add(new SpscRingBuffer<>(capacity));
+		buffers.add(new MpscRingBuffer<>(capacity));
+		buffers.add(new MpmcRingBuffer<>(capacity));
+		return buffers;
+	}
+
+	@Test
+	public void testFifoOrderAndBounds() {
+		for (ConcurrentRingBuffer<Integer> buffer : allVariants(6)) {
+			Assert.assertEquals(8, buffer.capacity());
+			Assert.assertNull(buffer.poll());
+			Assert.assertNull(buffer.peek());
+			for (int lap=0; lap<3; lap++) {
+				for (int i=0; i<8; i++) {
+					Assert.assertTrue(buffer.offer(i));
+				}
+				Assert.assertFalse(buffer.offer(8));
+				Assert.assertEquals(8, buffer.size());
+				Assert.assertTrue(buffer.contains(5));
+				Assert.assertFalse(buffer.remove(5)); // only the head can be removed
+				Assert.assertEquals(8, buffer.size());
+				Assert.assertEquals(Integer.valueOf(0), buffer.head());
+				for (int i=0; i<8; i++) {
+					Assert.assertEquals(Integer.valueOf(i), buffer.poll());
+				}
+				Assert.assertTrue(buffer.isEmpty());
+			}
+		}
+	}
+
+	@Test
+	public void testBatchOperations() {
+		for (ConcurrentRingBuffer<Integer> buffer : allVariants(8)) {
+			Integer[] elements = new Integer[12];
+			for (int i=0; i<elements.length; i++) {
+				elements[i] = i;
+			}
+			Assert.assertEquals(5, buffer.offerBatch(elements, 0, 5));
+			Assert.assertEquals(3, buffer.offerBatch(elements, 5, 7));
+			Assert.assertEquals(0, buffer.offerBatch(elements, 8, 4));
+			Assert.assertArrayEquals(new Object[] {0, 1, 2, 3, 4, 5, 6, 7}, buffer.toArray());
+
+			List<Integer> drained = new ArrayList<>();
+			Assert.assertEquals(3, buffer.drainTo(drained::add, 3));
+			Assert.assertEquals(5, buffer.drainTo(drained::add));
+			Assert.assertEquals(0, buffer.drainTo(drained::add));
+			for (int i=0; i<8; i++) {
+				Assert.assertEquals(Integer.valueOf(i), drained.get(i));
+			}
+			Assert.assertEquals(4, buffer.offerBatch(elements, 8, 4));
+			Assert.assertEquals(Integer.valueOf(8), buffer.dequeue());
+			buffer.clear();
+			Assert.assertTrue(buffer.isEmpty());
+		}
+	}
+
+	@Test
+	public void testDrainKeepsElementsAfterConsumerThrows() {
+		for (ConcurrentRingBuffer<Integer> buffer : allVariants(8)) {
+			for (int i=0; i<8; i++) {
+				buffer.offer(i);
+			}
+			List<Integer> drained = new ArrayList<>();
+			try {
+				buffer.drainTo(element -> {
+					if (element == 3) {
+						throw new IllegalStateException("consumer failed");
+					}
+					drained.add(element);
+				});
+				Assert.fail("the exception of the consumer is expected");
+			}
+			catch (IllegalStateException e) {
+				Assert.assertEquals("consumer failed", e.getMessage());
+			}
+			Assert.assertEquals(Arrays.asList(0, 1, 2), drained);
+			Assert.assertEquals(4, buffer.size());
+			Assert.assertEquals(4, buffer.drainTo(drained::add));
+			Assert.assertEquals(Arrays.asList(0, 1, 2, 4, 5, 6, 7), drained);
+			Assert.assertTrue(buffer.offer(8)); // the slots were handed back to the producers
+			Assert.assertEquals(Integer.valueOf(8), buffer.poll());
+		}
+	}
+
+	@Test(expected = DataStructureEmptyException.class)
+	public void testDequeueFromEmptyBuffer() {
+		new MpmcRingBuffer<Integer>(4).dequeue();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullElement() {
+		new SpscRingBuffer<Integer>(4).offer(null);
+	}
+
+	@Test
+	public void testSingleProducerSingleConsumerKeepsOrder() throws InterruptedException {
+		final SpscRingBuffer<Integer> buffer = new SpscRingBuffer<>(64, WaitStrategies.YIELD);
+		final int count = 100000;
+		Thread producer = new Thread(() -> {
+			for (int i=0; i<count; i++) {
+				buffer.enqueue(i);
+			}
+		});
+		producer.start();
+		int[] next = {0};
+		while (next[0] < count) {
+			if (next[0] % 2 == 0) {
+				Assert.assertEquals(next[0]++, (int) buffer.take());
+			}
+			else {
+				buffer.drainTo(element -> Assert.assertEquals(next[0]++, (int) element), 10);
+			}
+		}
+		producer.join();
+		Assert.assertTrue(buffer.isEmpty());
+	}
+
+	@Test
+	public void testManyProducersSingleConsumer() throws InterruptedException {
+		final MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(128, WaitStrategies.YIELD);
+		final int producers = 4, perProducer = 20000;
+		List<Thread> threads = startProducers(buffer, producers, perProducer);
+		/** Every producer's elements must come out in the order it wrote them */
+		int[] lastSeen = new int[producers];
+		Arrays.fill(lastSeen, -1);
+		for (int i=0; i<producers*perProducer; i++) {
+			int element = buffer.take();
+			int producer = element % producers, sequence = element / producers;
+			Assert.assertTrue(sequence > lastSeen[producer]);
+			lastSeen[producer] = sequence;
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		Assert.assertTrue(buffer.isEmpty());
+	}
+
+	@Test
+	public void testManyProducersManyConsumers() throws InterruptedException {
+		final MpmcRingBuffer<Integer> buffer = new MpmcRingBuffer<>(128, WaitStrategies.YIELD);
+		final int producers = 4, consumers = 4, perProducer = 20000;
+		final int total = producers * perProducer;
+		final AtomicLong sum = new AtomicLong(), consumed = new AtomicLong();
+		List<Thread> threads = startProducers(buffer, producers, perProducer);
+		for (int c=0; c<consumers; c++) {
+			final boolean batches = c % 2 == 0;
+			Thread consumer = new Thread(() -> {
+				while (consumed.get() < total) {
+					int taken = 0;
+					if (batches) {
+						taken = buffer.drainTo(element -> {
+							sum.addAndGet(element);
+							consumed.incrementAndGet();
+						}, 16);
+					}
+					else {
+						Integer element = buffer.poll();
+						if (null != element) {
+							sum.addAndGet(element);
+							consumed.incrementAndGet();
+							taken = 1;
+						}
+					}
+					if (taken == 0) {
+						Thread.yield();
+					}
+				}
+			});
+			threads.add(consumer);
+			consumer.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		Assert.assertEquals(total, consumed.get());
+		Assert.assertEquals((long) total * (total - 1) / 2, sum.get());
+		Assert.assertTrue(buffer.isEmpty());
+	}
+
+	/***
+	 * Starts the producers, producer p writing p, p + producers, p + 2 * producers and so on, alternating single
+	 * and batch offers.
+	 */
+	private List<Thread> startProducers(final ConcurrentRingBuffer<Integer> buffer, final int producers,
+			final int perProducer) {
+		List<Thread> threads = new ArrayList<>();
+		for (int p=0; p<producers; p++) {
+			final int id = p;
+			Thread producer = new Thread(() -> {
+				Integer[] batch = new Integer[4];
+				int i = 0;
+				while (i < perProducer) {
+					if (i % 8 == 0 && i + batch.length <= perProducer) {
+						for (int j=0; j<batch.length; j++) {
+							batch[j] = (i + j) * producers + id;
+						}
+						int offset = 0;
+						while (offset < batch.length) {
+							offset += buffer.offerBatch(batch, offset, batch.length - offset);
+							Thread.yield();
+						}
+						i += batch.length;
+					}
+					else {
+						buffer.enqueue(i * producers + id);
+						i++;
+					}
+				}
+			});
+			threads.add(producer);
+			producer.start();
+		}
+		return threads;
+	}
+}
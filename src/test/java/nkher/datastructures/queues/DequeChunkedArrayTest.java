@@ -0,0 +1,132 @@
+package nkher.datastructures.queues;
+
+import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import nkher.exception.DataStructureEmptyException;
+
+public class DequeChunkedArrayTest {
+
+	@Test
+	public void testBothEnds() {
+		DequeChunkedArray<Integer> deque = new DequeChunkedArray<>(4, 2);
+		for (int i=0; i<10; i++) {
+			deque.enqueue(i);
+			deque.enqueueAtHead(-i - 1);
+		}
+		Assert.assertEquals(20, deque.size());
+		Assert.assertEquals(Integer.valueOf(-10), deque.head());
+		Assert.assertEquals(Integer.valueOf(9), deque.tail());
+		for (int i=10; i>0; i--) {
+			Assert.assertEquals(Integer.valueOf(-i), deque.dequeue());
+		}
+		for (int i=9; i>=0; i--) {
+			Assert.assertEquals(Integer.valueOf(i), deque.deqeueAtTail());
+		}
+		Assert.assertTrue(deque.isEmpty());
+		Assert.assertEquals("[ ]", deque.toString());
+	}
+
+	@Test(expected = DataStructureEmptyException.class)
+	public void testDequeueFromEmptyDeque() {
+		new DequeChunkedArray<Integer>().dequeue();
+	}
+
+	@Test(expected = DataStructureEmptyException.class)
+	public void testDequeueAtTailFromEmptyDeque() {
+		new DequeChunkedArray<Integer>().deqeueAtTail();
+	}
+
+	@Test
+	public void testSteadyStateDoesNotAllocate() {
+		DequeChunkedArray<Integer> deque = new DequeChunkedArray<>(8, 4);
+		for (int round=0; round<1000; round++) {
+			for (int i=0; i<20; i++) {
+				deque.enqueue(i);
+			}
+			for (int i=0; i<20; i++) {
+				deque.dequeue();
+			}
+			for (int i=0; i<20; i++) {
+				deque.enqueueAtHead(i);
+			}
+			for (int i=0; i<20; i++) {
+				deque.deqeueAtTail();
+			}
+		}
+		// 20 elements span at most 4 blocks, 3 of which are linked at a time and come back from the pool
+		Assert.assertTrue(deque.allocatedBlocks() <= 4);
+		Assert.assertTrue(deque.pooledBlocks() <= 4);
+	}
+
+	@Test
+	public void testRemoveContainsAndToArray() {
+		DequeChunkedArray<Integer> deque = new DequeChunkedArray<>(4, 1);
+		for (int i=0; i<10; i++) {
+			deque.add(i);
+		}
+		Assert.assertTrue(deque.remove(0));
+		Assert.assertTrue(deque.remove(5));
+		Assert.assertTrue(deque.remove(9));
+		Assert.assertFalse(deque.remove(5));
+		Assert.assertFalse(deque.contains(5));
+		Assert.assertTrue(deque.contains(8));
+		Assert.assertArrayEquals(new Object[] {1, 2, 3, 4, 6, 7, 8}, deque.toArray());
+		Assert.assertEquals("[ 1, 2, 3, 4, 6, 7, 8 ]", deque.toString());
+		deque.clear();
+		Assert.assertEquals(0, deque.size());
+		Assert.assertEquals(0, deque.toArray().length);
+		deque.enqueue(1);
+		Assert.assertEquals(Integer.valueOf(1), deque.peek());
+	}
+
+	@Test(expected = ConcurrentModificationException.class)
+	public void testIteratorFailsFast() {
+		DequeChunkedArray<Integer> deque = new DequeChunkedArray<>();
+		deque.enqueue(1);
+		deque.enqueue(2);
+		Iterator<Integer> iterator = deque.iterator();
+		iterator.next();
+		deque.enqueue(3);
+		iterator.next();
+	}
+
+	@Test
+	public void testRandomOperationsAgainstArrayDeque() {
+		Random random = new Random(43);
+		DequeChunkedArray<Integer> deque = new DequeChunkedArray<>(4, 2);
+		ArrayDeque<Integer> expected = new ArrayDeque<>();
+		for (int i=0; i<20000; i++) {
+			int operation = random.nextInt(9);
+			if (operation < 2) {
+				deque.enqueue(i);
+				expected.addLast(i);
+			}
+			else if (operation < 4) {
+				deque.enqueueAtHead(i);
+				expected.addFirst(i);
+			}
+			else if (operation < 6 && !expected.isEmpty()) {
+				Assert.assertEquals(expected.pollFirst(), deque.dequeue());
+			}
+			else if (operation < 8 && !expected.isEmpty()) {
+				Assert.assertEquals(expected.pollLast(), deque.deqeueAtTail());
+			}
+			else if (operation == 8 && !expected.isEmpty()) {
+				Integer element = expected.toArray(new Integer[0])[random.nextInt(expected.size())];
+				Assert.assertEquals(expected.removeFirstOccurrence(element), deque.remove(element));
+			}
+			Assert.assertEquals(expected.size(), deque.size());
+		}
+		Iterator<Integer> iterator = deque.iterator();
+		for (Integer element : expected) {
+			Assert.assertEquals(element, iterator.next());
+		}
+		Assert.assertFalse(iterator.hasNext());
+	}
+}
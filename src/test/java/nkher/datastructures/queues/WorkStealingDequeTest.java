@@ -0,0 +1,104 @@
+package nkher.datastructures.queues;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WorkStealingDequeTest {
+
+	@Test
+	public void testOwnerPopsLastAndThiefStealsFirst() {
+		WorkStealingDeque<Integer> deque = new WorkStealingDeque<>();
+		Assert.assertNull(deque.pop());
+		Assert.assertNull(deque.steal());
+		for (int i=0; i<5; i++) {
+			deque.push(i);
+		}
+		Assert.assertEquals(5, deque.size());
+		Assert.assertEquals(Integer.valueOf(4), deque.pop());
+		Assert.assertEquals(Integer.valueOf(0), deque.steal());
+		Assert.assertEquals(Integer.valueOf(1), deque.steal());
+		Assert.assertEquals(Integer.valueOf(3), deque.pop());
+		Assert.assertEquals(Integer.valueOf(2), deque.pop());
+		Assert.assertNull(deque.pop());
+		Assert.assertTrue(deque.isEmpty());
+	}
+
+	@Test
+	public void testGrowsWhenFull() {
+		WorkStealingDeque<Integer> deque = new WorkStealingDeque<>(4);
+		Assert.assertEquals(4, deque.capacity());
+		deque.push(-1);
+		deque.steal(); // moves top, so the elements wrap around the array
+		for (int i=0; i<100; i++) {
+			deque.push(i);
+		}
+		Assert.assertEquals(128, deque.capacity());
+		for (int i=0; i<50; i++) {
+			Assert.assertEquals(Integer.valueOf(i), deque.steal());
+		}
+		for (int i=99; i>=50; i--) {
+			Assert.assertEquals(Integer.valueOf(i), deque.pop());
+		}
+		Assert.assertTrue(deque.isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullElement() {
+		new WorkStealingDeque<Integer>().push(null);
+	}
+
+	@Test
+	public void testEveryElementIsTakenOnce() throws InterruptedException {
+		final WorkStealingDeque<Integer> deque = new WorkStealingDeque<>(8);
+		final int count = 50000, thieves = 3;
+		final AtomicLong sum = new AtomicLong(), taken = new AtomicLong();
+		final AtomicBoolean ownerDone = new AtomicBoolean();
+		List<Thread> threads = new ArrayList<>();
+		threads.add(new Thread(() -> {
+			for (int i=1; i<=count; i++) {
+				deque.push(i);
+				if (i % 3 == 0) {
+					Integer element = deque.pop();
+					if (null != element) {
+						sum.addAndGet(element);
+						taken.incrementAndGet();
+					}
+				}
+			}
+			Integer element;
+			while ((element = deque.pop()) != null || !deque.isEmpty()) {
+				if (null != element) {
+					sum.addAndGet(element);
+					taken.incrementAndGet();
+				}
+			}
+			ownerDone.set(true);
+		}));
+		for (int i=0; i<thieves; i++) {
+			threads.add(new Thread(() -> {
+				while (!ownerDone.get()) {
+					Integer element = deque.steal();
+					if (null == element) {
+						Thread.yield();
+						continue;
+					}
+					sum.addAndGet(element);
+					taken.incrementAndGet();
+				}
+			}));
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		Assert.assertEquals(count, taken.get());
+		Assert.assertEquals((long) count * (count + 1) / 2, sum.get());
+	}
+}
@@ -0,0 +1,67 @@
+package nkher.datastructures.sketches;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import nkher.algorithms.hash.HashMethods;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CountMinSketchTest {
+
+	@Test
+	public void testEstimatesAreWithinBounds() {
+		CountMinSketch<Integer> sketch = new CountMinSketch<>(0.001, 0.01);
+		Map<Integer, Long> actual = new HashMap<>();
+		Random random = new Random(7);
+		for (int i=0; i<100000; i++) {
+			int element = (int) Math.abs(random.nextGaussian() * 1000);
+			sketch.add(element);
+			actual.merge(element, 1L, Long::sum);
+		}
+		Assert.assertEquals(100000, sketch.size());
+		long bound = (long) Math.ceil(sketch.getRelativeError() * sketch.size());
+		for (Map.Entry<Integer, Long> entry : actual.entrySet()) {
+			long estimate = sketch.estimate(entry.getKey());
+			Assert.assertTrue(estimate >= entry.getValue());
+			Assert.assertTrue(estimate - entry.getValue() <= bound);
+		}
+	}
+
+	@Test
+	public void testConservativeUpdateNeverCountsMore() {
+		CountMinSketch<String> conservative = new CountMinSketch<>(64, 4, HashMethods.forName("xxhash64"), true);
+		CountMinSketch<String> plain = new CountMinSketch<>(64, 4, HashMethods.forName("xxhash64"), false);
+		for (int i=0; i<5000; i++) {
+			conservative.add("e" + (i % 500), 2);
+			plain.add("e" + (i % 500), 2);
+		}
+		for (int i=0; i<500; i++) {
+			long estimate = conservative.estimate("e" + i);
+			Assert.assertTrue(estimate >= 20);
+			Assert.assertTrue(estimate <= plain.estimate("e" + i));
+		}
+	}
+
+	@Test
+	public void testMerge() {
+		CountMinSketch<String> first = new CountMinSketch<>(0.01, 0.01), second = new CountMinSketch<>(0.01, 0.01);
+		for (int i=0; i<1000; i++) {
+			first.add("x");
+			second.add("x");
+			second.add("y" + i);
+		}
+		CountMinSketch<String> merged = new CountMinSketch<>(first);
+		merged.merge(second);
+		Assert.assertEquals(3000, merged.size());
+		Assert.assertTrue(merged.estimate("x") >= 2000);
+		Assert.assertEquals(1000, first.size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMergeDifferentDimensions() {
+		new CountMinSketch<String>(0.01, 0.01).merge(new CountMinSketch<String>(0.1, 0.01));
+	}
+}
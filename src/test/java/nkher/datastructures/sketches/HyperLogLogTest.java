@@ -0,0 +1,73 @@
+package nkher.datastructures.sketches;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HyperLogLogTest {
+
+	@Test
+	public void testSparseModeIsNearlyExact() {
+		HyperLogLog hll = new HyperLogLog(14);
+		for (int i=0; i<1000; i++) {
+			hll.add(i);
+			hll.add(i); // duplicates do not count
+		}
+		Assert.assertTrue(hll.isSparse());
+		Assert.assertEquals(1000, hll.cardinality(), 5);
+	}
+
+	@Test
+	public void testDenseEstimateWithinError() {
+		for (int n : new int[] {5000, 50000, 1000000}) {
+			HyperLogLog hll = new HyperLogLog(12);
+			for (int i=0; i<n; i++) {
+				hll.add("element-" + i);
+			}
+			Assert.assertFalse(hll.isSparse());
+			Assert.assertEquals(n, hll.cardinality(), 4 * hll.getStandardError() * n);
+		}
+	}
+
+	@Test
+	public void testMergeSparseAndDense() {
+		HyperLogLog first = new HyperLogLog(10), second = new HyperLogLog(10), sparse = new HyperLogLog(10);
+		for (int i=0; i<20000; i++) {
+			first.add(i);
+			second.add(i + 10000);
+		}
+		for (int i=0; i<50; i++) {
+			sparse.add(-i - 1);
+		}
+		Assert.assertTrue(sparse.isSparse());
+
+		HyperLogLog union = new HyperLogLog(first);
+		union.merge(second);
+		union.merge(sparse);
+		Assert.assertEquals(30050, union.cardinality(), 4 * union.getStandardError() * 30050);
+
+		// merging a dense sketch into a sparse one
+		HyperLogLog copy = new HyperLogLog(sparse);
+		copy.merge(first);
+		Assert.assertFalse(copy.isSparse());
+		Assert.assertEquals(20050, copy.cardinality(), 4 * copy.getStandardError() * 20050);
+		Assert.assertTrue(sparse.isSparse());
+	}
+
+	@Test
+	public void testSparseMergeMatchesDirectInsertion() {
+		HyperLogLog first = new HyperLogLog(14), second = new HyperLogLog(14), direct = new HyperLogLog(14);
+		for (int i=0; i<300; i++) {
+			first.add(i);
+			second.add(i + 150);
+			direct.add(i);
+			direct.add(i + 150);
+		}
+		first.merge(second);
+		Assert.assertEquals(direct.cardinality(), first.cardinality());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidPrecision() {
+		new HyperLogLog(3);
+	}
+}
@@ -0,0 +1,59 @@
+package nkher.datastructures.sketches;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SpaceSavingTest {
+
+	@Test
+	public void testHeavyHittersAreFound() {
+		SpaceSaving<Integer> summary = new SpaceSaving<>(50);
+		Random random = new Random(3);
+		for (int i=0; i<100000; i++) {
+			// elements 0 to 4 make up half of the stream
+			summary.offer(random.nextBoolean() ? random.nextInt(5) : 5 + random.nextInt(100000));
+		}
+		List<SpaceSaving.Counter<Integer>> top = summary.topK(5);
+		Assert.assertEquals(5, top.size());
+		for (SpaceSaving.Counter<Integer> counter : top) {
+			Assert.assertTrue(counter.getElement() < 5);
+			Assert.assertTrue(counter.getGuaranteedCount() <= counter.getCount());
+		}
+		Assert.assertTrue(top.get(0).getCount() >= top.get(4).getCount());
+	}
+
+	@Test
+	public void testEvictionAndErrors() {
+		SpaceSaving<String> summary = new SpaceSaving<>(2);
+		Assert.assertNull(summary.offer("a", 5));
+		Assert.assertNull(summary.offer("b", 2));
+		Assert.assertEquals("b", summary.offer("c"));
+		Assert.assertEquals(3, summary.estimate("c"));
+		Assert.assertEquals(2, summary.topK(2).get(1).getError());
+		Assert.assertEquals(3, summary.estimate("b")); // upper bound for elements not counted
+		Assert.assertEquals(8, summary.size());
+	}
+
+	@Test
+	public void testMerge() {
+		SpaceSaving<String> first = new SpaceSaving<>(3), second = new SpaceSaving<>(3);
+		first.offer("a", 10);
+		first.offer("b", 4);
+		first.offer("c", 1);
+		second.offer("a", 5);
+		second.offer("d", 8);
+		second.offer("e", 2);
+		first.merge(second);
+
+		List<SpaceSaving.Counter<String>> top = first.topK(3);
+		Assert.assertEquals("a", top.get(0).getElement());
+		Assert.assertEquals(15, top.get(0).getCount());
+		Assert.assertEquals("d", top.get(1).getElement());
+		Assert.assertEquals(9, top.get(1).getCount()); // charged the minimum count of the first summary
+		Assert.assertEquals(30, first.size());
+		Assert.assertEquals(3, first.numberOfCounters());
+	}
+}
@@ -0,0 +1,112 @@
+package nkher.datastructures.stacks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import nkher.exception.DataStructureEmptyException;
+
+public class ConcurrentStackTest {
+
+	private List<TreiberStack<Integer>> allVariants() {
+		List<TreiberStack<Integer>> stacks = new ArrayList<>();
+		stacks.add(new TreiberStack<>());
+		stacks.add(new EliminationBackoffStack<>(2, 16));
+		return stacks;
+	}
+
+	@Test
+	public void testLifoOrder() {
+		for (TreiberStack<Integer> stack : allVariants()) {
+			Assert.assertTrue(stack.isEmpty());
+			Assert.assertNull(stack.poll());
+			for (int i=0; i<5; i++) {
+				stack.push(i);
+			}
+			Assert.assertEquals(5, stack.size());
+			Assert.assertEquals(Integer.valueOf(4), stack.peek());
+			Assert.assertTrue(stack.contains(2));
+			Assert.assertFalse(stack.contains(5));
+			Assert.assertFalse(stack.remove(2)); // only the top can be removed
+			Assert.assertTrue(stack.contains(2));
+			Assert.assertArrayEquals(new Object[] {4, 3, 2, 1, 0}, stack.toArray());
+			Assert.assertEquals("[ 4, 3, 2, 1, 0 ]", stack.toString());
+			for (int i=4; i>=0; i--) {
+				Assert.assertEquals(Integer.valueOf(i), stack.pop());
+			}
+			Assert.assertTrue(stack.isEmpty());
+			Assert.assertEquals("[ ]", stack.toString());
+		}
+	}
+
+	@Test
+	public void testEmptyStack() {
+		for (TreiberStack<Integer> stack : allVariants()) {
+			try {
+				stack.pop();
+				Assert.fail("pop on an empty stack must throw");
+			} catch (DataStructureEmptyException expected) {
+			}
+			try {
+				stack.peek();
+				Assert.fail("peek on an empty stack must throw");
+			} catch (DataStructureEmptyException expected) {
+			}
+		}
+	}
+
+	@Test
+	public void testIteratorAndClear() {
+		for (TreiberStack<Integer> stack : allVariants()) {
+			stack.add(1);
+			stack.add(2);
+			List<Integer> elements = new ArrayList<>();
+			for (Integer element : stack) {
+				elements.add(element);
+				stack.push(10); // not seen by the iterator
+			}
+			Assert.assertEquals("[2, 1]", elements.toString());
+			stack.clear();
+			Assert.assertEquals(0, stack.size());
+		}
+	}
+
+	@Test
+	public void testConcurrentPushAndPop() throws InterruptedException {
+		for (final TreiberStack<Integer> stack : allVariants()) {
+			final int threads = 4, perThread = 20000;
+			final AtomicLong sum = new AtomicLong(), popped = new AtomicLong();
+			List<Thread> workers = new ArrayList<>();
+			for (int t=0; t<threads; t++) {
+				final int base = t * perThread;
+				workers.add(new Thread(() -> {
+					for (int i=1; i<=perThread; i++) {
+						stack.push(base + i);
+						Integer element = stack.poll();
+						if (null != element) {
+							sum.addAndGet(element);
+							popped.incrementAndGet();
+						}
+					}
+				}));
+			}
+			for (Thread worker : workers) {
+				worker.start();
+			}
+			for (Thread worker : workers) {
+				worker.join();
+			}
+			Integer element;
+			while ((element = stack.poll()) != null) {
+				sum.addAndGet(element);
+				popped.incrementAndGet();
+			}
+			long n = threads * perThread;
+			Assert.assertEquals(n, popped.get());
+			Assert.assertEquals(n * (n + 1) / 2, sum.get());
+		}
+	}
+}
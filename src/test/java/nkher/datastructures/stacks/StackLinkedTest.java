@@ -0,0 +1,110 @@
+package nkher.datastructures.stacks;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import nkher.algorithms.sorting.Sorting;
+import nkher.exception.DataStructureEmptyException;
+
+public class StackLinkedTest {
+
+	private static final int LARGE_SIZE = 10_000_000;
+
+	/***
+	 * An element ordered by its key only, to check that the sort keeps equal elements in their order.
+	 */
+	private static class Keyed implements Comparable<Keyed> {
+		final int key, id;
+
+		Keyed(int key, int id) {
+			this.key = key;
+			this.id = id;
+		}
+
+		public int compareTo(Keyed other) {
+			return Integer.compare(key, other.key);
+		}
+	}
+
+	private StackLinked<Integer> stackOf(int... elements) {
+		StackLinked<Integer> stack = new StackLinked<>();
+		for (int element : elements) {
+			stack.push(element);
+		}
+		return stack;
+	}
+
+	@Test
+	public void testSortAscendingAndDescending() {
+		StackLinked<Integer> stack = stackOf(5, 1, 4, 2, 3, 1);
+		stack.sort(Sorting.ORDER_ASC);
+		Assert.assertEquals("[1, 1, 2, 3, 4, 5]", stack.toString());
+		Assert.assertEquals(Integer.valueOf(5), stack.peek());
+		stack.sort(Sorting.ORDER_DESC);
+		Assert.assertEquals("[5, 4, 3, 2, 1, 1]", stack.toString());
+		Assert.assertEquals(6, stack.size());
+		for (int expected : new int[] {1, 1, 2, 3, 4, 5}) {
+			Assert.assertEquals(Integer.valueOf(expected), stack.pop());
+		}
+		Assert.assertTrue(stack.isEmpty());
+	}
+
+	@Test
+	public void testSortIsStable() {
+		StackLinked<Keyed> stack = new StackLinked<>();
+		for (int i=0; i<100; i++) {
+			stack.push(new Keyed(i % 3, i));
+		}
+		stack.sort(Sorting.ORDER_ASC);
+		Keyed previous = stack.pop();
+		while (!stack.isEmpty()) {
+			Keyed current = stack.pop();
+			Assert.assertTrue(current.key < previous.key || (current.key == previous.key && current.id < previous.id));
+			previous = current;
+		}
+	}
+
+	@Test
+	public void testReverse() {
+		StackLinked<Integer> stack = stackOf(1, 2, 3, 4);
+		stack.reverse();
+		Assert.assertEquals("[4, 3, 2, 1]", stack.toString());
+		Assert.assertEquals(Integer.valueOf(1), stack.pop());
+		stack.push(0);
+		Assert.assertEquals("[4, 3, 2, 0]", stack.toString());
+		StackLinked<Integer> single = stackOf(7);
+		single.reverse();
+		Assert.assertEquals(Integer.valueOf(7), single.peek());
+	}
+
+	@Test(expected = DataStructureEmptyException.class)
+	public void testSortEmptyStack() {
+		new StackLinked<Integer>().sort(Sorting.ORDER_ASC);
+	}
+
+	@Test
+	public void testSortAndReverseTenMillionElements() {
+		Random random = new Random(46);
+		Integer[] values = new Integer[1 << 16]; // shared boxes, so that the nodes dominate the memory
+		for (int i=0; i<values.length; i++) {
+			values[i] = random.nextInt();
+		}
+		StackLinked<Integer> stack = new StackLinked<>();
+		for (int i=0; i<LARGE_SIZE; i++) {
+			stack.push(values[random.nextInt(values.length)]);
+		}
+		stack.sort(Sorting.ORDER_DESC);
+		Assert.assertEquals(LARGE_SIZE, stack.size());
+		stack.reverse();
+		/* descending from bottom to top, reversed, pops in descending order */
+		int previous = stack.pop();
+		for (int i=1; i<LARGE_SIZE; i++) {
+			int current = stack.pop();
+			Assert.assertTrue(current <= previous);
+			previous = current;
+		}
+		Assert.assertTrue(stack.isEmpty());
+	}
+}
@@ -0,0 +1,170 @@
+package nkher.datastructures.trees;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import nkher.datastructures.lists.DynamicArray;
+import nkher.exception.DataStructureEmptyException;
+
+public class ArrayRedBlackTreeTest {
+
+	// Data Structure under test
+	private ArrayRedBlackTree<Integer, String> tree;
+
+	@Before
+	public void setup() {
+		tree = new ArrayRedBlackTree<>(4);
+	}
+
+	@Test
+	public void testInsertGetAndReplace() {
+		for (int i=0; i<100; i++) {
+			tree.insert(i * 2, "v" + i);
+			tree.checkInvariants();
+		}
+		Assert.assertEquals(100, tree.size());
+		Assert.assertEquals("v10", tree.get(20));
+		Assert.assertNull(tree.get(21));
+		tree.insert(20, "twenty");
+		Assert.assertEquals(100, tree.size());
+		Assert.assertEquals("twenty", tree.get(20));
+		Assert.assertEquals(Integer.valueOf(0), tree.firstKey());
+		Assert.assertEquals(Integer.valueOf(198), tree.lastKey());
+		Assert.assertTrue(tree.height() <= 2 * 7); // 2 log(n + 1)
+	}
+
+	@Test
+	public void testTraversals() {
+		for (int key : new int[] {10, 20, 30, 40, 50}) {
+			tree.insert(key, "v" + key);
+		}
+		/* 20 is the black root, 10 and 40 its black children, 30 and 50 red children of 40 */
+		Assert.assertEquals(Integer.valueOf(20), tree.rootkey());
+		Assert.assertEquals("[10, 20, 30, 40, 50]", tree.inorderkeys().toString());
+		Assert.assertEquals("[20, 10, 40, 30, 50]", tree.preorderkeys().toString());
+		Assert.assertEquals("[10, 30, 50, 40, 20]", tree.postorderkeys().toString());
+		Assert.assertEquals(3, tree.height());
+		Assert.assertEquals(3, tree.checkInvariants());
+	}
+
+	@Test
+	public void testFloorCeilingLowerHigherAndRange() {
+		for (int i=10; i<=50; i=i+10) {
+			tree.insert(i, "v" + i);
+		}
+		Assert.assertEquals(Integer.valueOf(20), tree.floorKey(25));
+		Assert.assertEquals(Integer.valueOf(20), tree.floorKey(20));
+		Assert.assertNull(tree.floorKey(5));
+		Assert.assertEquals(Integer.valueOf(30), tree.ceilingKey(25));
+		Assert.assertEquals(Integer.valueOf(20), tree.ceilingKey(20));
+		Assert.assertNull(tree.ceilingKey(51));
+		Assert.assertEquals(Integer.valueOf(10), tree.lowerKey(20));
+		Assert.assertNull(tree.lowerKey(10));
+		Assert.assertEquals(Integer.valueOf(30), tree.higherKey(20));
+		Assert.assertNull(tree.higherKey(50));
+		DynamicArray<Integer> range = tree.rangeSearch(15, 40);
+		Assert.assertEquals("[20, 30, 40]", range.toString());
+		Assert.assertEquals(0, tree.rangeSearch(51, 60).size());
+	}
+
+	@Test
+	public void testRemovedSlotsAreReused() {
+		for (int i=0; i<64; i++) {
+			tree.insert(i, "v" + i);
+		}
+		int capacity = tree.capacity();
+		for (int round=0; round<100; round++) {
+			for (int i=0; i<64; i=i+2) {
+				Assert.assertTrue(tree.remove(i));
+			}
+			tree.checkInvariants();
+			for (int i=0; i<64; i=i+2) {
+				tree.insert(i, "r" + round);
+			}
+		}
+		Assert.assertEquals(capacity, tree.capacity());
+		Assert.assertEquals(64, tree.size());
+		Assert.assertEquals("r99", tree.get(62));
+		Assert.assertFalse(tree.remove(64));
+	}
+
+	@Test
+	public void testClearAndTrimToSize() {
+		for (int i=0; i<1000; i++) {
+			tree.insert(i, "v" + i);
+		}
+		for (int i=0; i<1000; i++) {
+			if (i % 10 != 0) {
+				tree.remove(i);
+			}
+		}
+		tree.trimToSize();
+		Assert.assertEquals(100, tree.capacity());
+		tree.checkInvariants();
+		Assert.assertEquals("v990", tree.get(990));
+		tree.insert(5, "five");
+		Assert.assertEquals(101, tree.size());
+		tree.checkInvariants();
+		tree.clear();
+		Assert.assertTrue(tree.isEmpty());
+		Assert.assertEquals("[ ]", tree.toString());
+		Assert.assertFalse(tree.iterator().hasNext());
+		tree.insert(1, "one");
+		Assert.assertEquals("[1->one]", tree.toString());
+	}
+
+	@Test(expected = DataStructureEmptyException.class)
+	public void testRootKeyOfEmptyTree() {
+		tree.rootkey();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullKey() {
+		tree.insert(null, "null");
+	}
+
+	@Test(expected = ConcurrentModificationException.class)
+	public void testIteratorFailsFast() {
+		tree.insert(1, "one");
+		tree.insert(2, "two");
+		Iterator<Integer> iterator = tree.iterator();
+		iterator.next();
+		tree.remove(1);
+		iterator.next();
+	}
+
+	@Test
+	public void testAgainstTreeMap() {
+		Random random = new Random(48);
+		TreeMap<Integer, String> expected = new TreeMap<>();
+		for (int i=0; i<20000; i++) {
+			int key = random.nextInt(500);
+			if (random.nextInt(3) == 0) {
+				Assert.assertEquals(expected.remove(key) != null, tree.remove(key));
+			}
+			else {
+				expected.put(key, "v" + i);
+				tree.insert(key, "v" + i);
+			}
+			if (i % 500 == 0) {
+				tree.checkInvariants();
+			}
+			Assert.assertEquals(expected.size(), tree.size());
+			Assert.assertEquals(expected.get(key), tree.get(key));
+			Assert.assertEquals(expected.floorKey(key + 1), tree.floorKey(key + 1));
+			Assert.assertEquals(expected.higherKey(key), tree.higherKey(key));
+		}
+		tree.checkInvariants();
+		Iterator<Integer> keys = expected.keySet().iterator();
+		for (int key : tree) {
+			Assert.assertEquals(keys.next(), Integer.valueOf(key));
+		}
+		Assert.assertFalse(keys.hasNext());
+	}
+}
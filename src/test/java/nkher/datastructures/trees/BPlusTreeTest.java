@@ -0,0 +1,167 @@
+package nkher.datastructures.trees;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import nkher.datastructures.lists.DynamicArray;
+import nkher.exception.DataStructureEmptyException;
+
+public class BPlusTreeTest {
+
+	// Data Structure under test
+	private BPlusTree<Integer, String> tree;
+
+	@Before
+	public void setup() {
+		tree = new BPlusTree<>(4);
+	}
+
+	@Test
+	public void testInsertGetAndReplace() {
+		for (int i=0; i<100; i++) {
+			tree.insert(i * 2, "v" + i);
+			tree.checkInvariants();
+		}
+		Assert.assertEquals(100, tree.size());
+		Assert.assertEquals("v10", tree.get(20));
+		Assert.assertNull(tree.get(21));
+		tree.insert(20, "twenty");
+		Assert.assertEquals(100, tree.size());
+		Assert.assertEquals("twenty", tree.get(20));
+		Assert.assertTrue(tree.containsKey(198));
+		Assert.assertEquals(Integer.valueOf(0), tree.firstKey());
+		Assert.assertEquals(Integer.valueOf(198), tree.lastKey());
+	}
+
+	@Test
+	public void testSplitsGrowTheHeight() {
+		for (int i=1; i<=4; i++) {
+			tree.insert(i, "v" + i);
+		}
+		Assert.assertEquals(1, tree.height());
+		tree.insert(5, "v5"); // the leaf overflows into [1, 2] and [3, 4, 5]
+		Assert.assertEquals(2, tree.height());
+		Assert.assertEquals(Integer.valueOf(3), tree.rootkey());
+		for (int i=5; i>=1; i--) {
+			Assert.assertTrue(tree.remove(i));
+			tree.checkInvariants();
+		}
+		Assert.assertEquals(1, tree.height());
+		Assert.assertTrue(tree.isEmpty());
+		Assert.assertEquals("[ ]", tree.toString());
+	}
+
+	@Test
+	public void testFloorCeilingLowerHigherAndRange() {
+		for (int i=10; i<=500; i=i+10) {
+			tree.insert(i, "v" + i);
+		}
+		Assert.assertEquals(Integer.valueOf(20), tree.floorKey(25));
+		Assert.assertEquals(Integer.valueOf(20), tree.floorKey(20));
+		Assert.assertNull(tree.floorKey(5));
+		Assert.assertEquals(Integer.valueOf(30), tree.ceilingKey(25));
+		Assert.assertEquals(Integer.valueOf(20), tree.ceilingKey(20));
+		Assert.assertNull(tree.ceilingKey(501));
+		Assert.assertEquals(Integer.valueOf(10), tree.lowerKey(20));
+		Assert.assertNull(tree.lowerKey(10));
+		Assert.assertEquals(Integer.valueOf(30), tree.higherKey(20));
+		Assert.assertNull(tree.higherKey(500));
+		DynamicArray<Integer> range = tree.rangeSearch(15, 95);
+		Assert.assertEquals(8, range.size());
+		Assert.assertEquals(Integer.valueOf(20), range.getAt(0));
+		Assert.assertEquals(Integer.valueOf(90), range.getAt(7));
+		Assert.assertEquals(50, tree.rangeSearch(0, 1000).size());
+		Assert.assertEquals(0, tree.rangeSearch(501, 600).size());
+	}
+
+	@Test
+	public void testBulkLoad() {
+		for (int n : new int[] {0, 1, 4, 5, 63, 64, 65, 1000, 4097}) {
+			Integer[] keys = new Integer[n];
+			String[] values = new String[n];
+			for (int i=0; i<n; i++) {
+				keys[i] = i * 3;
+				values[i] = "v" + i;
+			}
+			BPlusTree<Integer, String> loaded = BPlusTree.bulkLoad(4, keys, values);
+			loaded.checkInvariants();
+			Assert.assertEquals(n, loaded.size());
+			int expected = 0;
+			for (int key : loaded) {
+				Assert.assertEquals(expected, key);
+				expected = expected + 3;
+			}
+			if (n > 0) {
+				Assert.assertEquals("v" + (n - 1), loaded.get((n - 1) * 3));
+				loaded.insert(1, "one");
+				Assert.assertTrue(loaded.remove(0));
+				loaded.checkInvariants();
+			}
+		}
+		BPlusTree<Integer, String> loaded = BPlusTree.bulkLoad(64, new Integer[] {1, 2, 3}, null);
+		Assert.assertTrue(loaded.containsKey(2));
+		Assert.assertNull(loaded.get(2));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBulkLoadUnsortedKeys() {
+		BPlusTree.bulkLoad(32, new Integer[] {1, 3, 3}, null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testOrderTooSmall() {
+		new BPlusTree<Integer, String>(3);
+	}
+
+	@Test(expected = DataStructureEmptyException.class)
+	public void testRootKeyOfEmptyTree() {
+		tree.rootkey();
+	}
+
+	@Test(expected = ConcurrentModificationException.class)
+	public void testIteratorFailsFast() {
+		tree.insert(1, "one");
+		tree.insert(2, "two");
+		Iterator<Integer> iterator = tree.iterator();
+		iterator.next();
+		tree.remove(1);
+		iterator.next();
+	}
+
+	@Test
+	public void testAgainstTreeMap() {
+		for (int order : new int[] {4, 5, 32, 128}) {
+			Random random = new Random(order);
+			tree = new BPlusTree<>(order);
+			TreeMap<Integer, String> expected = new TreeMap<>();
+			for (int i=0; i<30000; i++) {
+				int key = random.nextInt(2000);
+				if (random.nextInt(5) < 2) {
+					Assert.assertEquals(expected.remove(key) != null, tree.remove(key));
+				}
+				else {
+					expected.put(key, "v" + i);
+					tree.insert(key, "v" + i);
+				}
+				if (i % 1000 == 0) {
+					tree.checkInvariants();
+				}
+				Assert.assertEquals(expected.size(), tree.size());
+				Assert.assertEquals(expected.get(key), tree.get(key));
+				Assert.assertEquals(expected.floorKey(key - 1), tree.floorKey(key - 1));
+				Assert.assertEquals(expected.lowerKey(key), tree.lowerKey(key));
+				Assert.assertEquals(expected.ceilingKey(key + 1), tree.ceilingKey(key + 1));
+				Assert.assertEquals(expected.higherKey(key), tree.higherKey(key));
+			}
+			tree.checkInvariants();
+			Assert.assertEquals(expected.keySet().toString(), tree.keys().toString());
+			Assert.assertEquals(expected.subMap(100, true, 300, true).size(), tree.rangeSearch(100, 300).size());
+		}
+	}
+}
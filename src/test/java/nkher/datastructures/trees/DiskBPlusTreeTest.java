@@ -0,0 +1,276 @@
+package nkher.datastructures.trees;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import nkher.datastructures.trees.DiskBPlusTree.Codec;
+import nkher.exception.DataStructureEmptyException;
+
+public class DiskBPlusTreeTest {
+
+	private static final int PAGE_SIZE = 256; // 31 keys per page, for deep trees with few keys
+	private static final int CACHED_PAGES = 32;
+
+	private Path directory, path;
+
+	// Data Structure under test
+	private DiskBPlusTree<Integer, Integer> tree;
+
+	@Before
+	public void setup() throws IOException {
+		directory = Files.createTempDirectory("diskbplustree");
+		path = directory.resolve("tree.db");
+		tree = open();
+	}
+
+	@After
+	public void teardown() throws IOException {
+		tree.close();
+		Files.deleteIfExists(path);
+		Files.deleteIfExists(directory);
+	}
+
+	private DiskBPlusTree<Integer, Integer> open() {
+		return DiskBPlusTree.open(path, Codec.INTEGER, Codec.INTEGER, PAGE_SIZE, CACHED_PAGES);
+	}
+
+	private void reopen() {
+		tree.close();
+		tree = open();
+	}
+
+	@Test
+	public void testInsertGetAndRemove() {
+		for (int i=0; i<100; i++) {
+			tree.insert(i * 2, i);
+		}
+		Assert.assertEquals(100, tree.size());
+		Assert.assertEquals(Integer.valueOf(10), tree.get(20));
+		Assert.assertNull(tree.get(21));
+		tree.insert(20, -1);
+		Assert.assertEquals(100, tree.size());
+		Assert.assertEquals(Integer.valueOf(-1), tree.get(20));
+		Assert.assertEquals(Integer.valueOf(0), tree.firstKey());
+		Assert.assertEquals(Integer.valueOf(198), tree.lastKey());
+		Assert.assertEquals(2, tree.height());
+		Assert.assertTrue(tree.remove(20));
+		Assert.assertFalse(tree.remove(20));
+		Assert.assertFalse(tree.containsKey(20));
+		tree.checkInvariants();
+	}
+
+	@Test
+	public void testAgainstTreeMap() {
+		Random random = new Random(50);
+		TreeMap<Integer, Integer> expected = new TreeMap<>();
+		for (int i=0; i<50000; i++) {
+			int key = random.nextInt(5000);
+			if (random.nextInt(5) < 2) {
+				Assert.assertEquals(expected.remove(key) != null, tree.remove(key));
+			}
+			else {
+				expected.put(key, i);
+				tree.insert(key, i);
+			}
+			Assert.assertEquals(expected.get(key), tree.get(key));
+			if (i % 2000 == 0) {
+				tree.checkInvariants();
+				tree.commit();
+			}
+		}
+		tree.checkInvariants();
+		Assert.assertEquals(expected.size(), tree.size());
+		Assert.assertTrue(tree.cacheEvictions() > 0);
+		reopen();
+		tree.checkInvariants();
+		Iterator<Map.Entry<Integer, Integer>> entries = expected.entrySet().iterator();
+		DiskBPlusTree<Integer, Integer>.Cursor cursor = tree.cursor();
+		while (cursor.hasNext()) {
+			Map.Entry<Integer, Integer> entry = entries.next();
+			Assert.assertEquals(entry.getKey(), cursor.next());
+			Assert.assertEquals(entry.getValue(), cursor.value());
+		}
+		Assert.assertFalse(entries.hasNext());
+	}
+
+	@Test
+	public void testRangeCursor() {
+		for (int i=0; i<20000; i++) {
+			tree.insert(i * 2, i);
+		}
+		DiskBPlusTree<Integer, Integer>.Cursor cursor = tree.range(1001, 30000);
+		int expected = 1002, count = 0;
+		while (cursor.hasNext()) {
+			Assert.assertEquals(expected, (int) cursor.next());
+			Assert.assertEquals(expected / 2, (int) cursor.value());
+			expected = expected + 2;
+			count++;
+		}
+		Assert.assertEquals(14500, count);
+		Assert.assertFalse(tree.range(40000, 50000).hasNext());
+		Assert.assertEquals(Integer.valueOf(0), tree.range(-5, 0).next());
+	}
+
+	@Test(expected = ConcurrentModificationException.class)
+	public void testCursorFailsFast() {
+		tree.insert(1, 1);
+		tree.insert(2, 2);
+		Iterator<Integer> cursor = tree.iterator();
+		cursor.next();
+		tree.insert(3, 3);
+		cursor.next();
+	}
+
+	@Test
+	public void testReopenKeepsCommittedTree() {
+		for (int i=0; i<10000; i++) {
+			tree.insert(i, -i);
+		}
+		int height = tree.height(), pages = tree.pageCount();
+		reopen();
+		Assert.assertEquals(10000, tree.size());
+		Assert.assertEquals(height, tree.height());
+		Assert.assertEquals(pages, tree.pageCount());
+		for (int i=0; i<10000; i++) {
+			Assert.assertEquals(Integer.valueOf(-i), tree.get(i));
+		}
+		tree.checkInvariants();
+	}
+
+	@Test
+	public void testCrashLosesOnlyUncommittedChanges() {
+		for (int i=0; i<5000; i++) {
+			tree.insert(i, i);
+		}
+		tree.commit();
+		for (int i=0; i<5000; i=i+2) {
+			tree.remove(i);
+		}
+		for (int i=5000; i<8000; i++) {
+			tree.insert(i, i); // the small cache writes some of these pages before the commit
+		}
+		Assert.assertTrue(tree.cacheEvictions() > 0);
+		/* a crash, the tree is opened again without being closed */
+		DiskBPlusTree<Integer, Integer> recovered = open();
+		try {
+			Assert.assertEquals(5000, recovered.size());
+			recovered.checkInvariants();
+			for (int i=0; i<5000; i++) {
+				Assert.assertEquals(Integer.valueOf(i), recovered.get(i));
+			}
+			Assert.assertNull(recovered.get(5000));
+		}
+		finally {
+			recovered.close();
+		}
+	}
+
+	@Test
+	public void testRollback() {
+		for (int i=0; i<1000; i++) {
+			tree.insert(i, i);
+		}
+		tree.commit();
+		int pages = tree.pageCount();
+		for (int i=0; i<1000; i++) {
+			tree.insert(i, -i);
+			tree.insert(i + 1000, i);
+		}
+		tree.rollback();
+		Assert.assertEquals(1000, tree.size());
+		Assert.assertEquals(pages, tree.pageCount());
+		Assert.assertEquals(Integer.valueOf(7), tree.get(7));
+		Assert.assertNull(tree.get(1007));
+		tree.checkInvariants();
+		tree.insert(1007, 7);
+		tree.checkInvariants();
+	}
+
+	@Test
+	public void testTornMetaPageFallsBackToPreviousCommit() throws IOException {
+		tree.insert(1, 1);
+		tree.commit(); // transaction 2, in meta page 0, creating the file was transaction 1
+		tree.insert(2, 2);
+		tree.commit(); // transaction 3, in meta page 1
+		try (RandomAccessFile raf = new RandomAccessFile(path.toFile(), "rw")) {
+			raf.seek(PAGE_SIZE + 40); // the size field of meta page 1
+			raf.writeLong(12345);
+		}
+		DiskBPlusTree<Integer, Integer> recovered = open();
+		try {
+			Assert.assertEquals(1, recovered.size());
+			Assert.assertEquals(Integer.valueOf(1), recovered.get(1));
+			Assert.assertNull(recovered.get(2));
+		}
+		finally {
+			recovered.close();
+		}
+	}
+
+	@Test
+	public void testFreedPagesAreReused() {
+		for (int i=0; i<3000; i++) {
+			tree.insert(i, i);
+		}
+		tree.commit();
+		int pages = 0;
+		for (int round=0; round<20; round++) {
+			for (int i=0; i<3000; i=i+3) {
+				tree.remove(i);
+			}
+			tree.commit();
+			for (int i=0; i<3000; i=i+3) {
+				tree.insert(i, round);
+			}
+			tree.commit();
+			if (round == 1) {
+				pages = tree.pageCount();
+			}
+		}
+		Assert.assertEquals(pages, tree.pageCount());
+		tree.checkInvariants();
+		reopen();
+		tree.checkInvariants();
+		Assert.assertEquals(Integer.valueOf(19), tree.get(2997));
+	}
+
+	@Test
+	public void testStringKeys() throws IOException {
+		Path stringPath = directory.resolve("strings.db");
+		try (DiskBPlusTree<String, Long> strings = DiskBPlusTree.open(stringPath, Codec.string(16), Codec.LONG)) {
+			for (long i=0; i<1000; i++) {
+				strings.insert("key" + i, i);
+			}
+		}
+		try (DiskBPlusTree<String, Long> strings = DiskBPlusTree.open(stringPath, Codec.string(16), Codec.LONG)) {
+			Assert.assertEquals(1000, strings.size());
+			Assert.assertEquals(Long.valueOf(42), strings.get("key42"));
+			Assert.assertEquals("key0", strings.firstKey());
+			Assert.assertEquals("key999", strings.lastKey());
+		}
+		Files.delete(stringPath);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testOtherPageSize() {
+		tree.close();
+		DiskBPlusTree.open(path, Codec.INTEGER, Codec.INTEGER, PAGE_SIZE * 2, CACHED_PAGES);
+	}
+
+	@Test(expected = DataStructureEmptyException.class)
+	public void testRootKeyOfEmptyTree() {
+		tree.rootkey();
+	}
+}
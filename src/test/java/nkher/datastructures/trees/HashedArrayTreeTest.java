@@ -1,5 +1,9 @@
 package nkher.datastructures.trees;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -28,7 +32,7 @@ public class HashedArrayTreeTest {
         System.out.println(hashedArrayTree.toString());
     }
 
-    // @Test
+    @Test
     public void testAddWithThreeElements() {
 
         int elem1 = 10, elem2 = 20, elem3 = 30;
@@ -41,4 +45,94 @@ public class HashedArrayTreeTest {
         Assert.assertTrue(hashedArrayTree.size() == 3);
     }
 
+    @Test
+    public void testGrowKeepsOrder() {
+        for (int i=0; i<1000; i++) {
+            hashedArrayTree.add(i);
+        }
+        Assert.assertEquals(1000, hashedArrayTree.size());
+        Assert.assertEquals(1024, hashedArrayTree.capacity());
+        for (int i=0; i<1000; i++) {
+            Assert.assertEquals(i, (int) hashedArrayTree.get(i));
+        }
+    }
+
+    @Test
+    public void testSetReturnsOldElement() {
+        hashedArrayTree.add(10);
+        hashedArrayTree.add(20);
+        Assert.assertEquals(20, (int) hashedArrayTree.set(1, 30));
+        Assert.assertEquals(30, (int) hashedArrayTree.get(1));
+    }
+
+    @Test
+    public void testInsertInTheMiddle() {
+        for (int i=0; i<20; i++) {
+            hashedArrayTree.add(i);
+        }
+        hashedArrayTree.add(5, 100);
+        hashedArrayTree.add(0, -1);
+        Assert.assertEquals(22, hashedArrayTree.size());
+        Assert.assertEquals(-1, (int) hashedArrayTree.get(0));
+        Assert.assertEquals(100, (int) hashedArrayTree.get(6));
+        Assert.assertEquals(5, (int) hashedArrayTree.get(7));
+        Assert.assertEquals(19, (int) hashedArrayTree.get(21));
+    }
+
+    @Test
+    public void testRemoveShrinks() {
+        for (int i=0; i<1000; i++) {
+            hashedArrayTree.add(i);
+        }
+        for (int i=0; i<990; i++) {
+            Assert.assertEquals(i, (int) hashedArrayTree.remove(0));
+        }
+        Assert.assertEquals(10, hashedArrayTree.size());
+        Assert.assertTrue(hashedArrayTree.capacity() <= 64);
+        for (int i=0; i<10; i++) {
+            Assert.assertEquals(990 + i, (int) hashedArrayTree.get(i));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        hashedArrayTree.add(1);
+        hashedArrayTree.get(1);
+    }
+
+    @Test
+    public void testRandomOperationsAgainstArrayList() {
+        Random random = new Random(7);
+        List<Integer> expected = new ArrayList<>();
+        for (int op=0; op<20000; op++) {
+            int choice = random.nextInt(10);
+            if (choice < 4 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, op);
+                hashedArrayTree.add(index, op);
+            }
+            else if (choice < 6) {
+                expected.add(op);
+                hashedArrayTree.add(op);
+            }
+            else if (choice < 9) {
+                int index = random.nextInt(expected.size());
+                Assert.assertEquals(expected.remove(index), hashedArrayTree.remove(index));
+            }
+            else {
+                int index = random.nextInt(expected.size());
+                Assert.assertEquals(expected.set(index, -op), hashedArrayTree.set(index, -op));
+            }
+            Assert.assertEquals(expected.size(), hashedArrayTree.size());
+        }
+        Assert.assertEquals(expected, hashedArrayTree);
+        while (expected.size() > 100) {
+            int index = random.nextInt(expected.size());
+            Assert.assertEquals(expected.remove(index), hashedArrayTree.remove(index));
+        }
+        Assert.assertEquals(expected, hashedArrayTree);
+        hashedArrayTree.clear();
+        Assert.assertTrue(hashedArrayTree.isEmpty());
+    }
+
 }
@@ -0,0 +1,96 @@
+package nkher.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import nkher.datastructures.lists.DoublyLinkedList;
+import nkher.datastructures.lists.SinglyLinkedList;
+import nkher.datastructures.trees.BinarySearchTree;
+import nkher.datastructures.trees.Treap;
+
+public class NodePoolTest {
+
+	@Test
+	public void testAcquireReleaseAndCap() {
+		NodePool<Object> pool = new NodePool<>(2, Object::new);
+		Object a = pool.acquire(), b = pool.acquire(), c = pool.acquire();
+		Assert.assertEquals(3, pool.allocated());
+		Assert.assertTrue(pool.release(a));
+		Assert.assertTrue(pool.release(b));
+		Assert.assertTrue(pool.isFull());
+		Assert.assertFalse(pool.release(c));
+		Assert.assertEquals(1, pool.dropped());
+		Assert.assertSame(b, pool.acquire());
+		Assert.assertSame(a, pool.acquire());
+		Assert.assertEquals(2, pool.reused());
+		Assert.assertEquals(0, pool.size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeCapacity() {
+		new NodePool<Object>(-1, Object::new);
+	}
+
+	@Test
+	public void testSinglyLinkedListReusesNodes() {
+		SinglyLinkedList<Integer> list = new SinglyLinkedList<>();
+		list.enableNodePooling(16);
+		for (int round=0; round<100; round++) {
+			for (int i=0; i<10; i++) {
+				list.insert(i);
+			}
+			list.remove(Integer.valueOf(5));
+			list.removeAt(0);
+			Assert.assertEquals("[1, 2, 3, 4, 6, 7, 8, 9]", list.toString());
+			list.clear();
+		}
+		Assert.assertEquals(10, list.nodePool().allocated());
+		Assert.assertEquals(990, list.nodePool().reused());
+	}
+
+	@Test
+	public void testDoublyLinkedListReusesNodes() {
+		DoublyLinkedList<Integer> list = new DoublyLinkedList<>();
+		list.enableNodePooling(4);
+		for (int round=0; round<100; round++) {
+			for (int i=0; i<10; i++) {
+				list.insertAtHead(i);
+			}
+			list.removeAt(9);
+			list.removeAt(0);
+			Assert.assertEquals("[8, 7, 6, 5, 4, 3, 2, 1]", list.toString());
+			list.clear();
+		}
+		// the pool keeps 4 nodes, so every round after the first allocates the other 6
+		Assert.assertEquals(10 + 99 * 6, list.nodePool().allocated());
+		Assert.assertEquals(4, list.nodePool().size());
+	}
+
+	@Test
+	public void testTreesReuseNodes() {
+		BinarySearchTree<Integer, Integer> tree = new BinarySearchTree<>();
+		tree.enableNodePooling(8);
+		Treap<Integer, Integer> treap = new Treap<>();
+		treap.enableNodePooling(8);
+		for (int i=0; i<5; i++) {
+			tree.insert(i * 10, i);
+			treap.insert(i * 10, i);
+		}
+		for (int round=0; round<100; round++) {
+			tree.insert(25, round);
+			Assert.assertTrue(tree.remove(25));
+			tree.insert(45, round);
+			Assert.assertTrue(tree.remove(0)); // the root
+			tree.insert(0, round);
+			Assert.assertTrue(tree.remove(45));
+			treap.insert(25, round);
+			Assert.assertTrue(treap.remove(25));
+			Assert.assertFalse(treap.contains(25));
+		}
+		Assert.assertEquals(5, tree.size());
+		Assert.assertEquals("[0, 10, 20, 30, 40]", tree.inorderkeys().toString());
+		Assert.assertEquals(5, treap.size());
+		Assert.assertTrue(tree.nodePool().allocated() <= 8);
+		Assert.assertEquals(6, treap.nodePool().allocated());
+	}
+}